@@ -52,6 +52,10 @@ import org.opensearch.rest.RestController;
 import org.opensearch.rest.RestHandler;
 import org.opensearch.script.ScriptService;
 import org.opensearch.securityanalytics.action.*;
+import org.opensearch.securityanalytics.correlation.CorrelationCounterAllocator;
+import org.opensearch.securityanalytics.correlation.CorrelationHistoryWriter;
+import org.opensearch.securityanalytics.correlation.CorrelationRuleCache;
+import org.opensearch.securityanalytics.correlation.FindingWindowIndex;
 import org.opensearch.securityanalytics.correlation.index.codec.CorrelationCodecService;
 import org.opensearch.securityanalytics.correlation.index.mapper.CorrelationVectorFieldMapper;
 import org.opensearch.securityanalytics.correlation.index.query.CorrelationQueryBuilder;
@@ -66,7 +70,10 @@ import org.opensearch.securityanalytics.resthandler.*;
 import org.opensearch.securityanalytics.threatIntel.DetectorThreatIntelService;
 import org.opensearch.securityanalytics.threatIntel.ThreatIntelFeedDataService;
 import org.opensearch.securityanalytics.threatIntel.action.PutTIFJobAction;
+import org.opensearch.securityanalytics.threatIntel.action.RefreshDetectorsAction;
+import org.opensearch.securityanalytics.threatIntel.action.RefreshDetectorsTask;
 import org.opensearch.securityanalytics.threatIntel.action.TransportPutTIFJobAction;
+import org.opensearch.securityanalytics.threatIntel.action.TransportRefreshDetectorsAction;
 import org.opensearch.securityanalytics.threatIntel.common.TIFLockService;
 import org.opensearch.securityanalytics.threatIntel.feedMetadata.BuiltInTIFMetadataLoader;
 import org.opensearch.securityanalytics.threatIntel.jobscheduler.TIFJobParameter;
@@ -84,6 +91,7 @@ import org.opensearch.securityanalytics.util.CustomLogTypeIndices;
 import org.opensearch.securityanalytics.util.DetectorIndices;
 import org.opensearch.securityanalytics.util.RuleIndices;
 import org.opensearch.securityanalytics.util.RuleTopicIndices;
+import org.opensearch.tasks.Task;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.watcher.ResourceWatcherService;
 
@@ -101,6 +109,7 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
     public static final String DETECTOR_BASE_URI = PLUGINS_BASE_URI + "/detectors";
     public static final String RULE_BASE_URI = PLUGINS_BASE_URI + "/rules";
     public static final String FINDINGS_CORRELATE_URI = FINDINGS_BASE_URI + "/correlate";
+    public static final String FINDINGS_BULK_CORRELATE_URI = FINDINGS_CORRELATE_URI + "/_bulk";
     public static final String LIST_CORRELATIONS_URI = PLUGINS_BASE_URI + "/correlations";
     public static final String CORRELATION_RULES_BASE_URI = PLUGINS_BASE_URI + "/correlation/rules";
 
@@ -129,6 +138,14 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
     private BuiltinLogTypeLoader builtinLogTypeLoader;
 
     private LogTypeService logTypeService;
+
+    private FindingWindowIndex findingWindowIndex;
+
+    private CorrelationHistoryWriter correlationHistoryWriter;
+
+    private CorrelationCounterAllocator correlationCounterAllocator;
+
+    private CorrelationRuleCache correlationRuleCache;
     @Override
     public Collection<SystemIndexDescriptor> getSystemIndexDescriptors(Settings settings){
         return Collections.singletonList(new SystemIndexDescriptor(THREAT_INTEL_DATA_INDEX_NAME_PREFIX, "System index used for threat intel data"));
@@ -160,8 +177,12 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
         mapperService = new MapperService(client, clusterService, indexNameExpressionResolver, indexTemplateManager, logTypeService);
         ruleIndices = new RuleIndices(logTypeService, client, clusterService, threadPool);
         correlationRuleIndices = new CorrelationRuleIndices(client, clusterService);
-        ThreatIntelFeedDataService threatIntelFeedDataService = new ThreatIntelFeedDataService(clusterService, client, indexNameExpressionResolver, xContentRegistry);
-        DetectorThreatIntelService detectorThreatIntelService = new DetectorThreatIntelService(threatIntelFeedDataService, client, xContentRegistry);
+        findingWindowIndex = new FindingWindowIndex();
+        correlationHistoryWriter = new CorrelationHistoryWriter(client, clusterService, threadPool, environment.settings());
+        correlationCounterAllocator = new CorrelationCounterAllocator(client, clusterService, environment.settings());
+        correlationRuleCache = new CorrelationRuleCache(client, clusterService, xContentRegistry, environment.settings());
+        ThreatIntelFeedDataService threatIntelFeedDataService = new ThreatIntelFeedDataService(clusterService, client, xContentRegistry);
+        DetectorThreatIntelService detectorThreatIntelService = new DetectorThreatIntelService(threatIntelFeedDataService, client, clusterService, xContentRegistry);
         TIFJobParameterService tifJobParameterService = new TIFJobParameterService(client, clusterService);
         TIFJobUpdateService tifJobUpdateService = new TIFJobUpdateService(clusterService, tifJobParameterService, threatIntelFeedDataService, builtInTIFMetadataLoader);
         TIFLockService threatIntelLockService = new TIFLockService(clusterService, client);
@@ -171,7 +192,8 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
         return List.of(
                 detectorIndices, correlationIndices, correlationRuleIndices, ruleTopicIndices, customLogTypeIndices, ruleIndices,
                 mapperService, indexTemplateManager, builtinLogTypeLoader, builtInTIFMetadataLoader, threatIntelFeedDataService, detectorThreatIntelService,
-                tifJobUpdateService, tifJobParameterService, threatIntelLockService);
+                tifJobUpdateService, tifJobParameterService, threatIntelLockService, findingWindowIndex,
+                correlationHistoryWriter, correlationCounterAllocator, correlationRuleCache);
     }
 
     @Override
@@ -204,7 +226,9 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
                 new RestDeleteRuleAction(),
                 new RestValidateRulesAction(),
                 new RestGetAllRuleCategoriesAction(),
+                new RestEvaluateRulesAction(),
                 new RestSearchCorrelationAction(),
+                new RestBulkSearchCorrelationAction(),
                 new RestIndexCorrelationRuleAction(),
                 new RestDeleteCorrelationRuleAction(),
                 new RestListCorrelationAction(),
@@ -235,6 +259,13 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
         return (parser, id, jobDocVersion) -> TIFJobParameter.PARSER.parse(parser, null);
     }
 
+    @Override
+    public List<NamedWriteableRegistry.Entry> getNamedWriteables() {
+        return List.of(
+                new NamedWriteableRegistry.Entry(Task.Status.class, RefreshDetectorsTask.Status.NAME, RefreshDetectorsTask.Status::new)
+        );
+    }
+
     @Override
     public List<NamedXContentRegistry.Entry> getNamedXContent() {
         return List.of(
@@ -296,11 +327,22 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
                 SecurityAnalyticsSettings.IS_CORRELATION_INDEX_SETTING,
                 SecurityAnalyticsSettings.CORRELATION_TIME_WINDOW,
                 SecurityAnalyticsSettings.ENABLE_AUTO_CORRELATIONS,
+                SecurityAnalyticsSettings.CORRELATION_BATCH_WINDOW,
+                SecurityAnalyticsSettings.CORRELATION_BATCH_SIZE,
+                SecurityAnalyticsSettings.CORRELATION_COUNTER_BLOCK_SIZE,
+                SecurityAnalyticsSettings.LIST_CORRELATIONS_MAX_EDGES,
+                SecurityAnalyticsSettings.CORRELATION_RULE_CACHE_REFRESH_INTERVAL,
+                SecurityAnalyticsSettings.CUSTOM_LOG_TYPES_CACHE_TTL,
+                SecurityAnalyticsSettings.RULE_SET_CACHE_TTL,
                 SecurityAnalyticsSettings.DEFAULT_MAPPING_SCHEMA,
                 SecurityAnalyticsSettings.ENABLE_WORKFLOW_USAGE,
                 SecurityAnalyticsSettings.TIF_UPDATE_INTERVAL,
                 SecurityAnalyticsSettings.BATCH_SIZE,
-                SecurityAnalyticsSettings.THREAT_INTEL_TIMEOUT
+                SecurityAnalyticsSettings.MAX_CONCURRENT_BULKS,
+                SecurityAnalyticsSettings.THREAT_INTEL_TIMEOUT,
+                SecurityAnalyticsSettings.DETECTOR_REFRESH_MAX_CONCURRENCY,
+                SecurityAnalyticsSettings.IOC_MATCHER_CACHE_TTL,
+                SecurityAnalyticsSettings.MAX_DOC_LEVEL_QUERY_IOCS
         );
     }
 
@@ -323,7 +365,9 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
                 new ActionPlugin.ActionHandler<>(DeleteRuleAction.INSTANCE, TransportDeleteRuleAction.class),
                 new ActionPlugin.ActionHandler<>(ValidateRulesAction.INSTANCE, TransportValidateRulesAction.class),
                 new ActionPlugin.ActionHandler<>(GetAllRuleCategoriesAction.INSTANCE, TransportGetAllRuleCategoriesAction.class),
+                new ActionPlugin.ActionHandler<>(EvaluateRulesAction.INSTANCE, TransportEvaluateRulesAction.class),
                 new ActionPlugin.ActionHandler<>(CorrelatedFindingAction.INSTANCE, TransportSearchCorrelationAction.class),
+                new ActionPlugin.ActionHandler<>(BulkCorrelatedFindingAction.INSTANCE, TransportBulkSearchCorrelationAction.class),
                 new ActionPlugin.ActionHandler<>(IndexCorrelationRuleAction.INSTANCE, TransportIndexCorrelationRuleAction.class),
                 new ActionPlugin.ActionHandler<>(DeleteCorrelationRuleAction.INSTANCE, TransportDeleteCorrelationRuleAction.class),
                 new ActionPlugin.ActionHandler<>(AlertingActions.SUBSCRIBE_FINDINGS_ACTION_TYPE, TransportCorrelateFindingAction.class),
@@ -332,7 +376,8 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin, Map
                 new ActionHandler<>(IndexCustomLogTypeAction.INSTANCE, TransportIndexCustomLogTypeAction.class),
                 new ActionHandler<>(SearchCustomLogTypeAction.INSTANCE, TransportSearchCustomLogTypeAction.class),
                 new ActionHandler<>(DeleteCustomLogTypeAction.INSTANCE, TransportDeleteCustomLogTypeAction.class),
-                new ActionHandler<>(PutTIFJobAction.INSTANCE, TransportPutTIFJobAction.class)
+                new ActionHandler<>(PutTIFJobAction.INSTANCE, TransportPutTIFJobAction.class),
+                new ActionHandler<>(RefreshDetectorsAction.INSTANCE, TransportRefreshDetectorsAction.class)
         );
     }
 
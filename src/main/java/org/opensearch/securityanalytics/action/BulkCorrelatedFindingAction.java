@@ -0,0 +1,16 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionType;
+
+public class BulkCorrelatedFindingAction extends ActionType<BulkCorrelatedFindingResponse> {
+    public static final BulkCorrelatedFindingAction INSTANCE = new BulkCorrelatedFindingAction();
+    public static final String NAME = "cluster:admin/opensearch/securityanalytics/correlations/findings/bulk";
+
+    public BulkCorrelatedFindingAction() {
+        super(NAME, BulkCorrelatedFindingResponse::new);
+    }
+}
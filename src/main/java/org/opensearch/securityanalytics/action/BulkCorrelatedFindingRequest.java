@@ -0,0 +1,81 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+public class BulkCorrelatedFindingRequest extends ActionRequest {
+
+    public static final int MAX_FINDINGS = 1000;
+
+    private List<String> findingIds;
+
+    private String detectorType;
+
+    private long timeWindow;
+
+    private int noOfNearbyFindings;
+
+    public BulkCorrelatedFindingRequest(List<String> findingIds, String detectorType, long timeWindow, int noOfNearbyFindings) {
+        super();
+        this.findingIds = findingIds;
+        this.detectorType = detectorType;
+        this.timeWindow = timeWindow;
+        this.noOfNearbyFindings = noOfNearbyFindings;
+    }
+
+    public BulkCorrelatedFindingRequest(StreamInput sin) throws IOException {
+        this(
+                sin.readStringList(),
+                sin.readString(),
+                sin.readLong(),
+                sin.readInt()
+        );
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if (findingIds == null || findingIds.isEmpty()) {
+            validationException = addValidationError("findings are missing", validationException);
+        } else if (findingIds.size() > MAX_FINDINGS) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "at most %d findings can be correlated at once", MAX_FINDINGS), validationException);
+        }
+        return validationException;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeStringCollection(findingIds);
+        out.writeString(detectorType);
+        out.writeLong(timeWindow);
+        out.writeInt(noOfNearbyFindings);
+    }
+
+    public List<String> getFindingIds() {
+        return findingIds;
+    }
+
+    public String getDetectorType() {
+        return detectorType;
+    }
+
+    public long getTimeWindow() {
+        return timeWindow;
+    }
+
+    public int getNoOfNearbyFindings() {
+        return noOfNearbyFindings;
+    }
+}
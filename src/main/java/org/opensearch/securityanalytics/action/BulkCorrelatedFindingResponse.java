@@ -0,0 +1,73 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.securityanalytics.model.FindingWithScore;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Correlated findings of each requested finding. Findings which could not be correlated are reported in the failures
+ * instead of failing the whole request.
+ */
+public class BulkCorrelatedFindingResponse extends ActionResponse implements ToXContentObject {
+
+    private Map<String, List<FindingWithScore>> findings;
+
+    private Map<String, String> failures;
+
+    protected static final String FINDINGS = "findings";
+    protected static final String FAILURES = "failures";
+
+    public BulkCorrelatedFindingResponse(Map<String, List<FindingWithScore>> findings, Map<String, String> failures) {
+        super();
+        this.findings = findings;
+        this.failures = failures;
+    }
+
+    public BulkCorrelatedFindingResponse(StreamInput sin) throws IOException {
+        this(
+                sin.readMap(StreamInput::readString, in -> in.readList(FindingWithScore::new)),
+                sin.readMap(StreamInput::readString, StreamInput::readString)
+        );
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeMap(findings, StreamOutput::writeString, StreamOutput::writeList);
+        out.writeMap(failures, StreamOutput::writeString, StreamOutput::writeString);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject();
+        builder.startObject(FINDINGS);
+        for (Map.Entry<String, List<FindingWithScore>> entry: findings.entrySet()) {
+            builder.field(entry.getKey(), entry.getValue());
+        }
+        builder.endObject();
+        builder.startObject(FAILURES);
+        for (Map.Entry<String, String> entry: failures.entrySet()) {
+            builder.field(entry.getKey(), entry.getValue());
+        }
+        builder.endObject();
+        return builder.endObject();
+    }
+
+    public Map<String, List<FindingWithScore>> getFindings() {
+        return findings;
+    }
+
+    public Map<String, String> getFailures() {
+        return failures;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.core.xcontent.XContentParserUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * Documents to evaluate against the detection rules of a log type, each document being kept as its json source.
+ */
+public class EvaluateRulesRequest extends ActionRequest {
+
+    public static final String LOG_TYPE_FIELD = "category";
+    public static final String DOCUMENTS_FIELD = "documents";
+    public static final String THREAT_INTEL_FIELD = "threat_intel";
+
+    public static final int MAX_DOCUMENTS = 1000;
+
+    public static final long MAX_DOCUMENTS_BYTES = 10L * 1024 * 1024;
+
+    private String logType;
+
+    private List<BytesReference> documents;
+
+    private boolean threatIntel;
+
+    public EvaluateRulesRequest(String logType, List<BytesReference> documents) {
+        this(logType, documents, false);
+    }
+
+    public EvaluateRulesRequest(String logType, List<BytesReference> documents, boolean threatIntel) {
+        super();
+        this.logType = logType;
+        this.documents = documents;
+        this.threatIntel = threatIntel;
+    }
+
+    public EvaluateRulesRequest(StreamInput sin) throws IOException {
+        this(
+                sin.readString(),
+                sin.readList(StreamInput::readBytesReference),
+                sin.readBoolean()
+        );
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if (logType == null || logType.isEmpty()) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s is missing", LOG_TYPE_FIELD), validationException);
+        }
+        if (documents == null || documents.isEmpty()) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s are missing", DOCUMENTS_FIELD), validationException);
+        } else if (documents.size() > MAX_DOCUMENTS) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "at most %d %s can be evaluated at once", MAX_DOCUMENTS, DOCUMENTS_FIELD), validationException);
+        } else if (documents.stream().mapToLong(BytesReference::length).sum() > MAX_DOCUMENTS_BYTES) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s can't exceed %d bytes in total", DOCUMENTS_FIELD, MAX_DOCUMENTS_BYTES), validationException);
+        }
+        return validationException;
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeString(logType);
+        out.writeCollection(documents, StreamOutput::writeBytesReference);
+        out.writeBoolean(threatIntel);
+    }
+
+    /**
+     * Parses the {@code documents} array of the request body, copying each document without materializing it.
+     */
+    public static EvaluateRulesRequest parse(XContentParser xcp, String logType, boolean threatIntel) throws IOException {
+        List<BytesReference> documents = new ArrayList<>();
+
+        XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.currentToken(), xcp);
+        while (xcp.nextToken() != XContentParser.Token.END_OBJECT) {
+            String fieldName = xcp.currentName();
+            xcp.nextToken();
+
+            if (DOCUMENTS_FIELD.equals(fieldName)) {
+                XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_ARRAY, xcp.currentToken(), xcp);
+                while (xcp.nextToken() != XContentParser.Token.END_ARRAY) {
+                    XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.currentToken(), xcp);
+                    XContentBuilder builder = XContentFactory.jsonBuilder().copyCurrentStructure(xcp);
+                    documents.add(BytesReference.bytes(builder));
+                }
+            } else {
+                xcp.skipChildren();
+            }
+        }
+        return new EvaluateRulesRequest(logType, documents, threatIntel);
+    }
+
+    public String getLogType() {
+        return logType;
+    }
+
+    public List<BytesReference> getDocuments() {
+        return documents;
+    }
+
+    /**
+     * Whether the IOC fields of the log type are also matched against the threat intel feed data.
+     */
+    public boolean isThreatIntel() {
+        return threatIntel;
+    }
+}
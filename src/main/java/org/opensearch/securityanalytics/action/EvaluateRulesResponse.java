@@ -0,0 +1,76 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Ids of the rules matching each evaluated document, in the order of the documents of the request, along with the IOC
+ * fields of the document matching the threat intel feed data when requested.
+ */
+public class EvaluateRulesResponse extends ActionResponse implements ToXContentObject {
+
+    private List<List<String>> matchedRules;
+
+    private List<List<String>> matchedIocFields;
+
+    protected static final String RESULTS = "results";
+    protected static final String RULES = "rules";
+    protected static final String IOC_FIELDS = "ioc_fields";
+
+    public EvaluateRulesResponse(List<List<String>> matchedRules, List<List<String>> matchedIocFields) {
+        super();
+        this.matchedRules = matchedRules;
+        this.matchedIocFields = matchedIocFields;
+    }
+
+    public EvaluateRulesResponse(StreamInput sin) throws IOException {
+        this(
+                sin.readList(StreamInput::readStringList),
+                sin.readBoolean()? sin.readList(StreamInput::readStringList): null
+        );
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeCollection(matchedRules, StreamOutput::writeStringCollection);
+        out.writeBoolean(matchedIocFields != null);
+        if (matchedIocFields != null) {
+            out.writeCollection(matchedIocFields, StreamOutput::writeStringCollection);
+        }
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject().startArray(RESULTS);
+        for (int i = 0; i < matchedRules.size(); ++i) {
+            builder.startObject().field(RULES, matchedRules.get(i));
+            if (matchedIocFields != null) {
+                builder.field(IOC_FIELDS, matchedIocFields.get(i));
+            }
+            builder.endObject();
+        }
+        builder.endArray();
+        return builder.endObject();
+    }
+
+    public List<List<String>> getMatchedRules() {
+        return matchedRules;
+    }
+
+    /**
+     * IOC fields matching the threat intel feed data by document, {@code null} if threat intel wasn't requested.
+     */
+    public List<List<String>> getMatchedIocFields() {
+        return matchedIocFields;
+    }
+}
@@ -7,6 +7,9 @@ package org.opensearch.securityanalytics.correlation;
 public class CorrelationConstants {
     public static final String METHOD_PARAMETER_M = "m";
     public static final String METHOD_PARAMETER_EF_CONSTRUCTION = "ef_construction";
+    public static final String METHOD_PARAMETER_ENCODING = "encoding";
+    public static final String ENCODING_FLOAT = "float";
+    public static final String ENCODING_INT8 = "int8";
     public static final String DIMENSION = "dimension";
     public static final String CORRELATION_CONTEXT = "correlation_ctx";
 }
\ No newline at end of file
@@ -0,0 +1,367 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.routing.Preference;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.index.engine.VersionConflictEngineException;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.util.CorrelationIndices;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out correlation counters from blocks leased on the {@code root} document of
+ * {@link CorrelationIndices#CORRELATION_METADATA_INDEX}.
+ *
+ * Each node leases a block of {@link SecurityAnalyticsSettings#CORRELATION_COUNTER_BLOCK_SIZE} counters with a single
+ * sequence-number guarded write of the root document and assigns counters from it locally, so concurrent findings no
+ * longer read-modify-write the root document one at a time. A block is given up after half of the correlation time
+ * window, which keeps the root timestamp fresh while any node is correlating; the counter is only reset to its initial
+ * value once the whole cluster has been idle for a full window.
+ */
+public class CorrelationCounterAllocator {
+
+    private static final Logger log = LogManager.getLogger(CorrelationCounterAllocator.class);
+
+    public static final long COUNTER_STEP = 50L;
+
+    private static final int MAX_LEASE_ATTEMPTS = 10;
+
+    private final CounterLeaser leaser;
+
+    private volatile long corrTimeWindow;
+
+    private volatile int blockSize;
+
+    private volatile Block block;
+
+    private final List<PendingAllocation> pendingAllocations;
+
+    private boolean leasing;
+
+    public CorrelationCounterAllocator(Client client, ClusterService clusterService, Settings settings) {
+        this.leaser = new MetadataCounterLeaser(client, clusterService, settings);
+        this.corrTimeWindow = SecurityAnalyticsSettings.CORRELATION_TIME_WINDOW.get(settings).getMillis();
+        this.blockSize = SecurityAnalyticsSettings.CORRELATION_COUNTER_BLOCK_SIZE.get(settings);
+        this.pendingAllocations = new ArrayList<>();
+        this.leasing = false;
+
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.CORRELATION_TIME_WINDOW, it -> corrTimeWindow = it.getMillis());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.CORRELATION_COUNTER_BLOCK_SIZE, it -> blockSize = it);
+    }
+
+    CorrelationCounterAllocator(CounterLeaser leaser, long corrTimeWindow, int blockSize) {
+        this.leaser = leaser;
+        this.corrTimeWindow = corrTimeWindow;
+        this.blockSize = blockSize;
+        this.pendingAllocations = new ArrayList<>();
+        this.leasing = false;
+    }
+
+    /**
+     * Returns the counter most recently assigned on this node, leasing a new block if this node holds no valid one.
+     */
+    public void current(long timestamp, ActionListener<Long> listener) {
+        Block current = block;
+        if (current != null && !current.isExpired(timestamp, corrTimeWindow)) {
+            listener.onResponse(current.current());
+            return;
+        }
+        lease(current, new PendingAllocation(timestamp, false, listener));
+    }
+
+    /**
+     * Assigns the next counter, leasing a new block once the block held by this node is exhausted or expired.
+     */
+    public void next(long timestamp, ActionListener<Long> listener) {
+        Block current = block;
+        if (current != null && !current.isExpired(timestamp, corrTimeWindow)) {
+            long counter = current.next();
+            if (counter != -1L) {
+                listener.onResponse(counter);
+                return;
+            }
+        }
+        lease(current, new PendingAllocation(timestamp, true, listener));
+    }
+
+    private void lease(Block exhausted, PendingAllocation allocation) {
+        boolean replaced = false;
+        synchronized (this) {
+            if (block != exhausted) {
+                replaced = true;
+            } else {
+                pendingAllocations.add(allocation);
+                if (leasing) {
+                    return;
+                }
+                leasing = true;
+            }
+        }
+        if (replaced) {
+            // another allocation replaced the block in the meantime
+            allocation.retry(this);
+            return;
+        }
+
+        leaser.lease(allocation.timestamp, corrTimeWindow, blockSize, new ActionListener<>() {
+            @Override
+            public void onResponse(Block leased) {
+                List<PendingAllocation> allocations;
+                synchronized (CorrelationCounterAllocator.this) {
+                    block = leased;
+                    leasing = false;
+                    allocations = new ArrayList<>(pendingAllocations);
+                    pendingAllocations.clear();
+                }
+
+                boolean first = true;
+                for (PendingAllocation pending: allocations) {
+                    if (first) {
+                        // the first counter of a fresh block is handed out by the lease itself
+                        pending.listener.onResponse(leased.current());
+                        first = false;
+                    } else {
+                        pending.retry(CorrelationCounterAllocator.this);
+                    }
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                List<PendingAllocation> allocations;
+                synchronized (CorrelationCounterAllocator.this) {
+                    leasing = false;
+                    allocations = new ArrayList<>(pendingAllocations);
+                    pendingAllocations.clear();
+                }
+
+                for (PendingAllocation pending: allocations) {
+                    pending.listener.onFailure(e);
+                }
+            }
+        });
+    }
+
+    public static class Block {
+        private final long end;
+        private final long leaseTimestamp;
+        private final AtomicLong cursor;
+
+        public Block(long start, long end, long leaseTimestamp) {
+            this.end = end;
+            this.leaseTimestamp = leaseTimestamp;
+            this.cursor = new AtomicLong(start);
+        }
+
+        long current() {
+            return Math.min(cursor.get(), end);
+        }
+
+        long next() {
+            long counter = cursor.addAndGet(COUNTER_STEP);
+            return counter <= end ? counter : -1L;
+        }
+
+        boolean isExpired(long timestamp, long corrTimeWindow) {
+            return timestamp - leaseTimestamp > corrTimeWindow / 2;
+        }
+    }
+
+    static class PendingAllocation {
+        long timestamp;
+        boolean increment;
+        ActionListener<Long> listener;
+
+        public PendingAllocation(long timestamp, boolean increment, ActionListener<Long> listener) {
+            this.timestamp = timestamp;
+            this.increment = increment;
+            this.listener = listener;
+        }
+
+        void retry(CorrelationCounterAllocator allocator) {
+            if (increment) {
+                allocator.next(timestamp, listener);
+            } else {
+                allocator.current(timestamp, listener);
+            }
+        }
+    }
+
+    /**
+     * Reserves a block of counters for this node in the shared counter state.
+     */
+    interface CounterLeaser {
+        void lease(long timestamp, long corrTimeWindow, int blockSize, ActionListener<Block> listener);
+    }
+
+    static class MetadataCounterLeaser implements CounterLeaser {
+        private final Client client;
+
+        private volatile TimeValue indexTimeout;
+
+        private volatile String rootId;
+
+        MetadataCounterLeaser(Client client, ClusterService clusterService, Settings settings) {
+            this.client = client;
+            this.indexTimeout = SecurityAnalyticsSettings.INDEX_TIMEOUT.get(settings);
+            clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.INDEX_TIMEOUT, it -> indexTimeout = it);
+        }
+
+        @Override
+        public void lease(long timestamp, long corrTimeWindow, int blockSize, ActionListener<Block> listener) {
+            lease(timestamp, corrTimeWindow, blockSize, 1, listener);
+        }
+
+        private void lease(long timestamp, long corrTimeWindow, int blockSize, int attempt, ActionListener<Block> listener) {
+            getRoot(new ActionListener<>() {
+                @Override
+                public void onResponse(RootDocument root) {
+                    long counter = Long.parseLong(root.source.get("counter").toString());
+                    long rootTimestamp = Long.parseLong(root.source.get("timestamp").toString());
+
+                    long start = counter == 0L || timestamp - rootTimestamp > corrTimeWindow ? COUNTER_STEP: counter + COUNTER_STEP;
+                    long end = start + (blockSize - 1) * COUNTER_STEP;
+
+                    try {
+                        XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
+                        builder.field("root", true);
+                        builder.field("counter", end);
+                        builder.field("finding1", "");
+                        builder.field("finding2", "");
+                        builder.field("logType", "");
+                        builder.field("timestamp", Math.max(timestamp, rootTimestamp));
+                        builder.field("scoreTimestamp", 0L);
+                        builder.endObject();
+
+                        IndexRequest indexRequest = new IndexRequest(CorrelationIndices.CORRELATION_METADATA_INDEX)
+                                .id(root.id)
+                                .source(builder)
+                                .setIfSeqNo(root.seqNo)
+                                .setIfPrimaryTerm(root.primaryTerm)
+                                .timeout(indexTimeout)
+                                .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+
+                        client.index(indexRequest, new ActionListener<>() {
+                            @Override
+                            public void onResponse(IndexResponse response) {
+                                listener.onResponse(new Block(start, end, timestamp));
+                            }
+
+                            @Override
+                            public void onFailure(Exception e) {
+                                if (ExceptionsHelper.unwrapCause(e) instanceof VersionConflictEngineException && attempt < MAX_LEASE_ATTEMPTS) {
+                                    log.debug("Correlation counter lease conflicted, retrying attempt {}", attempt + 1);
+                                    lease(timestamp, corrTimeWindow, blockSize, attempt + 1, listener);
+                                } else {
+                                    listener.onFailure(e);
+                                }
+                            }
+                        });
+                    } catch (IOException ex) {
+                        listener.onFailure(ex);
+                    }
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    listener.onFailure(e);
+                }
+            });
+        }
+
+        private void getRoot(ActionListener<RootDocument> listener) {
+            if (rootId != null) {
+                GetRequest getRequest = new GetRequest(CorrelationIndices.CORRELATION_METADATA_INDEX, rootId);
+                client.get(getRequest, new ActionListener<>() {
+                    @Override
+                    public void onResponse(GetResponse response) {
+                        if (response.isExists()) {
+                            listener.onResponse(new RootDocument(response.getId(), response.getSeqNo(), response.getPrimaryTerm(), response.getSourceAsMap()));
+                        } else {
+                            rootId = null;
+                            getRoot(listener);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        listener.onFailure(e);
+                    }
+                });
+                return;
+            }
+
+            SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+            searchSourceBuilder.query(QueryBuilders.matchQuery("root", true));
+            searchSourceBuilder.fetchSource(true);
+            searchSourceBuilder.seqNoAndPrimaryTerm(true);
+            searchSourceBuilder.size(1);
+            SearchRequest searchRequest = new SearchRequest();
+            searchRequest.indices(CorrelationIndices.CORRELATION_METADATA_INDEX);
+            searchRequest.source(searchSourceBuilder);
+            searchRequest.preference(Preference.PRIMARY_FIRST.type());
+
+            client.search(searchRequest, new ActionListener<>() {
+                @Override
+                public void onResponse(SearchResponse response) {
+                    if (response.getHits().getHits().length == 0) {
+                        listener.onFailure(new OpenSearchStatusException("Correlation metadata root document not found", RestStatus.INTERNAL_SERVER_ERROR));
+                        return;
+                    }
+
+                    SearchHit hit = response.getHits().getHits()[0];
+                    rootId = hit.getId();
+                    listener.onResponse(new RootDocument(hit.getId(), hit.getSeqNo(), hit.getPrimaryTerm(), hit.getSourceAsMap()));
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    listener.onFailure(e);
+                }
+            });
+        }
+    }
+
+    static class RootDocument {
+        String id;
+        long seqNo;
+        long primaryTerm;
+        Map<String, Object> source;
+
+        public RootDocument(String id, long seqNo, long primaryTerm, Map<String, Object> source) {
+            this.id = id;
+            this.seqNo = seqNo;
+            this.primaryTerm = primaryTerm;
+            this.source = source;
+        }
+    }
+}
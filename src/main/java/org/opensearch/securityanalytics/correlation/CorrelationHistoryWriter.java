@@ -0,0 +1,163 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Micro-batches correlation history writes of concurrently correlated findings.
+ *
+ * Writes are buffered for at most {@link SecurityAnalyticsSettings#CORRELATION_BATCH_WINDOW} or until
+ * {@link SecurityAnalyticsSettings#CORRELATION_BATCH_SIZE} documents are pending, and are then sent as a single bulk
+ * request with one refresh for the whole batch instead of one {@code IMMEDIATE} refresh per document.
+ */
+public class CorrelationHistoryWriter {
+
+    private static final Logger log = LogManager.getLogger(CorrelationHistoryWriter.class);
+
+    private final Client client;
+
+    private final ThreadPool threadPool;
+
+    private volatile TimeValue batchWindow;
+
+    private volatile int batchSize;
+
+    private List<PendingWrite> pendingWrites;
+
+    private int pendingDocs;
+
+    private boolean flushScheduled;
+
+    public CorrelationHistoryWriter(Client client, ClusterService clusterService, ThreadPool threadPool, Settings settings) {
+        this.client = client;
+        this.threadPool = threadPool;
+        this.batchWindow = SecurityAnalyticsSettings.CORRELATION_BATCH_WINDOW.get(settings);
+        this.batchSize = SecurityAnalyticsSettings.CORRELATION_BATCH_SIZE.get(settings);
+        this.pendingWrites = new ArrayList<>();
+        this.pendingDocs = 0;
+        this.flushScheduled = false;
+
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.CORRELATION_BATCH_WINDOW, it -> batchWindow = it);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.CORRELATION_BATCH_SIZE, it -> batchSize = it);
+    }
+
+    public void index(IndexRequest indexRequest, ActionListener<List<BulkItemResponse>> listener) {
+        write(List.of(indexRequest), listener);
+    }
+
+    /**
+     * Queues the given index requests, the listener is notified with their item responses once the batch carrying them
+     * has been written.
+     */
+    public void write(List<IndexRequest> indexRequests, ActionListener<List<BulkItemResponse>> listener) {
+        if (indexRequests.isEmpty()) {
+            listener.onResponse(List.of());
+            return;
+        }
+
+        List<PendingWrite> batch = null;
+        boolean schedule = false;
+        synchronized (this) {
+            pendingWrites.add(new PendingWrite(indexRequests, listener));
+            pendingDocs += indexRequests.size();
+
+            if (pendingDocs >= batchSize || batchWindow.millis() <= 0L) {
+                batch = drain();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                schedule = true;
+            }
+        }
+
+        if (batch != null) {
+            flush(batch);
+        } else if (schedule) {
+            threadPool.schedule(this::flushPending, batchWindow, ThreadPool.Names.GENERIC);
+        }
+    }
+
+    private void flushPending() {
+        List<PendingWrite> batch;
+        synchronized (this) {
+            batch = drain();
+        }
+        flush(batch);
+    }
+
+    private List<PendingWrite> drain() {
+        List<PendingWrite> batch = pendingWrites;
+        pendingWrites = new ArrayList<>();
+        pendingDocs = 0;
+        flushScheduled = false;
+        return batch;
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        BulkRequest bulkRequest = new BulkRequest();
+        bulkRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+        for (PendingWrite pendingWrite: batch) {
+            for (IndexRequest indexRequest: pendingWrite.indexRequests) {
+                indexRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.NONE);
+                bulkRequest.add(indexRequest);
+            }
+        }
+
+        try (ThreadContext.StoredContext ignored = threadPool.getThreadContext().stashContext()) {
+            client.bulk(bulkRequest, new ActionListener<>() {
+                @Override
+                public void onResponse(BulkResponse response) {
+                    BulkItemResponse[] items = response.getItems();
+                    int offset = 0;
+                    for (PendingWrite pendingWrite: batch) {
+                        int size = pendingWrite.indexRequests.size();
+                        pendingWrite.listener.onResponse(Arrays.asList(Arrays.copyOfRange(items, offset, offset + size)));
+                        offset += size;
+                    }
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    log.error("Failed to write correlation history batch", e);
+                    for (PendingWrite pendingWrite: batch) {
+                        pendingWrite.listener.onFailure(e);
+                    }
+                }
+            });
+        }
+    }
+
+    static class PendingWrite {
+        List<IndexRequest> indexRequests;
+        ActionListener<List<BulkItemResponse>> listener;
+
+        public PendingWrite(List<IndexRequest> indexRequests, ActionListener<List<BulkItemResponse>> listener) {
+            this.indexRequests = indexRequests;
+            this.listener = listener;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.search.ClearScrollRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchScrollRequest;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.routing.Preference;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.model.CorrelationQuery;
+import org.opensearch.securityanalytics.model.CorrelationRule;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node-level cache of parsed {@link CorrelationRule}s indexed by log category.
+ *
+ * The cache is invalidated locally whenever a correlation rule is indexed or deleted on this node, whenever the
+ * correlation rule index is re-created (its uuid in the cluster state changes) and, to pick up changes made through
+ * other nodes, once it is older than {@link SecurityAnalyticsSettings#CORRELATION_RULE_CACHE_REFRESH_INTERVAL}. The rules
+ * are loaded with a scroll so that all of them are cached whatever their number.
+ */
+public class CorrelationRuleCache {
+
+    private static final Logger log = LogManager.getLogger(CorrelationRuleCache.class);
+
+    private static final int RULES_PAGE_SIZE = 1000;
+
+    private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+
+    private final Client client;
+
+    private final ClusterService clusterService;
+
+    private final NamedXContentRegistry xContentRegistry;
+
+    private volatile TimeValue refreshInterval;
+
+    private volatile Snapshot snapshot;
+
+    private final AtomicLong generation;
+
+    private final List<ActionListener<Snapshot>> pendingListeners;
+
+    private boolean loading;
+
+    public CorrelationRuleCache(Client client, ClusterService clusterService, NamedXContentRegistry xContentRegistry, Settings settings) {
+        this.client = client;
+        this.clusterService = clusterService;
+        this.xContentRegistry = xContentRegistry;
+        this.refreshInterval = SecurityAnalyticsSettings.CORRELATION_RULE_CACHE_REFRESH_INTERVAL.get(settings);
+        this.generation = new AtomicLong();
+        this.pendingListeners = new ArrayList<>();
+        this.loading = false;
+
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.CORRELATION_RULE_CACHE_REFRESH_INTERVAL, it -> refreshInterval = it);
+    }
+
+    /**
+     * Returns the correlation rules which have a correlation query on the given category.
+     */
+    public void getRules(String category, ActionListener<List<CorrelationRule>> listener) {
+        Snapshot current = snapshot;
+        if (isValid(current)) {
+            listener.onResponse(current.rules(category));
+            return;
+        }
+
+        load(new ActionListener<>() {
+            @Override
+            public void onResponse(Snapshot loaded) {
+                listener.onResponse(loaded.rules(category));
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                listener.onFailure(e);
+            }
+        });
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private boolean isValid(Snapshot current) {
+        return current != null &&
+                current.generation == generation.get() &&
+                System.currentTimeMillis() - current.loadedAt < refreshInterval.millis() &&
+                current.indexUuid.equals(ruleIndexUuid());
+    }
+
+    private String ruleIndexUuid() {
+        IndexMetadata indexMetadata = clusterService.state().metadata().index(CorrelationRule.CORRELATION_RULE_INDEX);
+        return indexMetadata != null ? indexMetadata.getIndexUUID() : "";
+    }
+
+    private void load(ActionListener<Snapshot> listener) {
+        synchronized (this) {
+            pendingListeners.add(listener);
+            if (loading) {
+                return;
+            }
+            loading = true;
+        }
+
+        long loadGeneration = generation.get();
+        String indexUuid = ruleIndexUuid();
+        long loadedAt = System.currentTimeMillis();
+
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+        searchSourceBuilder.query(QueryBuilders.matchAllQuery());
+        searchSourceBuilder.fetchSource(true);
+        searchSourceBuilder.version(true);
+        searchSourceBuilder.size(RULES_PAGE_SIZE);
+
+        SearchRequest searchRequest = new SearchRequest();
+        searchRequest.indices(CorrelationRule.CORRELATION_RULE_INDEX);
+        searchRequest.source(searchSourceBuilder);
+        searchRequest.preference(Preference.PRIMARY_FIRST.type());
+        searchRequest.scroll(SCROLL_KEEP_ALIVE);
+
+        Map<String, List<CorrelationRule>> rulesByCategory = new HashMap<>();
+        client.search(searchRequest, new ActionListener<>() {
+            @Override
+            public void onResponse(SearchResponse response) {
+                SearchHit[] hits = response.getHits().getHits();
+                for (SearchHit hit: hits) {
+                    try {
+                        XContentParser xcp = XContentType.JSON.xContent().createParser(
+                                xContentRegistry,
+                                LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
+                        );
+                        CorrelationRule rule = CorrelationRule.parse(xcp, hit.getId(), hit.getVersion());
+
+                        Set<String> categories = new LinkedHashSet<>();
+                        for (CorrelationQuery query: rule.getCorrelationQueries()) {
+                            categories.add(query.getCategory());
+                        }
+                        for (String category: categories) {
+                            rulesByCategory.computeIfAbsent(category, key -> new ArrayList<>()).add(rule);
+                        }
+                    } catch (IOException e) {
+                        log.error("Failed to parse correlation rule {}", hit.getId(), e);
+                    }
+                }
+
+                if (hits.length == RULES_PAGE_SIZE && response.getScrollId() != null) {
+                    SearchScrollRequest scrollRequest = new SearchScrollRequest(response.getScrollId());
+                    scrollRequest.scroll(SCROLL_KEEP_ALIVE);
+                    client.searchScroll(scrollRequest, this);
+                    return;
+                }
+                clearScroll(response.getScrollId());
+                onLoaded(new Snapshot(rulesByCategory, loadGeneration, loadedAt, indexUuid), null);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                onLoaded(null, e);
+            }
+        });
+    }
+
+    private void clearScroll(String scrollId) {
+        if (scrollId == null) {
+            return;
+        }
+        ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+        clearScrollRequest.addScrollId(scrollId);
+        client.clearScroll(clearScrollRequest, ActionListener.wrap(
+                response -> {},
+                e -> log.debug("Failed to clear correlation rule scroll", e)
+        ));
+    }
+
+    private void onLoaded(Snapshot loaded, Exception e) {
+        List<ActionListener<Snapshot>> listeners;
+        synchronized (this) {
+            if (loaded != null) {
+                snapshot = loaded;
+            }
+            loading = false;
+            listeners = new ArrayList<>(pendingListeners);
+            pendingListeners.clear();
+        }
+
+        for (ActionListener<Snapshot> listener: listeners) {
+            if (loaded != null) {
+                listener.onResponse(loaded);
+            } else {
+                listener.onFailure(e);
+            }
+        }
+    }
+
+    static class Snapshot {
+        private final Map<String, List<CorrelationRule>> rulesByCategory;
+        private final long generation;
+        private final long loadedAt;
+        private final String indexUuid;
+
+        Snapshot(Map<String, List<CorrelationRule>> rulesByCategory, long generation, long loadedAt, String indexUuid) {
+            this.rulesByCategory = rulesByCategory;
+            this.generation = generation;
+            this.loadedAt = loadedAt;
+            this.indexUuid = indexUuid;
+        }
+
+        List<CorrelationRule> rules(String category) {
+            return rulesByCategory.getOrDefault(category, List.of());
+        }
+    }
+}
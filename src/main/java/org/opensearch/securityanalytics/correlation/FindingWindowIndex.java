@@ -0,0 +1,230 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.opensearch.commons.alerting.model.Finding;
+import org.opensearch.search.SearchHit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Node-local, time-bucketed index of recent findings used by the {@link JoinEngine} to answer findings-window lookups
+ * without a round trip to the findings indices.
+ *
+ * Findings are grouped per log type into fixed-size time buckets. A bucket is only served from memory once it is
+ * sealed, i.e. a search over the findings indices covered its whole interval after the interval had settled. Lookups
+ * are answered for the longest sealed prefix of a window and the caller searches the remaining tail, so an entry that
+ * is not in memory always falls back to search.
+ */
+public class FindingWindowIndex {
+
+    public static final long BUCKET_INTERVAL = 60_000L;
+
+    /**
+     * findings are indexed and refreshed asynchronously, a bucket is only sealed once it is older than this delay.
+     */
+    public static final long SETTLE_DELAY = 60_000L;
+
+    public static final int MAX_ENTRIES = 200_000;
+
+    public static final String[] FETCH_SOURCE_INCLUDES = new String[]{"timestamp", "correlated_doc_ids"};
+
+    private final Map<String, ConcurrentSkipListMap<Long, Bucket>> logTypeBuckets;
+
+    private final AtomicInteger size;
+
+    public FindingWindowIndex() {
+        this.logTypeBuckets = new ConcurrentHashMap<>();
+        this.size = new AtomicInteger();
+    }
+
+    public static long bucketStart(long timestamp) {
+        return Math.floorDiv(timestamp, BUCKET_INTERVAL) * BUCKET_INTERVAL;
+    }
+
+    /**
+     * Returns the end (exclusive) of the longest run of sealed buckets starting at the bucket containing {@code from}.
+     * If the bucket containing {@code from} is not sealed, {@code bucketStart(from)} is returned, which callers should
+     * use as the lower bound of their search so the searched buckets can be sealed afterwards.
+     */
+    public long coveredUntil(String logType, long from, long to) {
+        long start = bucketStart(from);
+        ConcurrentSkipListMap<Long, Bucket> buckets = logTypeBuckets.get(logType);
+        if (buckets == null) {
+            return start;
+        }
+
+        long current = start;
+        while (current <= to && buckets.containsKey(current)) {
+            current += BUCKET_INTERVAL;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the findings of sealed buckets for the log type whose timestamp is in {@code [from, to]}.
+     */
+    public List<IndexedFinding> lookup(String logType, long from, long to) {
+        List<IndexedFinding> findings = new ArrayList<>();
+        ConcurrentSkipListMap<Long, Bucket> buckets = logTypeBuckets.get(logType);
+        if (buckets == null || to < from) {
+            return findings;
+        }
+
+        for (Bucket bucket: buckets.subMap(bucketStart(from), true, to, true).values()) {
+            for (IndexedFinding finding: bucket.findings.values()) {
+                if (finding.timestamp >= from && finding.timestamp <= to) {
+                    findings.add(finding);
+                }
+            }
+        }
+        return findings;
+    }
+
+    /**
+     * Seals every bucket that lies completely within the searched range {@code [from, to]} and has settled, using the
+     * findings returned by that search.
+     */
+    public void seal(String logType, long from, long to, Collection<IndexedFinding> searchedFindings, long now) {
+        long sealable = Math.min(to + 1, now - SETTLE_DELAY);
+        long start = bucketStart(from) == from ? from : bucketStart(from) + BUCKET_INTERVAL;
+        if (start + BUCKET_INTERVAL > sealable) {
+            return;
+        }
+        if (size.get() + searchedFindings.size() > MAX_ENTRIES) {
+            return;
+        }
+
+        ConcurrentSkipListMap<Long, Bucket> buckets = logTypeBuckets.computeIfAbsent(logType, key -> new ConcurrentSkipListMap<>());
+        Map<Long, Bucket> sealed = new HashMap<>();
+        for (long bucketStart = start; bucketStart + BUCKET_INTERVAL <= sealable; bucketStart += BUCKET_INTERVAL) {
+            if (!buckets.containsKey(bucketStart)) {
+                sealed.put(bucketStart, new Bucket());
+            }
+        }
+
+        for (IndexedFinding finding: searchedFindings) {
+            Bucket bucket = sealed.get(bucketStart(finding.timestamp));
+            if (bucket != null && bucket.findings.putIfAbsent(finding.id, finding) == null) {
+                size.incrementAndGet();
+            }
+        }
+
+        for (Map.Entry<Long, Bucket> bucket: sealed.entrySet()) {
+            if (buckets.putIfAbsent(bucket.getKey(), bucket.getValue()) != null) {
+                size.addAndGet(-bucket.getValue().findings.size());
+            }
+        }
+    }
+
+    /**
+     * Records a finding published on this node. Findings whose bucket is not sealed are left to the search path.
+     */
+    public void add(String logType, Finding finding) {
+        IndexedFinding indexedFinding = IndexedFinding.fromFinding(logType, finding);
+        ConcurrentSkipListMap<Long, Bucket> buckets = logTypeBuckets.get(logType);
+        if (buckets == null) {
+            return;
+        }
+
+        Bucket bucket = buckets.get(bucketStart(indexedFinding.timestamp));
+        if (bucket != null && bucket.findings.putIfAbsent(indexedFinding.id, indexedFinding) == null) {
+            size.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drops every bucket which ends before {@code horizon}.
+     */
+    public void evict(long horizon) {
+        for (ConcurrentSkipListMap<Long, Bucket> buckets: logTypeBuckets.values()) {
+            ConcurrentNavigableMap<Long, Bucket> expired = buckets.headMap(bucketStart(horizon) - BUCKET_INTERVAL, true);
+            for (Long bucketStart: expired.keySet()) {
+                Bucket bucket = buckets.remove(bucketStart);
+                if (bucket != null) {
+                    size.addAndGet(-bucket.findings.size());
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public void clear() {
+        logTypeBuckets.clear();
+        size.set(0);
+    }
+
+    static class Bucket {
+        private final Map<String, IndexedFinding> findings = new ConcurrentHashMap<>();
+    }
+
+    public static class IndexedFinding {
+        private final String id;
+        private final String logType;
+        private final long timestamp;
+        private final List<String> correlatedDocIds;
+
+        public IndexedFinding(String id, String logType, long timestamp, List<String> correlatedDocIds) {
+            this.id = id;
+            this.logType = logType;
+            this.timestamp = timestamp;
+            this.correlatedDocIds = correlatedDocIds;
+        }
+
+        public static IndexedFinding fromFinding(String logType, Finding finding) {
+            return new IndexedFinding(finding.getId(), logType, finding.getTimestamp().toEpochMilli(),
+                    List.copyOf(finding.getCorrelatedDocIds()));
+        }
+
+        /**
+         * Builds an entry from a findings index hit fetched with {@link #FETCH_SOURCE_INCLUDES}, returns null if the hit
+         * does not carry a parseable timestamp.
+         */
+        @SuppressWarnings("unchecked")
+        public static IndexedFinding fromSearchHit(String logType, SearchHit hit) {
+            Map<String, Object> source = hit.getSourceAsMap();
+            Object timestamp = source.get("timestamp");
+            if (!(timestamp instanceof Number)) {
+                return null;
+            }
+
+            List<String> correlatedDocIds = new ArrayList<>();
+            Object docIds = source.get("correlated_doc_ids");
+            if (docIds instanceof List) {
+                for (Object docId: (List<Object>) docIds) {
+                    correlatedDocIds.add(docId.toString());
+                }
+            }
+            return new IndexedFinding(hit.getId(), logType, ((Number) timestamp).longValue(), correlatedDocIds);
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getLogType() {
+            return logType;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public List<String> getCorrelatedDocIds() {
+            return correlatedDocIds;
+        }
+    }
+}
@@ -4,12 +4,11 @@
  */
 package org.opensearch.securityanalytics.correlation;
 
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.lucene.search.TotalHits;
 import org.apache.lucene.search.join.ScoreMode;
-import org.opensearch.OpenSearchStatusException;
 import org.opensearch.cluster.routing.Preference;
 import org.opensearch.commons.alerting.model.DocLevelQuery;
 import org.opensearch.core.action.ActionListener;
@@ -18,20 +17,17 @@ import org.opensearch.action.search.MultiSearchResponse;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.client.Client;
-import org.opensearch.common.xcontent.LoggingDeprecationHandler;
-import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.commons.alerting.action.PublishFindingsRequest;
 import org.opensearch.commons.alerting.model.Finding;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
-import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.MatchQueryBuilder;
-import org.opensearch.index.query.NestedQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.index.query.RangeQueryBuilder;
-import org.opensearch.core.rest.RestStatus;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortOrder;
 import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
 import org.opensearch.securityanalytics.model.CorrelationQuery;
@@ -44,12 +40,12 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -69,11 +65,18 @@ public class JoinEngine {
 
     private final LogTypeService logTypeService;
 
+    private final FindingWindowIndex findingWindowIndex;
+
+    private final CorrelationRuleCache correlationRuleCache;
+
     private static final Logger log = LogManager.getLogger(JoinEngine.class);
 
+    private static final int FINDINGS_PAGE_SIZE = 10000;
+
     public JoinEngine(Client client, PublishFindingsRequest request, NamedXContentRegistry xContentRegistry,
                       long corrTimeWindow, TransportCorrelateFindingAction.AsyncCorrelateFindingAction correlateFindingAction,
-                      LogTypeService logTypeService, boolean enableAutoCorrelations) {
+                      LogTypeService logTypeService, boolean enableAutoCorrelations, FindingWindowIndex findingWindowIndex,
+                      CorrelationRuleCache correlationRuleCache) {
         this.client = client;
         this.request = request;
         this.xContentRegistry = xContentRegistry;
@@ -81,9 +84,12 @@ public class JoinEngine {
         this.correlateFindingAction = correlateFindingAction;
         this.logTypeService = logTypeService;
         this.enableAutoCorrelations = enableAutoCorrelations;
+        this.findingWindowIndex = findingWindowIndex;
+        this.correlationRuleCache = correlationRuleCache;
     }
 
     public void onSearchDetectorResponse(Detector detector, Finding finding) {
+        findingWindowIndex.add(detector.getDetectorType().toLowerCase(Locale.ROOT), finding);
         try {
             if (enableAutoCorrelations) {
                 generateAutoCorrelations(detector, finding);
@@ -95,16 +101,22 @@ public class JoinEngine {
         }
     }
 
-    @SuppressWarnings("unchecked")
     private void generateAutoCorrelations(Detector detector, Finding finding) throws IOException {
-        Map<String, Set<String>> autoCorrelations = AutoCorrelationsRepo.autoCorrelationsAsMap();
+        AutoCorrelationsRepo.IntrusionSetIndex intrusionSetIndex = AutoCorrelationsRepo.intrusionSetIndex();
         long findingTimestamp = finding.getTimestamp().toEpochMilli();
 
         Set<String> tags = new HashSet<>();
         for (DocLevelQuery query : finding.getDocLevelQueries()) {
             tags.addAll(query.getTags().stream().filter(tag -> tag.startsWith("attack.")).collect(Collectors.toList()));
         }
-        Set<String> validIntrusionSets = AutoCorrelationsRepo.validIntrusionSets(autoCorrelations, tags);
+        // a finding auto-correlates with any finding sharing one of its tags or one of the tags of its intrusion sets
+        Set<String> correlatableTags = new HashSet<>(tags);
+        correlatableTags.addAll(intrusionSetIndex.intrusionSetTags(intrusionSetIndex.intrusionSetIds(tags)));
+
+        if (correlatableTags.isEmpty()) {
+            onAutoCorrelations(detector, finding, Map.of());
+            return;
+        }
 
         MatchQueryBuilder queryBuilder = QueryBuilders.matchQuery("source", "Sigma");
 
@@ -117,92 +129,35 @@ public class JoinEngine {
         logTypeService.searchLogTypes(request, new ActionListener<>() {
             @Override
             public void onResponse(SearchResponse response) {
-                MultiSearchRequest mSearchRequest = new MultiSearchRequest();
                 SearchHit[] logTypes = response.getHits().getHits();
                 List<String> logTypeNames = new ArrayList<>();
                 for (SearchHit logType: logTypes) {
-                    String logTypeName = logType.getSourceAsMap().get("name").toString();
-                    logTypeNames.add(logTypeName);
-
-                    RangeQueryBuilder queryBuilder = QueryBuilders.rangeQuery("timestamp")
-                            .gte(findingTimestamp - corrTimeWindow)
-                            .lte(findingTimestamp + corrTimeWindow);
-
-                    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-                    searchSourceBuilder.query(queryBuilder);
-                    searchSourceBuilder.size(10000);
-                    searchSourceBuilder.fetchField("queries");
-                    SearchRequest searchRequest = new SearchRequest();
-                    searchRequest.indices(DetectorMonitorConfig.getAllFindingsIndicesPattern(logTypeName));
-                    searchRequest.source(searchSourceBuilder);
-                    searchRequest.preference(Preference.PRIMARY_FIRST.type());
-                    mSearchRequest.add(searchRequest);
+                    logTypeNames.add(logType.getSourceAsMap().get("name").toString());
                 }
 
-                if (!mSearchRequest.requests().isEmpty()) {
-                    client.multiSearch(mSearchRequest, new ActionListener<>() {
-                        @Override
-                        public void onResponse(MultiSearchResponse items) {
-                            MultiSearchResponse.Item[] responses = items.getResponses();
-
-                            Map<String, List<String>> autoCorrelationsMap = new HashMap<>();
-                            int idx = 0;
-                            for (MultiSearchResponse.Item response : responses) {
-                                if (response.isFailure()) {
-                                    log.info(response.getFailureMessage());
-                                    continue;
-                                }
-                                String logTypeName = logTypeNames.get(idx);
-
-                                SearchHit[] findings = response.getResponse().getHits().getHits();
-
-                                for (SearchHit foundFinding : findings) {
-                                    if (!foundFinding.getId().equals(finding.getId())) {
-                                        Set<String> findingTags = new HashSet<>();
-                                        List<Map<String, Object>> queries = (List<Map<String, Object>>) foundFinding.getSourceAsMap().get("queries");
-                                        for (Map<String, Object> query : queries) {
-                                            List<String> queryTags = (List<String>) query.get("tags");
-                                            findingTags.addAll(queryTags.stream().filter(queryTag -> queryTag.startsWith("attack.")).collect(Collectors.toList()));
-                                        }
-
-                                        boolean canCorrelate = false;
-                                        for (String tag: tags) {
-                                            if (findingTags.contains(tag)) {
-                                                canCorrelate = true;
-                                                break;
-                                            }
-                                        }
-
-                                        Set<String> foundIntrusionSets = AutoCorrelationsRepo.validIntrusionSets(autoCorrelations, findingTags);
-                                        for (String validIntrusionSet: validIntrusionSets) {
-                                            if (foundIntrusionSets.contains(validIntrusionSet)) {
-                                                canCorrelate = true;
-                                                break;
-                                            }
-                                        }
-
-                                        if (canCorrelate) {
-                                            if (autoCorrelationsMap.containsKey(logTypeName)) {
-                                                autoCorrelationsMap.get(logTypeName).add(foundFinding.getId());
-                                            } else {
-                                                List<String> autoCorrelatedFindings = new ArrayList<>();
-                                                autoCorrelatedFindings.add(foundFinding.getId());
-                                                autoCorrelationsMap.put(logTypeName, autoCorrelatedFindings);
-                                            }
-                                        }
-                                    }
-                                }
-                                ++idx;
-                            }
-                            onAutoCorrelations(detector, finding, autoCorrelationsMap);
-                        }
+                BoolQueryBuilder autoCorrelationQuery = QueryBuilders.boolQuery()
+                        .filter(QueryBuilders.rangeQuery("timestamp")
+                                .gte(findingTimestamp - corrTimeWindow)
+                                .lte(findingTimestamp + corrTimeWindow))
+                        .filter(QueryBuilders.nestedQuery(
+                                "queries",
+                                QueryBuilders.termsQuery("queries.tags.keyword", correlatableTags),
+                                ScoreMode.None
+                        ))
+                        .mustNot(QueryBuilders.termQuery("_id", finding.getId()));
+
+                Map<String, List<String>> autoCorrelationsMap = new HashMap<>();
+                searchFindingIds(logTypeNames, autoCorrelationQuery, null, autoCorrelationsMap, new ActionListener<>() {
+                    @Override
+                    public void onResponse(Map<String, List<String>> autoCorrelations) {
+                        onAutoCorrelations(detector, finding, autoCorrelations);
+                    }
 
-                        @Override
-                        public void onFailure(Exception e) {
-                            correlateFindingAction.onFailures(e);
-                        }
-                    });
-                }
+                    @Override
+                    public void onFailure(Exception e) {
+                        correlateFindingAction.onFailures(e);
+                    }
+                });
             }
 
             @Override
@@ -212,50 +167,84 @@ public class JoinEngine {
         });
     }
 
-    private void onAutoCorrelations(Detector detector, Finding finding, Map<String, List<String>> autoCorrelations) {
-        String detectorType = detector.getDetectorType().toLowerCase(Locale.ROOT);
-        List<String> indices = detector.getInputs().get(0).getIndices();
-        List<String> relatedDocIds = finding.getCorrelatedDocIds();
+    /**
+     * this method pages through the findings of every given log type matching the query with search_after and
+     * collects only the ids of the matching findings, so windows with more findings than a single page are not truncated.
+     */
+    private void searchFindingIds(List<String> logTypes, QueryBuilder query, Map<String, Object[]> searchAfter,
+                                  Map<String, List<String>> findingIds, ActionListener<Map<String, List<String>>> listener) {
+        if (logTypes.isEmpty()) {
+            listener.onResponse(findingIds);
+            return;
+        }
 
-        NestedQueryBuilder queryBuilder = QueryBuilders.nestedQuery(
-                "correlate",
-                QueryBuilders.matchQuery("correlate.category", detectorType),
-                ScoreMode.None
-        );
-        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-        searchSourceBuilder.query(queryBuilder);
-        searchSourceBuilder.fetchSource(true);
+        MultiSearchRequest mSearchRequest = new MultiSearchRequest();
+        for (String logType: logTypes) {
+            SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+            searchSourceBuilder.query(query);
+            searchSourceBuilder.fetchSource(false);
+            searchSourceBuilder.size(FINDINGS_PAGE_SIZE);
+            searchSourceBuilder.trackTotalHits(false);
+            searchSourceBuilder.sort("timestamp", SortOrder.ASC);
+            searchSourceBuilder.sort("id", SortOrder.ASC);
+            if (searchAfter != null && searchAfter.containsKey(logType)) {
+                searchSourceBuilder.searchAfter(searchAfter.get(logType));
+            }
 
-        SearchRequest searchRequest = new SearchRequest();
-        searchRequest.indices(CorrelationRule.CORRELATION_RULE_INDEX);
-        searchRequest.source(searchSourceBuilder);
-        searchRequest.preference(Preference.PRIMARY_FIRST.type());
+            SearchRequest searchRequest = new SearchRequest();
+            searchRequest.indices(DetectorMonitorConfig.getAllFindingsIndicesPattern(logType));
+            searchRequest.source(searchSourceBuilder);
+            searchRequest.preference(Preference.PRIMARY_FIRST.type());
+            mSearchRequest.add(searchRequest);
+        }
 
-        client.search(searchRequest, new ActionListener<>() {
+        client.multiSearch(mSearchRequest, new ActionListener<>() {
             @Override
-            public void onResponse(SearchResponse response) {
-                if (response.isTimedOut()) {
-                    correlateFindingAction.onFailures(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
-                }
-
-                Iterator<SearchHit> hits = response.getHits().iterator();
-                List<CorrelationRule> correlationRules = new ArrayList<>();
-                while (hits.hasNext()) {
-                    try {
-                        SearchHit hit = hits.next();
+            public void onResponse(MultiSearchResponse items) {
+                MultiSearchResponse.Item[] responses = items.getResponses();
+                List<String> nextLogTypes = new ArrayList<>();
+                Map<String, Object[]> nextSearchAfter = new HashMap<>();
+
+                int idx = 0;
+                for (MultiSearchResponse.Item response : responses) {
+                    String logType = logTypes.get(idx);
+                    ++idx;
+                    if (response.isFailure()) {
+                        log.info(response.getFailureMessage());
+                        continue;
+                    }
 
-                        XContentParser xcp = XContentType.JSON.xContent().createParser(
-                                xContentRegistry,
-                                LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
-                        );
+                    SearchHit[] hits = response.getResponse().getHits().getHits();
+                    if (hits.length > 0) {
+                        List<String> ids = findingIds.computeIfAbsent(logType, key -> new ArrayList<>());
+                        for (SearchHit hit: hits) {
+                            ids.add(hit.getId());
+                        }
+                    }
 
-                        CorrelationRule rule = CorrelationRule.parse(xcp, hit.getId(), hit.getVersion());
-                        correlationRules.add(rule);
-                    } catch (IOException e) {
-                        correlateFindingAction.onFailures(e);
+                    if (hits.length == FINDINGS_PAGE_SIZE) {
+                        nextLogTypes.add(logType);
+                        nextSearchAfter.put(logType, hits[hits.length - 1].getSortValues());
                     }
                 }
+                searchFindingIds(nextLogTypes, query, nextSearchAfter, findingIds, listener);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                listener.onFailure(e);
+            }
+        });
+    }
+
+    private void onAutoCorrelations(Detector detector, Finding finding, Map<String, List<String>> autoCorrelations) {
+        String detectorType = detector.getDetectorType().toLowerCase(Locale.ROOT);
+        List<String> indices = detector.getInputs().get(0).getIndices();
+        List<String> relatedDocIds = finding.getCorrelatedDocIds();
 
+        correlationRuleCache.getRules(detectorType, new ActionListener<>() {
+            @Override
+            public void onResponse(List<CorrelationRule> correlationRules) {
                 getValidDocuments(detectorType, indices, correlationRules, relatedDocIds, autoCorrelations);
             }
 
@@ -392,74 +381,152 @@ public class JoinEngine {
      * for them.
      */
     private void searchFindingsByTimestamp(String detectorType, Map<String, List<CorrelationQuery>> categoryToQueriesMap, Map<String, Long> categoryToTimeWindowMap, List<String> correlationRules, Map<String, List<String>> autoCorrelations) {
+        if (categoryToQueriesMap.isEmpty()) {
+            if (!autoCorrelations.isEmpty()) {
+                correlateFindingAction.getTimestampFeature(detectorType, autoCorrelations, null, List.of());
+            } else {
+                correlateFindingAction.getTimestampFeature(detectorType, null, request.getFinding(), correlationRules);
+            }
+            return;
+        }
+
         long findingTimestamp = request.getFinding().getTimestamp().toEpochMilli();
+        searchFindingsInWindow(new ArrayList<>(categoryToQueriesMap.keySet()), categoryToTimeWindowMap::get, findingTimestamp, new ActionListener<>() {
+            @Override
+            public void onResponse(Map<String, List<FindingWindowIndex.IndexedFinding>> findingsByCategory) {
+                Map<String, DocSearchCriteria> relatedDocsMap = new HashMap<>();
+
+                for (Map.Entry<String, List<FindingWindowIndex.IndexedFinding>> findingsOfCategory: findingsByCategory.entrySet()) {
+                    List<String> relatedDocIds = new ArrayList<>();
+                    for (FindingWindowIndex.IndexedFinding foundFinding: findingsOfCategory.getValue()) {
+                        relatedDocIds.addAll(foundFinding.getCorrelatedDocIds());
+                    }
+
+                    List<CorrelationQuery> correlationQueries = categoryToQueriesMap.get(findingsOfCategory.getKey());
+                    List<String> indices = correlationQueries.stream().map(CorrelationQuery::getIndex).collect(Collectors.toList());
+                    List<String> queries = correlationQueries.stream().map(CorrelationQuery::getQuery).collect(Collectors.toList());
+                    relatedDocsMap.put(findingsOfCategory.getKey(),
+                            new DocSearchCriteria(
+                                    indices,
+                                    queries,
+                                    relatedDocIds));
+                }
+                searchDocsWithFilterKeys(detectorType, relatedDocsMap, categoryToTimeWindowMap, correlationRules, autoCorrelations);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                correlateFindingAction.onFailures(e);
+            }
+        });
+    }
+
+    /**
+     * this method collects the findings of every given log type within the time window around the finding timestamp.
+     * Buckets already sealed in the {@link FindingWindowIndex} are answered from memory, only the remaining tail of each
+     * window is searched on the findings indices.
+     */
+    private void searchFindingsInWindow(List<String> logTypes, Function<String, Long> timeWindow, long findingTimestamp,
+                                        ActionListener<Map<String, List<FindingWindowIndex.IndexedFinding>>> listener) {
+        long now = System.currentTimeMillis();
+        findingWindowIndex.evict(now - 2 * corrTimeWindow - FindingWindowIndex.SETTLE_DELAY);
+
+        Map<String, List<FindingWindowIndex.IndexedFinding>> findingsByLogType = new HashMap<>();
         MultiSearchRequest mSearchRequest = new MultiSearchRequest();
-        List<Pair<String, List<CorrelationQuery>>> categoryToQueriesPairs = new ArrayList<>();
+        List<Triple<String, Long, Long>> searchedRanges = new ArrayList<>();
 
-        for (Map.Entry<String, List<CorrelationQuery>> categoryToQueries: categoryToQueriesMap.entrySet()) {
-            RangeQueryBuilder queryBuilder = QueryBuilders.rangeQuery("timestamp")
-                    .gte(findingTimestamp - categoryToTimeWindowMap.get(categoryToQueries.getKey()))
-                    .lte(findingTimestamp + categoryToTimeWindowMap.get(categoryToQueries.getKey()));
+        for (String logType: logTypes) {
+            long from = findingTimestamp - timeWindow.apply(logType);
+            long to = findingTimestamp + timeWindow.apply(logType);
 
-            SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-            searchSourceBuilder.query(queryBuilder);
-            searchSourceBuilder.fetchSource(false);
-            searchSourceBuilder.size(10000);
-            searchSourceBuilder.fetchField("correlated_doc_ids");
-            SearchRequest searchRequest = new SearchRequest();
-            searchRequest.indices(DetectorMonitorConfig.getAllFindingsIndicesPattern(categoryToQueries.getKey()));
-            searchRequest.source(searchSourceBuilder);
-            searchRequest.preference(Preference.PRIMARY_FIRST.type());
-            mSearchRequest.add(searchRequest);
-            categoryToQueriesPairs.add(Pair.of(categoryToQueries.getKey(), categoryToQueries.getValue()));
+            long coveredUntil = findingWindowIndex.coveredUntil(logType, from, to);
+            List<FindingWindowIndex.IndexedFinding> findings = findingWindowIndex.lookup(logType, from, Math.min(to, coveredUntil - 1));
+            findingsByLogType.put(logType, findings);
+
+            if (coveredUntil <= to) {
+                RangeQueryBuilder queryBuilder = QueryBuilders.rangeQuery("timestamp")
+                        .gte(coveredUntil)
+                        .lte(to);
+
+                SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+                searchSourceBuilder.query(queryBuilder);
+                searchSourceBuilder.fetchSource(FindingWindowIndex.FETCH_SOURCE_INCLUDES, null);
+                searchSourceBuilder.size(10000);
+                // an exact hit count is needed to tell whether the page holds the whole window before sealing it
+                searchSourceBuilder.trackTotalHits(true);
+                SearchRequest searchRequest = new SearchRequest();
+                searchRequest.indices(DetectorMonitorConfig.getAllFindingsIndicesPattern(logType));
+                searchRequest.source(searchSourceBuilder);
+                searchRequest.preference(Preference.PRIMARY_FIRST.type());
+                mSearchRequest.add(searchRequest);
+                searchedRanges.add(Triple.of(logType, coveredUntil, to));
+            }
         }
 
-        if (!mSearchRequest.requests().isEmpty()) {
-            client.multiSearch(mSearchRequest, new ActionListener<>() {
-                @Override
-                public void onResponse(MultiSearchResponse items) {
-                    MultiSearchResponse.Item[] responses = items.getResponses();
-                    Map<String, DocSearchCriteria> relatedDocsMap = new HashMap<>();
+        if (mSearchRequest.requests().isEmpty()) {
+            listener.onResponse(findingsByLogType);
+            return;
+        }
 
-                    int idx = 0;
-                    for (MultiSearchResponse.Item response : responses) {
-                        if (response.isFailure()) {
-                            log.info(response.getFailureMessage());
-                            continue;
-                        }
+        client.multiSearch(mSearchRequest, new ActionListener<>() {
+            @Override
+            public void onResponse(MultiSearchResponse items) {
+                MultiSearchResponse.Item[] responses = items.getResponses();
+
+                int idx = 0;
+                for (MultiSearchResponse.Item response : responses) {
+                    Triple<String, Long, Long> searchedRange = searchedRanges.get(idx);
+                    ++idx;
+                    if (response.isFailure()) {
+                        log.info(response.getFailureMessage());
+                        findingsByLogType.remove(searchedRange.getLeft());
+                        continue;
+                    }
 
-                        List<String> relatedDocIds = new ArrayList<>();
-                        SearchHit[] hits = response.getResponse().getHits().getHits();
-                        for (SearchHit hit : hits) {
-                            relatedDocIds.addAll(hit.getFields().get("correlated_doc_ids").getValues().stream()
-                                    .map(Object::toString).collect(Collectors.toList()));
+                    SearchHit[] hits = response.getResponse().getHits().getHits();
+                    List<FindingWindowIndex.IndexedFinding> searchedFindings = new ArrayList<>();
+                    boolean complete = isCompleteWindow(response.getResponse());
+                    for (SearchHit hit: hits) {
+                        FindingWindowIndex.IndexedFinding foundFinding = FindingWindowIndex.IndexedFinding.fromSearchHit(searchedRange.getLeft(), hit);
+                        if (foundFinding != null) {
+                            searchedFindings.add(foundFinding);
+                        } else {
+                            complete = false;
                         }
+                    }
 
-                        List<CorrelationQuery> correlationQueries = categoryToQueriesPairs.get(idx).getValue();
-                        List<String> indices = correlationQueries.stream().map(CorrelationQuery::getIndex).collect(Collectors.toList());
-                        List<String> queries = correlationQueries.stream().map(CorrelationQuery::getQuery).collect(Collectors.toList());
-                        relatedDocsMap.put(categoryToQueriesPairs.get(idx).getKey(),
-                                new DocSearchCriteria(
-                                        indices,
-                                        queries,
-                                        relatedDocIds));
-                        ++idx;
+                    long from = findingTimestamp - timeWindow.apply(searchedRange.getLeft());
+                    List<FindingWindowIndex.IndexedFinding> findings = findingsByLogType.get(searchedRange.getLeft());
+                    for (FindingWindowIndex.IndexedFinding foundFinding: searchedFindings) {
+                        if (foundFinding.getTimestamp() >= from) {
+                            findings.add(foundFinding);
+                        }
+                    }
+                    if (complete) {
+                        findingWindowIndex.seal(searchedRange.getLeft(), searchedRange.getMiddle(), searchedRange.getRight(), searchedFindings, now);
                     }
-                    searchDocsWithFilterKeys(detectorType, relatedDocsMap, categoryToTimeWindowMap, correlationRules, autoCorrelations);
                 }
+                listener.onResponse(findingsByLogType);
+            }
 
-                @Override
-                public void onFailure(Exception e) {
-                    correlateFindingAction.onFailures(e);
-                }
-            });
-        } else {
-            if (!autoCorrelations.isEmpty()) {
-                correlateFindingAction.getTimestampFeature(detectorType, autoCorrelations, null, List.of());
-            } else {
-                correlateFindingAction.getTimestampFeature(detectorType, null, request.getFinding(), correlationRules);
+            @Override
+            public void onFailure(Exception e) {
+                listener.onFailure(e);
             }
-        }
+        });
+    }
+
+    /**
+     * Whether the search response holds all the findings of the searched range, only then is the range sealed in the
+     * {@link FindingWindowIndex}. Partial pages, shard failures and timeouts leave the range to be searched again.
+     */
+    static boolean isCompleteWindow(SearchResponse response) {
+        TotalHits totalHits = response.getHits().getTotalHits();
+        return totalHits != null
+                && totalHits.relation == TotalHits.Relation.EQUAL_TO
+                && response.getHits().getHits().length == totalHits.value
+                && response.getFailedShards() == 0
+                && response.isTimedOut() == false;
     }
 
     /**
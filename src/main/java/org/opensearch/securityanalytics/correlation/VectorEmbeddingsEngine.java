@@ -9,22 +9,18 @@ import org.apache.logging.log4j.Logger;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.cluster.routing.Preference;
 import org.opensearch.core.action.ActionListener;
-import org.opensearch.action.bulk.BulkRequest;
-import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.bulk.BulkItemResponse;
 import org.opensearch.action.index.IndexRequest;
-import org.opensearch.action.index.IndexResponse;
 import org.opensearch.action.search.MultiSearchRequest;
 import org.opensearch.action.search.MultiSearchResponse;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
-import org.opensearch.action.support.WriteRequest;
 import org.opensearch.client.Client;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.commons.alerting.model.Finding;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.index.query.BoolQueryBuilder;
-import org.opensearch.index.query.MatchQueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.search.SearchHit;
@@ -36,6 +32,7 @@ import org.opensearch.securityanalytics.transport.TransportCorrelateFindingActio
 import org.opensearch.securityanalytics.util.CorrelationIndices;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -50,14 +47,22 @@ public class VectorEmbeddingsEngine {
 
     private volatile long corrTimeWindow;
 
+    private final CorrelationHistoryWriter correlationHistoryWriter;
+
+    private final CorrelationCounterAllocator correlationCounterAllocator;
+
     private static final Logger log = LogManager.getLogger(VectorEmbeddingsEngine.class);
 
     public VectorEmbeddingsEngine(Client client, TimeValue indexTimeout, long corrTimeWindow,
-                                  TransportCorrelateFindingAction.AsyncCorrelateFindingAction correlateFindingAction) {
+                                  TransportCorrelateFindingAction.AsyncCorrelateFindingAction correlateFindingAction,
+                                  CorrelationHistoryWriter correlationHistoryWriter,
+                                  CorrelationCounterAllocator correlationCounterAllocator) {
         this.client = client;
         this.indexTimeout = indexTimeout;
         this.corrTimeWindow = corrTimeWindow;
         this.correlateFindingAction = correlateFindingAction;
+        this.correlationHistoryWriter = correlationHistoryWriter;
+        this.correlationCounterAllocator = correlationCounterAllocator;
     }
 
     public void insertCorrelatedFindings(String detectorType, Finding finding, String logType, List<String> correlatedFindings, float timestampFeature, List<String> correlationRules, Map<String, CustomLogType> logTypes) {
@@ -65,28 +70,9 @@ public class VectorEmbeddingsEngine {
         String correlationId = tags.get("correlation_id").toString();
 
         long findingTimestamp = finding.getTimestamp().toEpochMilli();
-        MatchQueryBuilder queryBuilder = QueryBuilders.matchQuery(
-                "root", true
-        );
-        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-        searchSourceBuilder.query(queryBuilder);
-        searchSourceBuilder.fetchSource(true);
-        searchSourceBuilder.size(1);
-        SearchRequest searchRequest = new SearchRequest();
-        searchRequest.indices(CorrelationIndices.CORRELATION_METADATA_INDEX);
-        searchRequest.source(searchSourceBuilder);
-        searchRequest.preference(Preference.PRIMARY_FIRST.type());
-
-        client.search(searchRequest, new ActionListener<>() {
+        correlationCounterAllocator.current(findingTimestamp, new ActionListener<>() {
             @Override
-            public void onResponse(SearchResponse response) {
-                if (response.isTimedOut()) {
-                    correlateFindingAction.onFailures(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
-                }
-
-                Map<String, Object> hitSource = response.getHits().getHits()[0].getSourceAsMap();
-                long counter = Long.parseLong(hitSource.get("counter").toString());
-
+            public void onResponse(Long counter) {
                 MultiSearchRequest mSearchRequest = new MultiSearchRequest();
 
                 for (String correlatedFinding: correlatedFindings) {
@@ -114,8 +100,7 @@ public class VectorEmbeddingsEngine {
                     @Override
                     public void onResponse(MultiSearchResponse items) {
                         MultiSearchResponse.Item[] responses = items.getResponses();
-                        BulkRequest bulkRequest = new BulkRequest();
-                        bulkRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+                        List<IndexRequest> indexRequests = new ArrayList<>();
 
                         long prevCounter = -1L;
                         long totalNeighbors = 0L;
@@ -159,7 +144,7 @@ public class VectorEmbeddingsEngine {
                                         IndexRequest indexRequest = new IndexRequest(CorrelationIndices.CORRELATION_HISTORY_WRITE_INDEX)
                                                 .source(builder)
                                                 .timeout(indexTimeout);
-                                        bulkRequest.add(indexRequest);
+                                        indexRequests.add(indexRequest);
                                     }
 
                                     corrVector = new float[3];
@@ -176,6 +161,8 @@ public class VectorEmbeddingsEngine {
                                     corrBuilder.field("finding1", finding.getId());
                                     corrBuilder.field("finding2", correlatedFinding);
                                     corrBuilder.field("logType", String.format(Locale.ROOT, "%s-%s", detectorType, logType));
+                                    corrBuilder.field("logType1", detectorType);
+                                    corrBuilder.field("logType2", logType);
                                     corrBuilder.field("timestamp", findingTimestamp);
                                     corrBuilder.field("corr_vector", corrVector);
                                     corrBuilder.field("recordType", "finding-finding");
@@ -186,7 +173,7 @@ public class VectorEmbeddingsEngine {
                                     IndexRequest indexRequest = new IndexRequest(CorrelationIndices.CORRELATION_HISTORY_WRITE_INDEX)
                                             .source(corrBuilder)
                                             .timeout(indexTimeout);
-                                    bulkRequest.add(indexRequest);
+                                    indexRequests.add(indexRequest);
                                 } catch (IOException ex) {
                                     correlateFindingAction.onFailures(ex);
                                 }
@@ -195,10 +182,10 @@ public class VectorEmbeddingsEngine {
                         }
 
                         if (totalNeighbors > 0L) {
-                            client.bulk(bulkRequest, new ActionListener<>() {
+                            correlationHistoryWriter.write(indexRequests, new ActionListener<>() {
                                 @Override
-                                public void onResponse(BulkResponse response) {
-                                    if (response.hasFailures()) {
+                                public void onResponse(List<BulkItemResponse> responses) {
+                                    if (responses.stream().anyMatch(BulkItemResponse::isFailed)) {
                                         correlateFindingAction.onFailures(new OpenSearchStatusException("Correlation of finding failed", RestStatus.INTERNAL_SERVER_ERROR));
                                     }
                                     correlateFindingAction.onOperation();
@@ -232,337 +219,62 @@ public class VectorEmbeddingsEngine {
         if (logTypes.get(detectorType) == null) {
             log.error("LogTypes Index is missing the detector type {}", detectorType);
             correlateFindingAction.onFailures(new OpenSearchStatusException("LogTypes Index is missing the detector type", RestStatus.INTERNAL_SERVER_ERROR));
+            return;
         }
 
         Map<String, Object> tags = logTypes.get(detectorType).getTags();
-        String correlationId = tags.get("correlation_id").toString();
+        String correlationId = Integer.valueOf(tags.get("correlation_id").toString()).toString();
 
         long findingTimestamp = finding.getTimestamp().toEpochMilli();
-        MatchQueryBuilder queryBuilder = QueryBuilders.matchQuery(
-                "root", true
-        );
-        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-        searchSourceBuilder.query(queryBuilder);
-        searchSourceBuilder.fetchSource(true);
-        searchSourceBuilder.size(1);
-        SearchRequest searchRequest = new SearchRequest();
-        searchRequest.indices(CorrelationIndices.CORRELATION_METADATA_INDEX);
-        searchRequest.source(searchSourceBuilder);
-        searchRequest.preference(Preference.PRIMARY_FIRST.type());
-
-        client.search(searchRequest, new ActionListener<>() {
+        correlationCounterAllocator.current(findingTimestamp, new ActionListener<>() {
             @Override
-            public void onResponse(SearchResponse response) {
-                if (response.isTimedOut()) {
-                    correlateFindingAction.onFailures(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
+            public void onResponse(Long counter) {
+                float[] query = new float[3];
+                for (int i = 0; i < 2; ++i) {
+                    query[i] = (2.0f * ((float) counter) - 50.0f) / 2.0f;
                 }
+                query[2] = timestampFeature;
+
+                CorrelationQueryBuilder correlationQueryBuilder = new CorrelationQueryBuilder("corr_vector", query, 100, QueryBuilders.boolQuery()
+                        .mustNot(QueryBuilders.matchQuery(
+                                "finding1", ""
+                        )).mustNot(QueryBuilders.matchQuery(
+                                "finding2", ""
+                        )).filter(QueryBuilders.rangeQuery("timestamp")
+                                .gte(findingTimestamp - corrTimeWindow)
+                                .lte(findingTimestamp + corrTimeWindow)));
+                SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+                searchSourceBuilder.query(correlationQueryBuilder);
+                searchSourceBuilder.fetchSource(true);
+                searchSourceBuilder.size(1);
+                SearchRequest searchRequest = new SearchRequest();
+                searchRequest.indices(CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
+                searchRequest.source(searchSourceBuilder);
+                searchRequest.preference(Preference.PRIMARY_FIRST.type());
+
+                client.search(searchRequest, new ActionListener<>() {
+                    @Override
+                    public void onResponse(SearchResponse response) {
+                        if (response.isTimedOut()) {
+                            correlateFindingAction.onFailures(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
+                        }
 
-                try {
-                    Map<String, Object> hitSource = response.getHits().getHits()[0].getSourceAsMap();
-                    String id = response.getHits().getHits()[0].getId();
-                    long counter = Long.parseLong(hitSource.get("counter").toString());
-                    long timestamp = Long.parseLong(hitSource.get("timestamp").toString());
-                    if (counter == 0L) {
-                        XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
-                        builder.field("root", true);
-                        builder.field("counter", 50L);
-                        builder.field("finding1", "");
-                        builder.field("finding2", "");
-                        builder.field("logType", "");
-                        builder.field("timestamp", findingTimestamp);
-                        builder.field("scoreTimestamp", 0L);
-                        builder.endObject();
-
-                        IndexRequest indexRequest = new IndexRequest(CorrelationIndices.CORRELATION_METADATA_INDEX)
-                                .id(id)
-                                .source(builder)
-                                .timeout(indexTimeout)
-                                .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
-
-                        client.index(indexRequest, new ActionListener<>() {
-                            @Override
-                            public void onResponse(IndexResponse response) {
-                                if (response.status().equals(RestStatus.OK)) {
-                                    try {
-                                        float[] corrVector = new float[3];
-                                        corrVector[0] = 50.0f;
-                                        corrVector[2] = timestampFeature;
-
-                                        XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
-                                        builder.field("root", false);
-                                        builder.field("counter", 50L);
-                                        builder.field("finding1", finding.getId());
-                                        builder.field("finding2", "");
-                                        builder.field("logType", correlationId);
-                                        builder.field("timestamp", findingTimestamp);
-                                        builder.field("corr_vector", corrVector);
-                                        builder.field("recordType", "finding");
-                                        builder.field("scoreTimestamp", 0L);
-                                        builder.endObject();
-
-                                        IndexRequest indexRequest = new IndexRequest(CorrelationIndices.CORRELATION_HISTORY_WRITE_INDEX)
-                                                .source(builder)
-                                                .timeout(indexTimeout)
-                                                .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
-
-                                        client.index(indexRequest, new ActionListener<>() {
-                                            @Override
-                                            public void onResponse(IndexResponse response) {
-                                                if (response.status().equals(RestStatus.CREATED)) {
-                                                    correlateFindingAction.onOperation();
-                                                } else {
-                                                    correlateFindingAction.onFailures(new OpenSearchStatusException(response.toString(), RestStatus.INTERNAL_SERVER_ERROR));
-                                                }
-                                            }
-
-                                            @Override
-                                            public void onFailure(Exception e) {
-                                                correlateFindingAction.onFailures(e);
-                                            }
-                                        });
-                                    } catch (IOException ex) {
-                                        correlateFindingAction.onFailures(ex);
-                                    }
-                                }
-                            }
+                        long totalHits = response.getHits().getTotalHits().value;
+                        SearchHit hit = totalHits > 0? response.getHits().getHits()[0]: null;
+                        long existCounter = 0L;
 
-                            @Override
-                            public void onFailure(Exception e) {
-                                correlateFindingAction.onFailures(e);
-                            }
-                        });
-                    } else {
-                        if (findingTimestamp - timestamp > corrTimeWindow) {
-                            XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
-                            builder.field("root", true);
-                            builder.field("counter", 50L);
-                            builder.field("finding1", "");
-                            builder.field("finding2", "");
-                            builder.field("logType", "");
-                            builder.field("timestamp", findingTimestamp);
-                            builder.field("scoreTimestamp", 0L);
-                            builder.endObject();
-
-                            IndexRequest indexRequest = new IndexRequest(CorrelationIndices.CORRELATION_METADATA_INDEX)
-                                    .id(id)
-                                    .source(builder)
-                                    .timeout(indexTimeout)
-                                    .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
-
-                            client.index(indexRequest, new ActionListener<>() {
-                                @Override
-                                public void onResponse(IndexResponse response) {
-                                    if (response.status().equals(RestStatus.OK)) {
-                                        correlateFindingAction.onOperation();
-                                        try {
-                                            float[] corrVector = new float[3];
-                                            corrVector[0] = 50.0f;
-                                            corrVector[2] = timestampFeature;
-
-                                            XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
-                                            builder.field("root", false);
-                                            builder.field("counter", 50L);
-                                            builder.field("finding1", finding.getId());
-                                            builder.field("finding2", "");
-                                            builder.field("logType", Integer.valueOf(logTypes.get(detectorType).getTags().get("correlation_id").toString()).toString());
-                                            builder.field("timestamp", findingTimestamp);
-                                            builder.field("corr_vector", corrVector);
-                                            builder.field("recordType", "finding");
-                                            builder.field("scoreTimestamp", 0L);
-                                            builder.endObject();
-
-                                            IndexRequest indexRequest = new IndexRequest(CorrelationIndices.CORRELATION_HISTORY_WRITE_INDEX)
-                                                    .source(builder)
-                                                    .timeout(indexTimeout)
-                                                    .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
-
-                                            client.index(indexRequest, new ActionListener<>() {
-                                                @Override
-                                                public void onResponse(IndexResponse response) {
-                                                    if (response.status().equals(RestStatus.CREATED)) {
-                                                        correlateFindingAction.onOperation();
-                                                    } else {
-                                                        correlateFindingAction.onFailures(new OpenSearchStatusException(response.toString(), RestStatus.INTERNAL_SERVER_ERROR));
-                                                    }
-                                                }
-
-                                                @Override
-                                                public void onFailure(Exception e) {
-                                                    correlateFindingAction.onFailures(e);
-                                                }
-                                            });
-                                        } catch (IOException ex) {
-                                            correlateFindingAction.onFailures(ex);
-                                        }
-                                    }
-                                }
+                        if (hit != null) {
+                            Map<String, Object> hitSource = response.getHits().getHits()[0].getSourceAsMap();
+                            existCounter = Long.parseLong(hitSource.get("counter").toString());
+                        }
 
-                                @Override
-                                public void onFailure(Exception e) {
-                                    correlateFindingAction.onFailures(e);
-                                }
-                            });
+                        if (totalHits == 0L || existCounter != ((long) (2.0f * ((float) counter) - 50.0f) / 2.0f)) {
+                            indexOrphanFinding(finding, counter, correlationId, timestampFeature);
                         } else {
-                            float[] query = new float[3];
-                            for (int i = 0; i < 2; ++i) {
-                                query[i] = (2.0f * ((float) counter) - 50.0f) / 2.0f;
-                            }
-                            query[2] = timestampFeature;
-
-                            CorrelationQueryBuilder correlationQueryBuilder = new CorrelationQueryBuilder("corr_vector", query, 100, QueryBuilders.boolQuery()
-                                    .mustNot(QueryBuilders.matchQuery(
-                                            "finding1", ""
-                                    )).mustNot(QueryBuilders.matchQuery(
-                                            "finding2", ""
-                                    )).filter(QueryBuilders.rangeQuery("timestamp")
-                                            .gte(findingTimestamp - corrTimeWindow)
-                                            .lte(findingTimestamp + corrTimeWindow)));
-                            SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-                            searchSourceBuilder.query(correlationQueryBuilder);
-                            searchSourceBuilder.fetchSource(true);
-                            searchSourceBuilder.size(1);
-                            SearchRequest searchRequest = new SearchRequest();
-                            searchRequest.indices(CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
-                            searchRequest.source(searchSourceBuilder);
-                            searchRequest.preference(Preference.PRIMARY_FIRST.type());
-
-                            client.search(searchRequest, new ActionListener<>() {
+                            correlationCounterAllocator.next(findingTimestamp, new ActionListener<>() {
                                 @Override
-                                public void onResponse(SearchResponse response) {
-                                    if (response.isTimedOut()) {
-                                        correlateFindingAction.onFailures(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
-                                    }
-
-                                    long totalHits = response.getHits().getTotalHits().value;
-                                    SearchHit hit = totalHits > 0? response.getHits().getHits()[0]: null;
-                                    long existCounter = 0L;
-
-                                    if (hit != null) {
-                                        Map<String, Object> hitSource = response.getHits().getHits()[0].getSourceAsMap();
-                                        existCounter = Long.parseLong(hitSource.get("counter").toString());
-                                    }
-
-                                    if (totalHits == 0L || existCounter != ((long) (2.0f * ((float) counter) - 50.0f) / 2.0f)) {
-                                        try {
-                                            float[] corrVector = new float[3];
-                                            for (int i = 0; i < 2; ++i) {
-                                                corrVector[i] = ((float) counter) - 50.0f;
-                                            }
-                                            corrVector[0] = (float) counter;
-                                            corrVector[2] = timestampFeature;
-
-                                            XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
-                                            builder.field("root", false);
-                                            builder.field("counter", counter);
-                                            builder.field("finding1", finding.getId());
-                                            builder.field("finding2", "");
-                                            builder.field("logType", Integer.valueOf(logTypes.get(detectorType).getTags().get("correlation_id").toString()).toString());
-                                            builder.field("timestamp", findingTimestamp);
-                                            builder.field("corr_vector", corrVector);
-                                            builder.field("recordType", "finding");
-                                            builder.field("scoreTimestamp", 0L);
-                                            builder.endObject();
-
-                                            IndexRequest indexRequest = new IndexRequest(CorrelationIndices.CORRELATION_HISTORY_WRITE_INDEX)
-                                                    .source(builder)
-                                                    .timeout(indexTimeout)
-                                                    .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
-
-                                            client.index(indexRequest, new ActionListener<>() {
-                                                @Override
-                                                public void onResponse(IndexResponse response) {
-                                                    if (response.status().equals(RestStatus.CREATED)) {
-                                                        correlateFindingAction.onOperation();
-                                                    } else {
-                                                        correlateFindingAction.onFailures(new OpenSearchStatusException(response.toString(), RestStatus.INTERNAL_SERVER_ERROR));
-                                                    }
-                                                }
-
-                                                @Override
-                                                public void onFailure(Exception e) {
-                                                    correlateFindingAction.onFailures(e);
-                                                }
-                                            });
-                                        } catch (IOException ex) {
-                                            correlateFindingAction.onFailures(ex);
-                                        }
-                                    } else {
-                                        try {
-                                            XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
-                                            builder.field("root", true);
-                                            builder.field("counter", counter + 50L);
-                                            builder.field("finding1", "");
-                                            builder.field("finding2", "");
-                                            builder.field("logType", "");
-                                            builder.field("timestamp", findingTimestamp);
-                                            builder.field("scoreTimestamp", 0L);
-                                            builder.endObject();
-
-                                            IndexRequest indexRequest = new IndexRequest(CorrelationIndices.CORRELATION_METADATA_INDEX)
-                                                    .id(id)
-                                                    .source(builder)
-                                                    .timeout(indexTimeout)
-                                                    .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
-
-                                            client.index(indexRequest, new ActionListener<>() {
-                                                @Override
-                                                public void onResponse(IndexResponse response) {
-                                                    if (response.status().equals(RestStatus.OK)) {
-                                                        try {
-                                                            float[] corrVector = new float[3];
-                                                            for (int i = 0; i < 2; ++i) {
-                                                                corrVector[i] = (float) counter;
-                                                            }
-                                                            corrVector[0] = counter + 50.0f;
-                                                            corrVector[2] = timestampFeature;
-
-                                                            XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
-                                                            builder.field("root", false);
-                                                            builder.field("counter", counter + 50L);
-                                                            builder.field("finding1", finding.getId());
-                                                            builder.field("finding2", "");
-                                                            builder.field("logType", Integer.valueOf(logTypes.get(detectorType).getTags().get("correlation_id").toString()).toString());
-                                                            builder.field("timestamp", findingTimestamp);
-                                                            builder.field("corr_vector", corrVector);
-                                                            builder.field("recordType", "finding");
-                                                            builder.field("scoreTimestamp", 0L);
-                                                            builder.endObject();
-
-                                                            IndexRequest indexRequest = new IndexRequest(CorrelationIndices.CORRELATION_HISTORY_WRITE_INDEX)
-                                                                    .source(builder)
-                                                                    .timeout(indexTimeout)
-                                                                    .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
-
-                                                            client.index(indexRequest, new ActionListener<>() {
-                                                                @Override
-                                                                public void onResponse(IndexResponse response) {
-                                                                    if (response.status().equals(RestStatus.CREATED)) {
-                                                                        correlateFindingAction.onOperation();
-                                                                    } else {
-                                                                        correlateFindingAction.onFailures(new OpenSearchStatusException(response.toString(), RestStatus.INTERNAL_SERVER_ERROR));
-                                                                    }
-                                                                }
-
-                                                                @Override
-                                                                public void onFailure(Exception e) {
-                                                                    correlateFindingAction.onFailures(e);
-                                                                }
-                                                            });
-                                                        } catch (IOException ex) {
-                                                            correlateFindingAction.onFailures(ex);
-                                                        }
-                                                    }
-                                                }
-
-                                                @Override
-                                                public void onFailure(Exception e) {
-                                                    correlateFindingAction.onFailures(e);
-                                                }
-                                            });
-                                        } catch (IOException ex) {
-                                            correlateFindingAction.onFailures(ex);
-                                        }
-                                    }
+                                public void onResponse(Long nextCounter) {
+                                    indexOrphanFinding(finding, nextCounter, correlationId, timestampFeature);
                                 }
 
                                 @Override
@@ -572,9 +284,12 @@ public class VectorEmbeddingsEngine {
                             });
                         }
                     }
-                } catch (IOException ex) {
-                    correlateFindingAction.onFailures(ex);
-                }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        correlateFindingAction.onFailures(e);
+                    }
+                });
             }
 
             @Override
@@ -583,4 +298,47 @@ public class VectorEmbeddingsEngine {
             }
         });
     }
-}
\ No newline at end of file
+
+    private void indexOrphanFinding(Finding finding, long counter, String correlationId, float timestampFeature) {
+        try {
+            float[] corrVector = new float[3];
+            corrVector[0] = (float) counter;
+            corrVector[1] = ((float) counter) - 50.0f;
+            corrVector[2] = timestampFeature;
+
+            XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
+            builder.field("root", false);
+            builder.field("counter", counter);
+            builder.field("finding1", finding.getId());
+            builder.field("finding2", "");
+            builder.field("logType", correlationId);
+            builder.field("timestamp", finding.getTimestamp().toEpochMilli());
+            builder.field("corr_vector", corrVector);
+            builder.field("recordType", "finding");
+            builder.field("scoreTimestamp", 0L);
+            builder.endObject();
+
+            IndexRequest indexRequest = new IndexRequest(CorrelationIndices.CORRELATION_HISTORY_WRITE_INDEX)
+                    .source(builder)
+                    .timeout(indexTimeout);
+
+            correlationHistoryWriter.index(indexRequest, new ActionListener<>() {
+                @Override
+                public void onResponse(List<BulkItemResponse> responses) {
+                    if (!responses.get(0).isFailed() && responses.get(0).status().equals(RestStatus.CREATED)) {
+                        correlateFindingAction.onOperation();
+                    } else {
+                        correlateFindingAction.onFailures(new OpenSearchStatusException(responses.get(0).getFailureMessage(), RestStatus.INTERNAL_SERVER_ERROR));
+                    }
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    correlateFindingAction.onFailures(e);
+                }
+            });
+        } catch (IOException ex) {
+            correlateFindingAction.onFailures(ex);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import org.opensearch.core.common.io.stream.Writeable;
 import org.opensearch.core.xcontent.ToXContentFragment;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.index.mapper.MapperParsingException;
+import org.opensearch.securityanalytics.correlation.CorrelationConstants;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -76,6 +77,7 @@ public class CorrelationParamsContext implements ToXContentFragment, Writeable {
 
                 @SuppressWarnings("unchecked")
                 Map<String, Object> valueMap = (Map<String, Object>) value;
+                validateEncoding(valueMap.get(CorrelationConstants.METHOD_PARAMETER_ENCODING));
                 assert parameters != null;
                 parameters.putAll(valueMap);
             } else {
@@ -85,6 +87,16 @@ public class CorrelationParamsContext implements ToXContentFragment, Writeable {
         return new CorrelationParamsContext(similarityFunction, parameters);
     }
 
+    private static void validateEncoding(Object encoding) {
+        if (encoding == null) {
+            return;
+        }
+        if (!CorrelationConstants.ENCODING_FLOAT.equals(encoding) && !CorrelationConstants.ENCODING_INT8.equals(encoding)) {
+            throw new MapperParsingException(String.format(Locale.getDefault(), "Invalid %s: %s, supported values are [%s, %s]",
+                    CorrelationConstants.METHOD_PARAMETER_ENCODING, encoding, CorrelationConstants.ENCODING_FLOAT, CorrelationConstants.ENCODING_INT8));
+        }
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject();
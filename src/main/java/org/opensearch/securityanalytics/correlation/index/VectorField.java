@@ -7,15 +7,17 @@ package org.opensearch.securityanalytics.correlation.index;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.index.IndexableFieldType;
 import org.apache.lucene.util.BytesRef;
-import org.opensearch.securityanalytics.correlation.index.codec.util.CorrelationVectorAsArraySerializer;
 import org.opensearch.securityanalytics.correlation.index.codec.util.CorrelationVectorSerializer;
 
+/**
+ * Binary doc values field of a correlation vector, encoded with the serializer of the codec version which writes the
+ * segment, see {@link org.opensearch.securityanalytics.correlation.index.codec.CorrelationCodecVersion#vectorSerializer}.
+ */
 public class VectorField extends Field {
 
-    public VectorField(String name, float[] value, IndexableFieldType type) {
+    public VectorField(String name, float[] value, IndexableFieldType type, CorrelationVectorSerializer vectorSerializer) {
         super(name, new BytesRef(), type);
         try {
-            final CorrelationVectorSerializer vectorSerializer = new CorrelationVectorAsArraySerializer();
             final byte[] floatToByte = vectorSerializer.floatToByteArray(value);
             this.setBytesValue(floatToByte);
         } catch (Exception ex) {
@@ -23,17 +23,32 @@ public abstract class BasePerFieldCorrelationVectorsFormat extends PerFieldKnnVe
     private final int defaultBeamWidth;
     private final Supplier<KnnVectorsFormat> defaultFormatSupplier;
     private final BiFunction<Integer, Integer, KnnVectorsFormat> formatSupplier;
+    private final BiFunction<Integer, Integer, KnnVectorsFormat> quantizedFormatSupplier;
 
     public BasePerFieldCorrelationVectorsFormat(Optional<MapperService> mapperService,
                                                 int defaultMaxConnections,
                                                 int defaultBeamWidth,
                                                 Supplier<KnnVectorsFormat> defaultFormatSupplier,
                                                 BiFunction<Integer, Integer, KnnVectorsFormat> formatSupplier) {
+        this(mapperService, defaultMaxConnections, defaultBeamWidth, defaultFormatSupplier, formatSupplier, null);
+    }
+
+    /**
+     * @param quantizedFormatSupplier format used for fields with {@code int8} encoding, null if the codec version has no
+     *                                scalar quantized format
+     */
+    public BasePerFieldCorrelationVectorsFormat(Optional<MapperService> mapperService,
+                                                int defaultMaxConnections,
+                                                int defaultBeamWidth,
+                                                Supplier<KnnVectorsFormat> defaultFormatSupplier,
+                                                BiFunction<Integer, Integer, KnnVectorsFormat> formatSupplier,
+                                                BiFunction<Integer, Integer, KnnVectorsFormat> quantizedFormatSupplier) {
         this.mapperService = mapperService;
         this.defaultMaxConnections = defaultMaxConnections;
         this.defaultBeamWidth = defaultBeamWidth;
         this.defaultFormatSupplier = defaultFormatSupplier;
         this.formatSupplier = formatSupplier;
+        this.quantizedFormatSupplier = quantizedFormatSupplier;
     }
 
     @Override
@@ -51,6 +66,13 @@ public abstract class BasePerFieldCorrelationVectorsFormat extends PerFieldKnnVe
         int maxConnections = getMaxConnections(params);
         int beamWidth = getBeamWidth(params);
 
+        if (CorrelationConstants.ENCODING_INT8.equals(getEncoding(params))) {
+            if (quantizedFormatSupplier == null) {
+                throw new IllegalArgumentException(String.format(Locale.getDefault(),
+                        "Encoding [%s] of field [%s] is not supported by this codec version", CorrelationConstants.ENCODING_INT8, field));
+            }
+            return quantizedFormatSupplier.apply(maxConnections, beamWidth);
+        }
         return formatSupplier.apply(maxConnections, beamWidth);
     }
 
@@ -71,4 +93,11 @@ public abstract class BasePerFieldCorrelationVectorsFormat extends PerFieldKnnVe
         }
         return defaultBeamWidth;
     }
-}
\ No newline at end of file
+
+    private String getEncoding(final Map<String, Object> params) {
+        if (params != null && params.containsKey(CorrelationConstants.METHOD_PARAMETER_ENCODING)) {
+            return (String) params.get(CorrelationConstants.METHOD_PARAMETER_ENCODING);
+        }
+        return CorrelationConstants.ENCODING_FLOAT;
+    }
+}
@@ -8,11 +8,18 @@ import org.apache.lucene.codecs.Codec;
 import org.apache.lucene.codecs.lucene99.Lucene99Codec;
 import org.apache.lucene.backward_codecs.lucene95.Lucene95Codec;
 import org.apache.lucene.codecs.perfield.PerFieldKnnVectorsFormat;
+import org.apache.lucene.index.FilterLeafReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.SegmentReader;
 import org.opensearch.index.mapper.MapperService;
 import org.opensearch.securityanalytics.correlation.index.codec.correlation950.CorrelationCodec950;
 import org.opensearch.securityanalytics.correlation.index.codec.correlation990.CorrelationCodec990;
 import org.opensearch.securityanalytics.correlation.index.codec.correlation990.PerFieldCorrelationVectorsFormat990;
 import org.opensearch.securityanalytics.correlation.index.codec.correlation950.PerFieldCorrelationVectorsFormat950;
+import org.opensearch.securityanalytics.correlation.index.codec.correlation991.CorrelationCodec991;
+import org.opensearch.securityanalytics.correlation.index.codec.util.CorrelationVectorAsArraySerializer;
+import org.opensearch.securityanalytics.correlation.index.codec.util.CorrelationVectorAsLittleEndianSerializer;
+import org.opensearch.securityanalytics.correlation.index.codec.util.CorrelationVectorSerializer;
 
 import java.util.Optional;
 import java.util.function.BiFunction;
@@ -24,33 +31,46 @@ public enum CorrelationCodecVersion {
             new Lucene95Codec(),
             new PerFieldCorrelationVectorsFormat950(Optional.empty()),
             (userCodec, mapperService) -> new CorrelationCodec950(userCodec, new PerFieldCorrelationVectorsFormat950(Optional.of(mapperService))),
-            CorrelationCodec950::new
+            CorrelationCodec950::new,
+            new CorrelationVectorAsArraySerializer()
     ),
     V_9_9_0(
             "CorrelationCodec990",
             new Lucene99Codec(),
             new PerFieldCorrelationVectorsFormat990(Optional.empty()),
             (userCodec, mapperService) -> new CorrelationCodec990(userCodec, new PerFieldCorrelationVectorsFormat990(Optional.of(mapperService))),
-            CorrelationCodec990::new
+            CorrelationCodec990::new,
+            new CorrelationVectorAsArraySerializer()
+    ),
+    V_9_9_1(
+            "CorrelationCodec991",
+            new Lucene99Codec(),
+            new PerFieldCorrelationVectorsFormat990(Optional.empty()),
+            (userCodec, mapperService) -> new CorrelationCodec991(userCodec, new PerFieldCorrelationVectorsFormat990(Optional.of(mapperService))),
+            CorrelationCodec991::new,
+            new CorrelationVectorAsLittleEndianSerializer()
     );
 
-    private static final CorrelationCodecVersion CURRENT = V_9_9_0;
+    private static final CorrelationCodecVersion CURRENT = V_9_9_1;
     private final String codecName;
     private final Codec defaultCodecDelegate;
     private final PerFieldKnnVectorsFormat perFieldKnnVectorsFormat;
     private final BiFunction<Codec, MapperService, Codec> correlationCodecSupplier;
     private final Supplier<Codec> defaultCorrelationCodecSupplier;
+    private final CorrelationVectorSerializer vectorSerializer;
 
     CorrelationCodecVersion(String codecName,
                             Codec defaultCodecDelegate,
                             PerFieldKnnVectorsFormat perFieldKnnVectorsFormat,
                             BiFunction<Codec, MapperService, Codec> correlationCodecSupplier,
-                            Supplier<Codec> defaultCorrelationCodecSupplier) {
+                            Supplier<Codec> defaultCorrelationCodecSupplier,
+                            CorrelationVectorSerializer vectorSerializer) {
         this.codecName = codecName;
         this.defaultCodecDelegate = defaultCodecDelegate;
         this.perFieldKnnVectorsFormat = perFieldKnnVectorsFormat;
         this.correlationCodecSupplier = correlationCodecSupplier;
         this.defaultCorrelationCodecSupplier = defaultCorrelationCodecSupplier;
+        this.vectorSerializer = vectorSerializer;
     }
 
     public String getCodecName() {
@@ -73,7 +93,34 @@ public enum CorrelationCodecVersion {
         return defaultCorrelationCodecSupplier;
     }
 
+    public CorrelationVectorSerializer getVectorSerializer() {
+        return vectorSerializer;
+    }
+
     public static final CorrelationCodecVersion current() {
         return CURRENT;
     }
+
+    public static Optional<CorrelationCodecVersion> fromCodecName(String codecName) {
+        for (CorrelationCodecVersion version: values()) {
+            if (version.codecName.equals(codecName)) {
+                return Optional.of(version);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the serializer the correlation vector doc values of the segment were written with, resolved from the codec
+     * of the segment. Segments which aren't written by a correlation codec fall back to the current serializer, which
+     * decodes both formats.
+     */
+    public static CorrelationVectorSerializer vectorSerializer(LeafReader reader) {
+        LeafReader segmentReader = FilterLeafReader.unwrap(reader);
+        if (segmentReader instanceof SegmentReader) {
+            String codecName = ((SegmentReader) segmentReader).getSegmentInfo().info.getCodec().getName();
+            return fromCodecName(codecName).orElse(CURRENT).getVectorSerializer();
+        }
+        return CURRENT.getVectorSerializer();
+    }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@
  */
 package org.opensearch.securityanalytics.correlation.index.codec.correlation990;
 
+import org.apache.lucene.codecs.lucene99.Lucene99HnswScalarQuantizedVectorsFormat;
 import org.apache.lucene.codecs.lucene99.Lucene99HnswVectorsFormat;
 import org.opensearch.index.mapper.MapperService;
 import org.opensearch.securityanalytics.correlation.index.codec.BasePerFieldCorrelationVectorsFormat;
@@ -18,7 +19,8 @@ public class PerFieldCorrelationVectorsFormat990 extends BasePerFieldCorrelation
                 Lucene99HnswVectorsFormat.DEFAULT_MAX_CONN,
                 Lucene99HnswVectorsFormat.DEFAULT_BEAM_WIDTH,
                 () -> new Lucene99HnswVectorsFormat(),
-                (maxConn, beamWidth) -> new Lucene99HnswVectorsFormat(maxConn, beamWidth)
+                (maxConn, beamWidth) -> new Lucene99HnswVectorsFormat(maxConn, beamWidth),
+                (maxConn, beamWidth) -> new Lucene99HnswScalarQuantizedVectorsFormat(maxConn, beamWidth)
         );
     }
 }
\ No newline at end of file
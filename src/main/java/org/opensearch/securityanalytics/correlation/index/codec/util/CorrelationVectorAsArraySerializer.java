@@ -4,6 +4,7 @@
  */
 package org.opensearch.securityanalytics.correlation.index.codec.util;
 
+import org.apache.lucene.util.BytesRef;
 import org.opensearch.ExceptionsHelper;
 
 import java.io.ByteArrayInputStream;
@@ -38,4 +39,9 @@ public class CorrelationVectorAsArraySerializer implements CorrelationVectorSeri
             throw ExceptionsHelper.convertToOpenSearchException(ex);
         }
     }
+
+    @Override
+    public float[] byteToFloatArray(BytesRef bytesRef) {
+        return byteToFloatArray(new ByteArrayInputStream(bytesRef.bytes, bytesRef.offset, bytesRef.length));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.index.codec.util;
+
+import org.apache.lucene.util.BytesRef;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * Encodes correlation vectors as raw little-endian floats, 4 bytes per dimension and no header.
+ *
+ * Vectors written by {@link CorrelationVectorAsArraySerializer} are still decoded, they are recognized by the java
+ * serialization stream magic and by their length, which unlike raw vectors is never a multiple of 4.
+ */
+public class CorrelationVectorAsLittleEndianSerializer implements CorrelationVectorSerializer {
+
+    private static final CorrelationVectorSerializer LEGACY_SERIALIZER = new CorrelationVectorAsArraySerializer();
+
+    @Override
+    public byte[] floatToByteArray(float[] input) {
+        byte[] bytes = new byte[input.length * Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().put(input);
+        return bytes;
+    }
+
+    @Override
+    public float[] byteToFloatArray(ByteArrayInputStream byteStream) {
+        byte[] bytes = byteStream.readAllBytes();
+        return byteToFloatArray(new BytesRef(bytes));
+    }
+
+    @Override
+    public float[] byteToFloatArray(BytesRef bytesRef) {
+        if (isLegacyFormat(bytesRef)) {
+            return LEGACY_SERIALIZER.byteToFloatArray(bytesRef);
+        }
+
+        FloatBuffer floatBuffer = ByteBuffer.wrap(bytesRef.bytes, bytesRef.offset, bytesRef.length)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asFloatBuffer();
+        float[] vector = new float[floatBuffer.remaining()];
+        floatBuffer.get(vector);
+        return vector;
+    }
+
+    static boolean isLegacyFormat(BytesRef bytesRef) {
+        return bytesRef.length % Float.BYTES != 0 &&
+                bytesRef.length >= 2 &&
+                bytesRef.bytes[bytesRef.offset] == (byte) 0xAC &&
+                bytesRef.bytes[bytesRef.offset + 1] == (byte) 0xED;
+    }
+}
@@ -4,6 +4,8 @@
  */
 package org.opensearch.securityanalytics.correlation.index.codec.util;
 
+import org.apache.lucene.util.BytesRef;
+
 import java.io.ByteArrayInputStream;
 
 public interface CorrelationVectorSerializer {
@@ -11,4 +13,6 @@ public interface CorrelationVectorSerializer {
     byte[] floatToByteArray(float[] input);
 
     float[] byteToFloatArray(ByteArrayInputStream byteStream);
-}
\ No newline at end of file
+
+    float[] byteToFloatArray(BytesRef bytesRef);
+}
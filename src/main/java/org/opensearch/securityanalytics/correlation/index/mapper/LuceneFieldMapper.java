@@ -13,6 +13,7 @@ import org.opensearch.common.Explicit;
 import org.opensearch.index.mapper.ParseContext;
 import org.opensearch.securityanalytics.correlation.index.CorrelationParamsContext;
 import org.opensearch.securityanalytics.correlation.index.VectorField;
+import org.opensearch.securityanalytics.correlation.index.codec.CorrelationCodecVersion;
 
 import java.io.IOException;
 import java.util.Optional;
@@ -83,7 +84,8 @@ public class LuceneFieldMapper extends CorrelationVectorFieldMapper {
             context.doc().add(new StoredField(name(), point.toString()));
         }
         if (hasDocValues && vectorFieldType != null) {
-            context.doc().add(new VectorField(name(), array, vectorFieldType));
+            // the correlation codec service writes every new segment with the current codec version
+            context.doc().add(new VectorField(name(), array, vectorFieldType, CorrelationCodecVersion.current().getVectorSerializer()));
         }
         context.path().remove();
     }
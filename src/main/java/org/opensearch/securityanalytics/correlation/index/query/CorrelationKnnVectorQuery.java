@@ -0,0 +1,57 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.index.query;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.KnnFloatVectorQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.util.Bits;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Nearest neighbour query which scores the filtered candidates of a segment exactly instead of walking the HNSW graph
+ * whenever the filter matches at most {@code exactSearchThreshold} documents of that segment.
+ *
+ * Lucene evaluates the filter first and falls back to exact search when an approximate search reports an incomplete
+ * result, so reporting the approximate search as incomplete is enough to get brute-force scoring over the filtered
+ * candidates.
+ */
+public class CorrelationKnnVectorQuery extends KnnFloatVectorQuery {
+
+    private static final TopDocs INCOMPLETE = new TopDocs(new TotalHits(0, TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO), new ScoreDoc[0]);
+
+    private final int exactSearchThreshold;
+
+    public CorrelationKnnVectorQuery(String field, float[] target, int k, Query filter, int exactSearchThreshold) {
+        super(field, target, k, Objects.requireNonNull(filter));
+        this.exactSearchThreshold = exactSearchThreshold;
+    }
+
+    @Override
+    protected TopDocs approximateSearch(LeafReaderContext context, Bits acceptDocs, int visitedLimit) throws IOException {
+        // visitedLimit is derived from the cardinality of the filter on this segment
+        if (visitedLimit <= exactSearchThreshold) {
+            return INCOMPLETE;
+        }
+        return super.approximateSearch(context, acceptDocs, visitedLimit);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) return false;
+        CorrelationKnnVectorQuery that = (CorrelationKnnVectorQuery) o;
+        return exactSearchThreshold == that.exactSearchThreshold;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), exactSearchThreshold);
+    }
+}
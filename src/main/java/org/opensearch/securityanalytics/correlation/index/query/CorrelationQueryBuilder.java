@@ -7,6 +7,7 @@ package org.opensearch.securityanalytics.correlation.index.query;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.search.Query;
+import org.opensearch.Version;
 import org.opensearch.core.common.ParsingException;
 import org.opensearch.core.common.Strings;
 import org.opensearch.core.common.io.stream.StreamInput;
@@ -33,20 +34,53 @@ public class CorrelationQueryBuilder extends AbstractQueryBuilder<CorrelationQue
     public static final ParseField VECTOR_FIELD = new ParseField("vector");
     public static final ParseField K_FIELD = new ParseField("k");
     public static final ParseField FILTER_FIELD = new ParseField("filter");
+    public static final ParseField METHOD_FIELD = new ParseField("method");
     public static int K_MAX = 10000;
+    /**
+     * With {@link Method#AUTO}, segments where the filter matches at most this many documents are scored exactly
+     */
+    public static final int EXACT_SEARCH_THRESHOLD = 2000;
 
     public static final String NAME = "correlation";
 
+    /**
+     * First release which serializes the search method (2.13.0.0), older nodes always search approximately
+     */
+    public static final Version METHOD_VERSION = Version.V_2_13_0;
+
     private final String fieldName;
     private final float[] vector;
     private int k = 0;
     private QueryBuilder filter;
+    private Method method = Method.AUTO;
+
+    /**
+     * How nearest neighbours are searched: over the HNSW graph, by exactly scoring every document matching the filter,
+     * or picking one of the two per segment from the number of documents matching the filter.
+     */
+    public enum Method {
+        APPROXIMATE,
+        EXACT,
+        AUTO;
+
+        public static Method fromString(String method) {
+            try {
+                return Method.valueOf(method.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException(String.format(Locale.getDefault(), "[%s] unknown method [%s]", NAME, method));
+            }
+        }
+    }
 
     public CorrelationQueryBuilder(String fieldName, float[] vector, int k) {
         this(fieldName, vector, k, null);
     }
 
     public CorrelationQueryBuilder(String fieldName, float[] vector, int k, QueryBuilder filter) {
+        this(fieldName, vector, k, filter, Method.AUTO);
+    }
+
+    public CorrelationQueryBuilder(String fieldName, float[] vector, int k, QueryBuilder filter, Method method) {
         if (Strings.isNullOrEmpty(fieldName)) {
             throw new IllegalArgumentException(String.format(Locale.getDefault(), "[%s] requires fieldName", NAME));
         }
@@ -67,6 +101,7 @@ public class CorrelationQueryBuilder extends AbstractQueryBuilder<CorrelationQue
         this.vector = vector;
         this.k = k;
         this.filter = filter;
+        this.method = Objects.requireNonNull(method);
     }
 
     public CorrelationQueryBuilder(StreamInput sin) throws IOException {
@@ -76,6 +111,7 @@ public class CorrelationQueryBuilder extends AbstractQueryBuilder<CorrelationQue
             this.vector = sin.readFloatArray();
             this.k = sin.readInt();
             this.filter = sin.readOptionalNamedWriteable(QueryBuilder.class);
+            this.method = sin.getVersion().onOrAfter(METHOD_VERSION) ? sin.readEnum(Method.class) : Method.APPROXIMATE;
         } catch (IOException ex) {
             throw new RuntimeException("Unable to create CorrelationQueryBuilder", ex);
         }
@@ -96,6 +132,7 @@ public class CorrelationQueryBuilder extends AbstractQueryBuilder<CorrelationQue
 
         int k = 0;
         QueryBuilder filter = null;
+        Method method = Method.AUTO;
         String queryName = null;
         String currentFieldName = null;
         XContentParser.Token token;
@@ -115,6 +152,8 @@ public class CorrelationQueryBuilder extends AbstractQueryBuilder<CorrelationQue
                             boost = parser.floatValue();
                         } else if (K_FIELD.match(currentFieldName, parser.getDeprecationHandler())) {
                             k = (Integer) NumberFieldMapper.NumberType.INTEGER.parse(parser.objectBytes(), false);
+                        } else if (METHOD_FIELD.match(currentFieldName, parser.getDeprecationHandler())) {
+                            method = Method.fromString(parser.text());
                         } else if (AbstractQueryBuilder.NAME_FIELD.match(currentFieldName, parser.getDeprecationHandler())) {
                             queryName = parser.text();
                         } else {
@@ -145,7 +184,7 @@ public class CorrelationQueryBuilder extends AbstractQueryBuilder<CorrelationQue
         }
 
         assert vector != null;
-        CorrelationQueryBuilder correlationQueryBuilder = new CorrelationQueryBuilder(fieldName, objectsToFloats(vector), k, filter);
+        CorrelationQueryBuilder correlationQueryBuilder = new CorrelationQueryBuilder(fieldName, objectsToFloats(vector), k, filter, method);
         correlationQueryBuilder.queryName(queryName);
         correlationQueryBuilder.boost(boost);
         return correlationQueryBuilder;
@@ -167,12 +206,19 @@ public class CorrelationQueryBuilder extends AbstractQueryBuilder<CorrelationQue
         return filter;
     }
 
+    public Method getMethod() {
+        return method;
+    }
+
     @Override
     protected void doWriteTo(StreamOutput out) throws IOException {
         out.writeString(fieldName);
         out.writeFloatArray(vector);
         out.writeInt(k);
         out.writeOptionalNamedWriteable(filter);
+        if (out.getVersion().onOrAfter(METHOD_VERSION)) {
+            out.writeEnum(method);
+        }
     }
 
     @Override
@@ -185,6 +231,7 @@ public class CorrelationQueryBuilder extends AbstractQueryBuilder<CorrelationQue
         if (filter != null) {
             builder.field(FILTER_FIELD.getPreferredName(), filter);
         }
+        builder.field(METHOD_FIELD.getPreferredName(), method.name().toLowerCase(Locale.ROOT));
         printBoostAndQueryName(builder);
         builder.endObject();
         builder.endObject();
@@ -214,19 +261,20 @@ public class CorrelationQueryBuilder extends AbstractQueryBuilder<CorrelationQue
                 this.vector,
                 this.k,
                 this.filter,
-                context
+                context,
+                this.method
         );
         return CorrelationQueryFactory.create(createQueryRequest);
     }
 
     @Override
     protected boolean doEquals(CorrelationQueryBuilder other) {
-        return Objects.equals(fieldName, other.fieldName) && Arrays.equals(vector, other.vector) && Objects.equals(k, other.k);
+        return Objects.equals(fieldName, other.fieldName) && Arrays.equals(vector, other.vector) && Objects.equals(k, other.k) && method == other.method;
     }
 
     @Override
     protected int doHashCode() {
-        return Objects.hash(fieldName, vector, k);
+        return Objects.hash(fieldName, vector, k, method);
     }
 
     @Override
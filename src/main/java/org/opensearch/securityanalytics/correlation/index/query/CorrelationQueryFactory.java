@@ -5,6 +5,7 @@
 package org.opensearch.securityanalytics.correlation.index.query;
 
 import org.apache.lucene.search.KnnVectorQuery;
+import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.Query;
 import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryShardContext;
@@ -20,19 +21,33 @@ public class CorrelationQueryFactory {
         final int k = createQueryRequest.getK();
         final float[] vector = createQueryRequest.getVector();
 
+        final CorrelationQueryBuilder.Method method = createQueryRequest.getMethod();
+
+        Query filterQuery = null;
         if (createQueryRequest.getFilter().isPresent()) {
             final QueryShardContext context = createQueryRequest.getContext().orElseThrow(
                     () -> new RuntimeException("Shard context cannot be null")
             );
 
             try {
-                final Query filterQuery = createQueryRequest.getFilter().get().toQuery(context);
-                return new KnnVectorQuery(fieldName, vector, k, filterQuery);
+                filterQuery = createQueryRequest.getFilter().get().toQuery(context);
             } catch (IOException ex) {
                 throw new RuntimeException("Cannot create knn query with filter", ex);
             }
         }
-        return new KnnVectorQuery(fieldName, vector, k);
+
+        switch (method) {
+            case EXACT:
+                return new CorrelationKnnVectorQuery(fieldName, vector, k,
+                        filterQuery != null ? filterQuery : new MatchAllDocsQuery(), Integer.MAX_VALUE);
+            case AUTO:
+                if (filterQuery != null) {
+                    return new CorrelationKnnVectorQuery(fieldName, vector, k, filterQuery, CorrelationQueryBuilder.EXACT_SEARCH_THRESHOLD);
+                }
+                return new KnnVectorQuery(fieldName, vector, k);
+            default:
+                return filterQuery != null ? new KnnVectorQuery(fieldName, vector, k, filterQuery): new KnnVectorQuery(fieldName, vector, k);
+        }
     }
 
     static class CreateQueryRequest {
@@ -48,18 +63,31 @@ public class CorrelationQueryFactory {
 
         private QueryShardContext context;
 
+        private CorrelationQueryBuilder.Method method;
+
         public CreateQueryRequest(String indexName,
                                   String fieldName,
                                   float[] vector,
                                   int k,
                                   QueryBuilder filter,
                                   QueryShardContext context) {
+            this(indexName, fieldName, vector, k, filter, context, CorrelationQueryBuilder.Method.APPROXIMATE);
+        }
+
+        public CreateQueryRequest(String indexName,
+                                  String fieldName,
+                                  float[] vector,
+                                  int k,
+                                  QueryBuilder filter,
+                                  QueryShardContext context,
+                                  CorrelationQueryBuilder.Method method) {
             this.indexName = indexName;
             this.fieldName = fieldName;
             this.vector = vector;
             this.k = k;
             this.filter = filter;
             this.context = context;
+            this.method = method;
         }
 
         public String getIndexName() {
@@ -85,5 +113,9 @@ public class CorrelationQueryFactory {
         public Optional<QueryShardContext> getContext() {
             return Optional.ofNullable(context);
         }
+
+        public CorrelationQueryBuilder.Method getMethod() {
+            return method;
+        }
     }
 }
\ No newline at end of file
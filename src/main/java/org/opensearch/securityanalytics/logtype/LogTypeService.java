@@ -17,6 +17,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -43,6 +44,7 @@ import org.opensearch.cluster.metadata.MappingMetadata;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.io.Streams;
 import org.opensearch.common.util.set.Sets;
 import org.opensearch.common.xcontent.XContentFactory;
@@ -62,6 +64,7 @@ import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 
 import static org.opensearch.action.support.ActiveShardCount.ALL;
 import static org.opensearch.securityanalytics.model.FieldMappingDoc.LOG_TYPES;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.CUSTOM_LOG_TYPES_CACHE_TTL;
 import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.DEFAULT_MAPPING_SCHEMA;
 
 
@@ -94,6 +97,14 @@ public class LogTypeService {
 
     public int logTypeMappingVersion;
 
+    private final AtomicLong customLogTypesVersion = new AtomicLong();
+
+    private volatile CustomLogTypesSnapshot customLogTypesSnapshot;
+
+    private volatile TimeValue customLogTypesCacheTtl;
+
+    private CustomLogTypesLoad customLogTypesLoad;
+
     @Inject
     public LogTypeService(Client client, ClusterService clusterService, NamedXContentRegistry xContentRegistry, BuiltinLogTypeLoader builtinLogTypeLoader) {
         this.client = client;
@@ -106,6 +117,11 @@ public class LogTypeService {
                 DEFAULT_MAPPING_SCHEMA,
                 newDefaultSchema -> this.defaultSchemaField = newDefaultSchema
         );
+        this.customLogTypesCacheTtl = CUSTOM_LOG_TYPES_CACHE_TTL.get(clusterService.getSettings());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(
+                CUSTOM_LOG_TYPES_CACHE_TTL,
+                newCacheTtl -> this.customLogTypesCacheTtl = newCacheTtl
+        );
         setLogTypeMappingVersion();
     }
 
@@ -194,6 +210,102 @@ public class LogTypeService {
         }, listener::onFailure));
     }
 
+    /**
+     * Returns all log types of the config index keyed by name. The result is served from an in-memory snapshot which is
+     * versioned by {@link #invalidateCustomLogTypes()} and reloaded when the config index is re-created or the snapshot
+     * is older than {@link org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings#CUSTOM_LOG_TYPES_CACHE_TTL}.
+     * Concurrent misses of the same version share a single load.
+     */
+    public void getCustomLogTypes(ActionListener<Map<String, CustomLogType>> listener) {
+        CustomLogTypesSnapshot snapshot = customLogTypesSnapshot;
+        String indexUuid = logTypeIndexUuid();
+        if (snapshot != null && snapshot.version == customLogTypesVersion.get() && snapshot.indexUuid.equals(indexUuid) &&
+                System.currentTimeMillis() - snapshot.loadedAt < customLogTypesCacheTtl.millis()) {
+            listener.onResponse(snapshot.logTypes);
+            return;
+        }
+
+        long version = customLogTypesVersion.get();
+        CustomLogTypesLoad load;
+        synchronized (this) {
+            if (customLogTypesLoad != null && customLogTypesLoad.version == version && customLogTypesLoad.indexUuid.equals(indexUuid)) {
+                customLogTypesLoad.listeners.add(listener);
+                return;
+            }
+            load = new CustomLogTypesLoad(version, indexUuid);
+            load.listeners.add(listener);
+            customLogTypesLoad = load;
+        }
+        long loadedAt = System.currentTimeMillis();
+
+        BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
+                .must(QueryBuilders.existsQuery("source"));
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+        searchSourceBuilder.query(queryBuilder);
+        searchSourceBuilder.fetchSource(true);
+        searchSourceBuilder.size(10000);
+        SearchRequest searchRequest = new SearchRequest();
+        searchRequest.indices(LogTypeService.LOG_TYPE_INDEX);
+        searchRequest.source(searchSourceBuilder);
+        searchRequest.preference(Preference.PRIMARY_FIRST.type());
+        client.search(
+                searchRequest,
+                ActionListener.wrap(
+                        searchResponse -> {
+                            if (searchResponse.isTimedOut()) {
+                                onCustomLogTypesLoaded(load, null, new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
+                                return;
+                            }
+
+                            Map<String, CustomLogType> logTypes = new HashMap<>();
+                            for (SearchHit hit: searchResponse.getHits().getHits()) {
+                                Map<String, Object> sourceMap = hit.getSourceAsMap();
+                                logTypes.put(sourceMap.get("name").toString(), new CustomLogType(sourceMap));
+                            }
+                            Map<String, CustomLogType> unmodifiableLogTypes = Collections.unmodifiableMap(logTypes);
+
+                            CustomLogTypesSnapshot current = customLogTypesSnapshot;
+                            if (current == null || current.version <= version) {
+                                customLogTypesSnapshot = new CustomLogTypesSnapshot(unmodifiableLogTypes, version, loadedAt, indexUuid);
+                            }
+                            onCustomLogTypesLoaded(load, unmodifiableLogTypes, null);
+                        },
+                        e -> onCustomLogTypesLoaded(load, null, e)
+                )
+        );
+    }
+
+    private void onCustomLogTypesLoaded(CustomLogTypesLoad load, Map<String, CustomLogType> logTypes, Exception e) {
+        List<ActionListener<Map<String, CustomLogType>>> listeners;
+        synchronized (this) {
+            if (customLogTypesLoad == load) {
+                customLogTypesLoad = null;
+            }
+            listeners = new ArrayList<>(load.listeners);
+            load.listeners.clear();
+        }
+
+        for (ActionListener<Map<String, CustomLogType>> listener: listeners) {
+            if (logTypes != null) {
+                listener.onResponse(logTypes);
+            } else {
+                listener.onFailure(e);
+            }
+        }
+    }
+
+    /**
+     * Bumps the custom log types version so that the next {@link #getCustomLogTypes(ActionListener)} reloads them.
+     */
+    public void invalidateCustomLogTypes() {
+        customLogTypesVersion.incrementAndGet();
+    }
+
+    private String logTypeIndexUuid() {
+        IndexMetadata indexMetadata = clusterService.state().metadata().index(LOG_TYPE_INDEX);
+        return indexMetadata != null ? indexMetadata.getIndexUUID() : "";
+    }
+
     public void searchLogTypes(SearchRequest request, ActionListener<SearchResponse> listener) {
         ensureConfigIndexIsInitialized(ActionListener.wrap(e -> {
             BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
@@ -307,6 +419,7 @@ public class LogTypeService {
                                             listener.onFailure(new IllegalStateException(r.buildFailureMessage()));
                                         } else {
                                             logger.info("Loaded [" + r.getItems().length + "] customLogType docs successfully!");
+                                            invalidateCustomLogTypes();
                                             listener.onResponse(null);
                                         }
                                     })
@@ -769,15 +882,7 @@ public class LogTypeService {
             return null;
         }
 
-        LogType lt = builtinLogTypeLoader.getLogTypeByName(builtinLogType);
-        if (lt.getMappings() == null) {
-            return Map.of();
-        } else {
-            return lt.getMappings()
-                        .stream()
-                        .collect(Collectors.toMap(LogType.Mapping::getRawField, LogType.Mapping::getEcs));
-
-        }
+        return builtinLogTypeLoader.getLogTypeByName(builtinLogType).getRuleFieldMappings();
     }
 
     public String getDefaultSchemaField() {
@@ -789,4 +894,30 @@ public class LogTypeService {
                 XContentHelper.convertToMap(JsonXContent.jsonXContent, logTypeIndexMapping(), false);
         this.logTypeMappingVersion = (int)((Map)logTypeConfigAsMap.get("_meta")).get("schema_version");
     }
-}
\ No newline at end of file
+
+    private static class CustomLogTypesLoad {
+        private final long version;
+        private final String indexUuid;
+        private final List<ActionListener<Map<String, CustomLogType>>> listeners;
+
+        private CustomLogTypesLoad(long version, String indexUuid) {
+            this.version = version;
+            this.indexUuid = indexUuid;
+            this.listeners = new ArrayList<>();
+        }
+    }
+
+    private static class CustomLogTypesSnapshot {
+        private final Map<String, CustomLogType> logTypes;
+        private final long version;
+        private final long loadedAt;
+        private final String indexUuid;
+
+        private CustomLogTypesSnapshot(Map<String, CustomLogType> logTypes, long version, long loadedAt, String indexUuid) {
+            this.logTypes = logTypes;
+            this.version = version;
+            this.loadedAt = loadedAt;
+            this.indexUuid = indexUuid;
+        }
+    }
+}
@@ -54,6 +54,8 @@ public class Detector implements Writeable, ToXContentObject {
     public static final String ALERTING_WORKFLOW_ID = "workflow_ids";
 
     public static final String BUCKET_MONITOR_ID_RULE_ID = "bucket_monitor_id_rule_id";
+
+    public static final String RULE_VERSIONS_FIELD = "rule_versions";
     private static final String RULE_TOPIC_INDEX = "rule_topic_index";
 
     private static final String ALERTS_INDEX = "alert_index";
@@ -102,6 +104,11 @@ public class Detector implements Writeable, ToXContentObject {
 
     private Map<String, String> ruleIdMonitorIdMap;
 
+    /**
+     * Versions of the rules the monitors of the detector were built from, by rule id.
+     */
+    private Map<String, Long> ruleVersions = Collections.emptyMap();
+
     private List<String> workflowIds;
 
     private String ruleIndex;
@@ -177,6 +184,7 @@ public class Detector implements Writeable, ToXContentObject {
                 sin.readStringList(),
                 sin.readBoolean()
             );
+        this.ruleVersions = sin.readMap(StreamInput::readString, StreamInput::readLong);
     }
 
     @Override
@@ -219,6 +227,7 @@ public class Detector implements Writeable, ToXContentObject {
             out.writeStringCollection(workflowIds);
         }
         out.writeBoolean(threatIntelEnabled);
+        out.writeMap(ruleVersions, StreamOutput::writeString, StreamOutput::writeLong);
     }
 
     public XContentBuilder toXContentWithUser(XContentBuilder builder, Params params) throws IOException {
@@ -282,6 +291,7 @@ public class Detector implements Writeable, ToXContentObject {
 
 
         builder.field(BUCKET_MONITOR_ID_RULE_ID, ruleIdMonitorIdMap);
+        builder.field(RULE_VERSIONS_FIELD, ruleVersions);
         builder.field(RULE_TOPIC_INDEX, ruleIndex);
         builder.field(ALERTS_INDEX, alertsIndex);
         builder.field(ALERTS_HISTORY_INDEX, alertsHistoryIndex);
@@ -328,6 +338,7 @@ public class Detector implements Writeable, ToXContentObject {
         List<String> monitorIds = new ArrayList<>();
         List<String> workflowIds = new ArrayList<>();
         Map<String, String> rulePerMonitor = new HashMap<>();
+        Map<String, Long> ruleVersions = new HashMap<>();
 
         String ruleIndex = null;
         String alertsIndex = null;
@@ -418,6 +429,14 @@ public class Detector implements Writeable, ToXContentObject {
                 case BUCKET_MONITOR_ID_RULE_ID:
                     rulePerMonitor= xcp.mapStrings();
                     break;
+                case RULE_VERSIONS_FIELD:
+                    XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.currentToken(), xcp);
+                    while (xcp.nextToken() != XContentParser.Token.END_OBJECT) {
+                        String ruleId = xcp.currentName();
+                        xcp.nextToken();
+                        ruleVersions.put(ruleId, xcp.longValue());
+                    }
+                    break;
                 case RULE_TOPIC_INDEX:
                     ruleIndex = xcp.text();
                     break;
@@ -451,7 +470,7 @@ public class Detector implements Writeable, ToXContentObject {
             logType = detectorType;
         }
 
-        return new Detector(
+        Detector detector = new Detector(
                 id,
                 version,
                 Objects.requireNonNull(name, "Detector name is null"),
@@ -474,6 +493,8 @@ public class Detector implements Writeable, ToXContentObject {
                 workflowIds,
                 enableThreatIntel
                 );
+        detector.setRuleVersions(ruleVersions);
+        return detector;
     }
 
     public static Detector readFrom(StreamInput sin) throws IOException {
@@ -609,6 +630,14 @@ public class Detector implements Writeable, ToXContentObject {
         this.ruleIdMonitorIdMap = ruleIdMonitorIdMap;
     }
 
+    public Map<String, Long> getRuleVersions() {
+        return ruleVersions;
+    }
+
+    public void setRuleVersions(Map<String, Long> ruleVersions) {
+        this.ruleVersions = ruleVersions;
+    }
+
     public void setWorkflowIds(List<String> workflowIds) {
         this.workflowIds = workflowIds;
     }
@@ -100,6 +100,16 @@ public class LogType implements Writeable {
         return mappings;
     }
 
+    /**
+     * Returns the sigma rule raw field to ecs field mappings of the log type
+     */
+    public Map<String, String> getRuleFieldMappings() {
+        if (mappings == null) {
+            return Map.of();
+        }
+        return mappings.stream().collect(Collectors.toMap(Mapping::getRawField, Mapping::getEcs));
+    }
+
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         out.writeString(id);
@@ -59,6 +59,7 @@ public class Rule implements Writeable, ToXContentObject {
     public static final String QUERY_FIELD_NAMES = "query_field_names";
 
     public static final String RULE = "rule";
+    public static final String CONTENT_HASH = "content_hash";
 
     public static final String PRE_PACKAGED_RULES_INDEX = ".opensearch-sap-pre-packaged-rules-config";
     public static final String CUSTOM_RULES_INDEX = ".opensearch-sap-custom-rules-config";
@@ -253,6 +254,10 @@ public class Rule implements Writeable, ToXContentObject {
         builder.field(AGGREGATION_QUERIES, aggregationsArray);
 
         builder.field(RULE, rule);
+        // only set on pre-packaged rules, see RuleIndices#importRules
+        if (params.param(CONTENT_HASH) != null) {
+            builder.field(CONTENT_HASH, params.param(CONTENT_HASH));
+        }
         if (params.paramAsBoolean("with_type", false)) {
             builder.endObject();
         }
@@ -0,0 +1,82 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.BytesRestResponse;
+import org.opensearch.rest.RestChannel;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.RestResponse;
+import org.opensearch.rest.action.RestResponseListener;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.BulkCorrelatedFindingAction;
+import org.opensearch.securityanalytics.action.BulkCorrelatedFindingRequest;
+import org.opensearch.securityanalytics.action.BulkCorrelatedFindingResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import static org.opensearch.rest.RestRequest.Method.GET;
+import static org.opensearch.core.rest.RestStatus.OK;
+
+public class RestBulkSearchCorrelationAction extends BaseRestHandler {
+
+    private static final Logger log = LogManager.getLogger(RestBulkSearchCorrelationAction.class);
+
+    @Override
+    public String getName() {
+        return "bulk_search_correlation_action";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(
+                new Route(GET, SecurityAnalyticsPlugin.FINDINGS_BULK_CORRELATE_URI)
+        );
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        log.debug(String.format(Locale.ROOT, "%s %s", request.method(), SecurityAnalyticsPlugin.FINDINGS_BULK_CORRELATE_URI));
+
+        String[] findingIds = request.paramAsStringArray("findings", null);
+        if (findingIds == null || findingIds.length == 0) {
+            throw new IllegalArgumentException("Missing findings");
+        }
+
+        String detectorType = request.param("detector_type");
+        if (detectorType == null) {
+            throw new IllegalArgumentException("Missing detectorType");
+        }
+
+        long timeWindow = request.paramAsLong("time_window", 300000L);
+        int noOfNearbyFindings = request.paramAsInt("nearby_findings", 10);
+
+        BulkCorrelatedFindingRequest correlatedFindingRequest = new BulkCorrelatedFindingRequest(List.of(findingIds), detectorType, timeWindow, noOfNearbyFindings);
+
+        return channel -> {
+            client.execute(BulkCorrelatedFindingAction.INSTANCE, correlatedFindingRequest, new RestBulkCorrelatedFindingResponseListener(channel, request));
+        };
+    }
+
+    static class RestBulkCorrelatedFindingResponseListener extends RestResponseListener<BulkCorrelatedFindingResponse> {
+        private final RestRequest request;
+
+        RestBulkCorrelatedFindingResponseListener(RestChannel channel, RestRequest request) {
+            super(channel);
+            this.request = request;
+        }
+
+        @Override
+        public RestResponse buildResponse(final BulkCorrelatedFindingResponse response) throws Exception {
+            return new BytesRestResponse(OK, response.toXContent(channel.newBuilder(), ToXContent.EMPTY_PARAMS));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.core.xcontent.XContentParserUtils;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestToXContentListener;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.EvaluateRulesAction;
+import org.opensearch.securityanalytics.action.EvaluateRulesRequest;
+
+import java.io.IOException;
+import java.util.List;
+
+public class RestEvaluateRulesAction extends BaseRestHandler {
+
+    @Override
+    public String getName() {
+        return "evaluate_rules_action";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(
+                new Route(RestRequest.Method.POST, SecurityAnalyticsPlugin.RULE_BASE_URI + "/_evaluate")
+        );
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        String logType = request.param(EvaluateRulesRequest.LOG_TYPE_FIELD);
+        if (logType == null) {
+            throw new IllegalArgumentException("Missing category");
+        }
+
+        EvaluateRulesRequest req;
+        try (XContentParser xcp = request.contentParser()) {
+            XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.nextToken(), xcp);
+            req = EvaluateRulesRequest.parse(xcp, logType, request.paramAsBoolean(EvaluateRulesRequest.THREAT_INTEL_FIELD, false));
+        }
+        return channel -> client.execute(EvaluateRulesAction.INSTANCE, req, new RestToXContentListener<>(channel));
+    }
+}
@@ -49,6 +49,12 @@ import java.util.Map;
 
 public class OSQueryBackend extends QueryBackend {
 
+    /**
+     * Version of the queries this backend converts rules to, to be bumped whenever a change alters the query of a rule
+     * so that the indexed pre-packaged rules are converted again.
+     */
+    public static final int VERSION = 1;
+
     private String tokenSeparator;
 
     private String orToken;
@@ -434,13 +440,6 @@ public class OSQueryBackend extends QueryBackend {
         return ip.convert();
     }
 
-    private String getMappedField(String field) {
-        if (this.enableFieldMappings && this.fieldMappings.containsKey(field) && this.fieldMappings.get(field) != null) {
-            return this.fieldMappings.get(field);
-        }
-        return field;
-    }
-
     private String getFinalField(String field) {
         return this.getMappedField(field);
     }
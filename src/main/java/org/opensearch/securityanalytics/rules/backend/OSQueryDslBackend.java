@@ -0,0 +1,224 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.backend;
+
+import org.apache.commons.lang3.NotImplementedException;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.MultiMatchQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.query.RangeQueryBuilder;
+import org.opensearch.securityanalytics.rules.aggregation.AggregationItem;
+import org.opensearch.securityanalytics.rules.backend.OSQueryBackend.AggregationQueries;
+import org.opensearch.securityanalytics.rules.condition.ConditionAND;
+import org.opensearch.securityanalytics.rules.condition.ConditionFieldEqualsValueExpression;
+import org.opensearch.securityanalytics.rules.condition.ConditionItem;
+import org.opensearch.securityanalytics.rules.condition.ConditionNOT;
+import org.opensearch.securityanalytics.rules.condition.ConditionOR;
+import org.opensearch.securityanalytics.rules.condition.ConditionType;
+import org.opensearch.securityanalytics.rules.condition.ConditionValueExpression;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaValueError;
+import org.opensearch.securityanalytics.rules.types.SigmaBool;
+import org.opensearch.securityanalytics.rules.types.SigmaCIDRExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaCompareExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaNumber;
+import org.opensearch.securityanalytics.rules.types.SigmaRegularExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaString;
+import org.opensearch.securityanalytics.rules.utils.AnyOneOf;
+import org.opensearch.securityanalytics.rules.utils.Either;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Query backend emitting structured {@link QueryBuilder} trees instead of Lucene query strings, so that searches built
+ * from rules skip the query string parser.
+ *
+ * Field values are matched with the same semantics as the query strings of {@link OSQueryBackend}: plain strings as
+ * phrases, wildcard strings as wildcard queries, regular expressions as regexp queries. Values without a field are
+ * matched against the default fields of the searched index.
+ */
+public class OSQueryDslBackend extends QueryBackend {
+
+    private static final String WILDCARD_ESCAPE_CHAR = "\\";
+
+    private static final String WILDCARD_MULTI = "*";
+
+    private static final String WILDCARD_SINGLE = "?";
+
+    private static final String WILDCARD_ESCAPED = "\\*?";
+
+    private final OSQueryBackend aggregationBackend;
+
+    public OSQueryDslBackend(Map<String, String> fieldMappings, boolean collectErrors, boolean enableFieldMappings) throws IOException {
+        super(fieldMappings, true, enableFieldMappings, true, collectErrors);
+        this.aggregationBackend = new OSQueryBackend(fieldMappings, collectErrors, enableFieldMappings);
+    }
+
+    @Override
+    public Object convertConditionAsInExpression(Either<ConditionAND, ConditionOR> condition) {
+        if (condition.isLeft()) {
+            return this.convertConditionAnd(condition.getLeft());
+        }
+        return this.convertConditionOr(condition.get());
+    }
+
+    @Override
+    public Object convertConditionAnd(ConditionAND condition) {
+        try {
+            BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery();
+            for (Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg: condition.getArgs()) {
+                QueryBuilder converted = this.convertArg(arg);
+                if (converted != null) {
+                    queryBuilder.must(converted);
+                }
+            }
+            return queryBuilder;
+        } catch (Exception ex) {
+            throw new NotImplementedException("Operator 'and' not supported by the backend");
+        }
+    }
+
+    @Override
+    public Object convertConditionOr(ConditionOR condition) {
+        try {
+            BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery().minimumShouldMatch(1);
+            for (Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg: condition.getArgs()) {
+                QueryBuilder converted = this.convertArg(arg);
+                if (converted != null) {
+                    queryBuilder.should(converted);
+                }
+            }
+            return queryBuilder;
+        } catch (Exception ex) {
+            throw new NotImplementedException("Operator 'or' not supported by the backend");
+        }
+    }
+
+    @Override
+    public Object convertConditionNot(ConditionNOT condition) {
+        try {
+            QueryBuilder converted = this.convertArg(condition.getArgs().get(0));
+            if (converted != null) {
+                return QueryBuilders.boolQuery().mustNot(converted);
+            }
+        } catch (Exception ex) {
+            throw new NotImplementedException("Operator 'not' not supported by the backend");
+        }
+        return null;
+    }
+
+    @Override
+    public Object convertConditionFieldEqValStr(ConditionFieldEqualsValueExpression condition) throws SigmaValueError {
+        SigmaString value = (SigmaString) condition.getValue();
+        String field = getMappedField(condition.getField());
+
+        if (value.containsWildcard()) {
+            return QueryBuilders.wildcardQuery(field, value.convertValue(WILDCARD_ESCAPE_CHAR, WILDCARD_MULTI, WILDCARD_SINGLE, WILDCARD_ESCAPED, "", ""));
+        }
+        return QueryBuilders.matchPhraseQuery(field, value.toLiteral());
+    }
+
+    @Override
+    public Object convertConditionFieldEqValNum(ConditionFieldEqualsValueExpression condition) {
+        SigmaNumber number = (SigmaNumber) condition.getValue();
+        return QueryBuilders.termQuery(getMappedField(condition.getField()), number.getNumOpt().isLeft()? number.getNumOpt().getLeft(): number.getNumOpt().get());
+    }
+
+    @Override
+    public Object convertConditionFieldEqValBool(ConditionFieldEqualsValueExpression condition) {
+        return QueryBuilders.termQuery(getMappedField(condition.getField()), ((SigmaBool) condition.getValue()).isaBoolean());
+    }
+
+    @Override
+    public Object convertConditionFieldEqValRe(ConditionFieldEqualsValueExpression condition) {
+        return QueryBuilders.regexpQuery(getMappedField(condition.getField()), ((SigmaRegularExpression) condition.getValue()).getRegexp());
+    }
+
+    @Override
+    public Object convertConditionFieldEqValCidr(ConditionFieldEqualsValueExpression condition) {
+        return QueryBuilders.termQuery(getMappedField(condition.getField()), ((SigmaCIDRExpression) condition.getValue()).convert());
+    }
+
+    @Override
+    public Object convertConditionFieldEqValOpVal(ConditionFieldEqualsValueExpression condition) {
+        SigmaCompareExpression compareExpression = (SigmaCompareExpression) condition.getValue();
+        SigmaNumber number = compareExpression.getNumber();
+        Object value = number.getNumOpt().isLeft()? number.getNumOpt().getLeft(): number.getNumOpt().get();
+
+        RangeQueryBuilder queryBuilder = QueryBuilders.rangeQuery(getMappedField(condition.getField()));
+        switch (compareExpression.getOp()) {
+            case SigmaCompareExpression.CompareOperators.GT:
+                return queryBuilder.gt(value);
+            case SigmaCompareExpression.CompareOperators.GTE:
+                return queryBuilder.gte(value);
+            case SigmaCompareExpression.CompareOperators.LT:
+                return queryBuilder.lt(value);
+            case SigmaCompareExpression.CompareOperators.LTE:
+                return queryBuilder.lte(value);
+            default:
+                throw new IllegalArgumentException("Unexpected compare operator in condition parse tree: " + compareExpression.getOp());
+        }
+    }
+
+    @Override
+    public Object convertConditionFieldEqValNull(ConditionFieldEqualsValueExpression condition) {
+        return QueryBuilders.boolQuery().mustNot(QueryBuilders.existsQuery(getMappedField(condition.getField())));
+    }
+
+    @Override
+    public Object convertConditionValStr(ConditionValueExpression condition) throws SigmaValueError {
+        SigmaString value = (SigmaString) condition.getValue();
+        if (value.containsWildcard()) {
+            // wildcards on unknown fields have no structured equivalent
+            return QueryBuilders.queryStringQuery(value.convertValue(WILDCARD_ESCAPE_CHAR, WILDCARD_MULTI, WILDCARD_SINGLE, "/:\\+-=><!(){}[]^\"~", "&& ||", ""));
+        }
+        return QueryBuilders.multiMatchQuery(value.toLiteral())
+                .type(MultiMatchQueryBuilder.Type.PHRASE)
+                .lenient(true);
+    }
+
+    @Override
+    public Object convertConditionValNum(ConditionValueExpression condition) {
+        return QueryBuilders.multiMatchQuery(condition.getValue().toString())
+                .type(MultiMatchQueryBuilder.Type.PHRASE)
+                .lenient(true);
+    }
+
+    @Override
+    public Object convertConditionValRe(ConditionValueExpression condition) {
+        // regular expressions on unknown fields have no structured equivalent
+        return QueryBuilders.queryStringQuery("/" + ((SigmaRegularExpression) condition.getValue()).escape(List.of("/"), "\\") + "/");
+    }
+
+    @Override
+    public AggregationQueries convertAggregation(AggregationItem aggregation) {
+        return aggregationBackend.convertAggregation(aggregation);
+    }
+
+    private QueryBuilder convertArg(Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg) throws SigmaValueError {
+        if (!arg.isLeft()) {
+            return null;
+        }
+
+        ConditionType argType;
+        if (arg.getLeft().isLeft()) {
+            ConditionItem item = arg.getLeft().getLeft();
+            if (item instanceof ConditionAND) {
+                argType = new ConditionType(Either.left(AnyOneOf.leftVal((ConditionAND) item)));
+            } else if (item instanceof ConditionOR) {
+                argType = new ConditionType(Either.left(AnyOneOf.middleVal((ConditionOR) item)));
+            } else {
+                argType = new ConditionType(Either.left(AnyOneOf.rightVal((ConditionNOT) item)));
+            }
+        } else if (arg.getLeft().isMiddle()) {
+            argType = new ConditionType(Either.right(Either.left(arg.getLeft().getMiddle())));
+        } else {
+            argType = new ConditionType(Either.right(Either.right(arg.getLeft().get())));
+        }
+        return (QueryBuilder) this.convertCondition(argType);
+    }
+}
@@ -74,6 +74,18 @@ public abstract class QueryBackend {
         }
     }
 
+    /**
+     * Returns the field the rule field is mapped to, or the rule field itself if it isn't mapped.
+     */
+    public static String getMappedField(Map<String, String> fieldMappings, String field) {
+        String mappedField = fieldMappings.get(field);
+        return mappedField != null? mappedField: field;
+    }
+
+    protected String getMappedField(String field) {
+        return this.enableFieldMappings? getMappedField(this.fieldMappings, field): field;
+    }
+
     public List<Object> convertRule(SigmaRule rule) throws SigmaError {
         this.ruleQueryFields = new HashMap<>();
         List<Object> queries = new ArrayList<>();
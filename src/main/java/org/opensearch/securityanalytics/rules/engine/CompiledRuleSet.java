@@ -0,0 +1,56 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set of rules compiled by {@link RuleSetCompiler}, evaluated against documents in memory.
+ */
+public class CompiledRuleSet {
+
+    private final Map<String, RuleNode> rules;
+
+    private final int nodeCount;
+
+    private final int predicateCount;
+
+    CompiledRuleSet(Map<String, RuleNode> rules, int nodeCount, int predicateCount) {
+        this.rules = rules;
+        this.nodeCount = nodeCount;
+        this.predicateCount = predicateCount;
+    }
+
+    /**
+     * Returns the ids of the rules matching the document.
+     */
+    public List<String> evaluate(Map<String, Object> document) {
+        return evaluate(new EvaluationContext(document, nodeCount));
+    }
+
+    public List<String> evaluate(EvaluationContext context) {
+        List<String> matchedRules = new ArrayList<>();
+        for (Map.Entry<String, RuleNode> rule: rules.entrySet()) {
+            if (context.evaluate(rule.getValue())) {
+                matchedRules.add(rule.getKey());
+            }
+        }
+        return matchedRules;
+    }
+
+    public int getRuleCount() {
+        return rules.size();
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getPredicateCount() {
+        return predicateCount;
+    }
+}
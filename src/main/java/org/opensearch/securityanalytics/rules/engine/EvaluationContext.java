@@ -0,0 +1,208 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.engine;
+
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.core.xcontent.XContentParserUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluation state of one document. Results of the rule set nodes are cached in bitsets so shared predicates and
+ * sub-expressions are evaluated once per document, whatever the number of rules containing them.
+ *
+ * The document is either a parsed source map or the flattened values read from an {@link XContentParser} in a single
+ * pass, see {@link #fromParser(XContentParser, int)}.
+ */
+public class EvaluationContext {
+
+    private final Map<String, Object> document;
+
+    private final BitSet computed;
+
+    private final BitSet results;
+
+    private final Map<String, List<Object>> valuesByField;
+
+    private List<Object> allValues;
+
+    private Map<LiteralAutomaton, BitSet> literalMatches;
+
+    public EvaluationContext(Map<String, Object> document, int nodeCount) {
+        this(document, new HashMap<>(), nodeCount);
+    }
+
+    private EvaluationContext(Map<String, Object> document, Map<String, List<Object>> valuesByField, int nodeCount) {
+        this.document = document;
+        this.computed = new BitSet(nodeCount);
+        this.results = new BitSet(nodeCount);
+        this.valuesByField = valuesByField;
+    }
+
+    /**
+     * Reads the document from the token stream of the parser, keeping only the leaf values by dotted field path instead
+     * of materializing the document as nested maps.
+     */
+    public static EvaluationContext fromParser(XContentParser parser, int nodeCount) throws IOException {
+        if (parser.currentToken() == null) {
+            parser.nextToken();
+        }
+        XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.currentToken(), parser);
+
+        Map<String, List<Object>> valuesByField = new HashMap<>();
+        parseObject(parser, "", valuesByField);
+        return new EvaluationContext(null, valuesByField, nodeCount);
+    }
+
+    public boolean evaluate(RuleNode node) {
+        int id = node.getId();
+        if (computed.get(id)) {
+            return results.get(id);
+        }
+        boolean result = node.compute(this);
+        computed.set(id);
+        results.set(id, result);
+        return result;
+    }
+
+    /**
+     * Number of nodes evaluated so far for the document.
+     */
+    public int evaluatedNodes() {
+        return computed.cardinality();
+    }
+
+    /**
+     * Values of a field, the field is either a flattened key of the document or a dotted path into its objects.
+     */
+    public List<Object> values(String field) {
+        List<Object> values = valuesByField.get(field);
+        if (values == null && document == null) {
+            return List.of();
+        }
+        if (values == null) {
+            values = new ArrayList<>();
+            collect(document, field, values);
+            valuesByField.put(field, values);
+        }
+        return values;
+    }
+
+    /**
+     * Literals of the automaton matching any value of the field, the values are scanned once per automaton.
+     */
+    public BitSet literalMatches(String field, LiteralAutomaton automaton) {
+        if (literalMatches == null) {
+            literalMatches = new IdentityHashMap<>();
+        }
+        BitSet matches = literalMatches.get(automaton);
+        if (matches == null) {
+            matches = new BitSet(automaton.size());
+            for (Object value: field != null? values(field): allValues()) {
+                automaton.match(value.toString(), matches);
+            }
+            literalMatches.put(automaton, matches);
+        }
+        return matches;
+    }
+
+    public List<Object> allValues() {
+        if (allValues == null) {
+            allValues = new ArrayList<>();
+            if (document != null) {
+                flatten(document, allValues);
+            } else {
+                valuesByField.values().forEach(allValues::addAll);
+            }
+        }
+        return allValues;
+    }
+
+    private static void parseObject(XContentParser parser, String prefix, Map<String, List<Object>> valuesByField) throws IOException {
+        while (parser.nextToken() != XContentParser.Token.END_OBJECT) {
+            String field = prefix + parser.currentName();
+            parser.nextToken();
+            parseValue(parser, field, valuesByField);
+        }
+    }
+
+    private static void parseValue(XContentParser parser, String field, Map<String, List<Object>> valuesByField) throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT:
+                parseObject(parser, field + ".", valuesByField);
+                break;
+            case START_ARRAY:
+                while (parser.nextToken() != XContentParser.Token.END_ARRAY) {
+                    parseValue(parser, field, valuesByField);
+                }
+                break;
+            case VALUE_NULL:
+                break;
+            case VALUE_NUMBER:
+                valuesByField.computeIfAbsent(field, key -> new ArrayList<>()).add(parser.numberValue());
+                break;
+            case VALUE_BOOLEAN:
+                valuesByField.computeIfAbsent(field, key -> new ArrayList<>()).add(parser.booleanValue());
+                break;
+            default:
+                valuesByField.computeIfAbsent(field, key -> new ArrayList<>()).add(parser.text());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void collect(Object node, String path, List<Object> values) {
+        if (node instanceof Map) {
+            Map<String, Object> map = (Map<String, Object>) node;
+            if (map.containsKey(path)) {
+                leaves(map.get(path), values);
+                return;
+            }
+            int idx = path.indexOf('.');
+            while (idx > 0) {
+                String prefix = path.substring(0, idx);
+                if (map.containsKey(prefix)) {
+                    collect(map.get(prefix), path.substring(idx + 1), values);
+                }
+                idx = path.indexOf('.', idx + 1);
+            }
+        } else if (node instanceof List) {
+            for (Object element: (List<Object>) node) {
+                collect(element, path, values);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void leaves(Object value, List<Object> values) {
+        if (value instanceof List) {
+            for (Object element: (List<Object>) value) {
+                leaves(element, values);
+            }
+        } else if (value != null && !(value instanceof Map)) {
+            values.add(value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void flatten(Object value, List<Object> values) {
+        if (value instanceof Map) {
+            for (Object element: ((Map<String, Object>) value).values()) {
+                flatten(element, values);
+            }
+        } else if (value instanceof List) {
+            for (Object element: (List<Object>) value) {
+                flatten(element, values);
+            }
+        } else if (value != null) {
+            values.add(value);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.engine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick automaton over the contains, startswith and endswith literals targeting one field, so a field value is
+ * scanned once for all of them instead of once per literal. Matching is case-insensitive.
+ *
+ * Literals are registered with {@link #add(Kind, String)} while the rule set is compiled, {@link #build()} must be
+ * called before matching. A built automaton is immutable and can be shared between threads.
+ */
+public class LiteralAutomaton {
+
+    public enum Kind {
+        CONTAINS,
+        PREFIX,
+        SUFFIX
+    }
+
+    private final List<Kind> kinds;
+
+    private final List<String> literals;
+
+    private final Map<String, Integer> indexes;
+
+    private List<Map<Character, Integer>> transitions;
+
+    private int[] failures;
+
+    private int[][] outputs;
+
+    public LiteralAutomaton() {
+        this.kinds = new ArrayList<>();
+        this.literals = new ArrayList<>();
+        this.indexes = new HashMap<>();
+    }
+
+    /**
+     * Registers a literal and returns its index in the matches reported by {@link #match(String, BitSet)}.
+     */
+    public int add(Kind kind, String literal) {
+        String lowerCaseLiteral = literal.toLowerCase(Locale.ROOT);
+        return indexes.computeIfAbsent(kind + ":" + lowerCaseLiteral, key -> {
+            kinds.add(kind);
+            literals.add(lowerCaseLiteral);
+            return literals.size() - 1;
+        });
+    }
+
+    public int size() {
+        return literals.size();
+    }
+
+    public void build() {
+        List<Map<Character, Integer>> transitions = new ArrayList<>();
+        List<List<Integer>> outputs = new ArrayList<>();
+        transitions.add(new HashMap<>());
+        outputs.add(new ArrayList<>());
+
+        for (int i = 0; i < literals.size(); ++i) {
+            int state = 0;
+            for (char c: literals.get(i).toCharArray()) {
+                Integer next = transitions.get(state).get(c);
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.add(new HashMap<>());
+                    outputs.add(new ArrayList<>());
+                    transitions.get(state).put(c, next);
+                }
+                state = next;
+            }
+            outputs.get(state).add(i);
+        }
+
+        // breadth first so that the failure state of a node is complete before the node itself is visited
+        int[] failures = new int[transitions.size()];
+        Queue<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> transition: transitions.get(state).entrySet()) {
+                int next = transition.getValue();
+                int failure = failures[state];
+                while (failure != 0 && !transitions.get(failure).containsKey(transition.getKey())) {
+                    failure = failures[failure];
+                }
+                Integer failureNext = transitions.get(failure).get(transition.getKey());
+                failures[next] = failureNext != null && failureNext != next? failureNext: 0;
+                outputs.get(next).addAll(outputs.get(failures[next]));
+                queue.add(next);
+            }
+        }
+
+        this.transitions = transitions;
+        this.failures = failures;
+        this.outputs = outputs.stream().map(output -> output.stream().mapToInt(Integer::intValue).toArray()).toArray(int[][]::new);
+    }
+
+    /**
+     * Sets the indexes of the literals matching the value in {@code matches}.
+     */
+    public void match(String value, BitSet matches) {
+        String text = value.toLowerCase(Locale.ROOT);
+        int state = 0;
+        for (int i = 0; i < text.length(); ++i) {
+            char c = text.charAt(i);
+            Integer next = transitions.get(state).get(c);
+            while (next == null && state != 0) {
+                state = failures[state];
+                next = transitions.get(state).get(c);
+            }
+            state = next != null? next: 0;
+
+            for (int literal: outputs[state]) {
+                switch (kinds.get(literal)) {
+                    case CONTAINS:
+                        matches.set(literal);
+                        break;
+                    case PREFIX:
+                        if (i + 1 == literals.get(literal).length()) {
+                            matches.set(literal);
+                        }
+                        break;
+                    case SUFFIX:
+                        if (i + 1 == text.length()) {
+                            matches.set(literal);
+                        }
+                        break;
+                }
+            }
+        }
+    }
+}
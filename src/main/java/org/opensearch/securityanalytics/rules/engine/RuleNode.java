@@ -0,0 +1,128 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.engine;
+
+import java.util.List;
+
+/**
+ * Node of the compiled rule set DAG. Nodes are shared between all rules containing the same sub-expression and are
+ * evaluated at most once per document, see {@link EvaluationContext#evaluate(RuleNode)}.
+ */
+public abstract class RuleNode {
+
+    private final int id;
+
+    protected RuleNode(int id) {
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    protected abstract boolean compute(EvaluationContext context);
+
+    /**
+     * Leaf predicate on the values of one field, or on all values of the document if the field is {@code null}.
+     *
+     * Contains, startswith and endswith predicates on the same field share a {@link LiteralAutomaton}, their result is
+     * the bit of their literal in the matches of the automaton.
+     */
+    public static class Predicate extends RuleNode {
+        private final String field;
+        private final ValueMatcher matcher;
+        private final LiteralAutomaton automaton;
+        private final int literal;
+
+        public Predicate(int id, String field, ValueMatcher matcher) {
+            this(id, field, matcher, null, -1);
+        }
+
+        public Predicate(int id, String field, ValueMatcher matcher, LiteralAutomaton automaton, int literal) {
+            super(id);
+            this.field = field;
+            this.matcher = matcher;
+            this.automaton = automaton;
+            this.literal = literal;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public ValueMatcher getMatcher() {
+            return matcher;
+        }
+
+        @Override
+        protected boolean compute(EvaluationContext context) {
+            List<Object> values = field != null? context.values(field): context.allValues();
+            if (values.isEmpty()) {
+                return matcher.matchesMissing();
+            }
+            if (automaton != null) {
+                return context.literalMatches(field, automaton).get(literal);
+            }
+            for (Object value: values) {
+                if (matcher.matches(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    public static class And extends RuleNode {
+        private final List<RuleNode> children;
+
+        public And(int id, List<RuleNode> children) {
+            super(id);
+            this.children = children;
+        }
+
+        @Override
+        protected boolean compute(EvaluationContext context) {
+            for (RuleNode child: children) {
+                if (!context.evaluate(child)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    public static class Or extends RuleNode {
+        private final List<RuleNode> children;
+
+        public Or(int id, List<RuleNode> children) {
+            super(id);
+            this.children = children;
+        }
+
+        @Override
+        protected boolean compute(EvaluationContext context) {
+            for (RuleNode child: children) {
+                if (context.evaluate(child)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    public static class Not extends RuleNode {
+        private final RuleNode child;
+
+        public Not(int id, RuleNode child) {
+            super(id);
+            this.child = child;
+        }
+
+        @Override
+        protected boolean compute(EvaluationContext context) {
+            return !context.evaluate(child);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.engine;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.opensearch.securityanalytics.rules.aggregation.AggregationItem;
+import org.opensearch.securityanalytics.rules.backend.QueryBackend;
+import org.opensearch.securityanalytics.rules.condition.ConditionAND;
+import org.opensearch.securityanalytics.rules.condition.ConditionFieldEqualsValueExpression;
+import org.opensearch.securityanalytics.rules.condition.ConditionItem;
+import org.opensearch.securityanalytics.rules.condition.ConditionNOT;
+import org.opensearch.securityanalytics.rules.condition.ConditionOR;
+import org.opensearch.securityanalytics.rules.condition.ConditionValueExpression;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaConditionError;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaCondition;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.securityanalytics.rules.types.SigmaExpansion;
+import org.opensearch.securityanalytics.rules.types.SigmaType;
+import org.opensearch.securityanalytics.rules.utils.AnyOneOf;
+import org.opensearch.securityanalytics.rules.utils.Either;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles the condition trees of a set of Sigma rules into a DAG in which every distinct leaf predicate and every
+ * distinct sub-expression appears once, whatever the number of rules containing it.
+ *
+ * Predicates are identified by their (mapped) field and matched value, sub-expressions by their operator and the
+ * identifiers of their operands, operands of AND and OR being unordered. The contains, startswith and endswith literals
+ * of a field are compiled into one {@link LiteralAutomaton}, so each value of the field is scanned once for all of them.
+ */
+public class RuleSetCompiler {
+
+    private final Map<String, String> fieldMappings;
+
+    private final Map<String, RuleNode> nodesByKey;
+
+    private final Map<String, RuleNode> rules;
+
+    private final Map<String, LiteralAutomaton> literalAutomatons;
+
+    private int predicateCount;
+
+    public RuleSetCompiler(Map<String, String> fieldMappings) {
+        this.fieldMappings = fieldMappings != null? fieldMappings: Map.of();
+        this.nodesByKey = new HashMap<>();
+        this.rules = new LinkedHashMap<>();
+        this.literalAutomatons = new HashMap<>();
+        this.predicateCount = 0;
+    }
+
+    public RuleSetCompiler addRule(String ruleId, SigmaRule rule) throws SigmaError {
+        List<RuleNode> conditions = new ArrayList<>();
+        for (SigmaCondition condition: rule.getDetection().getParsedCondition()) {
+            Pair<ConditionItem, AggregationItem> parsedItems = condition.parsed();
+            if (parsedItems.getRight() != null) {
+                throw new SigmaConditionError("Aggregation rules can't be evaluated per document");
+            }
+            conditions.add(compileItem(parsedItems.getLeft()));
+        }
+        // a rule matches if any of its conditions matches
+        rules.put(ruleId, combine("or", conditions));
+        return this;
+    }
+
+    public CompiledRuleSet compile() {
+        literalAutomatons.values().forEach(LiteralAutomaton::build);
+        return new CompiledRuleSet(new LinkedHashMap<>(rules), nodesByKey.size(), predicateCount);
+    }
+
+    private RuleNode compileItem(ConditionItem item) throws SigmaError {
+        if (item instanceof ConditionAND) {
+            return combine("and", compileArgs(item));
+        } else if (item instanceof ConditionOR) {
+            return combine("or", compileArgs(item));
+        } else if (item instanceof ConditionNOT) {
+            RuleNode child = compileArgs(item).get(0);
+            return intern("not(" + child.getId() + ")", id -> new RuleNode.Not(id, child));
+        } else if (item instanceof ConditionFieldEqualsValueExpression) {
+            ConditionFieldEqualsValueExpression expression = (ConditionFieldEqualsValueExpression) item;
+            return compileValue(QueryBackend.getMappedField(fieldMappings, expression.getField()), expression.getValue());
+        } else if (item instanceof ConditionValueExpression) {
+            return compileValue(null, ((ConditionValueExpression) item).getValue());
+        }
+        throw new SigmaConditionError("Unexpected data type in condition parse tree");
+    }
+
+    private List<RuleNode> compileArgs(ConditionItem item) throws SigmaError {
+        List<RuleNode> children = new ArrayList<>();
+        for (Either<AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression>, String> arg: item.getArgs()) {
+            if (!arg.isLeft()) {
+                continue;
+            }
+            if (arg.getLeft().isLeft()) {
+                children.add(compileItem(arg.getLeft().getLeft()));
+            } else if (arg.getLeft().isMiddle()) {
+                children.add(compileItem(arg.getLeft().getMiddle()));
+            } else {
+                children.add(compileItem(arg.getLeft().get()));
+            }
+        }
+        return children;
+    }
+
+    private RuleNode compileValue(String field, SigmaType value) throws SigmaError {
+        if (value instanceof SigmaExpansion) {
+            List<RuleNode> children = new ArrayList<>();
+            for (SigmaType expandedValue: ((SigmaExpansion) value).getValues()) {
+                children.add(compileValue(field, expandedValue));
+            }
+            return combine("or", children);
+        }
+
+        ValueMatcher matcher = ValueMatcher.fromSigmaType(value);
+        String fieldKey = field != null? field: "*";
+        String key = fieldKey + "\u0000" + matcher.key();
+        return intern(key, id -> {
+            ++predicateCount;
+            if (matcher instanceof ValueMatcher.LiteralMatcher) {
+                ValueMatcher.LiteralMatcher literalMatcher = (ValueMatcher.LiteralMatcher) matcher;
+                LiteralAutomaton automaton = literalAutomatons.computeIfAbsent(fieldKey, k -> new LiteralAutomaton());
+                int literal = automaton.add(literalMatcher.getKind(), literalMatcher.getLiteral());
+                return new RuleNode.Predicate(id, field, matcher, automaton, literal);
+            }
+            return new RuleNode.Predicate(id, field, matcher);
+        });
+    }
+
+    private RuleNode combine(String operator, List<RuleNode> children) throws SigmaConditionError {
+        Set<RuleNode> distinctChildren = new LinkedHashSet<>(children);
+        if (distinctChildren.isEmpty()) {
+            throw new SigmaConditionError("Empty '" + operator + "' expression");
+        }
+        if (distinctChildren.size() == 1) {
+            return distinctChildren.iterator().next();
+        }
+
+        List<RuleNode> operands = new ArrayList<>(distinctChildren);
+        String key = operator + operands.stream().map(RuleNode::getId).sorted().map(String::valueOf)
+                .collect(Collectors.joining(",", "(", ")"));
+        return intern(key, id -> "and".equals(operator)? new RuleNode.And(id, operands): new RuleNode.Or(id, operands));
+    }
+
+    private RuleNode intern(String key, NodeFactory factory) {
+        RuleNode node = nodesByKey.get(key);
+        if (node == null) {
+            node = factory.create(nodesByKey.size());
+            nodesByKey.put(key, node);
+        }
+        return node;
+    }
+
+    private interface NodeFactory {
+        RuleNode create(int id);
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.engine;
+
+import org.opensearch.securityanalytics.rules.exceptions.SigmaValueError;
+import org.opensearch.securityanalytics.rules.types.Placeholder;
+import org.opensearch.securityanalytics.rules.types.SigmaBool;
+import org.opensearch.securityanalytics.rules.types.SigmaCIDRExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaCompareExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaNull;
+import org.opensearch.securityanalytics.rules.types.SigmaNumber;
+import org.opensearch.securityanalytics.rules.types.SigmaRegularExpression;
+import org.opensearch.securityanalytics.rules.types.SigmaString;
+import org.opensearch.securityanalytics.rules.types.SigmaType;
+import org.opensearch.securityanalytics.rules.utils.AnyOneOf;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Matches a single document value against the value of a Sigma detection item.
+ */
+public abstract class ValueMatcher {
+
+    /**
+     * Identifies the matcher, two matchers with the same key match the same values.
+     */
+    public abstract String key();
+
+    public abstract boolean matches(Object value);
+
+    /**
+     * Whether the matcher matches a missing or null field.
+     */
+    public boolean matchesMissing() {
+        return false;
+    }
+
+    public static ValueMatcher fromSigmaType(SigmaType value) throws SigmaValueError {
+        if (value instanceof SigmaString) {
+            SigmaString sigmaString = (SigmaString) value;
+            LiteralMatcher literalMatcher = LiteralMatcher.fromSigmaString(sigmaString);
+            if (literalMatcher != null) {
+                return literalMatcher;
+            }
+            if (sigmaString.containsWildcard()) {
+                return new WildcardMatcher(sigmaString.toRegex());
+            }
+            return new StringMatcher(sigmaString.toLiteral());
+        } else if (value instanceof SigmaNumber) {
+            return new NumberMatcher(toDouble((SigmaNumber) value), null);
+        } else if (value instanceof SigmaBool) {
+            return new BoolMatcher(((SigmaBool) value).isaBoolean());
+        } else if (value instanceof SigmaRegularExpression) {
+            return new RegexMatcher(((SigmaRegularExpression) value).getRegexp());
+        } else if (value instanceof SigmaCIDRExpression) {
+            return new CidrMatcher(((SigmaCIDRExpression) value).getCidr());
+        } else if (value instanceof SigmaCompareExpression) {
+            SigmaCompareExpression compareExpression = (SigmaCompareExpression) value;
+            return new NumberMatcher(toDouble(compareExpression.getNumber()), compareExpression.getOp());
+        } else if (value instanceof SigmaNull) {
+            return new NullMatcher();
+        }
+        throw new SigmaValueError("Unsupported value type for in-memory evaluation: " + value.getClass().getName());
+    }
+
+    private static double toDouble(SigmaNumber number) {
+        return number.getNumOpt().isLeft()? number.getNumOpt().getLeft(): number.getNumOpt().get();
+    }
+
+    static class StringMatcher extends ValueMatcher {
+        private final String expected;
+
+        StringMatcher(String expected) {
+            this.expected = expected;
+        }
+
+        @Override
+        public String key() {
+            return "str:" + expected.toLowerCase(Locale.ROOT);
+        }
+
+        @Override
+        public boolean matches(Object value) {
+            return expected.equalsIgnoreCase(value.toString());
+        }
+    }
+
+    /**
+     * Matches the values containing, starting with or ending with a literal, i.e. the values of the contains, startswith
+     * and endswith modifiers. Literals targeting the same field are grouped in a {@link LiteralAutomaton} by the
+     * compiler, {@link #matches(Object)} is only used for single values.
+     */
+    static class LiteralMatcher extends ValueMatcher {
+        private final LiteralAutomaton.Kind kind;
+        private final String literal;
+
+        LiteralMatcher(LiteralAutomaton.Kind kind, String literal) {
+            this.kind = kind;
+            this.literal = literal.toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * Returns the matcher of a string made of a literal and a leading and/or trailing multi-char wildcard, or
+         * {@code null} for any other string.
+         */
+        static LiteralMatcher fromSigmaString(SigmaString sigmaString) {
+            List<AnyOneOf<String, Character, Placeholder>> parts = sigmaString.getsOpt();
+            int start = 0;
+            int end = parts.size();
+            boolean leading = end > 0 && isWildcardMulti(parts.get(0));
+            if (leading) {
+                ++start;
+            }
+            boolean trailing = end > start && isWildcardMulti(parts.get(end - 1));
+            if (trailing) {
+                --end;
+            }
+            if (end - start != 1 || !parts.get(start).isLeft() || (!leading && !trailing)) {
+                return null;
+            }
+
+            String literal = parts.get(start).getLeft();
+            if (leading && trailing) {
+                return new LiteralMatcher(LiteralAutomaton.Kind.CONTAINS, literal);
+            }
+            return new LiteralMatcher(leading? LiteralAutomaton.Kind.SUFFIX: LiteralAutomaton.Kind.PREFIX, literal);
+        }
+
+        private static boolean isWildcardMulti(AnyOneOf<String, Character, Placeholder> part) {
+            return part.isMiddle() && part.getMiddle() == SigmaString.SpecialChars.WILDCARD_MULTI;
+        }
+
+        LiteralAutomaton.Kind getKind() {
+            return kind;
+        }
+
+        String getLiteral() {
+            return literal;
+        }
+
+        @Override
+        public String key() {
+            return kind.name().toLowerCase(Locale.ROOT) + ":" + literal;
+        }
+
+        @Override
+        public boolean matches(Object value) {
+            String text = value.toString().toLowerCase(Locale.ROOT);
+            switch (kind) {
+                case PREFIX:
+                    return text.startsWith(literal);
+                case SUFFIX:
+                    return text.endsWith(literal);
+                default:
+                    return text.contains(literal);
+            }
+        }
+    }
+
+    static class WildcardMatcher extends ValueMatcher {
+        private final Pattern pattern;
+
+        WildcardMatcher(String regex) {
+            this.pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.DOTALL);
+        }
+
+        @Override
+        public String key() {
+            return "wildcard:" + pattern.pattern();
+        }
+
+        @Override
+        public boolean matches(Object value) {
+            return pattern.matcher(value.toString()).matches();
+        }
+    }
+
+    static class RegexMatcher extends ValueMatcher {
+        private final Pattern pattern;
+
+        RegexMatcher(String regex) {
+            this.pattern = Pattern.compile(regex);
+        }
+
+        @Override
+        public String key() {
+            return "re:" + pattern.pattern();
+        }
+
+        @Override
+        public boolean matches(Object value) {
+            return pattern.matcher(value.toString()).matches();
+        }
+    }
+
+    static class NumberMatcher extends ValueMatcher {
+        private final double expected;
+        private final String op;
+
+        NumberMatcher(double expected, String op) {
+            this.expected = expected;
+            this.op = op;
+        }
+
+        @Override
+        public String key() {
+            return "num:" + (op != null? op: "=") + expected;
+        }
+
+        @Override
+        public boolean matches(Object value) {
+            double actual;
+            if (value instanceof Number) {
+                actual = ((Number) value).doubleValue();
+            } else {
+                try {
+                    actual = Double.parseDouble(value.toString());
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+
+            if (op == null) {
+                return actual == expected;
+            }
+            switch (op) {
+                case SigmaCompareExpression.CompareOperators.GT:
+                    return actual > expected;
+                case SigmaCompareExpression.CompareOperators.GTE:
+                    return actual >= expected;
+                case SigmaCompareExpression.CompareOperators.LT:
+                    return actual < expected;
+                case SigmaCompareExpression.CompareOperators.LTE:
+                    return actual <= expected;
+                default:
+                    return false;
+            }
+        }
+    }
+
+    static class BoolMatcher extends ValueMatcher {
+        private final boolean expected;
+
+        BoolMatcher(boolean expected) {
+            this.expected = expected;
+        }
+
+        @Override
+        public String key() {
+            return "bool:" + expected;
+        }
+
+        @Override
+        public boolean matches(Object value) {
+            if (value instanceof Boolean) {
+                return (Boolean) value == expected;
+            }
+            return Boolean.toString(expected).equalsIgnoreCase(value.toString());
+        }
+    }
+
+    static class CidrMatcher extends ValueMatcher {
+        private final String cidr;
+        private final int network;
+        private final int mask;
+
+        CidrMatcher(String cidr) {
+            this.cidr = cidr;
+            String[] parts = cidr.split("/");
+            int prefix = parts.length >= 2? Integer.parseInt(parts[1]): 32;
+            this.mask = prefix == 0? 0: -1 << (32 - prefix);
+            this.network = toInt(parts[0]) & mask;
+        }
+
+        @Override
+        public String key() {
+            return "cidr:" + cidr;
+        }
+
+        @Override
+        public boolean matches(Object value) {
+            String[] octets = value.toString().split("\\.");
+            if (octets.length != 4) {
+                return false;
+            }
+            try {
+                return (toInt(value.toString()) & mask) == network;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        private static int toInt(String ip) {
+            int address = 0;
+            for (String octet: ip.split("\\.")) {
+                int part = Integer.parseInt(octet.trim());
+                if (part < 0 || part > 255) {
+                    throw new NumberFormatException("Invalid IPv4 octet " + octet);
+                }
+                address = (address << 8) | part;
+            }
+            return address;
+        }
+    }
+
+    static class NullMatcher extends ValueMatcher {
+        @Override
+        public String key() {
+            return "null";
+        }
+
+        @Override
+        public boolean matches(Object value) {
+            return false;
+        }
+
+        @Override
+        public boolean matchesMissing() {
+            return true;
+        }
+    }
+}
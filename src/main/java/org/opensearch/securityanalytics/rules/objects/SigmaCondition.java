@@ -7,6 +7,8 @@ package org.opensearch.securityanalytics.rules.objects;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.apache.commons.lang3.tuple.Pair;
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
 import org.opensearch.securityanalytics.rules.aggregation.AggregationItem;
 import org.opensearch.securityanalytics.rules.aggregation.AggregationTraverseVisitor;
 import org.opensearch.securityanalytics.rules.condition.ConditionFieldEqualsValueExpression;
@@ -28,6 +30,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
 
 public class SigmaCondition {
 
@@ -47,14 +50,27 @@ public class SigmaCondition {
 
     private SigmaDetections detections;
 
-    private ConditionParser parser;
-
-    private AggregationParser aggParser;
-
     private ConditionTraverseVisitor conditionVisitor;
 
     private AggregationTraverseVisitor aggVisitor;
 
+    private volatile Pair<ConditionItem, AggregationItem> parsedItems;
+
+    /**
+     * Maximum number of parse trees kept per grammar
+     */
+    public static final int PARSE_TREE_CACHE_SIZE = 1000;
+
+    // parse trees only depend on the condition string and are never modified by the visitors, so they are shared by
+    // all the rules with the same condition
+    private static final Cache<String, ConditionParser.StartContext> CONDITION_PARSE_TREES =
+            CacheBuilder.<String, ConditionParser.StartContext>builder().setMaximumWeight(PARSE_TREE_CACHE_SIZE).build();
+
+    private static final Cache<String, AggregationParser.Comparison_exprContext> AGGREGATION_PARSE_TREES =
+            CacheBuilder.<String, AggregationParser.Comparison_exprContext>builder().setMaximumWeight(PARSE_TREE_CACHE_SIZE).build();
+
+    private static final ThreadLocal<Parsers> PARSERS = ThreadLocal.withInitial(Parsers::new);
+
     public SigmaCondition(String condition, SigmaDetections detections) {
         if (condition.contains(" | ")) {
             this.condition = condition.split(" \\| ")[0];
@@ -65,19 +81,30 @@ public class SigmaCondition {
         }
 
         this.detections = detections;
-
-        ConditionLexer lexer = new ConditionLexer(CharStreams.fromString(this.condition));
-        this.parser = new ConditionParser(new CommonTokenStream(lexer));
         this.conditionVisitor = new ConditionTraverseVisitor(this);
-
-        AggregationLexer aggLexer = new AggregationLexer(CharStreams.fromString(this.aggregation));
-        this.aggParser = new AggregationParser(new CommonTokenStream(aggLexer));
         this.aggVisitor = new AggregationTraverseVisitor();
     }
 
+    /**
+     * Returns the condition and aggregation items of the condition, the items are built on the first call only.
+     */
     public Pair<ConditionItem, AggregationItem> parsed() throws SigmaConditionError {
+        Pair<ConditionItem, AggregationItem> parsedItems = this.parsedItems;
+        if (parsedItems == null) {
+            synchronized (this) {
+                parsedItems = this.parsedItems;
+                if (parsedItems == null) {
+                    parsedItems = parse();
+                    this.parsedItems = parsedItems;
+                }
+            }
+        }
+        return parsedItems;
+    }
+
+    private Pair<ConditionItem, AggregationItem> parse() throws SigmaConditionError {
         ConditionItem parsedConditionItem;
-        Either<ConditionItem, String> itemOrCondition = conditionVisitor.visit(parser.start());
+        Either<ConditionItem, String> itemOrCondition = conditionVisitor.visit(conditionParseTree(condition));
         if (itemOrCondition.isLeft()) {
             parsedConditionItem = itemOrCondition.getLeft();
         } else {
@@ -88,7 +115,7 @@ public class SigmaCondition {
 
         AggregationItem parsedAggItem = null;
         if (!this.aggregation.isEmpty()) {
-            aggVisitor.visit(aggParser.comparison_expr());
+            aggVisitor.visit(aggregationParseTree(aggregation));
             parsedAggItem = aggVisitor.getAggregationItem();
         }
         return Pair.of(parsedConditionItem, parsedAggItem);
@@ -127,4 +154,42 @@ public class SigmaCondition {
         }
         return null;
     }
-}
\ No newline at end of file
+
+    private static ConditionParser.StartContext conditionParseTree(String condition) throws SigmaConditionError {
+        try {
+            return CONDITION_PARSE_TREES.computeIfAbsent(condition, key -> PARSERS.get().parseCondition(key));
+        } catch (ExecutionException ex) {
+            throw new SigmaConditionError("Failed to parse condition " + condition + ": " + ex.getCause().getMessage());
+        }
+    }
+
+    private static AggregationParser.Comparison_exprContext aggregationParseTree(String aggregation) throws SigmaConditionError {
+        try {
+            return AGGREGATION_PARSE_TREES.computeIfAbsent(aggregation, key -> PARSERS.get().parseAggregation(key));
+        } catch (ExecutionException ex) {
+            throw new SigmaConditionError("Failed to parse aggregation " + aggregation + ": " + ex.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Lexers and parsers of a thread, reset with a new input for each parse.
+     */
+    private static class Parsers {
+        private final ConditionLexer conditionLexer = new ConditionLexer(CharStreams.fromString(""));
+        private final ConditionParser conditionParser = new ConditionParser(new CommonTokenStream(conditionLexer));
+        private final AggregationLexer aggregationLexer = new AggregationLexer(CharStreams.fromString(""));
+        private final AggregationParser aggregationParser = new AggregationParser(new CommonTokenStream(aggregationLexer));
+
+        private ConditionParser.StartContext parseCondition(String condition) {
+            conditionLexer.setInputStream(CharStreams.fromString(condition));
+            conditionParser.setTokenStream(new CommonTokenStream(conditionLexer));
+            return conditionParser.start();
+        }
+
+        private AggregationParser.Comparison_exprContext parseAggregation(String aggregation) {
+            aggregationLexer.setInputStream(CharStreams.fromString(aggregation));
+            aggregationParser.setTokenStream(new CommonTokenStream(aggregationLexer));
+            return aggregationParser.comparison_expr();
+        }
+    }
+}
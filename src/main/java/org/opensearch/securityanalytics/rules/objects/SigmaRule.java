@@ -27,6 +27,12 @@ import java.util.UUID;
 
 public class SigmaRule {
 
+    private static final ThreadLocal<Yaml> YAML = ThreadLocal.withInitial(() -> {
+        LoaderOptions loaderOptions = new LoaderOptions();
+        loaderOptions.setNestingDepthLimit(10);
+        return new Yaml(new SafeConstructor(new LoaderOptions()), new Representer(new DumperOptions()), new DumperOptions(), loaderOptions);
+    });
+
     private String title;
 
     private SigmaLogSource logSource;
@@ -89,7 +95,7 @@ public class SigmaRule {
     }
 
     @SuppressWarnings("unchecked")
-    protected static SigmaRule fromDict(Map<String, Object> rule, boolean collectErrors) throws SigmaError {
+    public static SigmaRule fromDict(Map<String, Object> rule, boolean collectErrors) throws SigmaError {
         List<SigmaError> errors = new ArrayList<>();
 
         UUID ruleId;
@@ -171,12 +177,15 @@ public class SigmaRule {
     }
 
     public static SigmaRule fromYaml(String rule, boolean collectErrors) throws SigmaError {
-        LoaderOptions loaderOptions = new LoaderOptions();
-        loaderOptions.setNestingDepthLimit(10);
+        return fromDict(loadYaml(rule), collectErrors);
+    }
 
-        Yaml yaml = new Yaml(new SafeConstructor(new LoaderOptions()), new Representer(new DumperOptions()), new DumperOptions(), loaderOptions);
-        Map<String, Object> ruleMap = yaml.load(rule);
-        return fromDict(ruleMap, collectErrors);
+    /**
+     * Parses a rule into its yaml document, with a yaml loader reused by the calling thread since loaders are not
+     * thread-safe and expensive to create.
+     */
+    public static Map<String, Object> loadYaml(String rule) {
+        return YAML.get().load(rule);
     }
 
     public String getTitle() {
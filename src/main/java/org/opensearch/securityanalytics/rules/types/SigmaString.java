@@ -167,6 +167,13 @@ public class SigmaString implements SigmaType {
     }
 
     public String convert(String escapeChar, String wildcardMulti, String wildcardSingle, String addEscaped, String addReserved, String filterChars) throws SigmaValueError {
+        return convertValue(escapeChar, wildcardMulti, wildcardSingle, addEscaped, addReserved, filterChars).replace(" ", "_ws_");
+    }
+
+    /**
+     * Same as {@link #convert} but keeps whitespaces, for backends which do not go through the rule analyzer.
+     */
+    public String convertValue(String escapeChar, String wildcardMulti, String wildcardSingle, String addEscaped, String addReserved, String filterChars) throws SigmaValueError {
         StringBuilder s = new StringBuilder();
         Set<Character> escapedChars = new HashSet<>();
 
@@ -219,7 +226,35 @@ public class SigmaString implements SigmaType {
                 }
             }
         }
-        return s.toString().replace(" ", "_ws_");
+        return s.toString();
+    }
+
+    /**
+     * Converts the string into a java regular expression matching the same values, for in-memory evaluation.
+     */
+    public String toRegex() {
+        StringBuilder s = new StringBuilder();
+        for (AnyOneOf<String, Character, Placeholder> sOptElem: sOpt) {
+            if (sOptElem.isLeft()) {
+                s.append(Pattern.quote(sOptElem.getLeft()));
+            } else if (sOptElem.isMiddle()) {
+                s.append(sOptElem.getMiddle() == SpecialChars.WILDCARD_MULTI? ".*": ".");
+            }
+        }
+        return s.toString();
+    }
+
+    /**
+     * Concatenates the plain parts of the string without escaping them, for strings matched literally.
+     */
+    public String toLiteral() {
+        StringBuilder s = new StringBuilder();
+        for (AnyOneOf<String, Character, Placeholder> sOptElem: sOpt) {
+            if (sOptElem.isLeft()) {
+                s.append(sOptElem.getLeft());
+            }
+        }
+        return s.toString();
     }
 
     public SigmaString replaceWithPlaceholder(Pattern regex, String placeholderName) {
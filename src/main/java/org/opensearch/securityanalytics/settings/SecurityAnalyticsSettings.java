@@ -147,6 +147,80 @@ public class SecurityAnalyticsSettings {
             Setting.Property.NodeScope, Setting.Property.Dynamic
     );
 
+    /**
+     * Maximum time correlation history writes are buffered before they are flushed as one bulk request
+     */
+    public static final Setting<TimeValue> CORRELATION_BATCH_WINDOW = Setting.timeSetting(
+            "plugins.security_analytics.correlation_batch_window",
+            TimeValue.timeValueMillis(100),
+            TimeValue.ZERO,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Maximum number of buffered correlation history writes before they are flushed as one bulk request
+     */
+    public static final Setting<Integer> CORRELATION_BATCH_SIZE = Setting.intSetting(
+            "plugins.security_analytics.correlation_batch_size",
+            100,
+            1,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Number of correlation counters a node leases from the correlation metadata index at once
+     */
+    public static final Setting<Integer> CORRELATION_COUNTER_BLOCK_SIZE = Setting.intSetting(
+            "plugins.security_analytics.correlation_counter_block_size",
+            100,
+            1,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Maximum number of distinct correlation edges a list correlations request collects, requests over larger time
+     * ranges are rejected instead of holding every edge in memory
+     */
+    public static final Setting<Integer> LIST_CORRELATIONS_MAX_EDGES = Setting.intSetting(
+            "plugins.security_analytics.list_correlations_max_edges",
+            100000,
+            1,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Maximum age of the node-level correlation rule cache before it is reloaded. At least one second, so that the rules
+     * are not reloaded for every finding, rule changes made on the node invalidate the cache anyway
+     */
+    public static final Setting<TimeValue> CORRELATION_RULE_CACHE_REFRESH_INTERVAL = Setting.timeSetting(
+            "plugins.security_analytics.correlation_rule_cache_refresh_interval",
+            TimeValue.timeValueSeconds(30),
+            TimeValue.timeValueSeconds(1),
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Upper bound on how long custom log types created or deleted through another node stay invisible to the node-level
+     * log type cache
+     */
+    public static final Setting<TimeValue> CUSTOM_LOG_TYPES_CACHE_TTL = Setting.timeSetting(
+            "plugins.security_analytics.custom_log_types_cache_ttl",
+            TimeValue.timeValueMinutes(1),
+            TimeValue.timeValueSeconds(1),
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Upper bound on how long created, updated or deleted rules stay invisible to the compiled rule sets of the evaluate
+     * rules api
+     */
+    public static final Setting<TimeValue> RULE_SET_CACHE_TTL = Setting.timeSetting(
+            "plugins.security_analytics.rule_set_cache_ttl",
+            TimeValue.timeValueMinutes(1),
+            TimeValue.timeValueSeconds(1),
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
     public static final Setting<String> DEFAULT_MAPPING_SCHEMA = Setting.simpleString(
             "plugins.security_analytics.mappings.default_schema",
             "ecs",
@@ -172,6 +246,17 @@ public class SecurityAnalyticsSettings {
             Setting.Property.Dynamic
     );
 
+    /**
+     * Maximum number of bulk requests in flight when indexing threat intel feed data
+     */
+    public static final Setting<Integer> MAX_CONCURRENT_BULKS = Setting.intSetting(
+            "plugins.security_analytics.threatintel.tifjob.max_concurrent_bulks",
+            2,
+            1,
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+    );
+
     /**
      * Timeout value for threat intel processor
      */
@@ -183,12 +268,49 @@ public class SecurityAnalyticsSettings {
             Setting.Property.Dynamic
     );
 
+    /**
+     * Maximum number of detectors updated at the same time when refreshing detectors with the latest threat intel feed data
+     */
+    public static final Setting<Integer> DETECTOR_REFRESH_MAX_CONCURRENCY = Setting.intSetting(
+            "plugins.security_analytics.threatintel.detector_refresh.max_concurrency",
+            4,
+            1,
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+    );
+
+    /**
+     * Upper bound on how long a refreshed feed stays invisible to the IOC matcher of the nodes not running the feed update
+     */
+    public static final Setting<TimeValue> IOC_MATCHER_CACHE_TTL = Setting.timeSetting(
+            "plugins.security_analytics.threatintel.ioc_matcher_cache_ttl",
+            TimeValue.timeValueMinutes(1),
+            TimeValue.timeValueSeconds(1),
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+    );
+
+    /**
+     * Maximum number of IOCs of each IOC type turned into the doc level queries of a detector. Doc level queries hold at
+     * most the search max clause count of IOCs each and are run against every ingested document, so they are meant for
+     * feeds of up to tens of thousands of IOCs per type, not millions. Detectors whose log type supports an IOC type
+     * having more IOCs than the limit fail to be created or refreshed.
+     */
+    public static final Setting<Integer> MAX_DOC_LEVEL_QUERY_IOCS = Setting.intSetting(
+            "plugins.security_analytics.threatintel.max_doc_level_query_iocs",
+            50000,
+            0,
+            Setting.Property.NodeScope,
+            Setting.Property.Dynamic
+    );
+
     /**
      * Return all settings of threat intel feature
      * @return a list of all settings for threat intel feature
      */
     public static final List<Setting<?>> settings() {
-        return List.of(BATCH_SIZE, THREAT_INTEL_TIMEOUT, TIF_UPDATE_INTERVAL);
+        return List.of(BATCH_SIZE, MAX_CONCURRENT_BULKS, THREAT_INTEL_TIMEOUT, TIF_UPDATE_INTERVAL, DETECTOR_REFRESH_MAX_CONCURRENCY,
+                IOC_MATCHER_CACHE_TTL, MAX_DOC_LEVEL_QUERY_IOCS);
     }
 
 }
\ No newline at end of file
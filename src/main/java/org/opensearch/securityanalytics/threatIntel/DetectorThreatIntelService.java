@@ -6,38 +6,37 @@ package org.opensearch.securityanalytics.threatIntel;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.logging.log4j.message.ParameterizedMessage;
-import org.apache.lucene.search.join.ScoreMode;
-import org.opensearch.action.search.SearchRequest;
-import org.opensearch.action.support.WriteRequest;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.opensearch.OpenSearchStatusException;
 import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.lease.Releasable;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.commons.alerting.model.DocLevelQuery;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
-import org.opensearch.index.query.QueryBuilder;
-import org.opensearch.index.query.QueryBuilders;
-import org.opensearch.rest.RestRequest;
-import org.opensearch.search.builder.SearchSourceBuilder;
-import org.opensearch.securityanalytics.action.IndexDetectorAction;
-import org.opensearch.securityanalytics.action.IndexDetectorRequest;
-import org.opensearch.securityanalytics.action.SearchDetectorAction;
-import org.opensearch.securityanalytics.action.SearchDetectorRequest;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.model.LogType;
-import org.opensearch.securityanalytics.model.ThreatIntelFeedData;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.threatIntel.action.RefreshDetectorsAction;
+import org.opensearch.securityanalytics.threatIntel.action.RefreshDetectorsRequest;
+import org.opensearch.tasks.TaskId;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
-import static org.opensearch.securityanalytics.model.Detector.DETECTORS_INDEX;
-import static org.opensearch.securityanalytics.util.DetectorUtils.getDetectors;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.IOC_MATCHER_CACHE_TTL;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.MAX_DOC_LEVEL_QUERY_IOCS;
 
 /**
  * Service that populates detectors with queries generated from threat intelligence data.
@@ -49,146 +48,252 @@ public class DetectorThreatIntelService {
     private final ThreatIntelFeedDataService threatIntelFeedDataService;
     private final Client client;
     private final NamedXContentRegistry xContentRegistry;
+    private final Map<TaskId, FeedQueries> feedQueries = new ConcurrentHashMap<>();
+    private final AtomicReference<IocMatcherSnapshot> iocMatcher = new AtomicReference<>();
 
-    public DetectorThreatIntelService(ThreatIntelFeedDataService threatIntelFeedDataService, Client client, NamedXContentRegistry xContentRegistry) {
+    private volatile TimeValue iocMatcherCacheTtl;
+
+    private volatile int maxDocLevelQueryIocs;
+
+    private IocMatcherLoad iocMatcherLoad;
+
+    public DetectorThreatIntelService(ThreatIntelFeedDataService threatIntelFeedDataService, Client client, ClusterService clusterService,
+                                      NamedXContentRegistry xContentRegistry) {
         this.threatIntelFeedDataService = threatIntelFeedDataService;
         this.client = client;
         this.xContentRegistry = xContentRegistry;
-    }
 
+        this.iocMatcherCacheTtl = IOC_MATCHER_CACHE_TTL.get(clusterService.getSettings());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(IOC_MATCHER_CACHE_TTL, it -> iocMatcherCacheTtl = it);
+        this.maxDocLevelQueryIocs = MAX_DOC_LEVEL_QUERY_IOCS.get(clusterService.getSettings());
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(MAX_DOC_LEVEL_QUERY_IOCS, it -> maxDocLevelQueryIocs = it);
+    }
 
     /**
-     * Convert the feed data IOCs into query string query format to create doc level queries.
+     * Convert the feed data IOCs into query string query format to create doc level queries. The IOCs of each feed and
+     * IOC type only go to the queries of that feed for the fields of that IOC type, and are split into several queries
+     * per field so that no query has more clauses than the search max clause count.
+     *
+     * Feed data having more than {@link SecurityAnalyticsSettings#MAX_DOC_LEVEL_QUERY_IOCS} IOCs of an IOC type supported
+     * by the log type, summed over the feeds, is rejected rather than partially turned into queries: doc level queries don't scale to feeds of
+     * millions of IOCs, and silently dropping IOCs would leave the detector blind to them.
+     *
+     * @throws OpenSearchStatusException if the feed data has too many IOCs of an IOC type of the log type
      */
     public List<DocLevelQuery> createDocLevelQueriesFromThreatIntelList(
-            List<LogType.IocFields> iocFieldList, List<ThreatIntelFeedData> tifdList, Detector detector
+            List<LogType.IocFields> iocFieldList, FeedIocs feedIocs, Detector detector
     ) {
         List<DocLevelQuery> queries = new ArrayList<>();
-        Set<String> iocs = tifdList.stream().map(ThreatIntelFeedData::getIocValue).collect(Collectors.toSet());
-        //ioc types supported by log type
-        List<String> logTypeIocs = iocFieldList.stream().map(LogType.IocFields::getIoc).collect(Collectors.toList());
-        // filter out ioc types not supported for given log types
-        Map<String, Set<String>> iocTypeToValues = tifdList.stream().filter(t -> logTypeIocs.contains(t.getIocType()))
-                .collect(Collectors.groupingBy(
-                        ThreatIntelFeedData::getIocType,
-                        Collectors.mapping(ThreatIntelFeedData::getIocValue, Collectors.toSet())
-                ));
-
-        for (Map.Entry<String, Set<String>> entry : iocTypeToValues.entrySet()) {
-            String query = buildQueryStringQueryWithIocList(iocs);
-            List<String> fields = iocFieldList.stream().filter(t -> entry.getKey().matches(t.getIoc())).findFirst().get().getFields();
-
-            // create doc
-            for (String field : fields) {
-                queries.add(new DocLevelQuery(
-                        constructId(detector, entry.getKey()), tifdList.get(0).getFeedId(),
-                        Collections.emptyList(),
-                        String.format(query, field),
-                        List.of(
-                                "threat_intel",
-                                String.format("ioc_type:%s", entry.getKey()),
-                                String.format("field:%s", field),
-                                String.format("feed_name:%s", tifdList.get(0).getFeedId())
-                        )
-                ));
+        Map<String, List<String>> fieldsByIocType = new HashMap<>();
+        for (LogType.IocFields iocFields: iocFieldList) {
+            fieldsByIocType.computeIfAbsent(iocFields.getIoc(), ioc -> new ArrayList<>()).addAll(iocFields.getFields());
+        }
+
+        int maxIocs = maxDocLevelQueryIocs;
+        for (String iocType: fieldsByIocType.keySet()) {
+            int iocCount = feedIocs.size(iocType);
+            if (iocCount > maxIocs) {
+                throw new OpenSearchStatusException(String.format(Locale.getDefault(),
+                        "Threat intel feed has %d IOCs of type %s, more than the %d IOCs which can be turned into the queries of detector %s, see %s",
+                        iocCount, iocType, maxIocs, detector.getId(), MAX_DOC_LEVEL_QUERY_IOCS.getKey()), RestStatus.BAD_REQUEST);
+            }
+        }
+
+        int maxIocsPerQuery = IndexSearcher.getMaxClauseCount();
+        for (Map.Entry<String, Map<String, Set<String>>> feed : feedIocs.getValuesByFeedId().entrySet()) {
+            String feedId = feed.getKey();
+            for (Map.Entry<String, Set<String>> entry : feed.getValue().entrySet()) {
+                // filter out ioc types not supported for given log types
+                if (fieldsByIocType.containsKey(entry.getKey()) == false) {
+                    continue;
+                }
+                List<String> iocs = new ArrayList<>(entry.getValue());
+                for (String field : fieldsByIocType.get(entry.getKey())) {
+                    for (int from = 0; from < iocs.size(); from += maxIocsPerQuery) {
+                        queries.add(new DocLevelQuery(
+                                constructId(detector, entry.getKey()), feedId,
+                                Collections.emptyList(),
+                                buildQueryStringQueryWithIocList(field, iocs.subList(from, Math.min(from + maxIocsPerQuery, iocs.size()))),
+                                List.of(
+                                        "threat_intel",
+                                        String.format("ioc_type:%s", entry.getKey()),
+                                        String.format("field:%s", field),
+                                        String.format("feed_name:%s", feedId)
+                                )
+                        ));
+                    }
+                }
             }
         }
         return queries;
     }
 
-    private String buildQueryStringQueryWithIocList(Set<String> iocs) {
+    private String buildQueryStringQueryWithIocList(String field, List<String> iocs) {
         StringBuilder sb = new StringBuilder();
-        sb.append("%s");
+        sb.append(field);
         sb.append(":");
         sb.append("(");
-        for (String ioc : iocs) {
-            if (sb.length() > 4) {
+        for (int i = 0; i < iocs.size(); ++i) {
+            if (i > 0) {
                 sb.append(" OR ");
             }
-            sb.append(ioc);
-
+            sb.append(QueryParser.escape(iocs.get(i)));
         }
         sb.append(")");
         return sb.toString();
     }
 
     /**
-     * Fetches threat intel data and creates doc level queries from threat intel data
+     * Fetches threat intel data and creates doc level queries from threat intel data. The feed data is read page by page
+     * and only its distinct IOC values are kept while reading, unless the detector is updated by a refresh of the
+     * detectors, in which case the queries of the feed data of that refresh are used.
+     *
+     * @param parentTaskId parent task of the detector update, see {@link #useFeedData(TaskId, FeedIocs)}
      */
-    public void createDocLevelQueryFromThreatIntel(List<LogType.IocFields> iocFieldList, Detector detector, ActionListener<List<DocLevelQuery>> listener) {
-        try {
-            if (false == detector.getThreatIntelEnabled() || iocFieldList.isEmpty()) {
-                listener.onResponse(Collections.emptyList());
+    public void createDocLevelQueryFromThreatIntel(List<LogType.IocFields> iocFieldList, Detector detector, TaskId parentTaskId,
+                                                   ActionListener<List<DocLevelQuery>> listener) {
+        if (false == detector.getThreatIntelEnabled() || iocFieldList.isEmpty()) {
+            listener.onResponse(Collections.emptyList());
+            return;
+        }
+
+        FeedQueries queries = parentTaskId != null && parentTaskId.isSet()? feedQueries.get(parentTaskId): null;
+        if (queries != null) {
+            List<DocLevelQuery> docLevelQueries;
+            try {
+                docLevelQueries = queries.queriesByLogType.computeIfAbsent(
+                        detector.getDetectorType(),
+                        logType -> createDocLevelQueriesFromThreatIntelList(iocFieldList, queries.feedIocs, detector)
+                );
+            } catch (OpenSearchStatusException e) {
+                listener.onFailure(e);
                 return;
             }
+            listener.onResponse(docLevelQueries);
+            return;
+        }
 
-            CountDownLatch latch = new CountDownLatch(1);
-            threatIntelFeedDataService.getThreatIntelFeedData(new ActionListener<>() {
-                @Override
-                public void onResponse(List<ThreatIntelFeedData> threatIntelFeedData) {
-                    if (threatIntelFeedData.isEmpty()) {
-                        listener.onResponse(Collections.emptyList());
-                    } else {
-                        listener.onResponse(
-                                createDocLevelQueriesFromThreatIntelList(iocFieldList, threatIntelFeedData, detector)
-                        );
+        threatIntelFeedDataService.streamThreatIntelFeedData(FeedIocs::new, FeedIocs::add, ActionListener.wrap(
+                feedIocs -> {
+                    List<DocLevelQuery> docLevelQueries;
+                    try {
+                        docLevelQueries = createDocLevelQueriesFromThreatIntelList(iocFieldList, feedIocs, detector);
+                    } catch (OpenSearchStatusException e) {
+                        listener.onFailure(e);
+                        return;
                     }
-                    latch.countDown();
-                }
-
-                @Override
-                public void onFailure(Exception e) {
+                    listener.onResponse(docLevelQueries);
+                },
+                e -> {
                     log.error("Failed to get threat intel feeds for doc level query creation", e);
                     listener.onFailure(e);
-                    latch.countDown();
                 }
-            });
+        ));
+    }
+
+    private static String constructId(Detector detector, String iocType) {
+        return "threat_intel_" + UUID.randomUUID();
+    }
+
+    /**
+     * Serves the doc level queries of the detectors updated by the given refresh task from the given feed data until the
+     * returned releasable is closed, instead of fetching the feed data for each detector. The queries are built once per
+     * log type. Updates of detectors not issued by the refresh task keep fetching the feed data.
+     */
+    public Releasable useFeedData(TaskId refreshTaskId, FeedIocs feedIocs) {
+        FeedQueries queries = new FeedQueries(feedIocs);
+        feedQueries.put(refreshTaskId, queries);
+        return () -> feedQueries.remove(refreshTaskId, queries);
+    }
 
-            latch.await(30, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            log.error("Failed to create doc level queries from threat intel feeds", e);
-            listener.onFailure(e);
+    /**
+     * Returns the IOC matcher of the latest threat intel feed data, built once and kept for
+     * {@link SecurityAnalyticsSettings#IOC_MATCHER_CACHE_TTL}. Concurrent callers missing the cache share a single read
+     * of the feed data.
+     */
+    public void getIocMatcher(ActionListener<IocMatcher> listener) {
+        IocMatcherSnapshot snapshot = iocMatcher.get();
+        if (snapshot != null && System.currentTimeMillis() - snapshot.loadedAt < iocMatcherCacheTtl.millis()) {
+            listener.onResponse(snapshot.matcher);
+            return;
         }
 
+        IocMatcherLoad load;
+        synchronized (this) {
+            if (iocMatcherLoad != null) {
+                iocMatcherLoad.listeners.add(listener);
+                return;
+            }
+            load = new IocMatcherLoad();
+            load.listeners.add(listener);
+            iocMatcherLoad = load;
+        }
+
+        long loadedAt = System.currentTimeMillis();
+        threatIntelFeedDataService.streamThreatIntelFeedData(IocMatcher.Builder::new, IocMatcher.Builder::add, ActionListener.wrap(
+                builder -> onIocMatcherLoaded(load, new IocMatcherSnapshot(builder.build(), loadedAt), null),
+                e -> onIocMatcherLoaded(load, null, e)
+        ));
     }
 
-    private static String constructId(Detector detector, String iocType) {
-        return "threat_intel_" + UUID.randomUUID();
+    private void onIocMatcherLoaded(IocMatcherLoad load, IocMatcherSnapshot snapshot, Exception e) {
+        List<ActionListener<IocMatcher>> listeners;
+        synchronized (this) {
+            // a load invalidated by a feed update still answers its listeners but isn't cached
+            if (iocMatcherLoad == load) {
+                iocMatcherLoad = null;
+                if (snapshot != null) {
+                    iocMatcher.set(snapshot);
+                }
+            }
+            listeners = new ArrayList<>(load.listeners);
+            load.listeners.clear();
+        }
+        for (ActionListener<IocMatcher> listener: listeners) {
+            if (snapshot != null) {
+                listener.onResponse(snapshot.matcher);
+            } else {
+                listener.onFailure(e);
+            }
+        }
     }
 
     /** Updates all detectors having threat intel detection enabled with the latest threat intel feed data*/
     public void updateDetectorsWithLatestThreatIntelRules() {
-            QueryBuilder queryBuilder =
-                    QueryBuilders.nestedQuery("detector",
-                            QueryBuilders.boolQuery().must(
-                                    QueryBuilders.matchQuery("detector.threat_intel_enabled", true)
-                            ), ScoreMode.Avg);
-            SearchRequest searchRequest = new SearchRequest(DETECTORS_INDEX);
-            SearchSourceBuilder ssb = searchRequest.source();
-            ssb.query(queryBuilder);
-            ssb.size(9999);
-            client.execute(SearchDetectorAction.INSTANCE, new SearchDetectorRequest(searchRequest),
-                    ActionListener.wrap(searchResponse -> {
-                        List<Detector> detectors = getDetectors(searchResponse, xContentRegistry);
-                        detectors.forEach(detector -> {
-                                    assert detector.getThreatIntelEnabled();
-                                    client.execute(IndexDetectorAction.INSTANCE, new IndexDetectorRequest(
-                                                    detector.getId(), WriteRequest.RefreshPolicy.IMMEDIATE,
-                                                    RestRequest.Method.PUT,
-                                                    detector),
-                                            ActionListener.wrap(
-                                                    indexDetectorResponse -> {
-                                                        log.debug("updated {} with latest threat intel info", indexDetectorResponse.getDetector().getId());
-                                                    },
-                                                    e -> {
-                                                        log.error(() -> new ParameterizedMessage("Failed to update detector {} with latest threat intel info", detector.getId()), e);
-                                                    }));
-                                }
-                        );
-                    }, e -> {
-                        log.error("Failed to fetch detectors to update with threat intel queries.", e);
-                    }));
+        synchronized (this) {
+            iocMatcher.set(null);
+            iocMatcherLoad = null;
+        }
+        client.execute(RefreshDetectorsAction.INSTANCE, new RefreshDetectorsRequest(), ActionListener.wrap(
+                response -> log.info("Updated {} out of {} detectors with latest threat intel info, {} failed",
+                        response.getStatus().getUpdated(), response.getStatus().getTotal(), response.getStatus().getFailed()),
+                e -> log.error("Failed to update detectors with latest threat intel info", e)
+        ));
+    }
 
+    /**
+     * Doc level queries built from the same feed IOCs, by log type.
+     */
+    private static class FeedQueries {
+        private final FeedIocs feedIocs;
+        private final Map<String, List<DocLevelQuery>> queriesByLogType = new ConcurrentHashMap<>();
 
+        private FeedQueries(FeedIocs feedIocs) {
+            this.feedIocs = feedIocs;
+        }
+    }
+
+    private static class IocMatcherLoad {
+        private final List<ActionListener<IocMatcher>> listeners = new ArrayList<>();
+    }
+
+    private static class IocMatcherSnapshot {
+        private final IocMatcher matcher;
+        private final long loadedAt;
+
+        private IocMatcherSnapshot(IocMatcher matcher, long loadedAt) {
+            this.matcher = matcher;
+            this.loadedAt = loadedAt;
+        }
     }
 }
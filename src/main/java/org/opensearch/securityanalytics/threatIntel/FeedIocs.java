@@ -0,0 +1,63 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.threatIntel;
+
+import org.opensearch.securityanalytics.model.ThreatIntelFeedData;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Distinct IOC values of threat intel feed data by feed and IOC type, accumulated page by page while the feed data is
+ * read, see {@link ThreatIntelFeedDataService#streamThreatIntelFeedData}. Only the values are kept, not the feed data
+ * documents.
+ */
+public class FeedIocs {
+
+    private final Map<String, Map<String, Set<String>>> valuesByFeedId = new TreeMap<>();
+
+    public static FeedIocs of(List<ThreatIntelFeedData> feedData) {
+        FeedIocs iocs = new FeedIocs();
+        iocs.add(feedData);
+        return iocs;
+    }
+
+    public void add(List<ThreatIntelFeedData> feedData) {
+        for (ThreatIntelFeedData data: feedData) {
+            if (data.getFeedId() == null || data.getIocType() == null || data.getIocValue() == null) {
+                continue;
+            }
+            valuesByFeedId.computeIfAbsent(data.getFeedId(), feedId -> new TreeMap<>())
+                    .computeIfAbsent(data.getIocType(), iocType -> new TreeSet<>())
+                    .add(data.getIocValue());
+        }
+    }
+
+    /**
+     * Sorted distinct values by IOC type, by feed id.
+     */
+    public Map<String, Map<String, Set<String>>> getValuesByFeedId() {
+        return valuesByFeedId;
+    }
+
+    /**
+     * Number of distinct values of the IOC type summed over the feeds.
+     */
+    public int size(String iocType) {
+        int size = 0;
+        for (Map<String, Set<String>> valuesByIocType: valuesByFeedId.values()) {
+            Set<String> values = valuesByIocType.get(iocType);
+            size += values != null? values.size(): 0;
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return valuesByFeedId.isEmpty();
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.threatIntel;
+
+import org.apache.lucene.document.InetAddressPoint;
+import org.opensearch.common.collect.Tuple;
+import org.opensearch.common.network.InetAddresses;
+import org.opensearch.securityanalytics.model.ThreatIntelFeedData;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Indicators of compromise of threat intel feed data by IOC type, matched against document values in memory. A value
+ * is only matched against the indicators of the IOC type of its field.
+ *
+ * IP indicators are addresses or CIDR blocks. They are encoded as 16 byte addresses, masked to their prefix length and
+ * packed into one sorted array per prefix length, so an address is looked up with one binary search per distinct prefix
+ * length whatever the number of indicators. Other indicators are compared case-insensitively.
+ *
+ * Matchers are immutable and can be shared by concurrent evaluations.
+ */
+public class IocMatcher {
+
+    public static final String IP_IOC_TYPE = "ip";
+
+    private static final int ADDRESS_LENGTH = 16;
+
+    private static final int IPV4_PREFIX_OFFSET = 96;
+
+    private final Map<String, Set<String>> valuesByIocType;
+
+    private final int[] ipPrefixLengths;
+
+    private final byte[][] ipPrefixes;
+
+    private final int size;
+
+    private IocMatcher(Map<String, Set<String>> valuesByIocType, int[] ipPrefixLengths, byte[][] ipPrefixes, int size) {
+        this.valuesByIocType = valuesByIocType;
+        this.ipPrefixLengths = ipPrefixLengths;
+        this.ipPrefixes = ipPrefixes;
+        this.size = size;
+    }
+
+    public static IocMatcher build(List<ThreatIntelFeedData> feedData) {
+        Builder builder = new Builder();
+        builder.add(feedData);
+        return builder.build();
+    }
+
+    /**
+     * Whether the value is an indicator of the given IOC type.
+     */
+    public boolean matches(String iocType, Object value) {
+        if (value == null) {
+            return false;
+        }
+        String text = value.toString().trim();
+        if (IP_IOC_TYPE.equals(iocType) && ipPrefixLengths.length > 0) {
+            byte[] address = encodeAddress(text);
+            if (address != null && matchesAddress(address)) {
+                return true;
+            }
+        }
+        Set<String> values = valuesByIocType.get(iocType);
+        return values != null && values.contains(text.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Number of distinct indicators.
+     */
+    public int size() {
+        return size;
+    }
+
+    private boolean matchesAddress(byte[] address) {
+        byte[] masked = new byte[ADDRESS_LENGTH];
+        for (int i = 0; i < ipPrefixLengths.length; ++i) {
+            mask(address, ipPrefixLengths[i], masked);
+            if (binarySearch(ipPrefixes[i], masked)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses an address or a CIDR block into its masked 16 byte prefix and its prefix length in bits, or returns
+     * {@code null} if the value isn't an IP indicator.
+     */
+    private static Tuple<byte[], Integer> parseIpPrefix(String value) {
+        if (value.indexOf('/') < 0) {
+            byte[] address = encodeAddress(value);
+            return address != null? Tuple.tuple(address, ADDRESS_LENGTH * Byte.SIZE): null;
+        }
+        try {
+            Tuple<InetAddress, Integer> cidr = InetAddresses.parseCidr(value);
+            int prefixLength = cidr.v2() + (cidr.v1().getAddress().length == 4? IPV4_PREFIX_OFFSET: 0);
+            byte[] prefix = new byte[ADDRESS_LENGTH];
+            mask(InetAddressPoint.encode(cidr.v1()), prefixLength, prefix);
+            return Tuple.tuple(prefix, prefixLength);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static byte[] encodeAddress(String value) {
+        if (InetAddresses.isInetAddress(value) == false) {
+            return null;
+        }
+        return InetAddressPoint.encode(InetAddresses.forString(value));
+    }
+
+    private static void mask(byte[] address, int prefixLength, byte[] masked) {
+        for (int i = 0; i < ADDRESS_LENGTH; ++i) {
+            int bits = Math.min(Math.max(prefixLength - i * Byte.SIZE, 0), Byte.SIZE);
+            masked[i] = (byte) (address[i] & (0xFF00 >> bits));
+        }
+    }
+
+    /**
+     * Sorts and deduplicates the prefixes into one array of consecutive 16 byte prefixes.
+     */
+    private static byte[] pack(List<byte[]> prefixes) {
+        prefixes.sort(Arrays::compareUnsigned);
+        byte[] packed = new byte[prefixes.size() * ADDRESS_LENGTH];
+        int count = 0;
+        for (byte[] prefix: prefixes) {
+            if (count > 0 && Arrays.equals(packed, (count - 1) * ADDRESS_LENGTH, count * ADDRESS_LENGTH, prefix, 0, ADDRESS_LENGTH)) {
+                continue;
+            }
+            System.arraycopy(prefix, 0, packed, count * ADDRESS_LENGTH, ADDRESS_LENGTH);
+            ++count;
+        }
+        return Arrays.copyOf(packed, count * ADDRESS_LENGTH);
+    }
+
+    private static boolean binarySearch(byte[] packed, byte[] prefix) {
+        int low = 0;
+        int high = packed.length / ADDRESS_LENGTH - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Arrays.compareUnsigned(packed, mid * ADDRESS_LENGTH, (mid + 1) * ADDRESS_LENGTH, prefix, 0, ADDRESS_LENGTH);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Accumulates the indicators page by page while the feed data is read, IP indicators being encoded as they are added.
+     */
+    public static class Builder {
+        private final Map<String, Set<String>> valuesByIocType = new HashMap<>();
+        private final Map<Integer, List<byte[]>> ipPrefixesByLength = new TreeMap<>(Collections.reverseOrder());
+
+        public void add(List<ThreatIntelFeedData> feedData) {
+            for (ThreatIntelFeedData data: feedData) {
+                if (data.getIocType() == null || data.getIocValue() == null) {
+                    continue;
+                }
+                String value = data.getIocValue().trim();
+                if (IP_IOC_TYPE.equals(data.getIocType())) {
+                    Tuple<byte[], Integer> prefix = parseIpPrefix(value);
+                    if (prefix != null) {
+                        ipPrefixesByLength.computeIfAbsent(prefix.v2(), length -> new ArrayList<>()).add(prefix.v1());
+                        continue;
+                    }
+                }
+                valuesByIocType.computeIfAbsent(data.getIocType(), iocType -> new HashSet<>()).add(value.toLowerCase(Locale.ROOT));
+            }
+        }
+
+        public IocMatcher build() {
+            int size = valuesByIocType.values().stream().mapToInt(Set::size).sum();
+            int[] ipPrefixLengths = new int[ipPrefixesByLength.size()];
+            byte[][] ipPrefixes = new byte[ipPrefixesByLength.size()][];
+            int i = 0;
+            for (Map.Entry<Integer, List<byte[]>> entry: ipPrefixesByLength.entrySet()) {
+                ipPrefixLengths[i] = entry.getKey();
+                ipPrefixes[i] = pack(entry.getValue());
+                size += ipPrefixes[i].length / ADDRESS_LENGTH;
+                ++i;
+            }
+            return new IocMatcher(valuesByIocType, ipPrefixLengths, ipPrefixes, size);
+        }
+    }
+}
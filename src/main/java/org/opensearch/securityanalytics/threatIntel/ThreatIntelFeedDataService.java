@@ -4,10 +4,11 @@
  */
 package org.opensearch.securityanalytics.threatIntel;
 
+import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
-import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.opensearch.ExceptionsHelper;
 import org.opensearch.OpenSearchException;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.action.DocWriteRequest;
@@ -15,24 +16,35 @@ import org.opensearch.action.admin.indices.create.CreateIndexRequest;
 import org.opensearch.action.admin.indices.create.CreateIndexResponse;
 import org.opensearch.action.bulk.BulkRequest;
 import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.get.GetRequest;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.search.SearchRequest;
-import org.opensearch.action.support.GroupedActionListener;
 import org.opensearch.action.support.IndicesOptions;
-import org.opensearch.action.support.WriteRequest;
 import org.opensearch.action.support.master.AcknowledgedResponse;
 import org.opensearch.client.Client;
 import org.opensearch.cluster.metadata.IndexMetadata;
-import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
+import org.opensearch.cluster.metadata.MappingMetadata;
+import org.opensearch.cluster.metadata.Metadata;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.CheckedBiConsumer;
 import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
 import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.json.JsonXContent;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortOrder;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
 import org.opensearch.securityanalytics.model.ThreatIntelFeedData;
 import org.opensearch.securityanalytics.threatIntel.action.PutTIFJobAction;
 import org.opensearch.securityanalytics.threatIntel.action.PutTIFJobRequest;
@@ -40,8 +52,8 @@ import org.opensearch.securityanalytics.threatIntel.action.ThreatIntelIndicesRes
 import org.opensearch.securityanalytics.threatIntel.common.TIFMetadata;
 import org.opensearch.securityanalytics.threatIntel.common.StashedThreadContext;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.threatIntel.jobscheduler.TIFJobParameter;
 import org.opensearch.securityanalytics.threatIntel.jobscheduler.TIFJobParameterService;
-import org.opensearch.securityanalytics.util.IndexUtils;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 
 import java.io.BufferedReader;
@@ -50,13 +62,14 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -71,6 +84,30 @@ public class ThreatIntelFeedDataService {
     private static final Logger log = LogManager.getLogger(ThreatIntelFeedDataService.class);
 
     public static final String SETTING_INDEX_REFRESH_INTERVAL = "index.refresh_interval";
+
+    /**
+     * Mapping {@code _meta} flag of the feed data indices a feed update is still loading, dropped once the feed is saved.
+     * Indices without it are loaded, including the ones created before the flag was introduced.
+     */
+    public static final String LOADING_META_FIELD = "loading";
+
+    private static final String META_FIELD = "_meta";
+
+    /**
+     * Number of feed data documents read per search request
+     */
+    public static final int FEED_DATA_PAGE_SIZE = 5000;
+
+    /**
+     * Number of times the feed data is read before giving up when the index being read is swapped
+     */
+    private static final int MAX_FEED_DATA_READ_ATTEMPTS = 3;
+
+    private static final String FEED_UPDATER_JOB_NAME = "feed_updater";
+    private static final String IOC_TYPE_FIELD = "ioc_type";
+    private static final String IOC_VALUE_FIELD = "ioc_value";
+    private static final String FEED_ID_FIELD = "feed_id";
+    private static final Pattern IP_PATTERN = Pattern.compile("^\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}$");
     private static final Map<String, Object> INDEX_SETTING_TO_CREATE = Map.of(
             IndexMetadata.SETTING_NUMBER_OF_SHARDS,
             1,
@@ -86,56 +123,156 @@ public class ThreatIntelFeedDataService {
     private final ClusterSettings clusterSettings;
     private final NamedXContentRegistry xContentRegistry;
     private final Client client;
-    private final IndexNameExpressionResolver indexNameExpressionResolver;
 
     public ThreatIntelFeedDataService(
             ClusterService clusterService,
             Client client,
-            IndexNameExpressionResolver indexNameExpressionResolver,
             NamedXContentRegistry xContentRegistry) {
         this.client = client;
-        this.indexNameExpressionResolver = indexNameExpressionResolver;
         this.xContentRegistry = xContentRegistry;
         this.clusterService = clusterService;
         this.clusterSettings = clusterService.getClusterSettings();
     }
 
-    public void getThreatIntelFeedData(
-            ActionListener<List<ThreatIntelFeedData>> listener
+    /**
+     * Reads the threat intel feed data page by page with search_after, handing each page to the consumer before reading
+     * the next one. The feed data is created first if there is none yet.
+     *
+     * The feed data is read from the current indices of the feed updater job, see {@link #getFeedDataIndices}, never
+     * from the indices a feed update is still loading. Feed data indices are not written to once the feed is saved, so
+     * pages sorted on the IOC fields are consistent without a point in time. Duplicate IOCs of a feed may be skipped. The
+     * indices being read are deleted when a feed update swaps them for new ones, in which case the read starts over
+     * from the new indices with a new accumulator, at most {@link #MAX_FEED_DATA_READ_ATTEMPTS} times.
+     *
+     * @param accumulatorSupplier supplier of the accumulator of the pages, called again when the read starts over
+     * @param pageConsumer consumer of the feed data pages
+     * @param listener notified with the accumulator once all the pages were consumed
+     */
+    public <T> void streamThreatIntelFeedData(
+            Supplier<T> accumulatorSupplier,
+            CheckedBiConsumer<T, List<ThreatIntelFeedData>, ? extends Exception> pageConsumer,
+            ActionListener<T> listener
     ) {
-        try {
+        streamThreatIntelFeedData(accumulatorSupplier, pageConsumer, 1, listener);
+    }
 
-            String tifdIndex = getLatestIndexByCreationDate();
-            if (tifdIndex == null) {
-                createThreatIntelFeedData(listener);
+    private <T> void streamThreatIntelFeedData(
+            Supplier<T> accumulatorSupplier,
+            CheckedBiConsumer<T, List<ThreatIntelFeedData>, ? extends Exception> pageConsumer,
+            int attempt,
+            ActionListener<T> listener
+    ) {
+        ActionListener<T> swapListener = ActionListener.wrap(listener::onResponse, e -> {
+            if (attempt < MAX_FEED_DATA_READ_ATTEMPTS && ExceptionsHelper.unwrapCause(e) instanceof IndexNotFoundException) {
+                log.debug("Threat intel feed data index swapped while being read, reading the new one", e);
+                streamThreatIntelFeedData(accumulatorSupplier, pageConsumer, attempt + 1, listener);
             } else {
-                SearchRequest searchRequest = new SearchRequest(tifdIndex);
-                searchRequest.source().size(9999); //TODO: convert to scroll
-                String finalTifdIndex = tifdIndex;
-                client.search(searchRequest, ActionListener.wrap(r -> listener.onResponse(ThreatIntelFeedDataUtils.getTifdList(r, xContentRegistry)), e -> {
-                    log.error(String.format(
-                            "Failed to fetch threat intel feed data from system index %s", finalTifdIndex), e);
-                    listener.onFailure(e);
-                }));
+                listener.onFailure(e);
             }
-        } catch (InterruptedException e) {
-            log.error("Failed to get threat intel feed data", e);
-            listener.onFailure(e);
+        });
+
+        getFeedDataIndices(ActionListener.delegateFailure(swapListener, (indicesListener, tifdIndices) -> {
+            if (tifdIndices == null) {
+                createThreatIntelFeedData(ActionListener.delegateFailure(indicesListener, (createdListener, r) -> getFeedDataIndices(
+                        ActionListener.delegateFailure(createdListener, (delegatedListener, createdIndices) ->
+                                searchThreatIntelFeedData(createdIndices, accumulatorSupplier.get(), pageConsumer, delegatedListener))
+                )));
+            } else {
+                searchThreatIntelFeedData(tifdIndices, accumulatorSupplier.get(), pageConsumer, indicesListener);
+            }
+        }));
+    }
+
+    private <T> void searchThreatIntelFeedData(
+            List<String> tifdIndices,
+            T accumulator,
+            CheckedBiConsumer<T, List<ThreatIntelFeedData>, ? extends Exception> pageConsumer,
+            ActionListener<T> listener
+    ) {
+        if (tifdIndices == null || tifdIndices.isEmpty()) {
+            listener.onResponse(accumulator);
+            return;
         }
+        searchThreatIntelFeedData(tifdIndices.toArray(new String[0]), null, accumulator, pageConsumer, listener);
     }
 
-    private String getLatestIndexByCreationDate() {
-        return IndexUtils.getNewIndexByCreationDate(
-                this.clusterService.state(),
-                this.indexNameExpressionResolver,
-                THREAT_INTEL_DATA_INDEX_NAME_PREFIX + "*"
-        );
+    /**
+     * Returns the feed data indices of the feed updater job that are fully loaded, or {@code null} if there is no job.
+     * A feed update adds the index it loads to the job indices before loading it, flagged as loading until the feed is
+     * saved, see {@link #LOADING_META_FIELD}, and only drops the replaced indices from the job once all the feeds are
+     * saved.
+     */
+    private void getFeedDataIndices(ActionListener<List<String>> listener) {
+        GetRequest request = new GetRequest(SecurityAnalyticsPlugin.JOB_INDEX_NAME, FEED_UPDATER_JOB_NAME);
+        StashedThreadContext.run(client, () -> client.get(request, ActionListener.wrap(response -> {
+            if (response.isExists() == false) {
+                listener.onResponse(null);
+                return;
+            }
+            TIFJobParameter jobParameter;
+            try (XContentParser parser = XContentHelper.createParser(NamedXContentRegistry.EMPTY, LoggingDeprecationHandler.INSTANCE,
+                    response.getSourceAsBytesRef())) {
+                jobParameter = TIFJobParameter.PARSER.parse(parser, null);
+            }
+            Metadata metadata = clusterService.state().metadata();
+            listener.onResponse(jobParameter.getIndices().stream()
+                    .filter(index -> metadata.hasIndex(index) && isLoading(metadata.index(index)) == false)
+                    .collect(Collectors.toList()));
+        }, e -> {
+            if (ExceptionsHelper.unwrapCause(e) instanceof IndexNotFoundException) {
+                listener.onResponse(null);
+            } else {
+                listener.onFailure(e);
+            }
+        })));
+    }
+
+    private static boolean isLoading(IndexMetadata indexMetadata) {
+        MappingMetadata mapping = indexMetadata.mapping();
+        if (mapping == null) {
+            return false;
+        }
+        Object meta = mapping.sourceAsMap().get(META_FIELD);
+        return meta instanceof Map && Boolean.TRUE.equals(((Map<?, ?>) meta).get(LOADING_META_FIELD));
+    }
+
+    private <T> void searchThreatIntelFeedData(
+            String[] tifdIndices,
+            Object[] searchAfter,
+            T accumulator,
+            CheckedBiConsumer<T, List<ThreatIntelFeedData>, ? extends Exception> pageConsumer,
+            ActionListener<T> listener
+    ) {
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .size(FEED_DATA_PAGE_SIZE)
+                .trackTotalHits(false)
+                .sort(IOC_TYPE_FIELD, SortOrder.ASC)
+                .sort(IOC_VALUE_FIELD, SortOrder.ASC)
+                .sort(FEED_ID_FIELD, SortOrder.ASC);
+        if (searchAfter != null) {
+            searchSourceBuilder.searchAfter(searchAfter);
+        }
+        SearchRequest searchRequest = new SearchRequest(tifdIndices).source(searchSourceBuilder);
+        client.search(searchRequest, ActionListener.wrap(r -> {
+            SearchHit[] hits = r.getHits().getHits();
+            pageConsumer.accept(accumulator, ThreatIntelFeedDataUtils.getTifdList(r, xContentRegistry));
+            if (hits.length == FEED_DATA_PAGE_SIZE) {
+                searchThreatIntelFeedData(tifdIndices, hits[hits.length - 1].getSortValues(), accumulator, pageConsumer, listener);
+            } else {
+                listener.onResponse(accumulator);
+            }
+        }, e -> {
+            log.error(String.format(
+                    "Failed to fetch threat intel feed data from system indices %s", String.join(",", tifdIndices)), e);
+            listener.onFailure(e);
+        }));
     }
 
     /**
      * Create an index for a threat intel feed
      * <p>
-     * Index setting start with single shard, zero replica, no refresh interval, and hidden.
+     * Index setting start with single shard, zero replica, no refresh interval, and hidden. The index is flagged as
+     * loading in its mapping {@code _meta}, see {@link #LOADING_META_FIELD}.
      * Once the threat intel feed is indexed, do refresh and force merge.
      * Then, change the index setting to expand replica to all nodes, and read only allow delete.
      *
@@ -147,7 +284,7 @@ public class ThreatIntelFeedDataService {
             return;
         }
         final CreateIndexRequest createIndexRequest = new CreateIndexRequest(indexName).settings(INDEX_SETTING_TO_CREATE)
-                .mapping(getIndexMapping()).timeout(clusterSettings.get(SecurityAnalyticsSettings.THREAT_INTEL_TIMEOUT));
+                .mapping(getLoadingIndexMapping()).timeout(clusterSettings.get(SecurityAnalyticsSettings.THREAT_INTEL_TIMEOUT));
         StashedThreadContext.run(
                 client,
                 () -> client.admin().indices().create(createIndexRequest, new ActionListener<>() {
@@ -168,8 +305,44 @@ public class ThreatIntelFeedDataService {
         );
     }
 
+    /**
+     * Downloads a csv threat intel feed once and saves it into a given index, see
+     * {@link #parseAndSaveThreatIntelFeedDataCSV}. The feed is read on the generic thread pool as the bulk requests are
+     * sent, so the download and the indexing overlap. The index is deleted if the feed fails to be saved, rather than
+     * being left half loaded with its refresh disabled.
+     *
+     * @param indexName Index name to save the threat intel feed
+     * @param tifMetadata Threat intel feed metadata
+     * @param renewLock Runnable to renew lock
+     */
+    public void saveThreatIntelFeedDataCSV(
+            final String indexName,
+            final TIFMetadata tifMetadata,
+            final Runnable renewLock,
+            final ActionListener<ThreatIntelIndicesResponse> listener
+    ) {
+        ActionListener<ThreatIntelIndicesResponse> cleanupListener = ActionListener.wrap(listener::onResponse, e -> {
+            log.error("Failed to save threat intel feed data in {}", indexName, e);
+            deleteThreatIntelDataIndex(List.of(indexName));
+            listener.onFailure(e);
+        });
+        client.threadPool().generic().execute(() -> {
+            try (CSVParser reader = ThreatIntelFeedParser.getThreatIntelFeedReaderCSV(tifMetadata)) {
+                parseAndSaveThreatIntelFeedDataCSV(indexName, ThreatIntelFeedParser.getThreatIntelFeedRecords(reader, tifMetadata), renewLock, tifMetadata, cleanupListener);
+            } catch (Exception e) {
+                cleanupListener.onFailure(e);
+            }
+        });
+    }
+
     /**
      * Puts threat intel feed from CSVRecord iterator into a given index in bulk
+     * <p>
+     * Bulk requests are built from the iterator as the previous ones complete, with at most
+     * {@link SecurityAnalyticsSettings#MAX_CONCURRENT_BULKS} of them in flight, so memory doesn't grow with the size of
+     * the feed. The calling thread blocks until all the bulk requests completed. The lock is renewed after each bulk
+     * request, a failure to renew it stops the save. The index is created without refresh, it is refreshed once all the
+     * feed data is saved and its refresh interval is restored.
      *
      * @param indexName Index name to save the threat intel feed
      * @param iterator  TIF data to insert
@@ -188,74 +361,108 @@ public class ThreatIntelFeedDataService {
 
         TimeValue timeout = clusterSettings.get(SecurityAnalyticsSettings.THREAT_INTEL_TIMEOUT);
         Integer batchSize = clusterSettings.get(SecurityAnalyticsSettings.BATCH_SIZE);
+        Integer maxConcurrentBulks = clusterSettings.get(SecurityAnalyticsSettings.MAX_CONCURRENT_BULKS);
+
+        Semaphore inFlightBulks = new Semaphore(maxConcurrentBulks);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        try {
+            while (failure.get() == null) {
+                BulkRequest bulkRequest = nextBulkRequest(indexName, iterator, tifMetadata, batchSize, timeout);
+                if (bulkRequest.numberOfActions() == 0) {
+                    break;
+                }
+                inFlightBulks.acquire();
+                saveTifds(bulkRequest, timeout, ActionListener.runAfter(ActionListener.wrap(
+                        response -> {
+                            if (response.hasFailures()) {
+                                failure.compareAndSet(null, new OpenSearchException(
+                                        "error occurred while ingesting threat intel feed data in {} with an error {}",
+                                        indexName,
+                                        response.buildFailureMessage()
+                                ));
+                            }
+                        },
+                        e -> failure.compareAndSet(null, e)
+                ), inFlightBulks::release));
+                renewLock.run();
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            failure.compareAndSet(null, e);
+        }
 
-        List<BulkRequest> bulkRequestList = new ArrayList<>();
-        BulkRequest bulkRequest = new BulkRequest();
-        bulkRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+        try {
+            // wait for the bulk requests in flight, so that a failed save isn't cleaned up while they still write to the index
+            inFlightBulks.acquire(maxConcurrentBulks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        }
 
-        List<ThreatIntelFeedData> tifdList = new ArrayList<>();
-        while (iterator.hasNext()) {
+        if (failure.get() != null) {
+            listener.onFailure(failure.get());
+            return;
+        }
+        refreshThreatIntelDataIndex(indexName, listener);
+    }
+
+    /**
+     * Reads the next batch of valid records of the iterator into a bulk request, the bulk request is empty once the
+     * iterator is exhausted.
+     */
+    private BulkRequest nextBulkRequest(
+            final String indexName,
+            final Iterator<CSVRecord> iterator,
+            final TIFMetadata tifMetadata,
+            final int batchSize,
+            final TimeValue timeout
+    ) throws IOException {
+        BulkRequest bulkRequest = new BulkRequest().timeout(timeout);
+        String iocType = tifMetadata.getIocType();
+        Integer colNum = tifMetadata.getIocCol();
+        String feedId = tifMetadata.getFeedId();
+        while (bulkRequest.numberOfActions() < batchSize && iterator.hasNext()) {
             CSVRecord record = iterator.next();
-            String iocType = tifMetadata.getIocType();
-            Integer colNum = tifMetadata.getIocCol();
             String iocValue = record.values()[colNum].split(" ")[0];
             if (iocType.equals("ip") && !isValidIp(iocValue)) {
                 log.info("Invalid IP address, skipping this ioc record.");
                 continue;
             }
-            String feedId = tifMetadata.getFeedId();
-            Instant timestamp = Instant.now();
-            ThreatIntelFeedData threatIntelFeedData = new ThreatIntelFeedData(iocType, iocValue, feedId, timestamp);
-            tifdList.add(threatIntelFeedData);
-        }
-        for (ThreatIntelFeedData tifd : tifdList) {
-            XContentBuilder tifData = tifd.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS);
+            ThreatIntelFeedData threatIntelFeedData = new ThreatIntelFeedData(iocType, iocValue, feedId, Instant.now());
+            XContentBuilder tifData = threatIntelFeedData.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS);
             IndexRequest indexRequest = new IndexRequest(indexName);
             indexRequest.source(tifData);
             indexRequest.opType(DocWriteRequest.OpType.INDEX);
             bulkRequest.add(indexRequest);
-
-            if (bulkRequest.requests().size() == batchSize) {
-                bulkRequestList.add(bulkRequest);
-                bulkRequest = new BulkRequest();
-                bulkRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
-            }
         }
-        bulkRequestList.add(bulkRequest);
-
-        GroupedActionListener<BulkResponse> bulkResponseListener = new GroupedActionListener<>(new ActionListener<>() {
-            @Override
-            public void onResponse(Collection<BulkResponse> bulkResponses) {
-                int idx = 0;
-                for (BulkResponse response: bulkResponses) {
-                    BulkRequest request = bulkRequestList.get(idx);
-                    if (response.hasFailures()) {
-                        throw new OpenSearchException(
-                                "error occurred while ingesting threat intel feed data in {} with an error {}",
-                                StringUtils.join(request.getIndices()),
-                                response.buildFailureMessage()
-                        );
-                    }
-                }
-                listener.onResponse(new ThreatIntelIndicesResponse(true, List.of(indexName)));
-            }
-
-            @Override
-            public void onFailure(Exception e) {
-                listener.onFailure(e);
-            }
-        }, bulkRequestList.size());
+        return bulkRequest;
+    }
 
-        for (int i = 0; i < bulkRequestList.size(); ++i) {
-            saveTifds(bulkRequestList.get(i), timeout, bulkResponseListener);
-        }
-        renewLock.run();
+    /**
+     * Makes the saved threat intel feed data searchable, drops the loading flag and restores the refresh interval
+     * disabled at index creation.
+     */
+    private void refreshThreatIntelDataIndex(final String indexName, final ActionListener<ThreatIntelIndicesResponse> listener) {
+        StashedThreadContext.run(client, () -> client.admin().indices().prepareRefresh(indexName).execute(
+                ActionListener.delegateFailure(listener, (refreshListener, refreshResponse) -> StashedThreadContext.run(
+                        client,
+                        () -> client.admin().indices().preparePutMapping(indexName)
+                                .setSource(Map.of(META_FIELD, getIndexMappingAsMap().get(META_FIELD)))
+                                .execute(ActionListener.delegateFailure(refreshListener, (mappingListener, mappingResponse) -> StashedThreadContext.run(
+                                        client,
+                                        () -> client.admin().indices().prepareUpdateSettings(indexName)
+                                                .setSettings(Settings.builder().putNull(SETTING_INDEX_REFRESH_INTERVAL))
+                                                .execute(ActionListener.delegateFailure(mappingListener, (settingsListener, settingsResponse) ->
+                                                        settingsListener.onResponse(new ThreatIntelIndicesResponse(true, List.of(indexName)))))
+                                )))
+                ))
+        ));
     }
 
     public static boolean isValidIp(String ip) {
-        String ipPattern = "^\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}\\.\\d{1,3}$";
-        Pattern pattern = Pattern.compile(ipPattern);
-        Matcher matcher = pattern.matcher(ip);
+        Matcher matcher = IP_PATTERN.matcher(ip);
         return matcher.matches();
     }
 
@@ -264,6 +471,7 @@ public class ThreatIntelFeedDataService {
             StashedThreadContext.run(client, () -> client.bulk(bulkRequest, listener));
         } catch (OpenSearchException e) {
             log.error("failed to save threat intel feed data", e);
+            listener.onFailure(e);
         }
 
     }
@@ -307,36 +515,43 @@ public class ThreatIntelFeedDataService {
         );
     }
 
-    private void createThreatIntelFeedData(ActionListener<List<ThreatIntelFeedData>> listener) throws InterruptedException {
-        CountDownLatch countDownLatch = new CountDownLatch(1);
+    /**
+     * Creates the threat intel feed updater job.
+     */
+    private void createThreatIntelFeedData(ActionListener<Void> listener) {
         client.execute(
                 PutTIFJobAction.INSTANCE,
-                new PutTIFJobRequest("feed_updater", clusterSettings.get(SecurityAnalyticsSettings.TIF_UPDATE_INTERVAL)),
+                new PutTIFJobRequest(FEED_UPDATER_JOB_NAME, clusterSettings.get(SecurityAnalyticsSettings.TIF_UPDATE_INTERVAL)),
                 new ActionListener<>() {
                     @Override
                     public void onResponse(AcknowledgedResponse acknowledgedResponse) {
                         log.debug("Acknowledged threat intel feed updater job created");
-                        countDownLatch.countDown();
-                        String tifdIndex = getLatestIndexByCreationDate();
-
-                        SearchRequest searchRequest = new SearchRequest(tifdIndex);
-                        searchRequest.source().size(9999); //TODO: convert to scroll
-                        String finalTifdIndex = tifdIndex;
-                        client.search(searchRequest, ActionListener.wrap(r -> listener.onResponse(ThreatIntelFeedDataUtils.getTifdList(r, xContentRegistry)), e -> {
-                            log.error(String.format(
-                                    "Failed to fetch threat intel feed data from system index %s", finalTifdIndex), e);
-                            listener.onFailure(e);
-                        }));
+                        listener.onResponse(null);
                     }
 
                     @Override
                     public void onFailure(Exception e) {
                         log.debug("Failed to create threat intel feed updater job", e);
-                        countDownLatch.countDown();
+                        listener.onFailure(e);
                     }
                 }
         );
-        countDownLatch.await();
+    }
+
+    /**
+     * Mapping of a feed data index created by a feed update, flagged as loading.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> getLoadingIndexMapping() {
+        Map<String, Object> mapping = getIndexMappingAsMap();
+        Map<String, Object> meta = new HashMap<>((Map<String, Object>) mapping.get(META_FIELD));
+        meta.put(LOADING_META_FIELD, true);
+        mapping.put(META_FIELD, meta);
+        return mapping;
+    }
+
+    private Map<String, Object> getIndexMappingAsMap() {
+        return XContentHelper.convertToMap(JsonXContent.jsonXContent, getIndexMapping(), false);
     }
 
     private String getIndexMapping() {
@@ -6,6 +6,7 @@ package org.opensearch.securityanalytics.threatIntel;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.OpenSearchException;
@@ -21,6 +22,8 @@ import java.net.URL;
 import java.net.URLConnection;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 //Parser helper class
 public class ThreatIntelFeedParser {
@@ -47,4 +50,51 @@ public class ThreatIntelFeedParser {
             }
         });
     }
+
+    /**
+     * Iterates over the records of a threat intel feed in a single pass, skipping blank and comment lines. The header of
+     * the feed, if it has one, is detected while streaming as the first line that is neither blank nor a comment.
+     *
+     * @param parser parser of the threat intel feed
+     * @param tifMetadata Threat intel feed metadata
+     * @return iterator over the IOC records of the feed
+     */
+    public static Iterator<CSVRecord> getThreatIntelFeedRecords(final CSVParser parser, final TIFMetadata tifMetadata) {
+        Iterator<CSVRecord> records = parser.iterator();
+        return new Iterator<>() {
+            private boolean headerSkipped = tifMetadata.hasHeader() == false;
+            private CSVRecord next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && records.hasNext()) {
+                    CSVRecord record = records.next();
+                    if (isBlankOrComment(record)) {
+                        continue;
+                    }
+                    if (headerSkipped == false) {
+                        headerSkipped = true;
+                        continue;
+                    }
+                    next = record;
+                }
+                return next != null;
+            }
+
+            @Override
+            public CSVRecord next() {
+                if (hasNext() == false) {
+                    throw new NoSuchElementException();
+                }
+                CSVRecord record = next;
+                next = null;
+                return record;
+            }
+        };
+    }
+
+    private static boolean isBlankOrComment(CSVRecord record) {
+        String firstValue = record.get(0);
+        return (record.size() == 1 && firstValue.isEmpty()) || firstValue.startsWith("#") || firstValue.startsWith(" ");
+    }
 }
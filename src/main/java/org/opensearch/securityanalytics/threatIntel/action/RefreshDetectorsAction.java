@@ -0,0 +1,26 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.securityanalytics.threatIntel.action;
+
+import org.opensearch.action.ActionType;
+
+/**
+ * Refreshes the threat intel queries of all the detectors having threat intel enabled
+ */
+public class RefreshDetectorsAction extends ActionType<RefreshDetectorsResponse> {
+    /**
+     * Refresh detectors action instance
+     */
+    public static final RefreshDetectorsAction INSTANCE = new RefreshDetectorsAction();
+    /**
+     * Refresh detectors action name
+     */
+    public static final String NAME = "cluster:admin/security_analytics/tifjob/refresh_detectors";
+
+    private RefreshDetectorsAction() {
+        super(NAME, RefreshDetectorsResponse::new);
+    }
+}
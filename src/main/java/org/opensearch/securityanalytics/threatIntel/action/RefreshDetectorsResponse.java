@@ -0,0 +1,45 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.securityanalytics.threatIntel.action;
+
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+
+/**
+ * Outcome of a threat intel detectors refresh
+ */
+public class RefreshDetectorsResponse extends ActionResponse implements ToXContentObject {
+
+    private final RefreshDetectorsTask.Status status;
+
+    public RefreshDetectorsResponse(RefreshDetectorsTask.Status status) {
+        super();
+        this.status = status;
+    }
+
+    public RefreshDetectorsResponse(StreamInput sin) throws IOException {
+        this(new RefreshDetectorsTask.Status(sin));
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        status.writeTo(out);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        return status.toXContent(builder, params);
+    }
+
+    public RefreshDetectorsTask.Status getStatus() {
+        return status;
+    }
+}
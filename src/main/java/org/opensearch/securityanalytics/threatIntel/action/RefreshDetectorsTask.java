@@ -0,0 +1,109 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.securityanalytics.threatIntel.action;
+
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.tasks.TaskId;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.tasks.CancellableTask;
+import org.opensearch.tasks.Task;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Task of a threat intel detectors refresh, its status reports the number of detectors to refresh, refreshed and failed
+ * to refresh through the task management API. Cancelling the task stops the refresh of the remaining detectors.
+ */
+public class RefreshDetectorsTask extends CancellableTask {
+
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger updated = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    public RefreshDetectorsTask(long id, String type, String action, String description, TaskId parentTaskId, Map<String, String> headers) {
+        super(id, type, action, description, parentTaskId, headers);
+    }
+
+    @Override
+    public boolean shouldCancelChildrenOnCancellation() {
+        return true;
+    }
+
+    public void setTotal(int total) {
+        this.total.set(total);
+    }
+
+    public void onDetectorUpdated() {
+        updated.incrementAndGet();
+    }
+
+    public void onDetectorFailed() {
+        failed.incrementAndGet();
+    }
+
+    @Override
+    public Status getStatus() {
+        return new Status(total.get(), updated.get(), failed.get());
+    }
+
+    public static class Status implements Task.Status {
+        public static final String NAME = "security_analytics_refresh_detectors";
+
+        private static final String TOTAL_FIELD = "total";
+        private static final String UPDATED_FIELD = "updated";
+        private static final String FAILED_FIELD = "failed";
+
+        private final int total;
+        private final int updated;
+        private final int failed;
+
+        public Status(int total, int updated, int failed) {
+            this.total = total;
+            this.updated = updated;
+            this.failed = failed;
+        }
+
+        public Status(StreamInput sin) throws IOException {
+            this(sin.readVInt(), sin.readVInt(), sin.readVInt());
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVInt(total);
+            out.writeVInt(updated);
+            out.writeVInt(failed);
+        }
+
+        @Override
+        public String getWriteableName() {
+            return NAME;
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            return builder.startObject()
+                    .field(TOTAL_FIELD, total)
+                    .field(UPDATED_FIELD, updated)
+                    .field(FAILED_FIELD, failed)
+                    .endObject();
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getUpdated() {
+            return updated;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+    }
+}
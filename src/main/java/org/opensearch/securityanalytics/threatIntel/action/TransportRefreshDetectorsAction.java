@@ -0,0 +1,193 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.securityanalytics.threatIntel.action;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.lucene.search.join.ScoreMode;
+import org.opensearch.action.ActionRunnable;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.GroupedActionListener;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.lease.Releasable;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortOrder;
+import org.opensearch.securityanalytics.action.IndexDetectorAction;
+import org.opensearch.securityanalytics.action.IndexDetectorRequest;
+import org.opensearch.securityanalytics.action.SearchDetectorAction;
+import org.opensearch.securityanalytics.action.SearchDetectorRequest;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.threatIntel.DetectorThreatIntelService;
+import org.opensearch.securityanalytics.threatIntel.FeedIocs;
+import org.opensearch.securityanalytics.threatIntel.ThreatIntelFeedDataService;
+import org.opensearch.tasks.Task;
+import org.opensearch.tasks.TaskId;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.opensearch.securityanalytics.model.Detector.DETECTORS_INDEX;
+import static org.opensearch.securityanalytics.util.DetectorUtils.getDetectors;
+
+/**
+ * Transport action updating all the detectors having threat intel enabled with the latest threat intel feed data.
+ *
+ * The feed data is fetched once and the doc level queries are built once per log type for all the detectors of the
+ * refresh, see {@link DetectorThreatIntelService#useFeedData(TaskId, FeedIocs)}. Detectors are then updated by a bounded
+ * number of workers, each worker only sending the next update once the previous one completed.
+ */
+public class TransportRefreshDetectorsAction extends HandledTransportAction<RefreshDetectorsRequest, RefreshDetectorsResponse> {
+    private static final Logger log = LogManager.getLogger(TransportRefreshDetectorsAction.class);
+
+    private static final int DETECTORS_PAGE_SIZE = 1000;
+
+    private final Client client;
+    private final ClusterService clusterService;
+    private final ThreadPool threadPool;
+    private final NamedXContentRegistry xContentRegistry;
+    private final ThreatIntelFeedDataService threatIntelFeedDataService;
+    private final DetectorThreatIntelService detectorThreatIntelService;
+
+    /**
+     * Default constructor
+     * @param transportService the transport service
+     * @param actionFilters the action filters
+     * @param client the client
+     * @param clusterService the cluster service
+     * @param xContentRegistry the xcontent registry
+     * @param threatIntelFeedDataService the threat intel feed data service
+     * @param detectorThreatIntelService the detector threat intel service
+     */
+    @Inject
+    public TransportRefreshDetectorsAction(
+            final TransportService transportService,
+            final ActionFilters actionFilters,
+            final Client client,
+            final ClusterService clusterService,
+            final NamedXContentRegistry xContentRegistry,
+            final ThreatIntelFeedDataService threatIntelFeedDataService,
+            final DetectorThreatIntelService detectorThreatIntelService
+    ) {
+        super(RefreshDetectorsAction.NAME, transportService, actionFilters, RefreshDetectorsRequest::new);
+        this.client = client;
+        this.clusterService = clusterService;
+        this.threadPool = transportService.getThreadPool();
+        this.xContentRegistry = xContentRegistry;
+        this.threatIntelFeedDataService = threatIntelFeedDataService;
+        this.detectorThreatIntelService = detectorThreatIntelService;
+    }
+
+    @Override
+    protected void doExecute(final Task task, final RefreshDetectorsRequest request, final ActionListener<RefreshDetectorsResponse> listener) {
+        RefreshDetectorsTask refreshTask = (RefreshDetectorsTask) task;
+
+        searchDetectors(null, new ArrayList<>(), ActionListener.delegateFailure(listener, (detectorsListener, detectors) -> {
+            refreshTask.setTotal(detectors.size());
+            if (detectors.isEmpty()) {
+                detectorsListener.onResponse(new RefreshDetectorsResponse(refreshTask.getStatus()));
+                return;
+            }
+
+            threatIntelFeedDataService.streamThreatIntelFeedData(FeedIocs::new, FeedIocs::add, ActionListener.delegateFailure(detectorsListener, (feedListener, feedIocs) -> {
+                TaskId refreshTaskId = new TaskId(clusterService.localNode().getId(), refreshTask.getId());
+                Releasable feedQueries = detectorThreatIntelService.useFeedData(refreshTaskId, feedIocs);
+                ActionListener<RefreshDetectorsResponse> refreshListener = ActionListener.runAfter(feedListener, feedQueries::close);
+
+                Queue<Detector> pendingDetectors = new ConcurrentLinkedQueue<>(detectors);
+                int workers = Math.min(detectors.size(), clusterService.getClusterSettings().get(SecurityAnalyticsSettings.DETECTOR_REFRESH_MAX_CONCURRENCY));
+                GroupedActionListener<Void> workersListener = new GroupedActionListener<>(
+                        ActionListener.wrap(responses -> refreshListener.onResponse(new RefreshDetectorsResponse(refreshTask.getStatus())), refreshListener::onFailure),
+                        workers
+                );
+                for (int i = 0; i < workers; ++i) {
+                    updateNextDetector(refreshTask, refreshTaskId, pendingDetectors, workersListener);
+                }
+            }));
+        }));
+    }
+
+    /**
+     * Pages through the detectors having threat intel enabled with search_after on their ids.
+     */
+    private void searchDetectors(Object[] searchAfter, List<Detector> detectors, ActionListener<List<Detector>> listener) {
+        QueryBuilder queryBuilder =
+                QueryBuilders.nestedQuery("detector",
+                        QueryBuilders.boolQuery().must(
+                                QueryBuilders.matchQuery("detector.threat_intel_enabled", true)
+                        ), ScoreMode.Avg);
+        SearchSourceBuilder ssb = new SearchSourceBuilder()
+                .query(queryBuilder)
+                .size(DETECTORS_PAGE_SIZE)
+                .trackTotalHits(false)
+                .sort("_id", SortOrder.ASC);
+        if (searchAfter != null) {
+            ssb.searchAfter(searchAfter);
+        }
+        SearchRequest searchRequest = new SearchRequest(DETECTORS_INDEX).source(ssb);
+        client.execute(SearchDetectorAction.INSTANCE, new SearchDetectorRequest(searchRequest), ActionListener.wrap(searchResponse -> {
+            SearchHit[] hits = searchResponse.getHits().getHits();
+            detectors.addAll(getDetectors(searchResponse, xContentRegistry));
+            if (hits.length == DETECTORS_PAGE_SIZE) {
+                searchDetectors(hits[hits.length - 1].getSortValues(), detectors, listener);
+            } else {
+                listener.onResponse(detectors);
+            }
+        }, listener::onFailure));
+    }
+
+    /**
+     * Updates the pending detectors one after the other, until none is left or the task is cancelled. Failures are
+     * counted in the task status and do not stop the refresh of the other detectors. The next update is forked to the
+     * generic thread pool so that updates completing on the calling thread do not grow the stack.
+     */
+    private void updateNextDetector(RefreshDetectorsTask task, TaskId refreshTaskId, Queue<Detector> pendingDetectors, ActionListener<Void> listener) {
+        Detector detector = pendingDetectors.poll();
+        if (detector == null || task.isCancelled()) {
+            listener.onResponse(null);
+            return;
+        }
+
+        assert detector.getThreatIntelEnabled();
+        // Refreshing the detectors and monitors indices for each detector would make concurrent refreshes pile up
+        IndexDetectorRequest indexDetectorRequest = new IndexDetectorRequest(detector.getId(), WriteRequest.RefreshPolicy.WAIT_UNTIL,
+                RestRequest.Method.PUT, detector);
+        // the parent task scopes the feed queries of this refresh to its own updates
+        indexDetectorRequest.setParentTask(refreshTaskId);
+        client.execute(IndexDetectorAction.INSTANCE, indexDetectorRequest, ActionListener.wrap(
+                indexDetectorResponse -> {
+                    log.debug("updated {} with latest threat intel info", indexDetectorResponse.getDetector().getId());
+                    task.onDetectorUpdated();
+                    forkNextDetector(task, refreshTaskId, pendingDetectors, listener);
+                },
+                e -> {
+                    log.error(() -> new ParameterizedMessage("Failed to update detector {} with latest threat intel info", detector.getId()), e);
+                    task.onDetectorFailed();
+                    forkNextDetector(task, refreshTaskId, pendingDetectors, listener);
+                }));
+    }
+
+    private void forkNextDetector(RefreshDetectorsTask task, TaskId refreshTaskId, Queue<Detector> pendingDetectors, ActionListener<Void> listener) {
+        threadPool.executor(ThreadPool.Names.GENERIC).execute(ActionRunnable.wrap(listener,
+                workerListener -> updateNextDetector(task, refreshTaskId, pendingDetectors, workerListener)));
+    }
+}
@@ -148,20 +148,26 @@ public class TIFLockService {
      * It only renews the lock when it passed {@code RENEW_AFTER_IN_SECONDS} since
      * the last time the lock was renewed to avoid resource abuse.
      *
+     * The feeds of a job are saved concurrently, each of them running the same runnable, so renewals are serialized on
+     * the lock reference. The runnable throws if the lock can't be renewed, the lock reference keeping the last lock.
+     *
      * @param lockModel lock model to renew
      * @return runnable which can renew the given lock for every call
      */
     public Runnable getRenewLockRunnable(final AtomicReference<LockModel> lockModel) {
         return () -> {
-            LockModel preLock = lockModel.get();
-            if (Instant.now().isBefore(preLock.getLockTime().plusSeconds(RENEW_AFTER_IN_SECONDS))) {
-                return;
-            }
-            lockModel.set(renewLock(lockModel.get()));
-            if (lockModel.get() == null) {
-                log.error("Exception: failed to renew a lock");
-                new OpenSearchException("failed to renew a lock [{}]", preLock);
+            synchronized (lockModel) {
+                LockModel preLock = lockModel.get();
+                if (Instant.now().isBefore(preLock.getLockTime().plusSeconds(RENEW_AFTER_IN_SECONDS))) {
+                    return;
+                }
+                LockModel renewedLock = renewLock(preLock);
+                if (renewedLock == null) {
+                    log.error("Exception: failed to renew a lock");
+                    throw new OpenSearchException("failed to renew a lock [{}]", preLock);
+                }
+                lockModel.set(renewedLock);
             }
         };
     }
-}
\ No newline at end of file
+}
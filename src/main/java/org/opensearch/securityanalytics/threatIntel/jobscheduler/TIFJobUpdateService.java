@@ -5,8 +5,6 @@
 
 package org.opensearch.securityanalytics.threatIntel.jobscheduler;
 
-import org.apache.commons.csv.CSVParser;
-import org.apache.commons.csv.CSVRecord;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -21,14 +19,12 @@ import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.securityanalytics.threatIntel.ThreatIntelFeedDataService;
-import org.opensearch.securityanalytics.threatIntel.ThreatIntelFeedParser;
 import org.opensearch.securityanalytics.threatIntel.action.ThreatIntelIndicesResponse;
 import org.opensearch.securityanalytics.threatIntel.common.TIFJobState;
 import org.opensearch.securityanalytics.threatIntel.common.TIFMetadata;
 import org.opensearch.securityanalytics.threatIntel.feedMetadata.BuiltInTIFMetadataLoader;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 
-import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.AbstractMap;
@@ -122,77 +118,53 @@ public class TIFJobUpdateService {
                 new ActionListener<>() {
                     @Override
                     public void onResponse(Collection<CreateIndexResponse> responses) {
-                        try {
-
-                            int noOfUnprocessedResponses = 0;
-                            for (CreateIndexResponse response: responses) {
-                                String indexName = response.index();
-                                TIFMetadata tifMetadata = indexTIFMetadataMap.get(indexName);
-                                if (tifMetadata.getFeedType().equals("csv")) {
-                                    ++noOfUnprocessedResponses;
-                                }
+                        int noOfUnprocessedResponses = 0;
+                        for (CreateIndexResponse response: responses) {
+                            String indexName = response.index();
+                            TIFMetadata tifMetadata = indexTIFMetadataMap.get(indexName);
+                            if (tifMetadata.getFeedType().equals("csv")) {
+                                ++noOfUnprocessedResponses;
                             }
-                            GroupedActionListener<ThreatIntelIndicesResponse> saveThreatIntelFeedResponseListener = new GroupedActionListener<>(new ActionListener<>() {
-                                @Override
-                                public void onResponse(Collection<ThreatIntelIndicesResponse> responses) {
-                                    List<String> freshIndices = new ArrayList<>();
-                                    for (ThreatIntelIndicesResponse response: responses) {
-                                        Boolean succeeded = false;
-                                        if (response.isAcknowledged()) {
-                                            String indexName = response.getIndices().get(0);
-                                            waitUntilAllShardsStarted(indexName, MAX_WAIT_TIME_FOR_REPLICATION_TO_COMPLETE_IN_MILLIS);
-                                            freshIndices.add(indexName);
-                                            succeeded = true;
-                                        }
-
-                                        if (!succeeded) {
-                                            log.error("Exception: failed to parse correct feed type");
-                                            onFailure(new OpenSearchException("Exception: failed to parse correct feed type"));
-                                        }
+                        }
+                        GroupedActionListener<ThreatIntelIndicesResponse> saveThreatIntelFeedResponseListener = new GroupedActionListener<>(new ActionListener<>() {
+                            @Override
+                            public void onResponse(Collection<ThreatIntelIndicesResponse> responses) {
+                                List<String> freshIndices = new ArrayList<>();
+                                for (ThreatIntelIndicesResponse response: responses) {
+                                    Boolean succeeded = false;
+                                    if (response.isAcknowledged()) {
+                                        String indexName = response.getIndices().get(0);
+                                        waitUntilAllShardsStarted(indexName, MAX_WAIT_TIME_FOR_REPLICATION_TO_COMPLETE_IN_MILLIS);
+                                        freshIndices.add(indexName);
+                                        succeeded = true;
                                     }
 
-                                    Instant endTime = Instant.now();
-                                    updateJobSchedulerParameterAsSucceeded(freshIndices, jobSchedulerParameter, startTime, endTime, listener);
-                                }
-
-                                @Override
-                                public void onFailure(Exception e) {
-                                    listener.onFailure(e);
+                                    if (!succeeded) {
+                                        log.error("Exception: failed to parse correct feed type");
+                                        onFailure(new OpenSearchException("Exception: failed to parse correct feed type"));
+                                    }
                                 }
-                            }, noOfUnprocessedResponses);
 
-                            for (CreateIndexResponse response: responses) {
-                                String indexName = response.index();
-                                TIFMetadata tifMetadata = indexTIFMetadataMap.get(indexName);
-                                switch (tifMetadata.getFeedType()) {
-                                    case "csv":
-                                        try (CSVParser reader = ThreatIntelFeedParser.getThreatIntelFeedReaderCSV(tifMetadata)) {
-                                            CSVParser noHeaderReader = ThreatIntelFeedParser.getThreatIntelFeedReaderCSV(tifMetadata);
-                                            boolean notFound = true;
+                                Instant endTime = Instant.now();
+                                updateJobSchedulerParameterAsSucceeded(freshIndices, jobSchedulerParameter, startTime, endTime, listener);
+                            }
 
-                                            while (notFound) {
-                                                CSVRecord hasHeaderRecord = reader.iterator().next();
+                            @Override
+                            public void onFailure(Exception e) {
+                                listener.onFailure(e);
+                            }
+                        }, noOfUnprocessedResponses);
 
-                                                //if we want to skip this line and keep iterating
-                                                if ((hasHeaderRecord.values().length ==1 && "".equals(hasHeaderRecord.values()[0])) || hasHeaderRecord.get(0).charAt(0) == '#' || hasHeaderRecord.get(0).charAt(0) == ' '){
-                                                    noHeaderReader.iterator().next();
-                                                } else { // we found the first line that contains information
-                                                    notFound = false;
-                                                }
-                                            }
-                                            if (tifMetadata.hasHeader()){
-                                                threatIntelFeedDataService.parseAndSaveThreatIntelFeedDataCSV(indexName, reader.iterator(), renewLock, tifMetadata, saveThreatIntelFeedResponseListener);
-                                            } else {
-                                                threatIntelFeedDataService.parseAndSaveThreatIntelFeedDataCSV(indexName, noHeaderReader.iterator(), renewLock, tifMetadata, saveThreatIntelFeedResponseListener);
-                                            }
-                                        }
-                                        break;
-                                    default:
-                                        // if the feed type doesn't match any of the supporting feed types, throw an exception
-                                }
+                        for (CreateIndexResponse response: responses) {
+                            String indexName = response.index();
+                            TIFMetadata tifMetadata = indexTIFMetadataMap.get(indexName);
+                            switch (tifMetadata.getFeedType()) {
+                                case "csv":
+                                    threatIntelFeedDataService.saveThreatIntelFeedDataCSV(indexName, tifMetadata, renewLock, saveThreatIntelFeedResponseListener);
+                                    break;
+                                default:
+                                    // if the feed type doesn't match any of the supporting feed types, throw an exception
                             }
-                        } catch (IOException ex) {
-                            onFailure(ex);
                         }
                     }
 
@@ -0,0 +1,260 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.ActionRunnable;
+import org.opensearch.action.search.MultiSearchRequest;
+import org.opensearch.action.search.MultiSearchResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.routing.Preference;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.collapse.CollapseBuilder;
+import org.opensearch.securityanalytics.action.BulkCorrelatedFindingAction;
+import org.opensearch.securityanalytics.action.BulkCorrelatedFindingRequest;
+import org.opensearch.securityanalytics.action.BulkCorrelatedFindingResponse;
+import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.securityanalytics.model.FindingWithScore;
+import org.opensearch.securityanalytics.util.CorrelationIndices;
+import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Correlated findings of many findings at once.
+ *
+ * The finding timestamps, the orphan history counters of all findings and the correlation metadata are read in a
+ * single multi search, after which the knn searches of all findings are sent as one multi search, so a request costs
+ * two round trips regardless of the number of findings.
+ */
+public class TransportBulkSearchCorrelationAction extends HandledTransportAction<BulkCorrelatedFindingRequest, BulkCorrelatedFindingResponse> implements SecureTransportAction {
+
+    private static final Logger log = LogManager.getLogger(TransportBulkSearchCorrelationAction.class);
+
+    private final ClusterService clusterService;
+
+    private final Settings settings;
+
+    private final Client client;
+
+    private final NamedXContentRegistry xContentRegistry;
+
+    private final ThreadPool threadPool;
+
+    @Inject
+    public TransportBulkSearchCorrelationAction(TransportService transportService,
+                                                Client client,
+                                                NamedXContentRegistry xContentRegistry,
+                                                ClusterService clusterService,
+                                                Settings settings,
+                                                ActionFilters actionFilters) {
+        super(BulkCorrelatedFindingAction.NAME, transportService, actionFilters, BulkCorrelatedFindingRequest::new);
+        this.client = client;
+        this.xContentRegistry = xContentRegistry;
+        this.clusterService = clusterService;
+        this.settings = settings;
+        this.threadPool = this.client.threadPool();
+    }
+
+    @Override
+    protected void doExecute(Task task, BulkCorrelatedFindingRequest request, ActionListener<BulkCorrelatedFindingResponse> actionListener) {
+        AsyncBulkSearchCorrelationAction searchCorrelationAction = new AsyncBulkSearchCorrelationAction(request, actionListener);
+        searchCorrelationAction.start();
+    }
+
+    class AsyncBulkSearchCorrelationAction {
+        private final BulkCorrelatedFindingRequest request;
+        private final ActionListener<BulkCorrelatedFindingResponse> listener;
+
+        private final AtomicBoolean counter = new AtomicBoolean();
+
+        private final List<String> findingIds;
+        private final Map<String, List<FindingWithScore>> findings;
+        private final Map<String, String> failures;
+
+        AsyncBulkSearchCorrelationAction(BulkCorrelatedFindingRequest request, ActionListener<BulkCorrelatedFindingResponse> listener) {
+            this.request = request;
+            this.listener = listener;
+
+            this.findingIds = new ArrayList<>(new LinkedHashSet<>(request.getFindingIds()));
+            this.findings = new HashMap<>();
+            this.failures = new HashMap<>();
+        }
+
+        void start() {
+            SearchSourceBuilder findingsSearchSourceBuilder = new SearchSourceBuilder();
+            findingsSearchSourceBuilder.query(QueryBuilders.termsQuery("_id", findingIds));
+            findingsSearchSourceBuilder.fetchSource(false);
+            findingsSearchSourceBuilder.fetchField("timestamp");
+            findingsSearchSourceBuilder.size(findingIds.size());
+            SearchRequest findingsSearchRequest = new SearchRequest();
+            findingsSearchRequest.indices(DetectorMonitorConfig.getAllFindingsIndicesPattern(request.getDetectorType()));
+            findingsSearchRequest.source(findingsSearchSourceBuilder);
+            findingsSearchRequest.preference(Preference.PRIMARY_FIRST.type());
+
+            SearchSourceBuilder scoreSearchSourceBuilder = new SearchSourceBuilder();
+            scoreSearchSourceBuilder.query(QueryBuilders.boolQuery()
+                    .mustNot(QueryBuilders.termQuery("scoreTimestamp", 0L)));
+            scoreSearchSourceBuilder.fetchSource(true);
+            scoreSearchSourceBuilder.size(1);
+            SearchRequest scoreSearchRequest = new SearchRequest();
+            scoreSearchRequest.indices(CorrelationIndices.CORRELATION_METADATA_INDEX);
+            scoreSearchRequest.source(scoreSearchSourceBuilder);
+            scoreSearchRequest.preference(Preference.PRIMARY_FIRST.type());
+
+            // one orphan history entry per finding, like the size 1 counter search of the single finding api
+            BoolQueryBuilder countersQueryBuilder = QueryBuilders.boolQuery()
+                    .filter(QueryBuilders.termsQuery("finding1", findingIds))
+                    .must(QueryBuilders.matchQuery(
+                            "finding2", ""
+                    ));
+            SearchSourceBuilder countersSearchSourceBuilder = new SearchSourceBuilder();
+            countersSearchSourceBuilder.query(countersQueryBuilder);
+            countersSearchSourceBuilder.fetchSource(false);
+            countersSearchSourceBuilder.fetchField("finding1");
+            countersSearchSourceBuilder.fetchField("counter");
+            countersSearchSourceBuilder.collapse(new CollapseBuilder("finding1"));
+            countersSearchSourceBuilder.size(findingIds.size());
+            SearchRequest countersSearchRequest = new SearchRequest();
+            countersSearchRequest.indices(CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
+            countersSearchRequest.source(countersSearchSourceBuilder);
+            countersSearchRequest.preference(Preference.PRIMARY_FIRST.type());
+
+            MultiSearchRequest mSearchRequest = new MultiSearchRequest();
+            mSearchRequest.add(findingsSearchRequest);
+            mSearchRequest.add(scoreSearchRequest);
+            mSearchRequest.add(countersSearchRequest);
+
+            client.multiSearch(mSearchRequest, new ActionListener<>() {
+                @Override
+                public void onResponse(MultiSearchResponse response) {
+                    MultiSearchResponse.Item[] responses = response.getResponses();
+                    for (MultiSearchResponse.Item item: responses) {
+                        if (item.isFailure()) {
+                            onFailures(item.getFailure());
+                            return;
+                        }
+                    }
+
+                    Map<String, Long> findingTimestamps = new HashMap<>();
+                    for (SearchHit hit: responses[0].getResponse().getHits().getHits()) {
+                        findingTimestamps.put(hit.getId(), hit.getFields().get("timestamp").<Long>getValue());
+                    }
+
+                    SearchHit[] scoreHits = responses[1].getResponse().getHits().getHits();
+                    if (scoreHits.length == 0) {
+                        onFailures(new OpenSearchStatusException("Correlation metadata not found", RestStatus.NOT_FOUND));
+                        return;
+                    }
+                    long scoreTimestamp = (long) scoreHits[0].getSourceAsMap().get("scoreTimestamp");
+
+                    Map<String, Long> findingCounters = new HashMap<>();
+                    for (SearchHit hit: responses[2].getResponse().getHits().getHits()) {
+                        findingCounters.put(hit.getFields().get("finding1").getValue(), hit.getFields().get("counter").<Long>getValue());
+                    }
+
+                    searchCorrelatedFindings(findingTimestamps, findingCounters, scoreTimestamp);
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    onFailures(e);
+                }
+            });
+        }
+
+        private void searchCorrelatedFindings(Map<String, Long> findingTimestamps, Map<String, Long> findingCounters, long scoreTimestamp) {
+            List<String> searchedFindingIds = new ArrayList<>();
+            MultiSearchRequest mSearchRequest = new MultiSearchRequest();
+
+            for (String findingId: findingIds) {
+                if (!findingTimestamps.containsKey(findingId)) {
+                    failures.put(findingId, String.format(Locale.ROOT, "finding %s not found", findingId));
+                } else if (!findingCounters.containsKey(findingId)) {
+                    findings.put(findingId, List.of());
+                } else {
+                    searchedFindingIds.add(findingId);
+                    mSearchRequest.add(TransportSearchCorrelationAction.correlatedFindingsSearchRequest(findingCounters.get(findingId),
+                            findingTimestamps.get(findingId), scoreTimestamp, request.getTimeWindow(), request.getNoOfNearbyFindings()));
+                }
+            }
+
+            if (searchedFindingIds.isEmpty()) {
+                onOperation();
+                return;
+            }
+
+            client.multiSearch(mSearchRequest, new ActionListener<>() {
+                @Override
+                public void onResponse(MultiSearchResponse response) {
+                    MultiSearchResponse.Item[] responses = response.getResponses();
+                    for (int idx = 0; idx < responses.length; ++idx) {
+                        String findingId = searchedFindingIds.get(idx);
+                        if (responses[idx].isFailure()) {
+                            log.debug("Failed to search correlated findings of finding {}", findingId, responses[idx].getFailure());
+                            failures.put(findingId, responses[idx].getFailureMessage());
+                        } else {
+                            findings.put(findingId, TransportSearchCorrelationAction.toFindingsWithScore(findingId, responses[idx].getResponse().getHits().getHits()));
+                        }
+                    }
+                    onOperation();
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    onFailures(e);
+                }
+            });
+        }
+
+        private void onOperation() {
+            if (counter.compareAndSet(false, true)) {
+                finishHim(new BulkCorrelatedFindingResponse(findings, failures), null);
+            }
+        }
+
+        private void onFailures(Exception t) {
+            if (counter.compareAndSet(false, true)) {
+                finishHim(null, t);
+            }
+        }
+
+        private void finishHim(BulkCorrelatedFindingResponse response, Exception t) {
+            threadPool.executor(ThreadPool.Names.GENERIC).execute(ActionRunnable.supply(listener, () -> {
+                if (t != null) {
+                    if (t instanceof OpenSearchStatusException) {
+                        throw t;
+                    }
+                    throw SecurityAnalyticsException.wrap(t);
+                } else {
+                    return response;
+                }
+            }));
+        }
+    }
+}
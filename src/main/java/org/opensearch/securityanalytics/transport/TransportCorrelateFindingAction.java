@@ -46,6 +46,10 @@ import org.opensearch.core.rest.RestStatus;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.SearchHits;
 import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.correlation.CorrelationCounterAllocator;
+import org.opensearch.securityanalytics.correlation.CorrelationHistoryWriter;
+import org.opensearch.securityanalytics.correlation.CorrelationRuleCache;
+import org.opensearch.securityanalytics.correlation.FindingWindowIndex;
 import org.opensearch.securityanalytics.correlation.JoinEngine;
 import org.opensearch.securityanalytics.correlation.VectorEmbeddingsEngine;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
@@ -63,7 +67,6 @@ import org.opensearch.transport.TransportService;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -80,6 +83,14 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
 
     private final LogTypeService logTypeService;
 
+    private final FindingWindowIndex findingWindowIndex;
+
+    private final CorrelationHistoryWriter correlationHistoryWriter;
+
+    private final CorrelationCounterAllocator correlationCounterAllocator;
+
+    private final CorrelationRuleCache correlationRuleCache;
+
     private final ClusterService clusterService;
 
     private final Settings settings;
@@ -105,6 +116,10 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
                                            DetectorIndices detectorIndices,
                                            CorrelationIndices correlationIndices,
                                            LogTypeService logTypeService,
+                                           FindingWindowIndex findingWindowIndex,
+                                           CorrelationHistoryWriter correlationHistoryWriter,
+                                           CorrelationCounterAllocator correlationCounterAllocator,
+                                           CorrelationRuleCache correlationRuleCache,
                                            ClusterService clusterService,
                                            Settings settings,
                                            ActionFilters actionFilters) {
@@ -114,6 +129,10 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
         this.detectorIndices = detectorIndices;
         this.correlationIndices = correlationIndices;
         this.logTypeService = logTypeService;
+        this.findingWindowIndex = findingWindowIndex;
+        this.correlationHistoryWriter = correlationHistoryWriter;
+        this.correlationCounterAllocator = correlationCounterAllocator;
+        this.correlationRuleCache = correlationRuleCache;
         this.clusterService = clusterService;
         this.settings = settings;
         this.threadPool = this.detectorIndices.getThreadPool();
@@ -224,8 +243,8 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
 
             this.response =new AtomicReference<>();
 
-            this.joinEngine = new JoinEngine(client, request, xContentRegistry, corrTimeWindow, this, logTypeService, enableAutoCorrelation);
-            this.vectorEmbeddingsEngine = new VectorEmbeddingsEngine(client, indexTimeout, corrTimeWindow, this);
+            this.joinEngine = new JoinEngine(client, request, xContentRegistry, corrTimeWindow, this, logTypeService, enableAutoCorrelation, findingWindowIndex, correlationRuleCache);
+            this.vectorEmbeddingsEngine = new VectorEmbeddingsEngine(client, indexTimeout, corrTimeWindow, this, correlationHistoryWriter, correlationCounterAllocator);
         }
 
         void start() {
@@ -374,49 +393,7 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
                                                         client.index(scoreIndexRequest, new ActionListener<>() {
                                                             @Override
                                                             public void onResponse(IndexResponse response) {
-                                                                BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
-                                                                        .must(QueryBuilders.existsQuery("source"));
-                                                                SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-                                                                searchSourceBuilder.query(queryBuilder);
-                                                                searchSourceBuilder.fetchSource(true);
-                                                                searchSourceBuilder.size(10000);
-                                                                SearchRequest searchRequest = new SearchRequest();
-                                                                searchRequest.indices(LogTypeService.LOG_TYPE_INDEX);
-                                                                searchRequest.source(searchSourceBuilder);
-
-                                                                client.search(searchRequest, new ActionListener<>() {
-                                                                    @Override
-                                                                    public void onResponse(SearchResponse response) {
-                                                                        if (response.isTimedOut()) {
-                                                                            onFailures(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
-                                                                        }
-
-                                                                        SearchHit[] hits = response.getHits().getHits();
-                                                                        Map<String, CustomLogType> logTypes = new HashMap<>();
-                                                                        for (SearchHit hit : hits) {
-                                                                            Map<String, Object> sourceMap = hit.getSourceAsMap();
-                                                                            logTypes.put(sourceMap.get("name").toString(),
-                                                                                    new CustomLogType(sourceMap));
-                                                                        }
-
-                                                                        if (correlatedFindings != null) {
-                                                                            if (correlatedFindings.isEmpty()) {
-                                                                                vectorEmbeddingsEngine.insertOrphanFindings(detectorType, request.getFinding(), Long.valueOf(CorrelationIndices.FIXED_HISTORICAL_INTERVAL / 1000L).floatValue(), logTypes);
-                                                                            }
-                                                                            for (Map.Entry<String, List<String>> correlatedFinding : correlatedFindings.entrySet()) {
-                                                                                vectorEmbeddingsEngine.insertCorrelatedFindings(detectorType, request.getFinding(), correlatedFinding.getKey(), correlatedFinding.getValue(),
-                                                                                        Long.valueOf(CorrelationIndices.FIXED_HISTORICAL_INTERVAL / 1000L).floatValue(), correlationRules, logTypes);
-                                                                            }
-                                                                        } else {
-                                                                            vectorEmbeddingsEngine.insertOrphanFindings(detectorType, orphanFinding, Long.valueOf(CorrelationIndices.FIXED_HISTORICAL_INTERVAL / 1000L).floatValue(), logTypes);
-                                                                        }
-                                                                    }
-
-                                                                    @Override
-                                                                    public void onFailure(Exception e) {
-                                                                        onFailures(e);
-                                                                    }
-                                                                });
+                                                                insertFindingVectors(detectorType, correlatedFindings, orphanFinding, Long.valueOf(CorrelationIndices.FIXED_HISTORICAL_INTERVAL / 1000L).floatValue(), correlationRules);
                                                             }
 
                                                             @Override
@@ -430,49 +407,7 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
                                                 } else {
                                                     float timestampFeature = Long.valueOf((findingTimestamp - scoreTimestamp) / 1000L).floatValue();
 
-                                                    BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
-                                                            .must(QueryBuilders.existsQuery("source"));
-                                                    SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-                                                    searchSourceBuilder.query(queryBuilder);
-                                                    searchSourceBuilder.fetchSource(true);
-                                                    searchSourceBuilder.size(10000);
-                                                    SearchRequest searchRequest = new SearchRequest();
-                                                    searchRequest.indices(LogTypeService.LOG_TYPE_INDEX);
-                                                    searchRequest.source(searchSourceBuilder);
-
-                                                    client.search(searchRequest, new ActionListener<>() {
-                                                        @Override
-                                                        public void onResponse(SearchResponse response) {
-                                                            if (response.isTimedOut()) {
-                                                                onFailures(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
-                                                            }
-
-                                                            SearchHit[] hits = response.getHits().getHits();
-                                                            Map<String, CustomLogType> logTypes = new HashMap<>();
-                                                            for (SearchHit hit : hits) {
-                                                                Map<String, Object> sourceMap = hit.getSourceAsMap();
-                                                                logTypes.put(sourceMap.get("name").toString(),
-                                                                        new CustomLogType(sourceMap));
-                                                            }
-
-                                                            if (correlatedFindings != null) {
-                                                                if (correlatedFindings.isEmpty()) {
-                                                                    vectorEmbeddingsEngine.insertOrphanFindings(detectorType, request.getFinding(), timestampFeature, logTypes);
-                                                                }
-                                                                for (Map.Entry<String, List<String>> correlatedFinding : correlatedFindings.entrySet()) {
-                                                                    vectorEmbeddingsEngine.insertCorrelatedFindings(detectorType, request.getFinding(), correlatedFinding.getKey(), correlatedFinding.getValue(),
-                                                                            timestampFeature, correlationRules, logTypes);
-                                                                }
-                                                            } else {
-                                                                vectorEmbeddingsEngine.insertOrphanFindings(detectorType, orphanFinding, timestampFeature, logTypes);
-                                                            }
-                                                        }
-
-                                                        @Override
-                                                        public void onFailure(Exception e) {
-                                                            onFailures(e);
-                                                        }
-                                                    });
+                                                    insertFindingVectors(detectorType, correlatedFindings, orphanFinding, timestampFeature, correlationRules);
                                                 }
                                             }
 
@@ -537,49 +472,7 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
                                 client.index(scoreIndexRequest, new ActionListener<>() {
                                     @Override
                                     public void onResponse(IndexResponse response) {
-                                        BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
-                                                .must(QueryBuilders.existsQuery("source"));
-                                        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-                                        searchSourceBuilder.query(queryBuilder);
-                                        searchSourceBuilder.fetchSource(true);
-                                        searchSourceBuilder.size(10000);
-                                        SearchRequest searchRequest = new SearchRequest();
-                                        searchRequest.indices(LogTypeService.LOG_TYPE_INDEX);
-                                        searchRequest.source(searchSourceBuilder);
-
-                                        client.search(searchRequest, new ActionListener<>() {
-                                            @Override
-                                            public void onResponse(SearchResponse response) {
-                                                if (response.isTimedOut()) {
-                                                    onFailures(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
-                                                }
-
-                                                SearchHit[] hits = response.getHits().getHits();
-                                                Map<String, CustomLogType> logTypes = new HashMap<>();
-                                                for (SearchHit hit : hits) {
-                                                    Map<String, Object> sourceMap = hit.getSourceAsMap();
-                                                    logTypes.put(sourceMap.get("name").toString(),
-                                                            new CustomLogType(sourceMap));
-                                                }
-
-                                                if (correlatedFindings != null) {
-                                                    if (correlatedFindings.isEmpty()) {
-                                                        vectorEmbeddingsEngine.insertOrphanFindings(detectorType, request.getFinding(), Long.valueOf(CorrelationIndices.FIXED_HISTORICAL_INTERVAL / 1000L).floatValue(), logTypes);
-                                                    }
-                                                    for (Map.Entry<String, List<String>> correlatedFinding : correlatedFindings.entrySet()) {
-                                                        vectorEmbeddingsEngine.insertCorrelatedFindings(detectorType, request.getFinding(), correlatedFinding.getKey(), correlatedFinding.getValue(),
-                                                                Long.valueOf(CorrelationIndices.FIXED_HISTORICAL_INTERVAL / 1000L).floatValue(), correlationRules, logTypes);
-                                                    }
-                                                } else {
-                                                    vectorEmbeddingsEngine.insertOrphanFindings(detectorType, orphanFinding, Long.valueOf(CorrelationIndices.FIXED_HISTORICAL_INTERVAL / 1000L).floatValue(), logTypes);
-                                                }
-                                            }
-
-                                            @Override
-                                            public void onFailure(Exception e) {
-                                                onFailures(e);
-                                            }
-                                        });
+                                        insertFindingVectors(detectorType, correlatedFindings, orphanFinding, Long.valueOf(CorrelationIndices.FIXED_HISTORICAL_INTERVAL / 1000L).floatValue(), correlationRules);
                                     }
 
                                     @Override
@@ -593,49 +486,7 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
                         } else {
                             float timestampFeature = Long.valueOf((findingTimestamp - scoreTimestamp) / 1000L).floatValue();
 
-                            BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery()
-                                    .must(QueryBuilders.existsQuery("source"));
-                            SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-                            searchSourceBuilder.query(queryBuilder);
-                            searchSourceBuilder.fetchSource(true);
-                            searchSourceBuilder.size(10000);
-                            SearchRequest searchRequest = new SearchRequest();
-                            searchRequest.indices(LogTypeService.LOG_TYPE_INDEX);
-                            searchRequest.source(searchSourceBuilder);
-
-                            client.search(searchRequest, new ActionListener<>() {
-                                @Override
-                                public void onResponse(SearchResponse response) {
-                                    if (response.isTimedOut()) {
-                                        onFailures(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
-                                    }
-
-                                    SearchHit[] hits = response.getHits().getHits();
-                                    Map<String, CustomLogType> logTypes = new HashMap<>();
-                                    for (SearchHit hit : hits) {
-                                        Map<String, Object> sourceMap = hit.getSourceAsMap();
-                                        logTypes.put(sourceMap.get("name").toString(),
-                                                new CustomLogType(sourceMap));
-                                    }
-
-                                    if (correlatedFindings != null) {
-                                        if (correlatedFindings.isEmpty()) {
-                                            vectorEmbeddingsEngine.insertOrphanFindings(detectorType, request.getFinding(), timestampFeature, logTypes);
-                                        }
-                                        for (Map.Entry<String, List<String>> correlatedFinding : correlatedFindings.entrySet()) {
-                                            vectorEmbeddingsEngine.insertCorrelatedFindings(detectorType, request.getFinding(), correlatedFinding.getKey(), correlatedFinding.getValue(),
-                                                    timestampFeature, correlationRules, logTypes);
-                                        }
-                                    } else {
-                                        vectorEmbeddingsEngine.insertOrphanFindings(detectorType, orphanFinding, timestampFeature, logTypes);
-                                    }
-                                }
-
-                                @Override
-                                public void onFailure(Exception e) {
-                                    onFailures(e);
-                                }
-                            });
+                            insertFindingVectors(detectorType, correlatedFindings, orphanFinding, timestampFeature, correlationRules);
                         }
                     }
 
@@ -647,6 +498,30 @@ public class TransportCorrelateFindingAction extends HandledTransportAction<Acti
             }
         }
 
+        private void insertFindingVectors(String detectorType, Map<String, List<String>> correlatedFindings, Finding orphanFinding, float timestampFeature, List<String> correlationRules) {
+            logTypeService.getCustomLogTypes(new ActionListener<>() {
+                @Override
+                public void onResponse(Map<String, CustomLogType> logTypes) {
+                    if (correlatedFindings != null) {
+                        if (correlatedFindings.isEmpty()) {
+                            vectorEmbeddingsEngine.insertOrphanFindings(detectorType, request.getFinding(), timestampFeature, logTypes);
+                        }
+                        for (Map.Entry<String, List<String>> correlatedFinding : correlatedFindings.entrySet()) {
+                            vectorEmbeddingsEngine.insertCorrelatedFindings(detectorType, request.getFinding(), correlatedFinding.getKey(), correlatedFinding.getValue(),
+                                    timestampFeature, correlationRules, logTypes);
+                        }
+                    } else {
+                        vectorEmbeddingsEngine.insertOrphanFindings(detectorType, orphanFinding, timestampFeature, logTypes);
+                    }
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    onFailures(e);
+                }
+            });
+        }
+
         public void onOperation() {
             this.response.set(RestStatus.OK);
             if (counter.compareAndSet(false, true)) {
@@ -26,6 +26,7 @@ import org.opensearch.index.reindex.DeleteByQueryRequestBuilder;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.securityanalytics.action.DeleteCorrelationRuleAction;
 import org.opensearch.securityanalytics.action.DeleteCorrelationRuleRequest;
+import org.opensearch.securityanalytics.correlation.CorrelationRuleCache;
 import org.opensearch.securityanalytics.model.CorrelationRule;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 import org.opensearch.tasks.Task;
@@ -37,14 +38,18 @@ public class TransportDeleteCorrelationRuleAction extends HandledTransportAction
 
     private final Client client;
 
+    private final CorrelationRuleCache correlationRuleCache;
+
     @Inject
     public TransportDeleteCorrelationRuleAction(
         TransportService transportService,
         Client client,
-        ActionFilters actionFilters
+        ActionFilters actionFilters,
+        CorrelationRuleCache correlationRuleCache
     ) {
         super(DeleteCorrelationRuleAction.NAME, transportService, actionFilters, DeleteCorrelationRuleRequest::new);
         this.client = client;
+        this.correlationRuleCache = correlationRuleCache;
     }
 
     @Override
@@ -72,6 +77,7 @@ public class TransportDeleteCorrelationRuleAction extends HandledTransportAction
                             );
                             return;
                         }
+                        correlationRuleCache.invalidate();
                         listener.onResponse(new AcknowledgedResponse(true));
                     }
 
@@ -0,0 +1,303 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.lucene.search.join.ScoreMode;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.ActionRunnable;
+import org.opensearch.action.search.ClearScrollRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchScrollRequest;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.action.support.IndicesOptions;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.routing.Preference;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.action.EvaluateRulesAction;
+import org.opensearch.securityanalytics.action.EvaluateRulesRequest;
+import org.opensearch.securityanalytics.action.EvaluateRulesResponse;
+import org.opensearch.securityanalytics.logtype.LogTypeService;
+import org.opensearch.securityanalytics.model.LogType;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.rules.engine.CompiledRuleSet;
+import org.opensearch.securityanalytics.rules.engine.EvaluationContext;
+import org.opensearch.securityanalytics.rules.engine.RuleSetCompiler;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.threatIntel.DetectorThreatIntelService;
+import org.opensearch.securityanalytics.threatIntel.IocMatcher;
+import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evaluates documents against the per document rules of a log type in-process, without indexing them. The rules of a
+ * log type are compiled once on the generic pool into a {@link CompiledRuleSet} and kept for
+ * {@link SecurityAnalyticsSettings#RULE_SET_CACHE_TTL}, concurrent requests for a log type sharing a single load. When
+ * requested, the IOC fields of the log type are matched against the threat intel feed data with an {@link IocMatcher}.
+ */
+public class TransportEvaluateRulesAction extends HandledTransportAction<EvaluateRulesRequest, EvaluateRulesResponse> {
+
+    private static final Logger log = LogManager.getLogger(TransportEvaluateRulesAction.class);
+
+    private static final int RULES_PAGE_SIZE = 1000;
+
+    private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+
+    private final Client client;
+
+    private final NamedXContentRegistry xContentRegistry;
+
+    private final LogTypeService logTypeService;
+
+    private final DetectorThreatIntelService detectorThreatIntelService;
+
+    private final ThreadPool threadPool;
+
+    private final Map<String, RuleSetSnapshot> ruleSets;
+
+    private final Map<String, List<ActionListener<CompiledRuleSet>>> pendingLoads;
+
+    private volatile TimeValue ruleSetCacheTtl;
+
+    @Inject
+    public TransportEvaluateRulesAction(TransportService transportService, Client client, ActionFilters actionFilters, NamedXContentRegistry xContentRegistry, LogTypeService logTypeService,
+                                        DetectorThreatIntelService detectorThreatIntelService, ClusterService clusterService, Settings settings) {
+        super(EvaluateRulesAction.NAME, transportService, actionFilters, EvaluateRulesRequest::new);
+        this.client = client;
+        this.xContentRegistry = xContentRegistry;
+        this.logTypeService = logTypeService;
+        this.detectorThreatIntelService = detectorThreatIntelService;
+        this.threadPool = client.threadPool();
+        this.ruleSets = new ConcurrentHashMap<>();
+        this.pendingLoads = new HashMap<>();
+        this.ruleSetCacheTtl = SecurityAnalyticsSettings.RULE_SET_CACHE_TTL.get(settings);
+
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.RULE_SET_CACHE_TTL, it -> ruleSetCacheTtl = it);
+    }
+
+    @Override
+    protected void doExecute(Task task, EvaluateRulesRequest request, ActionListener<EvaluateRulesResponse> listener) {
+        String logType = request.getLogType().toLowerCase(Locale.ROOT);
+        getRuleSet(logType, ActionListener.wrap(
+                ruleSet -> {
+                    if (request.isThreatIntel() == false) {
+                        threadPool.executor(ThreadPool.Names.GENERIC).execute(ActionRunnable.supply(listener, () -> evaluate(ruleSet, null, request.getDocuments())));
+                        return;
+                    }
+                    List<LogType.IocFields> iocFields = logTypeService.getIocFieldsList(logType);
+                    // Fetching the feed data blocks while the threat intel feed is created for the first time
+                    threadPool.executor(ThreadPool.Names.GENERIC).execute(() -> detectorThreatIntelService.getIocMatcher(ActionListener.wrap(
+                            iocMatcher -> threadPool.executor(ThreadPool.Names.GENERIC).execute(ActionRunnable.supply(listener,
+                                    () -> evaluate(ruleSet, new IocFieldsMatcher(iocFields, iocMatcher), request.getDocuments()))),
+                            e -> listener.onFailure(SecurityAnalyticsException.wrap(e))
+                    )));
+                },
+                e -> listener.onFailure(SecurityAnalyticsException.wrap(e))
+        ));
+    }
+
+    private EvaluateRulesResponse evaluate(CompiledRuleSet ruleSet, IocFieldsMatcher iocFieldsMatcher, List<BytesReference> documents) throws IOException {
+        List<List<String>> matchedRules = new ArrayList<>(documents.size());
+        List<List<String>> matchedIocFields = iocFieldsMatcher != null? new ArrayList<>(documents.size()): null;
+        for (BytesReference document: documents) {
+            try (XContentParser xcp = XContentHelper.createParser(NamedXContentRegistry.EMPTY, LoggingDeprecationHandler.INSTANCE, document, XContentType.JSON)) {
+                EvaluationContext context = EvaluationContext.fromParser(xcp, ruleSet.getNodeCount());
+                matchedRules.add(ruleSet.evaluate(context));
+                if (iocFieldsMatcher != null) {
+                    matchedIocFields.add(iocFieldsMatcher.match(context));
+                }
+            }
+        }
+        return new EvaluateRulesResponse(matchedRules, matchedIocFields);
+    }
+
+    private void getRuleSet(String logType, ActionListener<CompiledRuleSet> listener) {
+        RuleSetSnapshot snapshot = ruleSets.get(logType);
+        if (snapshot != null && System.currentTimeMillis() - snapshot.loadedAt < ruleSetCacheTtl.millis()) {
+            listener.onResponse(snapshot.ruleSet);
+            return;
+        }
+
+        synchronized (pendingLoads) {
+            List<ActionListener<CompiledRuleSet>> listeners = pendingLoads.get(logType);
+            if (listeners != null) {
+                listeners.add(listener);
+                return;
+            }
+            listeners = new ArrayList<>();
+            listeners.add(listener);
+            pendingLoads.put(logType, listeners);
+        }
+
+        long loadedAt = System.currentTimeMillis();
+        SearchRequest searchRequest = new SearchRequest(Rule.PRE_PACKAGED_RULES_INDEX, Rule.CUSTOM_RULES_INDEX)
+                .indicesOptions(IndicesOptions.lenientExpandOpen())
+                .source(new SearchSourceBuilder()
+                        .version(true)
+                        .query(QueryBuilders.nestedQuery("rule", QueryBuilders.matchQuery("rule.category", logType), ScoreMode.Avg))
+                        .size(RULES_PAGE_SIZE))
+                .preference(Preference.PRIMARY_FIRST.type())
+                .scroll(SCROLL_KEEP_ALIVE);
+
+        searchRules(searchRequest, new ArrayList<>(), ActionListener.wrap(
+                hits -> logTypeService.getRuleFieldMappings(logType, ActionListener.wrap(
+                        fieldMappings -> threadPool.executor(ThreadPool.Names.GENERIC).execute(ActionRunnable.supply(
+                                ActionListener.wrap(
+                                        ruleSet -> {
+                                            ruleSets.put(logType, new RuleSetSnapshot(ruleSet, loadedAt));
+                                            onRuleSetLoaded(logType, ruleSet, null);
+                                        },
+                                        e -> onRuleSetLoaded(logType, null, e)
+                                ),
+                                () -> compile(hits, fieldMappings)
+                        )),
+                        e -> onRuleSetLoaded(logType, null, e)
+                )),
+                e -> onRuleSetLoaded(logType, null, e)
+        ));
+    }
+
+    /**
+     * Scrolls through all the rules of the log type, the rules aren't parsed until all pages are read.
+     */
+    private void searchRules(SearchRequest searchRequest, List<SearchHit> hits, ActionListener<List<SearchHit>> listener) {
+        ActionListener<SearchResponse> pageListener = new ActionListener<>() {
+            @Override
+            public void onResponse(SearchResponse searchResponse) {
+                if (searchResponse.isTimedOut()) {
+                    clearScroll(searchResponse.getScrollId());
+                    listener.onFailure(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
+                    return;
+                }
+
+                SearchHit[] pageHits = searchResponse.getHits().getHits();
+                hits.addAll(Arrays.asList(pageHits));
+                if (pageHits.length == RULES_PAGE_SIZE && searchResponse.getScrollId() != null) {
+                    client.searchScroll(new SearchScrollRequest(searchResponse.getScrollId()).scroll(SCROLL_KEEP_ALIVE), this);
+                    return;
+                }
+                clearScroll(searchResponse.getScrollId());
+                listener.onResponse(hits);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                listener.onFailure(e);
+            }
+        };
+        client.search(searchRequest, pageListener);
+    }
+
+    private void clearScroll(String scrollId) {
+        if (scrollId == null) {
+            return;
+        }
+        ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+        clearScrollRequest.addScrollId(scrollId);
+        client.clearScroll(clearScrollRequest, ActionListener.wrap(
+                response -> {},
+                e -> log.debug("Failed to clear rules scroll", e)
+        ));
+    }
+
+    private CompiledRuleSet compile(List<SearchHit> hits, Map<String, String> fieldMappings) {
+        RuleSetCompiler compiler = new RuleSetCompiler(fieldMappings);
+        for (SearchHit hit: hits) {
+            try (XContentParser xcp = XContentType.JSON.xContent().createParser(
+                    xContentRegistry, LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString())) {
+                Rule rule = Rule.docParse(xcp, hit.getId(), hit.getVersion());
+                if (rule.isAggregationRule()) {
+                    continue;
+                }
+                compiler.addRule(hit.getId(), SigmaRule.fromYaml(rule.getRule(), true));
+            } catch (Exception e) {
+                log.warn(String.format(Locale.ROOT, "Skipping rule %s which can't be evaluated per document", hit.getId()), e);
+            }
+        }
+        return compiler.compile();
+    }
+
+    private void onRuleSetLoaded(String logType, CompiledRuleSet ruleSet, Exception e) {
+        List<ActionListener<CompiledRuleSet>> listeners;
+        synchronized (pendingLoads) {
+            listeners = pendingLoads.remove(logType);
+        }
+
+        for (ActionListener<CompiledRuleSet> listener: listeners) {
+            if (ruleSet != null) {
+                listener.onResponse(ruleSet);
+            } else {
+                listener.onFailure(e);
+            }
+        }
+    }
+
+    private static class RuleSetSnapshot {
+        private final CompiledRuleSet ruleSet;
+        private final long loadedAt;
+
+        private RuleSetSnapshot(CompiledRuleSet ruleSet, long loadedAt) {
+            this.ruleSet = ruleSet;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * IOC fields of a log type, each field being only matched against the indicators of its IOC type.
+     */
+    private static class IocFieldsMatcher {
+        private final List<LogType.IocFields> iocFields;
+        private final IocMatcher iocMatcher;
+
+        private IocFieldsMatcher(List<LogType.IocFields> iocFields, IocMatcher iocMatcher) {
+            this.iocFields = iocFields;
+            this.iocMatcher = iocMatcher;
+        }
+
+        private List<String> match(EvaluationContext context) {
+            List<String> matchedFields = new ArrayList<>();
+            for (LogType.IocFields fields: iocFields) {
+                for (String field: fields.getFields()) {
+                    for (Object value: context.values(field)) {
+                        if (iocMatcher.matches(fields.getIoc(), value)) {
+                            matchedFields.add(field);
+                            break;
+                        }
+                    }
+                }
+            }
+            return matchedFields;
+        }
+    }
+}
@@ -30,6 +30,7 @@ import org.opensearch.core.rest.RestStatus;
 import org.opensearch.securityanalytics.action.IndexCorrelationRuleAction;
 import org.opensearch.securityanalytics.action.IndexCorrelationRuleRequest;
 import org.opensearch.securityanalytics.action.IndexCorrelationRuleResponse;
+import org.opensearch.securityanalytics.correlation.CorrelationRuleCache;
 import org.opensearch.securityanalytics.model.CorrelationRule;
 import org.opensearch.securityanalytics.util.CorrelationRuleIndices;
 import org.opensearch.securityanalytics.util.IndexUtils;
@@ -49,18 +50,22 @@ public class TransportIndexCorrelationRuleAction extends HandledTransportAction<
 
     private final ClusterService clusterService;
 
+    private final CorrelationRuleCache correlationRuleCache;
+
     @Inject
     public TransportIndexCorrelationRuleAction(
         TransportService transportService,
         Client client,
         ActionFilters actionFilters,
         ClusterService clusterService,
-        CorrelationRuleIndices correlationRuleIndices
+        CorrelationRuleIndices correlationRuleIndices,
+        CorrelationRuleCache correlationRuleCache
     ) {
         super(IndexCorrelationRuleAction.NAME, transportService, actionFilters, IndexCorrelationRuleRequest::new);
         this.client = client;
         this.clusterService = clusterService;
         this.correlationRuleIndices = correlationRuleIndices;
+        this.correlationRuleCache = correlationRuleCache;
     }
 
     @Override
@@ -197,6 +202,7 @@ public class TransportIndexCorrelationRuleAction extends HandledTransportAction<
         }
 
         private void onOperation(CorrelationRule correlationRule) {
+            correlationRuleCache.invalidate();
             finishHim(correlationRule, null);
         }
 
@@ -460,6 +460,7 @@ public class TransportIndexCustomLogTypeAction extends HandledTransportAction<In
         }
 
         private void onOperation(IndexResponse response, CustomLogType logType) {
+            logTypeService.invalidateCustomLogTypes();
             this.response.set(response);
             if (counter.compareAndSet(false, true)) {
                 finishHim(logType);
@@ -66,7 +66,6 @@ import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.index.query.RangeQueryBuilder;
-import org.opensearch.index.reindex.BulkByScrollResponse;
 import org.opensearch.index.seqno.SequenceNumbers;
 import org.opensearch.rest.RestRequest;
 import org.opensearch.rest.RestRequest.Method;
@@ -91,14 +90,15 @@ import org.opensearch.securityanalytics.model.DetectorTrigger;
 import org.opensearch.securityanalytics.model.LogType;
 import org.opensearch.securityanalytics.model.Rule;
 import org.opensearch.securityanalytics.model.Value;
-import org.opensearch.securityanalytics.rules.aggregation.AggregationItem;
-import org.opensearch.securityanalytics.rules.backend.OSQueryBackend;
 import org.opensearch.securityanalytics.rules.backend.OSQueryBackend.AggregationQueries;
+import org.opensearch.securityanalytics.rules.backend.OSQueryDslBackend;
 import org.opensearch.securityanalytics.rules.backend.QueryBackend;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.securityanalytics.threatIntel.DetectorThreatIntelService;
 import org.opensearch.securityanalytics.util.DetectorIndices;
+import org.opensearch.securityanalytics.util.DetectorUpdatePlan;
 import org.opensearch.securityanalytics.util.DetectorUtils;
 import org.opensearch.securityanalytics.util.IndexUtils;
 import org.opensearch.securityanalytics.util.MonitorService;
@@ -107,6 +107,7 @@ import org.opensearch.securityanalytics.util.RuleTopicIndices;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 import org.opensearch.securityanalytics.util.WorkflowService;
 import org.opensearch.tasks.Task;
+import org.opensearch.tasks.TaskId;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.TransportService;
 
@@ -249,13 +250,14 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         });
     }
 
-    private void createMonitorFromQueries(List<Pair<String, Rule>> rulesById, Detector detector, ActionListener<List<IndexMonitorResponse>> listener, WriteRequest.RefreshPolicy refreshPolicy) {
+    private void createMonitorFromQueries(List<Pair<String, Rule>> rulesById, Detector detector, TaskId parentTaskId, ActionListener<List<IndexMonitorResponse>> listener, WriteRequest.RefreshPolicy refreshPolicy) {
+        detector.setRuleVersions(DetectorUpdatePlan.ruleVersions(rulesById));
         List<Pair<String, Rule>> docLevelRules = rulesById.stream().filter(it -> !it.getRight().isAggregationRule()).collect(
             Collectors.toList());
         List<Pair<String, Rule>> bucketLevelRules = rulesById.stream().filter(it -> it.getRight().isAggregationRule()).collect(
             Collectors.toList());
 
-        addThreatIntelBasedDocLevelQueries(detector, new ActionListener<>() {
+        addThreatIntelBasedDocLevelQueries(detector, parentTaskId, new ActionListener<>() {
             @Override
             public void onResponse(List<DocLevelQuery> dlqs) {
                 try {
@@ -393,6 +395,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                 rulesById,
                 monitorResponses,
                 null,
+                Collections.emptyList(),
                 detector,
                 refreshPolicy,
                 Workflow.NO_ID,
@@ -416,107 +419,86 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         }
     }
 
-    private void updateMonitorFromQueries(String index, List<Pair<String, Rule>> rulesById, Detector detector, ActionListener<List<IndexMonitorResponse>> listener, WriteRequest.RefreshPolicy refreshPolicy) throws Exception {
-        List<IndexMonitorRequest> monitorsToBeUpdated = new ArrayList<>();
+    private void updateMonitorFromQueries(String index, List<Pair<String, Rule>> rulesById, Detector currentDetector, Detector detector, TaskId parentTaskId, ActionListener<List<IndexMonitorResponse>> listener, WriteRequest.RefreshPolicy refreshPolicy) throws Exception {
+        // Only the monitors of added, removed or changed rules are written, see DetectorUpdatePlan
+        DetectorUpdatePlan plan = DetectorUpdatePlan.plan(currentDetector, detector, rulesById);
+        ActionListener<List<IndexMonitorResponse>> planListener = ActionListener.wrap(monitorResponses -> {
+            // Retained monitors are merged with the written ones into the monitor ids of the detector
+            detector.setRuleIdMonitorIdMap(plan.getRetainedMonitors());
+            detector.setRuleVersions(plan.getRuleVersions());
+            listener.onResponse(monitorResponses);
+        }, listener::onFailure);
 
-        List<Pair<String, Rule>> bucketLevelRules = rulesById.stream().filter(it -> it.getRight().isAggregationRule()).collect(
-            Collectors.toList());
+        List<Pair<String, Rule>> bucketLevelRules = new ArrayList<>(plan.getBucketLevelRulesToAdd());
+        bucketLevelRules.addAll(plan.getBucketLevelRulesToUpdate().values());
 
-        addThreatIntelBasedDocLevelQueries(detector, new ActionListener<>() {
+        addThreatIntelBasedDocLevelQueries(detector, parentTaskId, new ActionListener<>() {
             @Override
             public void onResponse(List<DocLevelQuery> docLevelQueries) {
                 List<IndexMonitorRequest> monitorsToBeAdded = new ArrayList<>();
-                // Process bucket level monitors
-                if (!bucketLevelRules.isEmpty()) {
-                    logTypeService.getRuleFieldMappings(new ActionListener<>() {
-                        @Override
-                        public void onResponse(Map<String, Map<String, String>> ruleFieldMappings) {
-                            try {
-                                List<String> ruleCategories = bucketLevelRules.stream().map(Pair::getRight).map(Rule::getCategory).distinct().collect(
-                                        Collectors.toList());
-                                Map<String, QueryBackend> queryBackendMap = new HashMap<>();
-                                for (String category : ruleCategories) {
-                                    Map<String, String> fieldMappings = ruleFieldMappings.get(category);
-                                    queryBackendMap.put(category, new OSQueryBackend(fieldMappings, true, true));
-                                }
-
-                                // Pair of RuleId - MonitorId for existing monitors of the detector
-                                Map<String, String> monitorPerRule = detector.getRuleIdMonitorIdMap();
-
-                                for (Pair<String, Rule> query : bucketLevelRules) {
-                                    Rule rule = query.getRight();
-                                    if (rule.getAggregationQueries() != null) {
-                                        // Detect if the monitor should be added or updated
-                                        if (monitorPerRule.containsKey(rule.getId())) {
-                                            String monitorId = monitorPerRule.get(rule.getId());
-                                            monitorsToBeUpdated.add(createBucketLevelMonitorRequest(query.getRight(),
-                                                    detector,
-                                                    refreshPolicy,
-                                                    monitorId,
-                                                    Method.PUT,
-                                                    queryBackendMap.get(rule.getCategory())));
-                                        } else {
-                                            monitorsToBeAdded.add(createBucketLevelMonitorRequest(query.getRight(),
-                                                    detector,
-                                                    refreshPolicy,
-                                                    Monitor.NO_ID,
-                                                    Method.POST,
-                                                    queryBackendMap.get(rule.getCategory())));
-                                        }
-                                    }
-                                }
-
-                                List<Pair<String, Rule>> docLevelRules = rulesById.stream().filter(it -> !it.getRight().isAggregationRule()).collect(
-                                        Collectors.toList());
-
-                                // Process doc level monitors
-                                if (!docLevelRules.isEmpty() || detector.getThreatIntelEnabled()) {
-                                    if (detector.getDocLevelMonitorId() == null) {
-                                        monitorsToBeAdded.add(createDocLevelMonitorRequest(docLevelRules, docLevelQueries != null? docLevelQueries: List.of(), detector, refreshPolicy, Monitor.NO_ID, Method.POST));
-                                    } else {
-                                        monitorsToBeUpdated.add(createDocLevelMonitorRequest(docLevelRules, docLevelQueries != null? docLevelQueries: List.of(), detector, refreshPolicy, detector.getDocLevelMonitorId(), Method.PUT));
-                                    }
-                                }
+                List<IndexMonitorRequest> monitorsToBeUpdated = new ArrayList<>();
 
-                                List<String> monitorIdsToBeDeleted = detector.getRuleIdMonitorIdMap().values().stream().collect(Collectors.toList());
-                                monitorIdsToBeDeleted.removeAll(monitorsToBeUpdated.stream().map(IndexMonitorRequest::getMonitorId).collect(
-                                        Collectors.toList()));
+                // Process doc level monitors
+                if (plan.isDocLevelMonitorRewritten()) {
+                    if (currentDetector.getDocLevelMonitorId() == null) {
+                        monitorsToBeAdded.add(createDocLevelMonitorRequest(plan.getDocLevelRules(), docLevelQueries != null? docLevelQueries: List.of(), detector, refreshPolicy, Monitor.NO_ID, Method.POST));
+                    } else {
+                        monitorsToBeUpdated.add(createDocLevelMonitorRequest(plan.getDocLevelRules(), docLevelQueries != null? docLevelQueries: List.of(), detector, refreshPolicy, currentDetector.getDocLevelMonitorId(), Method.PUT));
+                    }
+                }
 
-                                updateAlertingMonitors(rulesById, detector, monitorsToBeAdded, monitorsToBeUpdated, monitorIdsToBeDeleted, refreshPolicy, listener);
-                            } catch (Exception ex) {
-                                listener.onFailure(ex);
+                // Process bucket level monitors, rule field mappings are only needed for the added or changed rules
+                if (bucketLevelRules.isEmpty()) {
+                    updateAlertingMonitors(rulesById, detector, monitorsToBeAdded, monitorsToBeUpdated, plan.getRetainedMonitors(), plan.getMonitorIdsToDelete(), refreshPolicy, planListener);
+                    return;
+                }
+                logTypeService.getRuleFieldMappings(new ActionListener<>() {
+                    @Override
+                    public void onResponse(Map<String, Map<String, String>> ruleFieldMappings) {
+                        try {
+                            List<String> ruleCategories = bucketLevelRules.stream().map(Pair::getRight).map(Rule::getCategory).distinct().collect(
+                                    Collectors.toList());
+                            Map<String, QueryBackend> queryBackendMap = new HashMap<>();
+                            for (String category : ruleCategories) {
+                                Map<String, String> fieldMappings = ruleFieldMappings.get(category);
+                                queryBackendMap.put(category, new OSQueryDslBackend(fieldMappings, true, true));
                             }
-                        }
 
-                        @Override
-                        public void onFailure(Exception e) {
-                            listener.onFailure(e);
-                        }
-                    });
-                } else {
-                    List<Pair<String, Rule>> docLevelRules = rulesById.stream().filter(it -> !it.getRight().isAggregationRule()).collect(
-                            Collectors.toList());
+                            for (Pair<String, Rule> query : plan.getBucketLevelRulesToAdd()) {
+                                Rule rule = query.getRight();
+                                monitorsToBeAdded.add(createBucketLevelMonitorRequest(rule,
+                                        detector,
+                                        refreshPolicy,
+                                        Monitor.NO_ID,
+                                        Method.POST,
+                                        queryBackendMap.get(rule.getCategory())));
+                            }
+                            for (Map.Entry<String, Pair<String, Rule>> query : plan.getBucketLevelRulesToUpdate().entrySet()) {
+                                Rule rule = query.getValue().getRight();
+                                monitorsToBeUpdated.add(createBucketLevelMonitorRequest(rule,
+                                        detector,
+                                        refreshPolicy,
+                                        query.getKey(),
+                                        Method.PUT,
+                                        queryBackendMap.get(rule.getCategory())));
+                            }
 
-                    // Process doc level monitors
-                    if (!docLevelRules.isEmpty() || detector.getThreatIntelEnabled()) {
-                        if (detector.getDocLevelMonitorId() == null) {
-                            monitorsToBeAdded.add(createDocLevelMonitorRequest(docLevelRules, docLevelQueries != null? docLevelQueries: List.of(), detector, refreshPolicy, Monitor.NO_ID, Method.POST));
-                        } else {
-                            monitorsToBeUpdated.add(createDocLevelMonitorRequest(docLevelRules, docLevelQueries != null? docLevelQueries: List.of(), detector, refreshPolicy, detector.getDocLevelMonitorId(), Method.PUT));
+                            updateAlertingMonitors(rulesById, detector, monitorsToBeAdded, monitorsToBeUpdated, plan.getRetainedMonitors(), plan.getMonitorIdsToDelete(), refreshPolicy, planListener);
+                        } catch (Exception ex) {
+                            planListener.onFailure(ex);
                         }
                     }
 
-                    List<String> monitorIdsToBeDeleted = detector.getRuleIdMonitorIdMap().values().stream().collect(Collectors.toList());
-                    monitorIdsToBeDeleted.removeAll(monitorsToBeUpdated.stream().map(IndexMonitorRequest::getMonitorId).collect(
-                            Collectors.toList()));
-
-                    updateAlertingMonitors(rulesById, detector, monitorsToBeAdded, monitorsToBeUpdated, monitorIdsToBeDeleted, refreshPolicy, listener);
-                }
+                    @Override
+                    public void onFailure(Exception e) {
+                        planListener.onFailure(e);
+                    }
+                });
             }
 
             @Override
             public void onFailure(Exception e) {
-                listener.onFailure(e);
+                planListener.onFailure(e);
             }
         });
     }
@@ -531,6 +513,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
      *  5. Respond with updated list of monitors
      * @param monitorsToBeAdded Newly added monitors by the user
      * @param monitorsToBeUpdated Existing monitors that will be updated
+     * @param retainedMonitors Existing monitors kept as is, by rule id
      * @param monitorsToBeDeleted Monitors omitted by the user
      * @param refreshPolicy
      * @param listener Listener that accepts the list of updated monitors if the action was successful
@@ -540,6 +523,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         Detector detector,
         List<IndexMonitorRequest> monitorsToBeAdded,
         List<IndexMonitorRequest> monitorsToBeUpdated,
+        Map<String, String> retainedMonitors,
         List<String> monitorsToBeDeleted,
         RefreshPolicy refreshPolicy,
         ActionListener<List<IndexMonitorResponse>> listener
@@ -565,6 +549,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                         updateWorkflowStep(
                             rulesById,
                             detector,
+                            new ArrayList<>(retainedMonitors.values()),
                             monitorsToBeDeleted,
                             refreshPolicy,
                             listener,
@@ -607,6 +592,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
     private void updateWorkflowStep(
         List<Pair<String, Rule>> rulesById,
         Detector detector,
+        List<String> retainedMonitorIds,
         List<String> monitorsToBeDeleted,
         RefreshPolicy refreshPolicy,
         ActionListener<List<IndexMonitorResponse>> listener,
@@ -619,10 +605,10 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         List<String> updatedMonitorIds = updateMonitorResponse.stream().map(IndexMonitorResponse::getId)
             .collect(Collectors.toList());
 
-        // If there are no added or updated monitors - all monitors should be deleted
+        // If there are no added, updated or retained monitors - all monitors should be deleted
         // Before deleting the monitors, workflow should be removed so there are no monitors that are part of the workflow
         // which means that the workflow should be removed
-        if (addedMonitorIds.isEmpty() && updatedMonitorIds.isEmpty()) {
+        if (addedMonitorIds.isEmpty() && updatedMonitorIds.isEmpty() && retainedMonitorIds.isEmpty()) {
             workflowService.deleteWorkflow(
                 detector.getWorkflowIds().get(0),
                 new ActionListener<>() {
@@ -645,6 +631,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                 rulesById,
                 addNewMonitorsResponse,
                 updateMonitorResponse,
+                retainedMonitorIds,
                 detector,
                 refreshPolicy,
                 detector.getWorkflowIds().get(0),
@@ -715,7 +702,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         return new IndexMonitorRequest(monitorId, SequenceNumbers.UNASSIGNED_SEQ_NO, SequenceNumbers.UNASSIGNED_PRIMARY_TERM, refreshPolicy, restMethod, monitor, null);
     }
 
-    private void addThreatIntelBasedDocLevelQueries(Detector detector, ActionListener<List<DocLevelQuery>> listener) {
+    private void addThreatIntelBasedDocLevelQueries(Detector detector, TaskId parentTaskId, ActionListener<List<DocLevelQuery>> listener) {
         try {
 
             if (detector.getThreatIntelEnabled()) {
@@ -724,7 +711,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                 if (iocFieldsList == null || iocFieldsList.isEmpty()) {
                     listener.onResponse(List.of());
                 } else {
-                    detectorThreatIntelService.createDocLevelQueryFromThreatIntel(iocFieldsList, detector, listener);
+                    detectorThreatIntelService.createDocLevelQueryFromThreatIntel(iocFieldsList, detector, parentTaskId, listener);
                 }
             } else {
                 listener.onResponse(List.of());
@@ -800,7 +787,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                     Map<String, QueryBackend> queryBackendMap = new HashMap<>();
                     for(String category: ruleCategories) {
                         Map<String, String> fieldMappings = ruleFieldMappings.get(category);
-                        queryBackendMap.put(category, new OSQueryBackend(fieldMappings, true, true));
+                        queryBackendMap.put(category, new OSQueryDslBackend(fieldMappings, true, true));
                     }
 
                     List<IndexMonitorRequest> monitorRequests = new ArrayList<>();
@@ -847,14 +834,20 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
 
         List<String> indices = detector.getInputs().get(0).getIndices();
 
-        AggregationItem aggItem = rule.getAggregationItemsFromRule().get(0);
-        AggregationQueries aggregationQueries = queryBackend.convertAggregation(aggItem);
+        // Converts the rule query and its aggregation into structured builders with a single parse of the rule
+        SigmaRule sigmaRule = SigmaRule.fromYaml(rule.getRule(), true);
+        List<Object> ruleQueries = queryBackend.convertRule(sigmaRule);
+        if (ruleQueries.size() < 2 || !(ruleQueries.get(0) instanceof QueryBuilder) || !(ruleQueries.get(1) instanceof AggregationQueries)) {
+            throw new SecurityAnalyticsException(String.format(Locale.getDefault(), "Unable to convert aggregation rule [%s]", rule.getId()),
+                    RestStatus.BAD_REQUEST, null);
+        }
+        String timeframe = sigmaRule.getDetection().getTimeframe();
+        AggregationQueries aggregationQueries = (AggregationQueries) ruleQueries.get(1);
 
         SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
             .seqNoAndPrimaryTerm(true)
             .version(true)
-            // Build query string filter
-            .query(QueryBuilders.queryStringQuery(rule.getQueries().get(0).getValue()))
+            .query((QueryBuilder) ruleQueries.get(0))
             .aggregation(aggregationQueries.getAggBuilder());
         // input index can also be an index pattern or alias so we have to resolve it to concrete index
         String concreteIndex = IndexUtils.getNewIndexByCreationDate(
@@ -878,7 +871,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                     ? new BoolQueryBuilder()
                     : QueryBuilders.boolQuery().must(searchSourceBuilder.query());
                 RangeQueryBuilder timeRangeFilter = QueryBuilders.rangeQuery(TIMESTAMP_FIELD_ALIAS)
-                    .gt("{{period_end}}||-" + (aggItem.getTimeframe() != null? aggItem.getTimeframe(): "1h"))
+                    .gt("{{period_end}}||-" + (timeframe != null? timeframe: "1h"))
                     .lte("{{period_end}}")
                     .format("epoch_millis");
                 boolQueryBuilder.must(timeRangeFilter);
@@ -988,6 +981,11 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         private final Task task;
         private final User user;
 
+        /**
+         * Detector as stored before the update, {@code null} when a detector is created.
+         */
+        private Detector currentDetector;
+
         AsyncIndexDetectorsAction(User user, Task task, IndexDetectorRequest request, ActionListener<IndexDetectorResponse> listener) {
             this.task = task;
             this.request = request;
@@ -1174,6 +1172,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         }
 
         void onGetResponse(Detector currentDetector, User user) {
+            this.currentDetector = currentDetector;
             if (request.getDetector().getEnabled() && currentDetector.getEnabled()) {
                 request.getDetector().setEnabledTime(currentDetector.getEnabledTime());
             }
@@ -1203,8 +1202,14 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                             initRuleIndexAndImportRules(request, new ActionListener<>() {
                                 @Override
                                 public void onResponse(List<IndexMonitorResponse> monitorResponses) {
-                                    request.getDetector().setMonitorIds(getMonitorIds(monitorResponses));
-                                    request.getDetector().setRuleIdMonitorIdMap(mapMonitorIds(monitorResponses));
+                                    // Monitors retained by the update are left in the detector by updateMonitorFromQueries
+                                    Map<String, String> ruleIdMonitorIdMap = new HashMap<>(request.getDetector().getRuleIdMonitorIdMap());
+                                    ruleIdMonitorIdMap.putAll(mapMonitorIds(monitorResponses));
+                                    List<String> monitorIds = new ArrayList<>(getMonitorIds(monitorResponses));
+                                    ruleIdMonitorIdMap.values().stream().filter(it -> !monitorIds.contains(it)).forEach(monitorIds::add);
+
+                                    request.getDetector().setMonitorIds(monitorIds);
+                                    request.getDetector().setRuleIdMonitorIdMap(ruleIdMonitorIdMap);
                                     try {
                                         indexDetector();
                                     } catch (Exception e) {
@@ -1263,32 +1268,22 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                     @Override
                     public void onResponse(AcknowledgedResponse response) {
                         ruleIndices.onUpdateMappingsResponse(response, true);
-                        ruleIndices.deleteRules(new ActionListener<>() {
-                            @Override
-                            public void onResponse(BulkByScrollResponse response) {
-                                ruleIndices.importRules(WriteRequest.RefreshPolicy.IMMEDIATE, indexTimeout,
-                                    new ActionListener<>() {
-                                        @Override
-                                        public void onResponse(BulkResponse response) {
-                                            if (!response.hasFailures()) {
-                                                importRules(request, listener);
-                                            } else {
-                                                onFailures(new OpenSearchStatusException(response.buildFailureMessage(), RestStatus.INTERNAL_SERVER_ERROR));
-                                            }
-                                        }
-
-                                        @Override
-                                        public void onFailure(Exception e) {
-                                            onFailures(e);
-                                        }
-                                    });
-                            }
+                        ruleIndices.importRules(WriteRequest.RefreshPolicy.IMMEDIATE, indexTimeout,
+                            new ActionListener<>() {
+                                @Override
+                                public void onResponse(BulkResponse response) {
+                                    if (!response.hasFailures()) {
+                                        importRules(request, listener);
+                                    } else {
+                                        onFailures(new OpenSearchStatusException(response.buildFailureMessage(), RestStatus.INTERNAL_SERVER_ERROR));
+                                    }
+                                }
 
-                            @Override
-                            public void onFailure(Exception e) {
-                                onFailures(e);
-                            }
-                        });
+                                @Override
+                                public void onFailure(Exception e) {
+                                    onFailures(e);
+                                }
+                            });
                     }
 
                     @Override
@@ -1390,9 +1385,9 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                             onFailures(new OpenSearchStatusException("Custom Rule Index not found", RestStatus.NOT_FOUND));
                         } else {
                             if (request.getMethod() == RestRequest.Method.POST) {
-                                createMonitorFromQueries(queries, detector, listener, request.getRefreshPolicy());
+                                createMonitorFromQueries(queries, detector, request.getParentTask(), listener, request.getRefreshPolicy());
                             } else if (request.getMethod() == RestRequest.Method.PUT) {
-                                updateMonitorFromQueries(logIndex, queries, detector, listener, request.getRefreshPolicy());
+                                updateMonitorFromQueries(logIndex, queries, currentDetector, detector, request.getParentTask(), listener, request.getRefreshPolicy());
                             }
                         }
                     } catch (Exception e) {
@@ -1444,9 +1439,9 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                         }
 
                         if (request.getMethod() == RestRequest.Method.POST) {
-                            createMonitorFromQueries(queries, detector, listener, request.getRefreshPolicy());
+                            createMonitorFromQueries(queries, detector, request.getParentTask(), listener, request.getRefreshPolicy());
                         } else if (request.getMethod() == RestRequest.Method.PUT) {
-                            updateMonitorFromQueries(logIndex, queries, detector, listener, request.getRefreshPolicy());
+                            updateMonitorFromQueries(logIndex, queries, currentDetector, detector, request.getParentTask(), listener, request.getRefreshPolicy());
                         }
                     } catch (Exception ex) {
                         onFailures(ex);
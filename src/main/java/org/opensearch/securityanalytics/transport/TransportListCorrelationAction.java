@@ -24,10 +24,12 @@ import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortOrder;
 import org.opensearch.securityanalytics.action.ListCorrelationsAction;
 import org.opensearch.securityanalytics.action.ListCorrelationsRequest;
 import org.opensearch.securityanalytics.action.ListCorrelationsResponse;
 import org.opensearch.securityanalytics.model.CorrelatedFinding;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.securityanalytics.util.CorrelationIndices;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 import org.opensearch.tasks.Task;
@@ -36,8 +38,8 @@ import org.opensearch.transport.TransportService;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -46,6 +48,12 @@ public class TransportListCorrelationAction extends HandledTransportAction<ListC
 
     private static final Logger log = LogManager.getLogger(TransportListCorrelationAction.class);
 
+    static final int EDGES_PAGE_SIZE = 10000;
+
+    private static final String[] EDGE_FIELDS = {"finding1", "finding2", "logType", "logType1", "logType2"};
+
+    private static final String[] EDGE_SOURCE_FIELDS = {"corrRules"};
+
     private final ClusterService clusterService;
 
     private final Settings settings;
@@ -56,6 +64,8 @@ public class TransportListCorrelationAction extends HandledTransportAction<ListC
 
     private final ThreadPool threadPool;
 
+    private volatile int maxEdges;
+
     @Inject
     public TransportListCorrelationAction(TransportService transportService,
                                           Client client,
@@ -69,6 +79,9 @@ public class TransportListCorrelationAction extends HandledTransportAction<ListC
         this.clusterService = clusterService;
         this.settings = settings;
         this.threadPool = this.client.threadPool();
+        this.maxEdges = SecurityAnalyticsSettings.LIST_CORRELATIONS_MAX_EDGES.get(settings);
+
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.LIST_CORRELATIONS_MAX_EDGES, it -> maxEdges = it);
     }
 
     @Override
@@ -93,7 +106,6 @@ public class TransportListCorrelationAction extends HandledTransportAction<ListC
             this.response =new AtomicReference<>();
         }
 
-        @SuppressWarnings("unchecked")
         void start() {
             Long startTimestamp = request.getStartTimestamp();
             Long endTimestamp = request.getEndTimestamp();
@@ -106,10 +118,30 @@ public class TransportListCorrelationAction extends HandledTransportAction<ListC
                     )).filter(QueryBuilders.rangeQuery("timestamp")
                             .gte(startTimestamp)
                             .lte(endTimestamp));
+            searchEdges(queryBuilder, null, new HashMap<>());
+        }
+
+        /**
+         * pages through the finding-finding edges of the correlation history with search_after, reading the doc values of
+         * the edge fields and only the correlation rules from the history documents. Like before paging, the latest
+         * history document of an edge wins, and at most {@link SecurityAnalyticsSettings#LIST_CORRELATIONS_MAX_EDGES}
+         * distinct edges are collected.
+         */
+        private void searchEdges(BoolQueryBuilder queryBuilder, Object[] searchAfter, Map<String, CorrelatedFinding> correlatedFindings) {
             SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
             searchSourceBuilder.query(queryBuilder);
-            searchSourceBuilder.fetchSource(true);
-            searchSourceBuilder.size(10000);
+            searchSourceBuilder.fetchSource(EDGE_SOURCE_FIELDS, null);
+            for (String field: EDGE_FIELDS) {
+                searchSourceBuilder.docValueField(field);
+            }
+            searchSourceBuilder.size(EDGES_PAGE_SIZE);
+            searchSourceBuilder.trackTotalHits(false);
+            searchSourceBuilder.sort("timestamp", SortOrder.ASC);
+            searchSourceBuilder.sort("finding1", SortOrder.ASC);
+            searchSourceBuilder.sort("finding2", SortOrder.ASC);
+            if (searchAfter != null) {
+                searchSourceBuilder.searchAfter(searchAfter);
+            }
             SearchRequest searchRequest = new SearchRequest();
             searchRequest.indices(CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
             searchRequest.source(searchSourceBuilder);
@@ -117,26 +149,45 @@ public class TransportListCorrelationAction extends HandledTransportAction<ListC
 
             client.search(searchRequest, new ActionListener<>() {
                 @Override
+                @SuppressWarnings("unchecked")
                 public void onResponse(SearchResponse response) {
                     if (response.isTimedOut()) {
                         onFailures(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
+                        return;
+                    }
+
+                    SearchHit[] hits = response.getHits().getHits();
+                    for (SearchHit hit: hits) {
+                        String finding1 = hit.field("finding1").getValue();
+                        String finding2 = hit.field("finding2").getValue();
+                        String edgeKey = finding1 + ":" + finding2;
+                        if (!correlatedFindings.containsKey(edgeKey) && correlatedFindings.size() >= maxEdges) {
+                            onFailures(new OpenSearchStatusException(String.format(Locale.ROOT,
+                                    "Time range has more than %d correlations, narrow it down", maxEdges), RestStatus.BAD_REQUEST));
+                            return;
+                        }
+
+                        String logType1;
+                        String logType2;
+                        if (hit.field("logType1") != null && hit.field("logType2") != null) {
+                            logType1 = hit.field("logType1").getValue();
+                            logType2 = hit.field("logType2").getValue();
+                        } else {
+                            String[] logTypes = hit.field("logType").<String>getValue().split("-");
+                            logType1 = logTypes[0];
+                            logType2 = logTypes[1];
+                        }
+
+                        List<String> correlationRules = (List<String>) hit.getSourceAsMap().get("corrRules");
+                        // hits are sorted by timestamp, so a later history document of the same edge replaces an earlier one
+                        correlatedFindings.put(edgeKey, new CorrelatedFinding(finding1, logType1, finding2, logType2, correlationRules));
                     }
 
-                    Map<String, CorrelatedFinding> correlatedFindings = new HashMap<>();
-                    Iterator<SearchHit> hits = response.getHits().iterator();
-                    while (hits.hasNext()) {
-                        SearchHit hit = hits.next();
-                        Map<String, Object> source = hit.getSourceAsMap();
-
-                        CorrelatedFinding correlatedFinding = new CorrelatedFinding(
-                                source.get("finding1").toString(),
-                                source.get("logType").toString().split("-")[0],
-                                source.get("finding2").toString(),
-                                source.get("logType").toString().split("-")[1],
-                                (List<String>) source.get("corrRules"));
-                        correlatedFindings.put(source.get("finding1").toString() + ":" + source.get("finding2").toString(), correlatedFinding);
+                    if (hits.length == EDGES_PAGE_SIZE) {
+                        searchEdges(queryBuilder, hits[hits.length - 1].getSortValues(), correlatedFindings);
+                    } else {
+                        onOperation(new ListCorrelationsResponse(new ArrayList<>(correlatedFindings.values())));
                     }
-                    onOperation(new ListCorrelationsResponse(new ArrayList<>(correlatedFindings.values())));
                 }
 
                 @Override
@@ -41,6 +41,7 @@ import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.TransportService;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -84,6 +85,86 @@ public class TransportSearchCorrelationAction extends HandledTransportAction<Cor
         searchCorrelationAction.start();
     }
 
+    /**
+     * Builds the knn search for the findings correlated to a finding given the counter of one of its orphan history
+     * entries. Every counter is searched on its own so that each gets its own top k, their hits are merged by
+     * {@link #toFindingsWithScore(String, SearchHit[])}.
+     */
+    static SearchRequest correlatedFindingsSearchRequest(long counter, long findingTimestamp, long scoreTimestamp, long timeWindow, int noOfNearbyFindings) {
+        float[] query = new float[3];
+        for (int i = 0; i < 2; ++i) {
+            query[i] = (2.0f * ((float) counter) - 50.0f) / 2.0f;
+        }
+        query[2] = Long.valueOf((findingTimestamp - scoreTimestamp) / 1000L).floatValue();
+
+        CorrelationQueryBuilder correlationQueryBuilder = new CorrelationQueryBuilder("corr_vector", query, noOfNearbyFindings, QueryBuilders.boolQuery()
+                .mustNot(QueryBuilders.matchQuery(
+                        "finding1", ""
+                )).mustNot(QueryBuilders.matchQuery(
+                        "finding2", ""
+                )).filter(QueryBuilders.rangeQuery("timestamp")
+                        .gte(findingTimestamp - timeWindow)
+                        .lte(findingTimestamp + timeWindow)));
+
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
+        searchSourceBuilder.query(correlationQueryBuilder);
+        searchSourceBuilder.fetchSource(true);
+        searchSourceBuilder.size(noOfNearbyFindings);
+        SearchRequest searchRequest = new SearchRequest();
+        searchRequest.indices(CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
+        searchRequest.source(searchSourceBuilder);
+        searchRequest.preference(Preference.PRIMARY_FIRST.type());
+        return searchRequest;
+    }
+
+    /**
+     * Aggregates the correlation history hits of a finding into its correlated findings, keeping the max score and all
+     * correlation rules per correlated finding.
+     */
+    @SuppressWarnings("unchecked")
+    static List<FindingWithScore> toFindingsWithScore(String findingId, SearchHit[] hits) {
+        Map<Pair<String, String>, Pair<Double, Set<String>>> correlatedFindings = new HashMap<>();
+
+        for (SearchHit hit: hits) {
+            Map<String, Object> source = hit.getSourceAsMap();
+            if (!source.get("finding1").toString().equals(findingId)) {
+                Pair<String, String> findingKey1 = Pair.of(source.get("finding1").toString(), source.get("logType").toString().split("-")[0]);
+
+                if (correlatedFindings.containsKey(findingKey1)) {
+                    double score = Math.max(correlatedFindings.get(findingKey1).getLeft(), hit.getScore());
+                    Set<String> rules = correlatedFindings.get(findingKey1).getRight();
+                    rules.addAll((List<String>) source.get("corrRules"));
+
+                    correlatedFindings.put(findingKey1, Pair.of(score, rules));
+                } else {
+                    Set<String> rules = new HashSet<>((List<String>) source.get("corrRules"));
+                    correlatedFindings.put(findingKey1, Pair.of((double) hit.getScore(), rules));
+                }
+            }
+            if (!source.get("finding2").toString().equals(findingId)) {
+                Pair<String, String> findingKey2 = Pair.of(source.get("finding2").toString(), source.get("logType").toString().split("-")[1]);
+
+                if (correlatedFindings.containsKey(findingKey2)) {
+                    double score =  Math.max(correlatedFindings.get(findingKey2).getLeft(), hit.getScore());
+                    Set<String> rules = correlatedFindings.get(findingKey2).getRight();
+                    rules.addAll((List<String>) source.get("corrRules"));
+
+                    correlatedFindings.put(findingKey2, Pair.of(score, rules));
+                } else {
+                    Set<String> rules = new HashSet<>((List<String>) source.get("corrRules"));
+                    correlatedFindings.put(findingKey2, Pair.of((double) hit.getScore(), rules));
+                }
+            }
+        }
+
+        List<FindingWithScore> findingWithScores = new ArrayList<>();
+        for (Map.Entry<Pair<String, String>, Pair<Double, Set<String>>> correlatedFinding: correlatedFindings.entrySet()) {
+            findingWithScores.add(new FindingWithScore(correlatedFinding.getKey().getKey(), correlatedFinding.getKey().getValue(),
+                    correlatedFinding.getValue().getLeft(), new ArrayList<>(correlatedFinding.getValue().getRight())));
+        }
+        return findingWithScores;
+    }
+
     class AsyncSearchCorrelationAction {
         private CorrelatedFindingRequest request;
         private ActionListener<CorrelatedFindingResponse> listener;
@@ -100,7 +181,6 @@ public class TransportSearchCorrelationAction extends HandledTransportAction<Cor
             this.response =new AtomicReference<>();
         }
 
-        @SuppressWarnings("unchecked")
         void start() {
             String findingId = request.getFindingId();
             String detectorType = request.getDetectorType();
@@ -163,90 +243,39 @@ public class TransportSearchCorrelationAction extends HandledTransportAction<Cor
                             client.search(searchRequest, new ActionListener<>() {
                                 @Override
                                 public void onResponse(SearchResponse response) {
-                                    MultiSearchRequest mSearchRequest = new MultiSearchRequest();
                                     SearchHit[] hits = response.getHits().getHits();
+                                    if (hits.length == 0) {
+                                        onOperation(new CorrelatedFindingResponse(List.of()));
+                                        return;
+                                    }
 
+                                    MultiSearchRequest mSearchRequest = new MultiSearchRequest();
                                     for (SearchHit hit: hits) {
-                                        long counter = hit.getFields().get("counter").<Long>getValue();
-                                        float[] query = new float[3];
-                                        for (int i = 0; i < 2; ++i) {
-                                            query[i] = (2.0f * ((float) counter) - 50.0f) / 2.0f;
-                                        }
-                                        query[2] = Long.valueOf((findingTimestamp - scoreTimestamp) / 1000L).floatValue();
-
-                                        CorrelationQueryBuilder correlationQueryBuilder = new CorrelationQueryBuilder("corr_vector", query, noOfNearbyFindings, QueryBuilders.boolQuery()
-                                                .mustNot(QueryBuilders.matchQuery(
-                                                        "finding1", ""
-                                                )).mustNot(QueryBuilders.matchQuery(
-                                                        "finding2", ""
-                                                )).filter(QueryBuilders.rangeQuery("timestamp")
-                                                        .gte(findingTimestamp - timeWindow)
-                                                        .lte(findingTimestamp + timeWindow)));
-
-                                        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-                                        searchSourceBuilder.query(correlationQueryBuilder);
-                                        searchSourceBuilder.fetchSource(true);
-                                        searchSourceBuilder.size(noOfNearbyFindings);
-                                        SearchRequest searchRequest = new SearchRequest();
-                                        searchRequest.indices(CorrelationIndices.CORRELATION_HISTORY_INDEX_PATTERN_REGEXP);
-                                        searchRequest.source(searchSourceBuilder);
-                                        searchRequest.preference(Preference.PRIMARY_FIRST.type());
-
-                                        mSearchRequest.add(searchRequest);
+                                        mSearchRequest.add(correlatedFindingsSearchRequest(hit.getFields().get("counter").<Long>getValue(),
+                                                findingTimestamp, scoreTimestamp, timeWindow, noOfNearbyFindings));
                                     }
 
                                     client.multiSearch(mSearchRequest, new ActionListener<>() {
                                         @Override
-                                        public void onResponse(MultiSearchResponse items) {
-                                            MultiSearchResponse.Item[] responses = items.getResponses();
-                                            Map<Pair<String, String>, Pair<Double, Set<String>>> correlatedFindings = new HashMap<>();
-
-                                            for (MultiSearchResponse.Item response : responses) {
-                                                if (response.isFailure()) {
-                                                    log.info(response.getFailureMessage());
+                                        public void onResponse(MultiSearchResponse response) {
+                                            List<SearchHit> correlatedHits = new ArrayList<>();
+                                            Exception failure = null;
+                                            boolean searched = false;
+                                            for (MultiSearchResponse.Item item: response.getResponses()) {
+                                                if (item.isFailure()) {
+                                                    // a failed counter only loses its own correlated findings
+                                                    log.debug("Failed to search correlated findings of finding {}", findingId, item.getFailure());
+                                                    failure = item.getFailure();
                                                     continue;
                                                 }
-
-                                                SearchHit[] hits = response.getResponse().getHits().getHits();
-                                                for (SearchHit hit: hits) {
-                                                    Map<String, Object> source = hit.getSourceAsMap();
-                                                    if (!source.get("finding1").toString().equals(findingId)) {
-                                                        Pair<String, String> findingKey1 = Pair.of(source.get("finding1").toString(), source.get("logType").toString().split("-")[0]);
-
-                                                        if (correlatedFindings.containsKey(findingKey1)) {
-                                                            double score = Math.max(correlatedFindings.get(findingKey1).getLeft(), hit.getScore());
-                                                            Set<String> rules = correlatedFindings.get(findingKey1).getRight();
-                                                            rules.addAll((List<String>) source.get("corrRules"));
-
-                                                            correlatedFindings.put(findingKey1, Pair.of(score, rules));
-                                                        } else {
-                                                            Set<String> rules = new HashSet<>((List<String>) source.get("corrRules"));
-                                                            correlatedFindings.put(findingKey1, Pair.of((double) hit.getScore(), rules));
-                                                        }
-                                                    }
-                                                    if (!source.get("finding2").toString().equals(findingId)) {
-                                                        Pair<String, String> findingKey2 = Pair.of(source.get("finding2").toString(), source.get("logType").toString().split("-")[1]);
-
-                                                        if (correlatedFindings.containsKey(findingKey2)) {
-                                                            double score =  Math.max(correlatedFindings.get(findingKey2).getLeft(), hit.getScore());
-                                                            Set<String> rules = correlatedFindings.get(findingKey2).getRight();
-                                                            rules.addAll((List<String>) source.get("corrRules"));
-
-                                                            correlatedFindings.put(findingKey2, Pair.of(score, rules));
-                                                        } else {
-                                                            Set<String> rules = new HashSet<>((List<String>) source.get("corrRules"));
-                                                            correlatedFindings.put(findingKey2, Pair.of((double) hit.getScore(), rules));
-                                                        }
-                                                    }
-                                                }
+                                                searched = true;
+                                                correlatedHits.addAll(Arrays.asList(item.getResponse().getHits().getHits()));
                                             }
-
-                                            List<FindingWithScore> findingWithScores = new ArrayList<>();
-                                            for (Map.Entry<Pair<String, String>, Pair<Double, Set<String>>> correlatedFinding: correlatedFindings.entrySet()) {
-                                                findingWithScores.add(new FindingWithScore(correlatedFinding.getKey().getKey(), correlatedFinding.getKey().getValue(),
-                                                        correlatedFinding.getValue().getLeft(), new ArrayList<>(correlatedFinding.getValue().getRight())));
+                                            if (!searched) {
+                                                onFailures(failure);
+                                                return;
                                             }
-
+                                            List<FindingWithScore> findingWithScores = toFindingsWithScore(findingId, correlatedHits.toArray(new SearchHit[0]));
                                             onOperation(new CorrelatedFindingResponse(findingWithScores));
                                         }
 
@@ -11,6 +11,8 @@ import org.opensearch.core.xcontent.MediaType;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -20,12 +22,36 @@ import java.util.Set;
 
 public class AutoCorrelationsRepo {
 
+    private static volatile IntrusionSetIndex intrusionSetIndex;
+
     private static String autoCorrelations() throws IOException {
         return new String(Objects.requireNonNull(AutoCorrelationsRepo.class.getClassLoader().getResourceAsStream("correlations/mitre_correlation.json")).readAllBytes(), Charset.defaultCharset());
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Returns the MITRE auto-correlation data, the bundled file is parsed once per node and the returned map is
+     * immutable.
+     */
     public static Map<String, Set<String>> autoCorrelationsAsMap() throws IOException {
+        return intrusionSetIndex().autoCorrelations;
+    }
+
+    public static IntrusionSetIndex intrusionSetIndex() throws IOException {
+        IntrusionSetIndex index = intrusionSetIndex;
+        if (index == null) {
+            synchronized (AutoCorrelationsRepo.class) {
+                index = intrusionSetIndex;
+                if (index == null) {
+                    index = new IntrusionSetIndex(parseAutoCorrelations());
+                    intrusionSetIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Set<String>> parseAutoCorrelations() throws IOException {
         MediaType contentType = XContentType.JSON;
         Map<String, Object> autoCorrelationData = XContentHelper.convertToMap(
                 contentType.xContent(),
@@ -43,9 +69,9 @@ public class AutoCorrelationsRepo {
                     tags.add(autoCorrelationTag.get("mitreAttackId").toString());
                 }
             }
-            autoCorrelations.put(intrusionSet, tags);
+            autoCorrelations.put(intrusionSet, Set.copyOf(tags));
         }
-        return autoCorrelations;
+        return Map.copyOf(autoCorrelations);
     }
 
     public static Set<String> validIntrusionSets(Map<String, Set<String>> autoCorrelations, Set<String> tags) {
@@ -59,4 +85,70 @@ public class AutoCorrelationsRepo {
         }
         return intrusionSets;
     }
-}
\ No newline at end of file
+
+    /**
+     * Immutable inverted index of the MITRE auto-correlation data. Intrusion sets are interned to dense int ids, so
+     * resolving the intrusion sets of a finding is a lookup per tag instead of a scan over every intrusion set.
+     */
+    public static final class IntrusionSetIndex {
+
+        private static final int[] NO_INTRUSION_SETS = new int[0];
+
+        private final Map<String, Set<String>> autoCorrelations;
+
+        private final String[] intrusionSets;
+
+        private final Map<String, int[]> tagToIntrusionSets;
+
+        IntrusionSetIndex(Map<String, Set<String>> autoCorrelations) {
+            this.autoCorrelations = autoCorrelations;
+            this.intrusionSets = autoCorrelations.keySet().stream().sorted().toArray(String[]::new);
+
+            Map<String, List<Integer>> tagToIds = new HashMap<>();
+            for (int id = 0; id < intrusionSets.length; ++id) {
+                for (String tag: autoCorrelations.get(intrusionSets[id])) {
+                    tagToIds.computeIfAbsent(tag, key -> new ArrayList<>()).add(id);
+                }
+            }
+
+            Map<String, int[]> tagToIntrusionSets = new HashMap<>();
+            for (Map.Entry<String, List<Integer>> tagToId: tagToIds.entrySet()) {
+                tagToIntrusionSets.put(tagToId.getKey(), tagToId.getValue().stream().mapToInt(Integer::intValue).toArray());
+            }
+            this.tagToIntrusionSets = Map.copyOf(tagToIntrusionSets);
+        }
+
+        /**
+         * Returns the ids of all intrusion sets which contain at least one of the tags.
+         */
+        public BitSet intrusionSetIds(Collection<String> tags) {
+            BitSet ids = new BitSet(intrusionSets.length);
+            for (String tag: tags) {
+                for (int id: tagToIntrusionSets.getOrDefault(tag, NO_INTRUSION_SETS)) {
+                    ids.set(id);
+                }
+            }
+            return ids;
+        }
+
+        /**
+         * Returns the union of the tags of the given intrusion sets.
+         */
+        public Set<String> intrusionSetTags(BitSet intrusionSetIds) {
+            Set<String> tags = new HashSet<>();
+            for (int id = intrusionSetIds.nextSetBit(0); id >= 0; id = intrusionSetIds.nextSetBit(id + 1)) {
+                tags.addAll(autoCorrelations.get(intrusionSets[id]));
+            }
+            return tags;
+        }
+
+        public Set<String> validIntrusionSets(Collection<String> tags) {
+            Set<String> validIntrusionSets = new HashSet<>();
+            BitSet ids = intrusionSetIds(tags);
+            for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+                validIntrusionSets.add(intrusionSets[id]);
+            }
+            return validIntrusionSets;
+        }
+    }
+}
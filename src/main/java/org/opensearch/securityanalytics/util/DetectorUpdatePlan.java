@@ -0,0 +1,192 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.Rule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Monitor changes of a detector update, computed by diffing the rules of the stored detector and of the update by rule
+ * id and rule version.
+ *
+ * Each aggregation rule has its own bucket level monitor, which is kept as is when neither the rule nor the settings
+ * shared by the monitors of the detector changed. The doc level monitor holds the queries of all the other rules and
+ * is rewritten as soon as one of them is added, removed or changed. Threat intel queries are not versioned, so the doc
+ * level monitor of a detector with threat intel enabled is always rewritten.
+ */
+public class DetectorUpdatePlan {
+
+    private final List<Pair<String, Rule>> bucketLevelRulesToAdd;
+
+    private final Map<String, Pair<String, Rule>> bucketLevelRulesToUpdate;
+
+    private final List<Pair<String, Rule>> docLevelRules;
+
+    private final boolean docLevelMonitorRewritten;
+
+    private final Map<String, String> retainedMonitors;
+
+    private final List<String> monitorIdsToDelete;
+
+    private final Map<String, Long> ruleVersions;
+
+    private DetectorUpdatePlan(List<Pair<String, Rule>> bucketLevelRulesToAdd,
+                               Map<String, Pair<String, Rule>> bucketLevelRulesToUpdate,
+                               List<Pair<String, Rule>> docLevelRules,
+                               boolean docLevelMonitorRewritten,
+                               Map<String, String> retainedMonitors,
+                               List<String> monitorIdsToDelete,
+                               Map<String, Long> ruleVersions) {
+        this.bucketLevelRulesToAdd = bucketLevelRulesToAdd;
+        this.bucketLevelRulesToUpdate = bucketLevelRulesToUpdate;
+        this.docLevelRules = docLevelRules;
+        this.docLevelMonitorRewritten = docLevelMonitorRewritten;
+        this.retainedMonitors = retainedMonitors;
+        this.monitorIdsToDelete = monitorIdsToDelete;
+        this.ruleVersions = ruleVersions;
+    }
+
+    /**
+     * @param currentDetector detector as stored before the update
+     * @param detector detector of the update request
+     * @param rulesById rules of the updated detector
+     */
+    public static DetectorUpdatePlan plan(Detector currentDetector, Detector detector, List<Pair<String, Rule>> rulesById) {
+        Map<String, String> monitorPerRule = currentDetector.getRuleIdMonitorIdMap() != null? currentDetector.getRuleIdMonitorIdMap(): Map.of();
+        Map<String, Long> previousVersions = currentDetector.getRuleVersions() != null? currentDetector.getRuleVersions(): Map.of();
+        boolean sameMonitorSettings = sameMonitorSettings(currentDetector, detector);
+
+        List<Pair<String, Rule>> bucketLevelRulesToAdd = new ArrayList<>();
+        Map<String, Pair<String, Rule>> bucketLevelRulesToUpdate = new HashMap<>();
+        List<Pair<String, Rule>> docLevelRules = new ArrayList<>();
+        Map<String, String> retainedMonitors = new HashMap<>();
+
+        for (Pair<String, Rule> query: rulesById) {
+            Rule rule = query.getRight();
+            String monitorId = monitorPerRule.get(rule.getId());
+            if (!rule.isAggregationRule()) {
+                docLevelRules.add(query);
+            } else if (monitorId == null) {
+                bucketLevelRulesToAdd.add(query);
+            } else if (sameMonitorSettings && rule.getVersion() != null && rule.getVersion().equals(previousVersions.get(rule.getId()))) {
+                retainedMonitors.put(rule.getId(), monitorId);
+            } else {
+                bucketLevelRulesToUpdate.put(monitorId, query);
+            }
+        }
+
+        String docLevelMonitorId = monitorPerRule.get(Detector.DOC_LEVEL_MONITOR);
+        boolean docLevelMonitorRewritten = false;
+        if (!docLevelRules.isEmpty() || detector.getThreatIntelEnabled()) {
+            // Rules without bucket level monitor in the stored detector were part of its doc level monitor
+            Map<String, Long> previousDocLevelVersions = new HashMap<>(previousVersions);
+            previousDocLevelVersions.keySet().removeAll(monitorPerRule.keySet());
+
+            boolean docLevelMonitorUnchanged = docLevelMonitorId != null
+                    && sameMonitorSettings
+                    && Objects.equals(currentDetector.getTriggers(), detector.getTriggers())
+                    && !currentDetector.getThreatIntelEnabled()
+                    && !detector.getThreatIntelEnabled()
+                    && docLevelRules.stream().allMatch(it -> it.getRight().getVersion() != null)
+                    && previousDocLevelVersions.equals(ruleVersions(docLevelRules));
+            if (docLevelMonitorUnchanged) {
+                retainedMonitors.put(Detector.DOC_LEVEL_MONITOR, docLevelMonitorId);
+            } else {
+                docLevelMonitorRewritten = true;
+            }
+        }
+
+        Set<String> keptMonitorIds = new HashSet<>(bucketLevelRulesToUpdate.keySet());
+        keptMonitorIds.addAll(retainedMonitors.values());
+        if (docLevelMonitorRewritten && docLevelMonitorId != null) {
+            keptMonitorIds.add(docLevelMonitorId);
+        }
+        List<String> monitorIdsToDelete = new ArrayList<>();
+        for (String monitorId: monitorPerRule.values()) {
+            if (!keptMonitorIds.contains(monitorId)) {
+                monitorIdsToDelete.add(monitorId);
+            }
+        }
+
+        return new DetectorUpdatePlan(bucketLevelRulesToAdd, bucketLevelRulesToUpdate, docLevelRules, docLevelMonitorRewritten,
+                retainedMonitors, monitorIdsToDelete, ruleVersions(rulesById));
+    }
+
+    /**
+     * Versions of the rules by rule id, as recorded on the detector for the next update.
+     */
+    public static Map<String, Long> ruleVersions(List<Pair<String, Rule>> rulesById) {
+        Map<String, Long> ruleVersions = new HashMap<>();
+        for (Pair<String, Rule> query: rulesById) {
+            Rule rule = query.getRight();
+            if (rule.getVersion() != null) {
+                ruleVersions.put(rule.getId(), rule.getVersion());
+            }
+        }
+        return ruleVersions;
+    }
+
+    /**
+     * Whether the detector settings copied into every monitor are the same.
+     */
+    private static boolean sameMonitorSettings(Detector currentDetector, Detector detector) {
+        return Objects.equals(currentDetector.getName(), detector.getName())
+                && Objects.equals(currentDetector.getDetectorType(), detector.getDetectorType())
+                && Objects.equals(currentDetector.getSchedule(), detector.getSchedule())
+                && Objects.equals(currentDetector.getUser(), detector.getUser())
+                && Objects.equals(indices(currentDetector), indices(detector));
+    }
+
+    private static List<String> indices(Detector detector) {
+        return detector.getInputs().isEmpty()? Collections.emptyList(): detector.getInputs().get(0).getIndices();
+    }
+
+    /**
+     * New aggregation rules, their bucket level monitors are created.
+     */
+    public List<Pair<String, Rule>> getBucketLevelRulesToAdd() {
+        return bucketLevelRulesToAdd;
+    }
+
+    /**
+     * Changed aggregation rules by id of their bucket level monitor, which is rewritten.
+     */
+    public Map<String, Pair<String, Rule>> getBucketLevelRulesToUpdate() {
+        return bucketLevelRulesToUpdate;
+    }
+
+    public List<Pair<String, Rule>> getDocLevelRules() {
+        return docLevelRules;
+    }
+
+    public boolean isDocLevelMonitorRewritten() {
+        return docLevelMonitorRewritten;
+    }
+
+    /**
+     * Monitors kept as is, by rule id or {@link Detector#DOC_LEVEL_MONITOR}.
+     */
+    public Map<String, String> getRetainedMonitors() {
+        return retainedMonitors;
+    }
+
+    public List<String> getMonitorIdsToDelete() {
+        return monitorIdsToDelete;
+    }
+
+    public Map<String, Long> getRuleVersions() {
+        return ruleVersions;
+    }
+}
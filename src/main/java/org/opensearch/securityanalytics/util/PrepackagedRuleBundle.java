@@ -0,0 +1,128 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.opensearch.common.hash.MessageDigests;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.securityanalytics.model.LogType;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.rules.backend.OSQueryBackend;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bundle of the pre-packaged rules converted at build time, one json entry per line holding the id, category and
+ * content hash of a rule along with the source of its document in {@link Rule#PRE_PACKAGED_RULES_INDEX}. The content
+ * hash is the one of the emitted document, see {@link #contentHash(String, Rule, int)}.
+ *
+ * The bundle is generated by the {@code generatePrepackagedRulesBundle} gradle task, which runs {@link #main(String[])}
+ * with the rules folder, the built-in log types folder and the path of the bundle.
+ */
+public class PrepackagedRuleBundle {
+
+    public static final String RESOURCE = "prepackaged-rules.ndjson";
+
+    public static final String ID_FIELD = "id";
+    public static final String CATEGORY_FIELD = "category";
+    public static final String CONTENT_HASH_FIELD = "content_hash";
+    public static final String SOURCE_FIELD = "source";
+
+    private static final String LOG_TYPE_FILE_SUFFIX = "_logtype.json";
+
+    private static final ToXContent.Params UNHASHED_SOURCE_PARAMS = new ToXContent.MapParams(Map.of("with_type", "true"));
+
+    public static void main(String[] args) throws IOException, SigmaError {
+        if (args.length != 3) {
+            throw new IllegalArgumentException("Usage: PrepackagedRuleBundle <rules folder> <log types folder> <bundle>");
+        }
+        write(Path.of(args[0]), loadRuleFieldMappings(Path.of(args[1])), Path.of(args[2]));
+    }
+
+    /**
+     * Converts the rules of each category folder with the field mappings of the category and writes the bundle.
+     */
+    public static void write(Path rulesPath, Map<String, Map<String, String>> ruleFieldMappings, Path bundlePath) throws IOException, SigmaError {
+        int schemaVersion = IndexUtils.getSchemaVersion(RuleIndices.ruleMappings());
+
+        Files.createDirectories(bundlePath.getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(bundlePath, StandardCharsets.UTF_8)) {
+            for (Path categoryPath: list(rulesPath)) {
+                String category = categoryPath.getFileName().toString();
+                Map<String, String> fieldMappings = ruleFieldMappings.get(category);
+                OSQueryBackend backend = new OSQueryBackend(fieldMappings, true, true);
+
+                for (Path rulePath: ruleFiles(categoryPath)) {
+                    String ruleStr = Files.readString(rulePath, StandardCharsets.UTF_8);
+                    Rule rule = RuleIndices.toRule(backend, category, SigmaRule.fromYaml(ruleStr, true), ruleStr);
+                    String contentHash = contentHash(category, rule, schemaVersion);
+
+                    XContentBuilder builder = XContentFactory.jsonBuilder().startObject()
+                            .field(ID_FIELD, rule.getId())
+                            .field(CATEGORY_FIELD, category)
+                            .field(CONTENT_HASH_FIELD, contentHash)
+                            .field(SOURCE_FIELD);
+                    rule.toXContent(builder, RuleIndices.sourceParams(contentHash));
+                    builder.endObject();
+
+                    writer.write(BytesReference.bytes(builder).utf8ToString());
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    /**
+     * Hash of the emitted document of a rule, rendered without its hash, along with its category and the schema version
+     * of the rule index mappings. Hashing the converted queries rather than the rule file means any change of the
+     * conversion of a rule changes its hash.
+     */
+    static String contentHash(String category, Rule rule, int schemaVersion) throws IOException {
+        BytesReference source = BytesReference.bytes(rule.toXContent(XContentFactory.jsonBuilder(), UNHASHED_SOURCE_PARAMS));
+        MessageDigest digest = MessageDigests.sha256();
+        digest.update((category + "\u0000" + schemaVersion + "\u0000").getBytes(StandardCharsets.UTF_8));
+        digest.update(BytesReference.toBytes(source));
+        return MessageDigests.toHexString(digest.digest());
+    }
+
+    private static Map<String, Map<String, String>> loadRuleFieldMappings(Path logTypesPath) throws IOException {
+        Map<String, Map<String, String>> ruleFieldMappings = new HashMap<>();
+        for (Path logTypePath: list(logTypesPath)) {
+            if (logTypePath.toString().endsWith(LOG_TYPE_FILE_SUFFIX)) {
+                LogType logType = new LogType(XContentHelper.convertToMap(JsonXContent.jsonXContent, Files.readString(logTypePath, StandardCharsets.UTF_8), false));
+                ruleFieldMappings.put(logType.getName(), logType.getRuleFieldMappings());
+            }
+        }
+        return ruleFieldMappings;
+    }
+
+    private static List<Path> ruleFiles(Path path) throws IOException {
+        try (Stream<Path> files = Files.walk(path)) {
+            return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static List<Path> list(Path path) throws IOException {
+        try (Stream<Path> files = Files.list(path)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+}
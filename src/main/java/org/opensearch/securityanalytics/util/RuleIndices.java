@@ -8,14 +8,20 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.search.join.ScoreMode;
 import org.opensearch.OpenSearchStatusException;
+import org.opensearch.Version;
+import org.opensearch.action.ActionRunnable;
+import org.opensearch.action.DocWriteRequest;
 import org.opensearch.action.admin.indices.create.CreateIndexRequest;
 import org.opensearch.action.admin.indices.create.CreateIndexResponse;
 import org.opensearch.action.bulk.BulkItemResponse;
 import org.opensearch.action.bulk.BulkRequest;
 import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.delete.DeleteRequest;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.GroupedActionListener;
+import org.opensearch.action.support.IndicesOptions;
 import org.opensearch.action.support.WriteRequest;
 import org.opensearch.action.support.master.AcknowledgedResponse;
 import org.opensearch.client.Client;
@@ -25,20 +31,28 @@ import org.opensearch.cluster.metadata.IndexMetadata;
 import org.opensearch.cluster.routing.IndexRoutingTable;
 import org.opensearch.cluster.routing.Preference;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.CheckedFunction;
+import org.opensearch.common.hash.MessageDigests;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
 import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.core.xcontent.XContentParserUtils;
 import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
-import org.opensearch.index.reindex.BulkByScrollResponse;
-import org.opensearch.index.reindex.DeleteByQueryAction;
-import org.opensearch.index.reindex.DeleteByQueryRequestBuilder;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortOrder;
 import org.opensearch.securityanalytics.logtype.LogTypeService;
 import org.opensearch.securityanalytics.model.Rule;
 import org.opensearch.securityanalytics.rules.backend.OSQueryBackend;
@@ -47,12 +61,19 @@ import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
 import org.opensearch.securityanalytics.rules.objects.SigmaRule;
 import org.opensearch.threadpool.ThreadPool;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -70,6 +91,13 @@ public class RuleIndices {
 
     private final LogTypeService logTypeService;
 
+    /**
+     * Number of requests per bulk request when importing the pre-packaged rules
+     */
+    public static final int RULES_BULK_CHUNK_SIZE = 500;
+
+    static final int CONTENT_HASHES_PAGE_SIZE = 1000;
+
     public RuleIndices(LogTypeService logTypeService, Client client, ClusterService clusterService, ThreadPool threadPool) {
         this.client = client;
         this.clusterService = clusterService;
@@ -187,7 +215,19 @@ public class RuleIndices {
         }
     }
 
+    /**
+     * Imports the pre-packaged rules into {@link Rule#PRE_PACKAGED_RULES_INDEX}. Rules are read from the
+     * {@link PrepackagedRuleBundle} generated at build time if present, otherwise they are read and converted in parallel
+     * per category. Only the rules whose content hash differs from the one of the indexed rule are (converted and)
+     * re-indexed. Indexed rules which are no longer packaged are deleted.
+     */
     public void importRules(WriteRequest.RefreshPolicy refreshPolicy, TimeValue indexTimeout, ActionListener<BulkResponse> listener) {
+        InputStream bundle = getClass().getClassLoader().getResourceAsStream(PrepackagedRuleBundle.RESOURCE);
+        if (bundle != null) {
+            threadPool.executor(ThreadPool.Names.GENERIC).execute(() -> loadBundle(bundle, refreshPolicy, indexTimeout, listener));
+            return;
+        }
+
         try {
             final String url = Objects.requireNonNull(getClass().getClassLoader().getResource("rules/")).toURI().toString();
 
@@ -198,18 +238,12 @@ public class RuleIndices {
                 Path path = Path.of(url);
                 loadQueries(path, refreshPolicy, indexTimeout, listener);
             }
-        } catch (URISyntaxException | IOException | SigmaError ex) {
+        } catch (URISyntaxException | IOException ex) {
             log.info(ex.getMessage());
+            listener.onFailure(ex);
         }
     }
 
-    public void deleteRules(ActionListener<BulkByScrollResponse> listener) {
-        new DeleteByQueryRequestBuilder(client, DeleteByQueryAction.INSTANCE)
-                .source(Rule.PRE_PACKAGED_RULES_INDEX)
-                .filter(QueryBuilders.matchAllQuery())
-                .execute(listener);
-    }
-
     public void countRules(ActionListener<SearchResponse> listener) {
         SearchRequest request = new SearchRequest(Rule.PRE_PACKAGED_RULES_INDEX)
                 .source(new SearchSourceBuilder().size(0))
@@ -252,65 +286,268 @@ public class RuleIndices {
         return rules;
     }
 
-    private void loadQueries(Path path, WriteRequest.RefreshPolicy refreshPolicy, TimeValue indexTimeout, ActionListener<BulkResponse> listener) throws IOException, SigmaError {
-        Stream<Path> folder = Files.list(path);
-        List<Path> folderPaths = folder.collect(Collectors.toList());
-        Map<String, List<String>> logIndexToRules = new HashMap<>();
+    private void loadQueries(Path path, WriteRequest.RefreshPolicy refreshPolicy, TimeValue indexTimeout, ActionListener<BulkResponse> listener) throws IOException {
+        Map<String, Path> categoryPaths = new HashMap<>();
+        try (Stream<Path> folder = Files.list(path)) {
+            for (Path folderPath: folder.collect(Collectors.toList())) {
+                categoryPaths.put(getRuleCategory(folderPath), folderPath);
+            }
+        }
+        int schemaVersion = IndexUtils.getSchemaVersion(ruleMappings());
+        checkLogTypes(categoryPaths.keySet(), ActionListener.delegateFailure(listener, (delegatedListener, categories) -> ingestQueries(
+                categories,
+                category -> readRules(category, categoryPaths.get(category), schemaVersion),
+                refreshPolicy, indexTimeout, delegatedListener
+        )));
+    }
 
-        for (Path folderPath: folderPaths) {
-            List<String> rules = getRules(List.of(folderPath));
-            String ruleCategory = getRuleCategory(folderPath);
-            logIndexToRules.put(ruleCategory, rules);
+    void loadBundle(InputStream bundle, WriteRequest.RefreshPolicy refreshPolicy, TimeValue indexTimeout, ActionListener<BulkResponse> listener) {
+        Map<String, List<PackagedRule>> rulesByCategory = new HashMap<>();
+        try (
+                InputStream is = bundle;
+                BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))
+        ) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                PackagedRule rule = PackagedRule.fromBundleEntry(line);
+                rulesByCategory.computeIfAbsent(rule.category, key -> new ArrayList<>()).add(rule);
+            }
+        } catch (IOException e) {
+            listener.onFailure(e);
+            return;
         }
-        checkLogTypes(logIndexToRules, refreshPolicy, indexTimeout, listener);
+
+        checkLogTypes(rulesByCategory.keySet(), ActionListener.delegateFailure(listener, (delegatedListener, categories) -> ingestQueries(
+                categories, rulesByCategory::get, refreshPolicy, indexTimeout, delegatedListener
+        )));
     }
 
     private String getRuleCategory(Path folderPath) {
         return folderPath.getFileName().toString();
     }
 
-    private void ingestQueries(Map<String, List<String>> logIndexToRules, WriteRequest.RefreshPolicy refreshPolicy, TimeValue indexTimeout, ActionListener<BulkResponse> listener) throws SigmaError, IOException {
-        List<Rule> queries = new ArrayList<>();
-
+    private void ingestQueries(Set<String> availableCategories, CheckedFunction<String, List<PackagedRule>, Exception> rulesReader,
+                               WriteRequest.RefreshPolicy refreshPolicy, TimeValue indexTimeout, ActionListener<BulkResponse> listener) {
         // Moving others_cloud to the top so those queries are indexed first and can be overwritten if other categories
         // contain the same rules. Tracking issue: https://github.com/opensearch-project/security-analytics/issues/630
-        List<String> categories = new ArrayList<>(logIndexToRules.keySet());
+        List<String> categories = new ArrayList<>(availableCategories);
         if (categories.remove("others_cloud")) {
             categories.add(0, "others_cloud");
         }
-        for (String category: categories) {
-            Map<String, String> fieldMappings = logTypeService.getRuleFieldMappingsForBuiltinLogType(category);
-            final QueryBackend backend = new OSQueryBackend(fieldMappings, true, true);
-            queries.addAll(getQueries(backend, category, logIndexToRules.get(category)));
-        }
-        loadRules(queries, refreshPolicy, indexTimeout, listener, true);
+
+        getContentHashes(null, new HashMap<>(), ActionListener.delegateFailure(listener, (hashesListener, contentHashes) -> forEachCategory(
+                categories,
+                rulesReader,
+                ActionListener.delegateFailure(hashesListener, (readListener, rulesByCategory) -> {
+                    Map<String, PackagedRule> rulesById = new HashMap<>();
+                    for (String category: categories) {
+                        for (PackagedRule rule: rulesByCategory.get(category)) {
+                            rulesById.put(rule.id, rule);
+                        }
+                    }
+
+                    Map<String, List<PackagedRule>> changedRules = new HashMap<>();
+                    for (PackagedRule rule: rulesById.values()) {
+                        if (!rule.contentHash.equals(contentHashes.get(rule.id))) {
+                            changedRules.computeIfAbsent(rule.category, key -> new ArrayList<>()).add(rule);
+                        }
+                    }
+                    List<String> removedRuleIds = contentHashes.keySet().stream()
+                            .filter(id -> !rulesById.containsKey(id))
+                            .collect(Collectors.toList());
+                    log.info(String.format(Locale.getDefault(), "Importing %d changed pre-packaged rules out of %d, deleting %d removed rules",
+                            changedRules.values().stream().mapToInt(List::size).sum(), rulesById.size(), removedRuleIds.size()));
+
+                    forEachCategory(
+                            new ArrayList<>(changedRules.keySet()),
+                            category -> getIndexRequests(category, changedRules.get(category), indexTimeout),
+                            ActionListener.delegateFailure(readListener, (convertListener, requestsByCategory) -> {
+                                List<DocWriteRequest<?>> requests = new ArrayList<>();
+                                requestsByCategory.values().forEach(requests::addAll);
+                                for (String id: removedRuleIds) {
+                                    requests.add(new DeleteRequest(Rule.PRE_PACKAGED_RULES_INDEX, id).timeout(indexTimeout));
+                                }
+                                bulk(requests, 0, refreshPolicy, indexTimeout, new ArrayList<>(), 0L, convertListener);
+                            })
+                    );
+                })
+        )));
     }
 
-    private void loadQueries(String[] paths, WriteRequest.RefreshPolicy refreshPolicy, TimeValue indexTimeout, ActionListener<BulkResponse> listener) throws IOException, SigmaError {
+    private void loadQueries(String[] paths, WriteRequest.RefreshPolicy refreshPolicy, TimeValue indexTimeout, ActionListener<BulkResponse> listener) throws IOException {
         Path path = FileUtils.getFs().getPath(paths[1]);
         loadQueries(path, refreshPolicy, indexTimeout, listener);
     }
 
-    private List<Rule> getQueries(QueryBackend backend, String category, List<String> rules) throws SigmaError {
-        List<Rule> queries = new ArrayList<>();
-        for (String ruleStr: rules) {
-            SigmaRule rule = SigmaRule.fromYaml(ruleStr, true);
-            backend.resetQueryFields();
-            List<Object> ruleQueries = backend.convertRule(rule);
-            Set<String> queryFieldNames = backend.getQueryFields().keySet();
-
-            Rule ruleModel = new Rule(
-                    rule.getId().toString(), NO_VERSION, rule, category,
-                    ruleQueries.stream().map(Object::toString).collect(Collectors.toList()),
-                    new ArrayList<>(queryFieldNames),
-                    ruleStr
-            );
-            queries.add(ruleModel);
+    private List<PackagedRule> readRules(String category, Path categoryPath, int schemaVersion) {
+        Map<String, String> fieldMappings = logTypeService.getRuleFieldMappingsForBuiltinLogType(category);
+        List<PackagedRule> rules = new ArrayList<>();
+        for (String ruleStr: getRules(List.of(categoryPath))) {
+            Map<String, Object> ruleMap = SigmaRule.loadYaml(ruleStr);
+            String id = UUID.fromString(String.valueOf(ruleMap.get("id"))).toString();
+            rules.add(new PackagedRule(id, category, ruleStr, ruleMap, null, contentHash(category, ruleStr, fieldMappings, schemaVersion, converterVersion())));
+        }
+        return rules;
+    }
+
+    /**
+     * Hash of everything the indexed document of a pre-packaged rule is derived from: the rule, its category, the field
+     * mappings used to convert it, the schema version of the rule index mappings and the version of the converter.
+     */
+    static String contentHash(String category, String rule, Map<String, String> fieldMappings, int schemaVersion, String converterVersion) {
+        MessageDigest digest = MessageDigests.sha256();
+        digest.update(String.join("\u0000",
+                category,
+                rule,
+                fieldMappings != null? new TreeMap<>(fieldMappings).toString(): "",
+                String.valueOf(schemaVersion),
+                converterVersion
+        ).getBytes(StandardCharsets.UTF_8));
+        return MessageDigests.toHexString(digest.digest());
+    }
+
+    /**
+     * Version of the code converting the rules, the version of the plugin along with the one of the query backend.
+     */
+    static String converterVersion() {
+        return Version.CURRENT + ":" + OSQueryBackend.VERSION;
+    }
+
+    private List<IndexRequest> getIndexRequests(String category, List<PackagedRule> rules, TimeValue indexTimeout) throws SigmaError, IOException {
+        QueryBackend backend = null;
+
+        List<IndexRequest> indexRequests = new ArrayList<>();
+        for (PackagedRule packagedRule: rules) {
+            IndexRequest indexRequest = new IndexRequest(Rule.PRE_PACKAGED_RULES_INDEX)
+                    .id(packagedRule.id)
+                    .timeout(indexTimeout);
+            if (packagedRule.source != null) {
+                indexRequest.source(packagedRule.source, XContentType.JSON);
+            } else {
+                if (backend == null) {
+                    backend = new OSQueryBackend(logTypeService.getRuleFieldMappingsForBuiltinLogType(category), true, true);
+                }
+                Rule rule = toRule(backend, category, SigmaRule.fromDict(packagedRule.ruleMap, true), packagedRule.rule);
+                indexRequest.source(toSource(rule, packagedRule.contentHash));
+            }
+            indexRequests.add(indexRequest);
         }
-        return queries;
+        return indexRequests;
     }
 
-    private void checkLogTypes(Map<String, List<String>> logIndexToRules, WriteRequest.RefreshPolicy refreshPolicy, TimeValue indexTimeout, ActionListener<BulkResponse> listener) {
+    static Rule toRule(QueryBackend backend, String category, SigmaRule rule, String ruleStr) throws SigmaError {
+        backend.resetQueryFields();
+        List<Object> ruleQueries = backend.convertRule(rule);
+        Set<String> queryFieldNames = backend.getQueryFields().keySet();
+
+        return new Rule(
+                rule.getId().toString(), NO_VERSION, rule, category,
+                ruleQueries.stream().map(Object::toString).collect(Collectors.toList()),
+                new ArrayList<>(queryFieldNames),
+                ruleStr
+        );
+    }
+
+    /**
+     * Source of the indexed document of a pre-packaged rule.
+     */
+    static XContentBuilder toSource(Rule rule, String contentHash) throws IOException {
+        return rule.toXContent(XContentFactory.jsonBuilder(), sourceParams(contentHash));
+    }
+
+    static ToXContent.Params sourceParams(String contentHash) {
+        return new ToXContent.MapParams(Map.of("with_type", "true", Rule.CONTENT_HASH, contentHash));
+    }
+
+    /**
+     * Runs the task of each category on the generic thread pool, at most one task per allocated processor at a time.
+     */
+    private <T> void forEachCategory(List<String> categories, CheckedFunction<String, T, Exception> task, ActionListener<Map<String, T>> listener) {
+        if (categories.isEmpty()) {
+            listener.onResponse(Map.of());
+            return;
+        }
+
+        Queue<String> pendingCategories = new ConcurrentLinkedQueue<>(categories);
+        Map<String, T> results = new ConcurrentHashMap<>();
+        int workers = Math.min(categories.size(), OpenSearchExecutors.allocatedProcessors(clusterService.getSettings()));
+        GroupedActionListener<Void> workersListener = new GroupedActionListener<>(
+                ActionListener.wrap(responses -> listener.onResponse(results), listener::onFailure),
+                workers
+        );
+        for (int i = 0; i < workers; ++i) {
+            threadPool.executor(ThreadPool.Names.GENERIC).execute(ActionRunnable.run(workersListener, () -> {
+                String category;
+                while ((category = pendingCategories.poll()) != null) {
+                    results.put(category, task.apply(category));
+                }
+            }));
+        }
+    }
+
+    /**
+     * Sends the requests in bulks of {@link #RULES_BULK_CHUNK_SIZE}, one after the other. Only the last bulk applies the
+     * refresh policy.
+     */
+    private void bulk(List<DocWriteRequest<?>> requests, int from, WriteRequest.RefreshPolicy refreshPolicy, TimeValue indexTimeout,
+                      List<BulkItemResponse> responses, long tookInMillis, ActionListener<BulkResponse> listener) {
+        if (from >= requests.size()) {
+            listener.onResponse(new BulkResponse(responses.toArray(new BulkItemResponse[]{}), Math.max(tookInMillis, 1)));
+            return;
+        }
+
+        int to = Math.min(from + RULES_BULK_CHUNK_SIZE, requests.size());
+        BulkRequest bulkRequest = new BulkRequest()
+                .setRefreshPolicy(to == requests.size()? refreshPolicy: WriteRequest.RefreshPolicy.NONE)
+                .timeout(indexTimeout);
+        requests.subList(from, to).forEach(bulkRequest::add);
+        client.bulk(bulkRequest, ActionListener.delegateFailure(listener, (delegatedListener, response) -> {
+            responses.addAll(Arrays.asList(response.getItems()));
+            bulk(requests, to, refreshPolicy, indexTimeout, responses, tookInMillis + response.getTook().millis(), delegatedListener);
+        }));
+    }
+
+    /**
+     * Content hashes of the indexed pre-packaged rules by rule id, empty for rules indexed without one. Pages through the
+     * rules with search_after on the rule id.
+     */
+    private void getContentHashes(Object[] searchAfter, Map<String, String> contentHashes, ActionListener<Map<String, String>> listener) {
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .fetchSource(new String[]{Rule.RULE + "." + Rule.CONTENT_HASH}, null)
+                .size(CONTENT_HASHES_PAGE_SIZE)
+                .trackTotalHits(false)
+                .sort("_id", SortOrder.ASC);
+        if (searchAfter != null) {
+            searchSourceBuilder.searchAfter(searchAfter);
+        }
+        SearchRequest searchRequest = new SearchRequest(Rule.PRE_PACKAGED_RULES_INDEX)
+                .indicesOptions(IndicesOptions.lenientExpandOpen())
+                .source(searchSourceBuilder)
+                .preference(Preference.PRIMARY_FIRST.type());
+
+        client.search(searchRequest, ActionListener.delegateFailure(listener, (delegatedListener, response) -> {
+            SearchHit[] hits = response.getHits().getHits();
+            for (SearchHit hit: hits) {
+                Object rule = hit.getSourceAsMap().get(Rule.RULE);
+                Object contentHash = rule instanceof Map? ((Map<?, ?>) rule).get(Rule.CONTENT_HASH): null;
+                contentHashes.put(hit.getId(), contentHash != null? contentHash.toString(): "");
+            }
+
+            if (hits.length == CONTENT_HASHES_PAGE_SIZE) {
+                getContentHashes(hits[hits.length - 1].getSortValues(), contentHashes, delegatedListener);
+            } else {
+                delegatedListener.onResponse(contentHashes);
+            }
+        }));
+    }
+
+    /**
+     * Returns the categories which are log types of the log type config index.
+     */
+    private void checkLogTypes(Set<String> categories, ActionListener<Set<String>> listener) {
         logTypeService.ensureConfigIndexIsInitialized(new ActionListener<>() {
             @Override
             public void onResponse(Void unused) {
@@ -329,21 +566,18 @@ public class RuleIndices {
                     public void onResponse(SearchResponse response) {
                         if (response.isTimedOut()) {
                             listener.onFailure(new OpenSearchStatusException("Search request timed out", RestStatus.REQUEST_TIMEOUT));
+                            return;
                         }
-                        try {
-                            SearchHit[] hits = response.getHits().getHits();
-                            Map<String, List<String>> filteredLogIndexToRules = new HashMap<>();
-                            for (SearchHit hit : hits) {
-                                String name = hit.getSourceAsMap().get("name").toString();
-
-                                if (logIndexToRules.containsKey(name)) {
-                                    filteredLogIndexToRules.put(name, logIndexToRules.get(name));
-                                }
+                        SearchHit[] hits = response.getHits().getHits();
+                        Set<String> filteredCategories = new HashSet<>();
+                        for (SearchHit hit : hits) {
+                            String name = hit.getSourceAsMap().get("name").toString();
+
+                            if (categories.contains(name)) {
+                                filteredCategories.add(name);
                             }
-                            ingestQueries(filteredLogIndexToRules, refreshPolicy, indexTimeout, listener);
-                        } catch (SigmaError | IOException e) {
-                            onFailure(e);
                         }
+                        listener.onResponse(filteredCategories);
                     }
 
                     @Override
@@ -359,4 +593,59 @@ public class RuleIndices {
             }
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Pre-packaged rule, either read from the rules folder and to be converted, or read from the
+     * {@link PrepackagedRuleBundle} with the source of its document.
+     */
+    private static class PackagedRule {
+        private final String id;
+        private final String category;
+        private final String rule;
+        private final Map<String, Object> ruleMap;
+        private final BytesReference source;
+        private final String contentHash;
+
+        private PackagedRule(String id, String category, String rule, Map<String, Object> ruleMap, BytesReference source, String contentHash) {
+            this.id = id;
+            this.category = category;
+            this.rule = rule;
+            this.ruleMap = ruleMap;
+            this.source = source;
+            this.contentHash = contentHash;
+        }
+
+        private static PackagedRule fromBundleEntry(String entry) throws IOException {
+            String id = null;
+            String category = null;
+            String contentHash = null;
+            BytesReference source = null;
+
+            try (XContentParser xcp = XContentType.JSON.xContent().createParser(NamedXContentRegistry.EMPTY, LoggingDeprecationHandler.INSTANCE, entry)) {
+                XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.nextToken(), xcp);
+                while (xcp.nextToken() != XContentParser.Token.END_OBJECT) {
+                    String fieldName = xcp.currentName();
+                    xcp.nextToken();
+
+                    switch (fieldName) {
+                        case PrepackagedRuleBundle.ID_FIELD:
+                            id = xcp.text();
+                            break;
+                        case PrepackagedRuleBundle.CATEGORY_FIELD:
+                            category = xcp.text();
+                            break;
+                        case PrepackagedRuleBundle.CONTENT_HASH_FIELD:
+                            contentHash = xcp.text();
+                            break;
+                        case PrepackagedRuleBundle.SOURCE_FIELD:
+                            source = BytesReference.bytes(XContentFactory.jsonBuilder().copyCurrentStructure(xcp));
+                            break;
+                        default:
+                            xcp.skipChildren();
+                    }
+                }
+            }
+            return new PackagedRule(id, category, null, null, source, contentHash);
+        }
+    }
+}
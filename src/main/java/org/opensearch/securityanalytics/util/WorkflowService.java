@@ -64,6 +64,7 @@ public class WorkflowService {
      *
      * @param addedMonitorResponses   delegate monitors' index monitor responses
      * @param updatedMonitorResponses monitors to be updated
+     * @param retainedMonitorIds      delegate monitors left unchanged by an update
      * @param detector                detector for which monitors needs to be added/updated
      * @param refreshPolicy
      * @param workflowId
@@ -74,6 +75,7 @@ public class WorkflowService {
             List<Pair<String, Rule>> rulesById,
             List<IndexMonitorResponse> addedMonitorResponses,
             List<IndexMonitorResponse> updatedMonitorResponses,
+            List<String> retainedMonitorIds,
             Detector detector,
             RefreshPolicy refreshPolicy,
             String workflowId,
@@ -93,6 +95,7 @@ public class WorkflowService {
         if (updatedMonitorResponses != null && !updatedMonitorResponses.isEmpty()) {
             monitorIds.addAll(updatedMonitors);
         }
+        monitorIds.addAll(retainedMonitorIds);
         ChainedMonitorFindings chainedMonitorFindings = null;
         String cmfMonitorId = null;
         if (addedMonitorResponses.stream().anyMatch(res -> (detector.getName() + "_chained_findings").equals(res.getMonitor().getName()))) {
@@ -0,0 +1,53 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.junit.Assert;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.securityanalytics.model.FindingWithScore;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+public class BulkCorrelatedFindingResponseTests extends OpenSearchTestCase {
+
+    public void testStreamInOut() throws IOException {
+        BulkCorrelatedFindingResponse response = new BulkCorrelatedFindingResponse(
+                Map.of(
+                        "finding1", List.of(new FindingWithScore("finding3", "network", 0.5, List.of("rule1"))),
+                        "finding2", List.of()
+                ),
+                Map.of("finding4", "finding finding4 not found")
+        );
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        response.writeTo(out);
+
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        BulkCorrelatedFindingResponse newResponse = new BulkCorrelatedFindingResponse(sin);
+
+        Assert.assertEquals(2, newResponse.getFindings().size());
+        Assert.assertEquals(1, newResponse.getFindings().get("finding1").size());
+        Assert.assertTrue(newResponse.getFindings().get("finding2").isEmpty());
+        Assert.assertEquals("finding finding4 not found", newResponse.getFailures().get("finding4"));
+    }
+
+    public void testRequestValidation() throws IOException {
+        BulkCorrelatedFindingRequest request = new BulkCorrelatedFindingRequest(List.of("finding1", "finding2"), "windows", 300000L, 10);
+        Assert.assertNull(request.validate());
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        request.writeTo(out);
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        BulkCorrelatedFindingRequest newRequest = new BulkCorrelatedFindingRequest(sin);
+        Assert.assertEquals(List.of("finding1", "finding2"), newRequest.getFindingIds());
+        Assert.assertEquals("windows", newRequest.getDetectorType());
+
+        Assert.assertNotNull(new BulkCorrelatedFindingRequest(List.of(), "windows", 300000L, 10).validate());
+    }
+}
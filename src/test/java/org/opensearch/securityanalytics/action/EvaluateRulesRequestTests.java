@@ -0,0 +1,31 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import java.util.Collections;
+import java.util.List;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class EvaluateRulesRequestTests extends OpenSearchTestCase {
+
+    public void testValidateRequest() {
+        BytesReference document = new BytesArray("{\"EventID\": 4688}");
+
+        assertNull(new EvaluateRulesRequest("windows", List.of(document)).validate());
+        assertNotNull(new EvaluateRulesRequest("windows", List.of()).validate());
+        assertNotNull(new EvaluateRulesRequest(null, List.of(document)).validate());
+    }
+
+    public void testValidateBoundsDocuments() {
+        BytesReference document = new BytesArray("{\"EventID\": 4688}");
+        assertNull(new EvaluateRulesRequest("windows", Collections.nCopies(EvaluateRulesRequest.MAX_DOCUMENTS, document)).validate());
+        assertNotNull(new EvaluateRulesRequest("windows", Collections.nCopies(EvaluateRulesRequest.MAX_DOCUMENTS + 1, document)).validate());
+
+        BytesReference largeDocument = new BytesArray(new byte[(int) (EvaluateRulesRequest.MAX_DOCUMENTS_BYTES / 2) + 1]);
+        assertNotNull(new EvaluateRulesRequest("windows", List.of(largeDocument, largeDocument)).validate());
+    }
+}
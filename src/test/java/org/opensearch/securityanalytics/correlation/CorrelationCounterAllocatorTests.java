@@ -0,0 +1,361 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.apache.lucene.search.TotalHits;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionType;
+import org.opensearch.action.get.GetAction;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.index.IndexAction;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.SearchAction;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.index.engine.VersionConflictEngineException;
+import org.opensearch.index.get.GetResult;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.internal.InternalSearchResponse;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.util.CorrelationIndices;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.test.client.NoOpNodeClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.opensearch.securityanalytics.correlation.CorrelationCounterAllocator.COUNTER_STEP;
+
+public class CorrelationCounterAllocatorTests extends OpenSearchTestCase {
+
+    private static final long CORR_TIME_WINDOW = TimeUnit.MINUTES.toMillis(5);
+
+    private RootDocumentClient client;
+
+    private ClusterService clusterService;
+
+    @Before
+    public void setUpClient() {
+        client = new RootDocumentClient(getTestName());
+        clusterService = mock(ClusterService.class);
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(Settings.EMPTY, Set.of(SecurityAnalyticsSettings.INDEX_TIMEOUT)));
+    }
+
+    @After
+    public void closeClient() {
+        client.close();
+    }
+
+    public void testCountersAreAllocatedFromLeasedBlock() {
+        InMemoryLeaser leaser = new InMemoryLeaser(null);
+        CorrelationCounterAllocator allocator = new CorrelationCounterAllocator(leaser, CORR_TIME_WINDOW, 3);
+
+        List<Long> counters = new ArrayList<>();
+        allocator.current(1000L, ActionListener.wrap(counters::add, e -> fail()));
+        for (int i = 0; i < 4; ++i) {
+            allocator.next(1000L, ActionListener.wrap(counters::add, e -> fail()));
+        }
+
+        Assert.assertEquals(List.of(50L, 100L, 150L, 200L, 250L), counters);
+        Assert.assertEquals(2, leaser.leases.get());
+    }
+
+    public void testCounterResetsAfterIdleWindow() {
+        InMemoryLeaser leaser = new InMemoryLeaser(null);
+        CorrelationCounterAllocator allocator = new CorrelationCounterAllocator(leaser, CORR_TIME_WINDOW, 10);
+
+        List<Long> counters = new ArrayList<>();
+        allocator.next(1000L, ActionListener.wrap(counters::add, e -> fail()));
+        allocator.next(1000L, ActionListener.wrap(counters::add, e -> fail()));
+        allocator.next(1000L + 2 * CORR_TIME_WINDOW, ActionListener.wrap(counters::add, e -> fail()));
+
+        Assert.assertEquals(List.of(50L, 100L, 50L), counters);
+    }
+
+    public void testConcurrentAllocationsAcrossNodesHaveNoDuplicates() throws InterruptedException {
+        ExecutorService leaseExecutor = Executors.newFixedThreadPool(4);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            InMemoryLeaser leaser = new InMemoryLeaser(leaseExecutor);
+            List<CorrelationCounterAllocator> nodes = new ArrayList<>();
+            for (int i = 0; i < 4; ++i) {
+                nodes.add(new CorrelationCounterAllocator(leaser, CORR_TIME_WINDOW, randomIntBetween(1, 20)));
+            }
+
+            int allocations = 20000;
+            CountDownLatch latch = new CountDownLatch(allocations);
+            ConcurrentLinkedQueue<Long> counters = new ConcurrentLinkedQueue<>();
+            ConcurrentLinkedQueue<Exception> failures = new ConcurrentLinkedQueue<>();
+            for (int i = 0; i < allocations; ++i) {
+                CorrelationCounterAllocator node = nodes.get(i % nodes.size());
+                executor.submit(() -> node.next(1000L, ActionListener.wrap(counter -> {
+                    counters.add(counter);
+                    latch.countDown();
+                }, e -> {
+                    failures.add(e);
+                    latch.countDown();
+                })));
+            }
+
+            Assert.assertTrue(latch.await(30, TimeUnit.SECONDS));
+            Assert.assertTrue(failures.isEmpty());
+            Assert.assertEquals(allocations, counters.size());
+
+            Set<Long> unique = new HashSet<>(counters);
+            Assert.assertEquals(allocations, unique.size());
+            for (Long counter: unique) {
+                Assert.assertEquals(0L, counter % COUNTER_STEP);
+            }
+        } finally {
+            executor.shutdownNow();
+            leaseExecutor.shutdownNow();
+            Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            Assert.assertTrue(leaseExecutor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    public void testLeaseWritesRootWithSeqNoGuard() {
+        client.root(500L, 1000L, 7L);
+        CorrelationCounterAllocator.CounterLeaser leaser = metadataLeaser();
+
+        List<CorrelationCounterAllocator.Block> blocks = new ArrayList<>();
+        leaser.lease(2000L, CORR_TIME_WINDOW, 3, ActionListener.wrap(blocks::add, e -> fail()));
+
+        Assert.assertEquals(1, blocks.size());
+        Assert.assertEquals(550L, blocks.get(0).current());
+        Assert.assertEquals(1, client.indexRequests.size());
+        IndexRequest indexRequest = client.indexRequests.get(0);
+        Assert.assertEquals(CorrelationIndices.CORRELATION_METADATA_INDEX, indexRequest.index());
+        Assert.assertEquals(RootDocumentClient.ROOT_ID, indexRequest.id());
+        Assert.assertEquals(7L, indexRequest.ifSeqNo());
+        Assert.assertEquals(1L, indexRequest.ifPrimaryTerm());
+        Assert.assertEquals(650L, client.counter);
+        Assert.assertEquals(2000L, client.timestamp);
+
+        // the root is looked up by id once it is known
+        leaser.lease(2000L, CORR_TIME_WINDOW, 3, ActionListener.wrap(blocks::add, e -> fail()));
+        Assert.assertEquals(700L, blocks.get(1).current());
+        Assert.assertEquals(1, client.searches);
+        Assert.assertEquals(1, client.gets);
+        Assert.assertEquals(8L, client.indexRequests.get(1).ifSeqNo());
+    }
+
+    public void testLeaseRetriesOnVersionConflict() {
+        client.root(500L, 1000L, 7L);
+        // another node leases a block between our read and our write
+        client.beforeIndex = () -> {
+            client.beforeIndex = null;
+            client.root(1000L, 1500L, 8L);
+        };
+
+        List<CorrelationCounterAllocator.Block> blocks = new ArrayList<>();
+        metadataLeaser().lease(2000L, CORR_TIME_WINDOW, 3, ActionListener.wrap(blocks::add, e -> fail()));
+
+        Assert.assertEquals(2, client.indexRequests.size());
+        Assert.assertEquals(7L, client.indexRequests.get(0).ifSeqNo());
+        Assert.assertEquals(8L, client.indexRequests.get(1).ifSeqNo());
+        Assert.assertEquals(1050L, blocks.get(0).current());
+        Assert.assertEquals(1150L, client.counter);
+    }
+
+    public void testLeaseGivesUpAfterRepeatedConflicts() {
+        client.root(500L, 1000L, 7L);
+        client.beforeIndex = () -> client.root(client.counter + COUNTER_STEP, 1000L, client.seqNo + 1);
+
+        List<Exception> failures = new ArrayList<>();
+        metadataLeaser().lease(2000L, CORR_TIME_WINDOW, 3, ActionListener.wrap(block -> fail(), failures::add));
+
+        Assert.assertEquals(1, failures.size());
+        Assert.assertTrue(failures.get(0) instanceof VersionConflictEngineException);
+        Assert.assertEquals(10, client.indexRequests.size());
+    }
+
+    public void testLeaseResetsCounterAfterIdleWindow() {
+        client.root(500L, 1000L, 7L);
+
+        List<CorrelationCounterAllocator.Block> blocks = new ArrayList<>();
+        long timestamp = 1000L + 2 * CORR_TIME_WINDOW;
+        metadataLeaser().lease(timestamp, CORR_TIME_WINDOW, 3, ActionListener.wrap(blocks::add, e -> fail()));
+
+        Assert.assertEquals(COUNTER_STEP, blocks.get(0).current());
+        Assert.assertEquals(3 * COUNTER_STEP, client.counter);
+        Assert.assertEquals(timestamp, client.timestamp);
+    }
+
+    public void testLeaseKeepsCounterWithinWindow() {
+        client.root(500L, 1000L, 7L);
+
+        List<CorrelationCounterAllocator.Block> blocks = new ArrayList<>();
+        metadataLeaser().lease(1000L + CORR_TIME_WINDOW, CORR_TIME_WINDOW, 3, ActionListener.wrap(blocks::add, e -> fail()));
+
+        Assert.assertEquals(550L, blocks.get(0).current());
+    }
+
+    public void testNodesSharingRootDocumentGetDistinctCounters() {
+        client.root(0L, 0L, 0L);
+        CorrelationCounterAllocator first = new CorrelationCounterAllocator(metadataLeaser(), CORR_TIME_WINDOW, 2);
+        CorrelationCounterAllocator second = new CorrelationCounterAllocator(metadataLeaser(), CORR_TIME_WINDOW, 2);
+
+        List<Long> counters = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            first.next(1000L, ActionListener.wrap(counters::add, e -> fail()));
+            second.next(1000L, ActionListener.wrap(counters::add, e -> fail()));
+        }
+
+        Assert.assertEquals(List.of(50L, 150L, 100L, 200L, 250L, 350L), counters);
+    }
+
+    private CorrelationCounterAllocator.MetadataCounterLeaser metadataLeaser() {
+        return new CorrelationCounterAllocator.MetadataCounterLeaser(client, clusterService, Settings.EMPTY);
+    }
+
+    /**
+     * Serves the root document of the correlation metadata index and rejects writes whose sequence number does not match
+     * the current one, like the primary shard would.
+     */
+    private static class RootDocumentClient extends NoOpNodeClient {
+        private static final String ROOT_ID = "root-id";
+
+        private long counter;
+        private long timestamp;
+        private long seqNo;
+        private Runnable beforeIndex;
+        private int searches;
+        private int gets;
+        private final List<IndexRequest> indexRequests = new ArrayList<>();
+
+        RootDocumentClient(String testName) {
+            super(testName);
+        }
+
+        void root(long counter, long timestamp, long seqNo) {
+            this.counter = counter;
+            this.timestamp = timestamp;
+            this.seqNo = seqNo;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <Request extends ActionRequest, Response extends ActionResponse> void doExecute(
+                ActionType<Response> action,
+                Request request,
+                ActionListener<Response> listener
+        ) {
+            try {
+                if (action == SearchAction.INSTANCE) {
+                    ++searches;
+                    SearchHit hit = new SearchHit(1, ROOT_ID, Map.of(), Map.of());
+                    hit.sourceRef(source());
+                    hit.setSeqNo(seqNo);
+                    hit.setPrimaryTerm(1L);
+                    InternalSearchResponse internalResponse = new InternalSearchResponse(
+                            new SearchHits(new SearchHit[]{hit}, new TotalHits(1, TotalHits.Relation.EQUAL_TO), 1.0f), null, null, null, false, null, 1);
+                    listener.onResponse((Response) new SearchResponse(internalResponse, null, 1, 1, 0, 1L, ShardSearchFailure.EMPTY_ARRAY,
+                            SearchResponse.Clusters.EMPTY));
+                } else if (action == GetAction.INSTANCE) {
+                    ++gets;
+                    listener.onResponse((Response) new GetResponse(new GetResult(CorrelationIndices.CORRELATION_METADATA_INDEX, ROOT_ID,
+                            seqNo, 1L, seqNo + 1, true, source(), Map.of(), Map.of())));
+                } else if (action == IndexAction.INSTANCE) {
+                    IndexRequest indexRequest = (IndexRequest) request;
+                    indexRequests.add(indexRequest);
+                    if (beforeIndex != null) {
+                        beforeIndex.run();
+                    }
+                    if (indexRequest.ifSeqNo() != seqNo || indexRequest.ifPrimaryTerm() != 1L) {
+                        listener.onFailure(new VersionConflictEngineException(new ShardId(CorrelationIndices.CORRELATION_METADATA_INDEX, "_na_", 0),
+                                ROOT_ID, "required seqNo [" + indexRequest.ifSeqNo() + "], current document has seqNo [" + seqNo + "]"));
+                        return;
+                    }
+                    Map<String, Object> source = XContentHelper.convertToMap(indexRequest.source(), false, indexRequest.getContentType()).v2();
+                    root(Long.parseLong(source.get("counter").toString()), Long.parseLong(source.get("timestamp").toString()), seqNo + 1);
+                    listener.onResponse((Response) new IndexResponse(new ShardId(CorrelationIndices.CORRELATION_METADATA_INDEX, "_na_", 0),
+                            ROOT_ID, seqNo, 1L, seqNo + 1, false));
+                } else {
+                    fail("unexpected action " + action.name());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private BytesReference source() throws IOException {
+            return BytesReference.bytes(XContentFactory.jsonBuilder().map(Map.of(
+                    "root", true,
+                    "counter", counter,
+                    "timestamp", timestamp
+            )));
+        }
+    }
+
+    /**
+     * Simulates the root document of the correlation metadata index, leases are applied with compare-and-set like a
+     * sequence number guarded write.
+     */
+    static class InMemoryLeaser implements CorrelationCounterAllocator.CounterLeaser {
+        private final ExecutorService executor;
+        private final AtomicLong counter = new AtomicLong(0L);
+        private final AtomicLong timestamp = new AtomicLong(0L);
+        private final AtomicInteger leases = new AtomicInteger(0);
+
+        InMemoryLeaser(ExecutorService executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void lease(long leaseTimestamp, long corrTimeWindow, int blockSize, ActionListener<CorrelationCounterAllocator.Block> listener) {
+            Runnable lease = () -> {
+                CorrelationCounterAllocator.Block block = null;
+                while (block == null) {
+                    synchronized (this) {
+                        long current = counter.get();
+                        long start = current == 0L || leaseTimestamp - timestamp.get() > corrTimeWindow ? COUNTER_STEP: current + COUNTER_STEP;
+                        long end = start + (blockSize - 1) * COUNTER_STEP;
+                        if (counter.compareAndSet(current, end)) {
+                            timestamp.set(Math.max(timestamp.get(), leaseTimestamp));
+                            leases.incrementAndGet();
+                            block = new CorrelationCounterAllocator.Block(start, end, leaseTimestamp);
+                        }
+                    }
+                }
+                listener.onResponse(block);
+            };
+
+            if (executor != null) {
+                executor.submit(lease);
+            } else {
+                lease.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.mockito.ArgumentCaptor;
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionType;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.bulk.BulkAction;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.test.client.NoOpNodeClient;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CorrelationHistoryWriterTests extends OpenSearchTestCase {
+
+    private static final String INDEX = ".opensearch-sap-correlation-history";
+
+    private BulkClient client;
+
+    private ThreadPool threadPool;
+
+    @Before
+    public void setUpWriter() {
+        client = new BulkClient(getTestName());
+        threadPool = mock(ThreadPool.class);
+        when(threadPool.getThreadContext()).thenReturn(new ThreadContext(Settings.EMPTY));
+    }
+
+    @After
+    public void closeClient() {
+        client.close();
+    }
+
+    public void testFlushesWhenBatchIsFull() {
+        CorrelationHistoryWriter writer = writer(3, TimeValue.timeValueMinutes(1));
+
+        List<List<BulkItemResponse>> responses = new ArrayList<>();
+        writer.write(List.of(indexRequest("a"), indexRequest("b")), ActionListener.wrap(responses::add, e -> fail()));
+        Assert.assertTrue(client.bulkRequests.isEmpty());
+
+        writer.index(indexRequest("c"), ActionListener.wrap(responses::add, e -> fail()));
+
+        Assert.assertEquals(1, client.bulkRequests.size());
+        BulkRequest bulkRequest = client.bulkRequests.get(0);
+        Assert.assertEquals(3, bulkRequest.numberOfActions());
+        Assert.assertEquals(WriteRequest.RefreshPolicy.IMMEDIATE, bulkRequest.getRefreshPolicy());
+        for (DocWriteRequest<?> request: bulkRequest.requests()) {
+            Assert.assertEquals(WriteRequest.RefreshPolicy.NONE, ((IndexRequest) request).getRefreshPolicy());
+        }
+
+        client.respond(0, Set.of());
+        Assert.assertEquals(2, responses.size());
+        // the window flush scheduled by the first write finds nothing left to write
+        verify(threadPool, times(1)).schedule(any(), any(), any());
+    }
+
+    public void testFlushesWhenWindowElapses() {
+        TimeValue window = TimeValue.timeValueMillis(100);
+        CorrelationHistoryWriter writer = writer(100, window);
+
+        List<List<BulkItemResponse>> responses = new ArrayList<>();
+        writer.index(indexRequest("a"), ActionListener.wrap(responses::add, e -> fail()));
+        writer.index(indexRequest("b"), ActionListener.wrap(responses::add, e -> fail()));
+
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        verify(threadPool, times(1)).schedule(flush.capture(), eq(window), eq(ThreadPool.Names.GENERIC));
+        Assert.assertTrue(client.bulkRequests.isEmpty());
+
+        flush.getValue().run();
+        Assert.assertEquals(1, client.bulkRequests.size());
+        Assert.assertEquals(2, client.bulkRequests.get(0).numberOfActions());
+
+        client.respond(0, Set.of());
+        Assert.assertEquals(2, responses.size());
+
+        // the next write schedules a new flush
+        writer.index(indexRequest("c"), ActionListener.wrap(responses::add, e -> fail()));
+        verify(threadPool, times(2)).schedule(any(), eq(window), eq(ThreadPool.Names.GENERIC));
+    }
+
+    public void testZeroWindowWritesRightAway() {
+        CorrelationHistoryWriter writer = writer(100, TimeValue.ZERO);
+
+        writer.index(indexRequest("a"), ActionListener.wrap(r -> {}, e -> fail()));
+
+        Assert.assertEquals(1, client.bulkRequests.size());
+        verify(threadPool, never()).schedule(any(), any(), any());
+    }
+
+    public void testItemResponsesAreSlicedPerListener() {
+        CorrelationHistoryWriter writer = writer(4, TimeValue.timeValueMinutes(1));
+
+        List<BulkItemResponse> first = new ArrayList<>();
+        List<BulkItemResponse> second = new ArrayList<>();
+        List<BulkItemResponse> third = new ArrayList<>();
+        writer.index(indexRequest("a"), ActionListener.wrap(first::addAll, e -> fail()));
+        writer.write(List.of(indexRequest("b"), indexRequest("c")), ActionListener.wrap(second::addAll, e -> fail()));
+        writer.index(indexRequest("d"), ActionListener.wrap(third::addAll, e -> fail()));
+
+        client.respond(0, Set.of());
+
+        Assert.assertEquals(List.of("a"), ids(first));
+        Assert.assertEquals(List.of("b", "c"), ids(second));
+        Assert.assertEquals(List.of("d"), ids(third));
+    }
+
+    public void testItemFailureReachesTheListenerOfItsFinding() {
+        CorrelationHistoryWriter writer = writer(3, TimeValue.timeValueMinutes(1));
+
+        List<BulkItemResponse> first = new ArrayList<>();
+        List<BulkItemResponse> second = new ArrayList<>();
+        writer.index(indexRequest("a"), ActionListener.wrap(first::addAll, e -> fail()));
+        writer.write(List.of(indexRequest("b"), indexRequest("c")), ActionListener.wrap(second::addAll, e -> fail()));
+
+        client.respond(0, Set.of(2));
+
+        Assert.assertEquals(1, first.size());
+        Assert.assertFalse(first.get(0).isFailed());
+        Assert.assertEquals(2, second.size());
+        Assert.assertFalse(second.get(0).isFailed());
+        Assert.assertTrue(second.get(1).isFailed());
+        Assert.assertEquals("c", second.get(1).getId());
+    }
+
+    public void testBulkFailureReachesEveryListener() {
+        CorrelationHistoryWriter writer = writer(2, TimeValue.timeValueMinutes(1));
+
+        List<Exception> failures = new ArrayList<>();
+        writer.index(indexRequest("a"), ActionListener.wrap(r -> fail(), failures::add));
+        writer.index(indexRequest("b"), ActionListener.wrap(r -> fail(), failures::add));
+
+        client.listeners.get(0).onFailure(new IllegalStateException("bulk failed"));
+
+        Assert.assertEquals(2, failures.size());
+    }
+
+    private CorrelationHistoryWriter writer(int batchSize, TimeValue batchWindow) {
+        Settings settings = Settings.builder()
+                .put(SecurityAnalyticsSettings.CORRELATION_BATCH_SIZE.getKey(), batchSize)
+                .put(SecurityAnalyticsSettings.CORRELATION_BATCH_WINDOW.getKey(), batchWindow)
+                .build();
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(settings,
+                Set.of(SecurityAnalyticsSettings.CORRELATION_BATCH_SIZE, SecurityAnalyticsSettings.CORRELATION_BATCH_WINDOW)));
+        return new CorrelationHistoryWriter(client, clusterService, threadPool, settings);
+    }
+
+    private static IndexRequest indexRequest(String id) {
+        return new IndexRequest(INDEX).id(id).source(Map.of("finding1", id)).setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+    }
+
+    private static List<String> ids(List<BulkItemResponse> items) {
+        List<String> ids = new ArrayList<>();
+        for (BulkItemResponse item: items) {
+            ids.add(item.getId());
+        }
+        return ids;
+    }
+
+    private static class BulkClient extends NoOpNodeClient {
+        private final List<BulkRequest> bulkRequests = new ArrayList<>();
+        private final List<ActionListener<BulkResponse>> listeners = new ArrayList<>();
+
+        BulkClient(String testName) {
+            super(testName);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <Request extends ActionRequest, Response extends ActionResponse> void doExecute(
+                ActionType<Response> action,
+                Request request,
+                ActionListener<Response> listener
+        ) {
+            Assert.assertEquals(BulkAction.INSTANCE, action);
+            bulkRequests.add((BulkRequest) request);
+            listeners.add((ActionListener<BulkResponse>) listener);
+        }
+
+        /**
+         * Answers the given bulk request, failing the items at the given positions.
+         */
+        void respond(int bulk, Set<Integer> failedItems) {
+            List<DocWriteRequest<?>> requests = bulkRequests.get(bulk).requests();
+            BulkItemResponse[] items = new BulkItemResponse[requests.size()];
+            for (int i = 0; i < items.length; ++i) {
+                String id = requests.get(i).id();
+                items[i] = failedItems.contains(i)
+                        ? new BulkItemResponse(i, DocWriteRequest.OpType.INDEX, new BulkItemResponse.Failure(INDEX, id, new IllegalStateException("failed")))
+                        : new BulkItemResponse(i, DocWriteRequest.OpType.INDEX, new IndexResponse(new ShardId(INDEX, "_na_", 0), id, 1L, 1L, 1L, true));
+            }
+            listeners.get(bulk).onResponse(new BulkResponse(items, 1L));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.junit.Assert;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.List;
+
+import static org.opensearch.securityanalytics.correlation.FindingWindowIndex.BUCKET_INTERVAL;
+import static org.opensearch.securityanalytics.correlation.FindingWindowIndex.SETTLE_DELAY;
+
+public class FindingWindowIndexTests extends OpenSearchTestCase {
+
+    private static final long BASE = 1_000L * BUCKET_INTERVAL;
+
+    public void testUnsealedWindowIsNotCovered() {
+        FindingWindowIndex index = new FindingWindowIndex();
+
+        long from = BASE + 100L;
+        Assert.assertEquals(BASE, index.coveredUntil("windows", from, from + 5 * BUCKET_INTERVAL));
+        Assert.assertTrue(index.lookup("windows", from, from + 5 * BUCKET_INTERVAL).isEmpty());
+    }
+
+    public void testSealOnlySettledBuckets() {
+        FindingWindowIndex index = new FindingWindowIndex();
+        long now = BASE + 3 * BUCKET_INTERVAL + SETTLE_DELAY;
+
+        index.seal("windows", BASE, BASE + 5 * BUCKET_INTERVAL, List.of(
+                finding("f1", BASE + 10L),
+                finding("f2", BASE + BUCKET_INTERVAL + 10L),
+                finding("f3", BASE + 4 * BUCKET_INTERVAL + 10L)
+        ), now);
+
+        Assert.assertEquals(BASE + 3 * BUCKET_INTERVAL, index.coveredUntil("windows", BASE + 5L, BASE + 5 * BUCKET_INTERVAL));
+        Assert.assertEquals(2, index.size());
+
+        List<FindingWindowIndex.IndexedFinding> findings = index.lookup("windows", BASE + 5L, BASE + 3 * BUCKET_INTERVAL - 1);
+        Assert.assertEquals(2, findings.size());
+        Assert.assertTrue(index.lookup("network", BASE, BASE + 3 * BUCKET_INTERVAL).isEmpty());
+    }
+
+    public void testPartiallySearchedBucketIsNotSealed() {
+        FindingWindowIndex index = new FindingWindowIndex();
+        long now = BASE + 10 * BUCKET_INTERVAL;
+
+        index.seal("windows", BASE + 10L, BASE + 2 * BUCKET_INTERVAL - 1, List.of(finding("f1", BASE + 20L)), now);
+
+        Assert.assertEquals(BASE, index.coveredUntil("windows", BASE + 10L, BASE + 2 * BUCKET_INTERVAL));
+        Assert.assertEquals(BASE + 2 * BUCKET_INTERVAL,
+                index.coveredUntil("windows", BASE + BUCKET_INTERVAL, BASE + 2 * BUCKET_INTERVAL));
+        Assert.assertEquals(0, index.size());
+    }
+
+    public void testEvict() {
+        FindingWindowIndex index = new FindingWindowIndex();
+        long now = BASE + 10 * BUCKET_INTERVAL;
+
+        index.seal("windows", BASE, BASE + 4 * BUCKET_INTERVAL - 1, List.of(
+                finding("f1", BASE + 10L),
+                finding("f2", BASE + 3 * BUCKET_INTERVAL + 10L)
+        ), now);
+        Assert.assertEquals(2, index.size());
+
+        index.evict(BASE + 2 * BUCKET_INTERVAL);
+        Assert.assertEquals(1, index.size());
+        Assert.assertEquals(BASE, index.coveredUntil("windows", BASE, BASE + 4 * BUCKET_INTERVAL));
+        Assert.assertEquals(BASE + 4 * BUCKET_INTERVAL,
+                index.coveredUntil("windows", BASE + 2 * BUCKET_INTERVAL, BASE + 4 * BUCKET_INTERVAL));
+    }
+
+    private static FindingWindowIndex.IndexedFinding finding(String id, long timestamp) {
+        return new FindingWindowIndex.IndexedFinding(id, "windows", timestamp, List.of("doc-" + id));
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.internal.InternalSearchResponse;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class JoinEngineTests extends OpenSearchTestCase {
+
+    public void testCompleteWindow() {
+        assertTrue(JoinEngine.isCompleteWindow(response(3, new TotalHits(3, TotalHits.Relation.EQUAL_TO), false, 0)));
+    }
+
+    public void testTruncatedWindowIsNotComplete() {
+        // the default track_total_hits reports a lower bound once the hit count reaches it
+        assertFalse(JoinEngine.isCompleteWindow(response(3, new TotalHits(3, TotalHits.Relation.GREATER_THAN_OR_EQUAL_TO), false, 0)));
+        assertFalse(JoinEngine.isCompleteWindow(response(3, new TotalHits(5, TotalHits.Relation.EQUAL_TO), false, 0)));
+        assertFalse(JoinEngine.isCompleteWindow(response(3, null, false, 0)));
+    }
+
+    public void testPartialResponseIsNotComplete() {
+        assertFalse(JoinEngine.isCompleteWindow(response(3, new TotalHits(3, TotalHits.Relation.EQUAL_TO), true, 0)));
+        assertFalse(JoinEngine.isCompleteWindow(response(3, new TotalHits(3, TotalHits.Relation.EQUAL_TO), false, 1)));
+    }
+
+    private static SearchResponse response(int hitCount, TotalHits totalHits, boolean timedOut, int failedShards) {
+        SearchHit[] hits = new SearchHit[hitCount];
+        for (int i = 0; i < hitCount; ++i) {
+            hits[i] = new SearchHit(i);
+        }
+        InternalSearchResponse internalResponse = new InternalSearchResponse(new SearchHits(hits, totalHits, 1.0f), null, null, null,
+                timedOut, null, 1);
+        ShardSearchFailure[] shardFailures = new ShardSearchFailure[failedShards];
+        for (int i = 0; i < failedShards; ++i) {
+            shardFailures[i] = new ShardSearchFailure(new IllegalStateException("failed"));
+        }
+        return new SearchResponse(internalResponse, null, 2, 2 - failedShards, 0, 1L, shardFailures, SearchResponse.Clusters.EMPTY);
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.index;
+
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.junit.Assert;
+import org.opensearch.index.mapper.MapperParsingException;
+import org.opensearch.securityanalytics.correlation.CorrelationConstants;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.Map;
+
+public class CorrelationParamsContextTests extends OpenSearchTestCase {
+
+    public void testParseEncoding() {
+        CorrelationParamsContext context = CorrelationParamsContext.parse(Map.of(
+                CorrelationParamsContext.VECTOR_SIMILARITY_FUNCTION, "EUCLIDEAN",
+                CorrelationParamsContext.PARAMETERS, Map.of(
+                        CorrelationConstants.METHOD_PARAMETER_M, 16,
+                        CorrelationConstants.METHOD_PARAMETER_ENCODING, CorrelationConstants.ENCODING_INT8
+                )
+        ));
+
+        Assert.assertEquals(VectorSimilarityFunction.EUCLIDEAN, context.getSimilarityFunction());
+        Assert.assertEquals(CorrelationConstants.ENCODING_INT8, context.getParameters().get(CorrelationConstants.METHOD_PARAMETER_ENCODING));
+    }
+
+    public void testParseInvalidEncoding() {
+        expectThrows(MapperParsingException.class, () -> CorrelationParamsContext.parse(Map.of(
+                CorrelationParamsContext.PARAMETERS, Map.of(CorrelationConstants.METHOD_PARAMETER_ENCODING, "binary")
+        )));
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.index.codec;
+
+import org.apache.lucene.codecs.Codec;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.DocValuesType;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.store.Directory;
+import org.junit.Assert;
+import org.opensearch.securityanalytics.correlation.index.VectorField;
+import org.opensearch.securityanalytics.correlation.index.codec.util.CorrelationVectorAsArraySerializer;
+import org.opensearch.securityanalytics.correlation.index.codec.util.CorrelationVectorAsLittleEndianSerializer;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+
+public class CorrelationCodecVersionTests extends OpenSearchTestCase {
+
+    public void testCodecsAreRegisteredForReads() {
+        for (CorrelationCodecVersion version: CorrelationCodecVersion.values()) {
+            Assert.assertEquals(version.getCodecName(), Codec.forName(version.getCodecName()).getName());
+            Assert.assertEquals(version, CorrelationCodecVersion.fromCodecName(version.getCodecName()).orElseThrow());
+        }
+        Assert.assertTrue(CorrelationCodecVersion.fromCodecName("Lucene99").isEmpty());
+    }
+
+    public void testSerializerIsResolvedFromSegmentCodec() throws IOException {
+        assertVectorRoundTrip(CorrelationCodecVersion.V_9_9_0, CorrelationVectorAsArraySerializer.class);
+        assertVectorRoundTrip(CorrelationCodecVersion.V_9_9_1, CorrelationVectorAsLittleEndianSerializer.class);
+    }
+
+    private void assertVectorRoundTrip(CorrelationCodecVersion version, Class<?> serializerClass) throws IOException {
+        float[] vector = new float[]{randomFloat(), randomFloat(), randomFloat()};
+        FieldType fieldType = new FieldType();
+        fieldType.setDocValuesType(DocValuesType.BINARY);
+        fieldType.freeze();
+
+        try (Directory directory = newDirectory()) {
+            try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig().setCodec(version.getDefaultCorrelationCodecSupplier().get()))) {
+                Document document = new Document();
+                document.add(new VectorField("vector", vector, fieldType, version.getVectorSerializer()));
+                writer.addDocument(document);
+            }
+
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                LeafReader leafReader = reader.leaves().get(0).reader();
+                Assert.assertEquals(serializerClass, CorrelationCodecVersion.vectorSerializer(leafReader).getClass());
+
+                BinaryDocValues docValues = leafReader.getBinaryDocValues("vector");
+                Assert.assertEquals(0, docValues.nextDoc());
+                Assert.assertArrayEquals(vector, CorrelationCodecVersion.vectorSerializer(leafReader).byteToFloatArray(docValues.binaryValue()), 0.0f);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.index.codec.util;
+
+import org.apache.lucene.util.BytesRef;
+import org.junit.Assert;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.ByteArrayInputStream;
+
+public class CorrelationVectorAsLittleEndianSerializerTests extends OpenSearchTestCase {
+
+    public void testRoundTrip() {
+        CorrelationVectorSerializer serializer = new CorrelationVectorAsLittleEndianSerializer();
+        float[] vector = new float[]{150.0f, 100.0f, 86400.0f};
+
+        byte[] bytes = serializer.floatToByteArray(vector);
+        Assert.assertEquals(vector.length * Float.BYTES, bytes.length);
+        Assert.assertArrayEquals(vector, serializer.byteToFloatArray(new ByteArrayInputStream(bytes)), 0.0f);
+    }
+
+    public void testReadsFromBytesRefSlice() {
+        CorrelationVectorSerializer serializer = new CorrelationVectorAsLittleEndianSerializer();
+        float[] vector = new float[]{randomFloat(), randomFloat(), randomFloat()};
+        byte[] bytes = serializer.floatToByteArray(vector);
+
+        byte[] padded = new byte[bytes.length + 7];
+        System.arraycopy(bytes, 0, padded, 3, bytes.length);
+        Assert.assertArrayEquals(vector, serializer.byteToFloatArray(new BytesRef(padded, 3, bytes.length)), 0.0f);
+    }
+
+    public void testReadsLegacyFormat() {
+        float[] vector = new float[]{50.0f, 0.0f, 1.0f};
+        byte[] legacyBytes = new CorrelationVectorAsArraySerializer().floatToByteArray(vector);
+
+        Assert.assertTrue(CorrelationVectorAsLittleEndianSerializer.isLegacyFormat(new BytesRef(legacyBytes)));
+        Assert.assertArrayEquals(vector, new CorrelationVectorAsLittleEndianSerializer().byteToFloatArray(new BytesRef(legacyBytes)), 0.0f);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.index.query;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.KnnFloatVectorField;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.junit.Assert;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class CorrelationKnnVectorQueryTests extends OpenSearchTestCase {
+
+    public void testExactSearchReturnsTrueNearestNeighboursOfFilteredDocs() throws Exception {
+        int numDocs = 500;
+        long from = 100L;
+        long to = 300L;
+        float[] target = new float[]{randomFloat(), randomFloat(), randomFloat()};
+
+        List<float[]> vectors = new ArrayList<>();
+        try (Directory directory = newDirectory()) {
+            try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+                for (int i = 0; i < numDocs; ++i) {
+                    float[] vector = new float[]{randomFloat(), randomFloat(), randomFloat()};
+                    vectors.add(vector);
+
+                    Document document = new Document();
+                    document.add(new KnnFloatVectorField("corr_vector", vector, VectorSimilarityFunction.EUCLIDEAN));
+                    document.add(new LongPoint("timestamp", i));
+                    document.add(new StoredField("id", i));
+                    writer.addDocument(document);
+                }
+            }
+
+            try (DirectoryReader reader = DirectoryReader.open(directory)) {
+                IndexSearcher searcher = newSearcher(reader);
+                Query filter = LongPoint.newRangeQuery("timestamp", from, to);
+                int k = 10;
+
+                TopDocs topDocs = searcher.search(new CorrelationKnnVectorQuery("corr_vector", target, k, filter, Integer.MAX_VALUE), k);
+
+                List<Integer> expected = new ArrayList<>();
+                for (int i = (int) from; i <= to; ++i) {
+                    expected.add(i);
+                }
+                expected.sort(Comparator.comparingDouble(i -> VectorSimilarityFunction.EUCLIDEAN.compare(target, vectors.get(i)) * -1.0));
+
+                Set<Integer> actual = new HashSet<>();
+                for (ScoreDoc scoreDoc: topDocs.scoreDocs) {
+                    actual.add(searcher.storedFields().document(scoreDoc.doc).getField("id").numericValue().intValue());
+                }
+                Assert.assertEquals(new HashSet<>(expected.subList(0, k)), actual);
+            }
+        }
+    }
+
+    public void testEqualsConsidersThreshold() {
+        Query filter = LongPoint.newRangeQuery("timestamp", 0L, 10L);
+        float[] target = new float[]{1.0f, 2.0f, 3.0f};
+
+        Assert.assertEquals(new CorrelationKnnVectorQuery("corr_vector", target, 5, filter, 10),
+                new CorrelationKnnVectorQuery("corr_vector", target, 5, filter, 10));
+        Assert.assertNotEquals(new CorrelationKnnVectorQuery("corr_vector", target, 5, filter, 10),
+                new CorrelationKnnVectorQuery("corr_vector", target, 5, filter, Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.correlation.index.query;
+
+import org.junit.Assert;
+import org.opensearch.Version;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+
+public class CorrelationQueryBuilderTests extends OpenSearchTestCase {
+
+    public void testMethodIsSerialized() throws IOException {
+        CorrelationQueryBuilder queryBuilder = new CorrelationQueryBuilder("vector", new float[]{1.0f, 2.0f, 3.0f}, 5, null,
+                CorrelationQueryBuilder.Method.EXACT);
+
+        Assert.assertEquals(queryBuilder, roundTrip(queryBuilder, Version.CURRENT));
+        Assert.assertEquals(queryBuilder, roundTrip(queryBuilder, CorrelationQueryBuilder.METHOD_VERSION));
+    }
+
+    public void testMethodIsNotSentToOlderNodes() throws IOException {
+        CorrelationQueryBuilder queryBuilder = new CorrelationQueryBuilder("vector", new float[]{1.0f, 2.0f, 3.0f}, 5, null,
+                CorrelationQueryBuilder.Method.EXACT);
+
+        CorrelationQueryBuilder read = roundTrip(queryBuilder, Version.V_2_12_0);
+        Assert.assertEquals(CorrelationQueryBuilder.Method.APPROXIMATE, read.getMethod());
+        Assert.assertEquals(queryBuilder.getK(), read.getK());
+        Assert.assertArrayEquals((float[]) queryBuilder.vector(), (float[]) read.vector(), 0.0f);
+    }
+
+    private static CorrelationQueryBuilder roundTrip(CorrelationQueryBuilder queryBuilder, Version version) throws IOException {
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            out.setVersion(version);
+            queryBuilder.writeTo(out);
+            try (StreamInput in = out.bytes().streamInput()) {
+                in.setVersion(version);
+                return new CorrelationQueryBuilder(in);
+            }
+        }
+    }
+}
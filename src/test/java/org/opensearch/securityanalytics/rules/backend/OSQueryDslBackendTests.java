@@ -0,0 +1,145 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.backend;
+
+import org.junit.Assert;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.ExistsQueryBuilder;
+import org.opensearch.index.query.MatchPhraseQueryBuilder;
+import org.opensearch.index.query.MultiMatchQueryBuilder;
+import org.opensearch.index.query.RangeQueryBuilder;
+import org.opensearch.index.query.TermQueryBuilder;
+import org.opensearch.index.query.WildcardQueryBuilder;
+import org.opensearch.securityanalytics.rules.backend.OSQueryBackend.AggregationQueries;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+public class OSQueryDslBackendTests extends OpenSearchTestCase {
+
+    private static Map<String, String> testFieldMapping = Map.of(
+        "fieldB", "mappedB",
+        "fieldA1", "mappedA"
+    );
+
+    public void testBackendPipeline() throws IOException, SigmaError {
+        List<Object> queries = testBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA: value A\n" +
+                "                    fieldB: valueB\n" +
+                "                condition: sel"), false));
+
+        BoolQueryBuilder query = (BoolQueryBuilder) queries.get(0);
+        Assert.assertEquals(2, query.must().size());
+
+        MatchPhraseQueryBuilder fieldA = (MatchPhraseQueryBuilder) query.must().get(0);
+        Assert.assertEquals("fieldA", fieldA.fieldName());
+        Assert.assertEquals("value A", fieldA.value());
+
+        MatchPhraseQueryBuilder fieldB = (MatchPhraseQueryBuilder) query.must().get(1);
+        Assert.assertEquals("mappedB", fieldB.fieldName());
+        Assert.assertEquals("valueB", fieldB.value());
+    }
+
+    public void testConvertValueStrWildcard() throws IOException, SigmaError {
+        List<Object> queries = testBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA1|endswith: \"va*lue?\"\n" +
+                "                condition: sel"), false));
+
+        WildcardQueryBuilder query = (WildcardQueryBuilder) queries.get(0);
+        Assert.assertEquals("mappedA", query.fieldName());
+        Assert.assertEquals("*va*lue?", query.value());
+    }
+
+    public void testConvertValueStrEscapedWildcard() throws IOException, SigmaError {
+        List<Object> queries = testBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA1: \"va\\\\*lue\\\\?\"\n" +
+                "                keywords:\n" +
+                "                    - \"key\\\\*word\"\n" +
+                "                condition: sel and keywords"), false));
+
+        BoolQueryBuilder query = (BoolQueryBuilder) queries.get(0);
+
+        // escaped wildcards are matched literally, phrase queries do not interpret escapes
+        MatchPhraseQueryBuilder field = (MatchPhraseQueryBuilder) query.must().get(0);
+        Assert.assertEquals("mappedA", field.fieldName());
+        Assert.assertEquals("va*lue?", field.value());
+
+        MultiMatchQueryBuilder keyword = (MultiMatchQueryBuilder) query.must().get(1);
+        Assert.assertEquals("key*word", keyword.value());
+    }
+
+    public void testConvertNotNull() throws IOException, SigmaError {
+        List<Object> queries = testBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA1: null\n" +
+                "                sel2:\n" +
+                "                    fieldD: true\n" +
+                "                condition: sel and not sel2"), false));
+
+        BoolQueryBuilder query = (BoolQueryBuilder) queries.get(0);
+        Assert.assertEquals(2, query.must().size());
+
+        BoolQueryBuilder isNull = (BoolQueryBuilder) query.must().get(0);
+        Assert.assertEquals("mappedA", ((ExistsQueryBuilder) isNull.mustNot().get(0)).fieldName());
+
+        BoolQueryBuilder not = (BoolQueryBuilder) query.must().get(1);
+        TermQueryBuilder fieldD = (TermQueryBuilder) not.mustNot().get(0);
+        Assert.assertEquals("fieldD", fieldD.fieldName());
+        Assert.assertEquals(true, fieldD.value());
+    }
+
+    public void testConvertCompare() throws IOException, SigmaError {
+        List<Object> queries = testBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldC|gte: 123\n" +
+                "                condition: sel"), false));
+
+        RangeQueryBuilder range = (RangeQueryBuilder) queries.get(0);
+        Assert.assertEquals("fieldC", range.fieldName());
+        Assert.assertEquals(123, range.from());
+        Assert.assertTrue(range.includeLower());
+    }
+
+    public void testConvertAggregation() throws IOException, SigmaError {
+        List<Object> queries = testBackend().convertRule(SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    fieldA: 123\n" +
+                "                condition: sel | count(*) by fieldB > 1"), true));
+
+        Assert.assertEquals(2, queries.size());
+        TermQueryBuilder query = (TermQueryBuilder) queries.get(0);
+        Assert.assertEquals("fieldA", query.fieldName());
+        Assert.assertEquals(123, query.value());
+
+        AggregationQueries aggregationQueries = (AggregationQueries) queries.get(1);
+        Assert.assertEquals("{\"result_agg\":{\"terms\":{\"field\":\"mappedB\"}}}", aggregationQueries.getAggQuery());
+    }
+
+    private OSQueryDslBackend testBackend() throws IOException {
+        return new OSQueryDslBackend(testFieldMapping, false, true);
+    }
+
+    private static String rule(String detection) {
+        return "            title: Test\n" +
+                "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "            status: test\n" +
+                "            level: critical\n" +
+                "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                "            author: Florian Roth\n" +
+                "            date: 2017/05/15\n" +
+                "            logsource:\n" +
+                "                category: test_category\n" +
+                "                product: test_product\n" +
+                "            detection:\n" +
+                detection;
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.engine;
+
+import org.junit.Assert;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.BitSet;
+
+public class LiteralAutomatonTests extends OpenSearchTestCase {
+
+    public void testMatchOverlappingLiterals() {
+        LiteralAutomaton automaton = new LiteralAutomaton();
+        int he = automaton.add(LiteralAutomaton.Kind.CONTAINS, "he");
+        int she = automaton.add(LiteralAutomaton.Kind.CONTAINS, "SHE");
+        int his = automaton.add(LiteralAutomaton.Kind.CONTAINS, "his");
+        int hers = automaton.add(LiteralAutomaton.Kind.CONTAINS, "hers");
+        Assert.assertEquals(she, automaton.add(LiteralAutomaton.Kind.CONTAINS, "she"));
+        automaton.build();
+
+        BitSet matches = new BitSet();
+        automaton.match("uShers", matches);
+        Assert.assertTrue(matches.get(he));
+        Assert.assertTrue(matches.get(she));
+        Assert.assertTrue(matches.get(hers));
+        Assert.assertFalse(matches.get(his));
+    }
+
+    public void testMatchPrefixAndSuffix() {
+        LiteralAutomaton automaton = new LiteralAutomaton();
+        int prefix = automaton.add(LiteralAutomaton.Kind.PREFIX, "c:\\windows");
+        int suffix = automaton.add(LiteralAutomaton.Kind.SUFFIX, "\\cmd.exe");
+        int notSuffix = automaton.add(LiteralAutomaton.Kind.SUFFIX, "\\windows");
+        int contains = automaton.add(LiteralAutomaton.Kind.CONTAINS, "\\windows");
+        automaton.build();
+
+        BitSet matches = new BitSet();
+        automaton.match("C:\\Windows\\System32\\CMD.exe", matches);
+        Assert.assertTrue(matches.get(prefix));
+        Assert.assertTrue(matches.get(suffix));
+        Assert.assertFalse(matches.get(notSuffix));
+        Assert.assertTrue(matches.get(contains));
+
+        matches.clear();
+        automaton.match("D:\\C:\\Windows\\cmd.exe.bak", matches);
+        Assert.assertFalse(matches.get(prefix));
+        Assert.assertFalse(matches.get(suffix));
+        Assert.assertTrue(matches.get(contains));
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.engine;
+
+import org.junit.Assert;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+public class RuleSetCompilerTests extends OpenSearchTestCase {
+
+    public void testSharedPredicatesAreCompiledOnce() throws SigmaError {
+        CompiledRuleSet ruleSet = new RuleSetCompiler(Map.of("EventID", "event_uid"))
+                .addRule("rule1", SigmaRule.fromYaml(rule(
+                        "                sel:\n" +
+                        "                    EventID: 4688\n" +
+                        "                    Image|endswith: '\\cmd.exe'\n" +
+                        "                condition: sel"), false))
+                .addRule("rule2", SigmaRule.fromYaml(rule(
+                        "                sel:\n" +
+                        "                    EventID: 4688\n" +
+                        "                    Image|endswith: '\\cmd.exe'\n" +
+                        "                filter:\n" +
+                        "                    User: SYSTEM\n" +
+                        "                condition: sel and not filter"), false))
+                .addRule("rule3", SigmaRule.fromYaml(rule(
+                        "                sel:\n" +
+                        "                    EventID: 4624\n" +
+                        "                condition: sel"), false))
+                .compile();
+
+        Assert.assertEquals(3, ruleSet.getRuleCount());
+        Assert.assertEquals(4, ruleSet.getPredicateCount());
+
+        Assert.assertEquals(List.of("rule1", "rule2"), ruleSet.evaluate(Map.of(
+                "event_uid", 4688,
+                "Image", "C:\\Windows\\System32\\CMD.EXE",
+                "User", "admin"
+        )));
+        Assert.assertEquals(List.of("rule1"), ruleSet.evaluate(Map.of(
+                "event_uid", "4688",
+                "Image", "C:\\Windows\\System32\\cmd.exe",
+                "User", "system"
+        )));
+        Assert.assertEquals(List.of("rule3"), ruleSet.evaluate(Map.of(
+                "event_uid", 4624,
+                "Image", "C:\\Windows\\System32\\cmd.exe"
+        )));
+    }
+
+    public void testSharedNodesAreEvaluatedOncePerDocument() throws SigmaError {
+        RuleSetCompiler compiler = new RuleSetCompiler(Map.of());
+        for (int i = 0; i < 10; ++i) {
+            compiler.addRule("rule" + i, SigmaRule.fromYaml(rule(
+                    "                sel:\n" +
+                    "                    EventID: 4688\n" +
+                    "                    CommandLine|contains: 'whoami'\n" +
+                    "                other:\n" +
+                    "                    ParentImage: 'parent" + i + "'\n" +
+                    "                condition: sel and other"), false));
+        }
+        CompiledRuleSet ruleSet = compiler.compile();
+        Assert.assertEquals(12, ruleSet.getPredicateCount());
+
+        EvaluationContext context = new EvaluationContext(Map.of(
+                "EventID", 4688,
+                "CommandLine", "cmd /c whoami /all",
+                "ParentImage", "parent3"
+        ), ruleSet.getNodeCount());
+        Assert.assertEquals(List.of("rule3"), ruleSet.evaluate(context));
+        // without sharing the 10 rules would need 10 * (3 predicates + 1 selection) nodes
+        Assert.assertTrue(ruleSet.getNodeCount() <= 12 + 1 + 10);
+        Assert.assertEquals(ruleSet.getNodeCount(), context.evaluatedNodes());
+    }
+
+    public void testNestedFieldsAndNull() throws SigmaError {
+        CompiledRuleSet ruleSet = new RuleSetCompiler(Map.of())
+                .addRule("rule1", SigmaRule.fromYaml(rule(
+                        "                sel:\n" +
+                        "                    process.name: 'powershell*'\n" +
+                        "                    process.parent: null\n" +
+                        "                condition: sel"), false))
+                .compile();
+
+        Assert.assertEquals(List.of("rule1"), ruleSet.evaluate(Map.of("process", Map.of("name", "PowerShell.exe"))));
+        Assert.assertEquals(List.of(), ruleSet.evaluate(Map.of("process", Map.of("name", "PowerShell.exe", "parent", "explorer.exe"))));
+        Assert.assertEquals(List.of("rule1"), ruleSet.evaluate(Map.of("process.name", List.of("cmd.exe", "powershell_ise.exe"))));
+    }
+
+    public void testEscapedWildcardsMatchLiterally() throws SigmaError {
+        CompiledRuleSet ruleSet = new RuleSetCompiler(Map.of())
+                .addRule("rule1", SigmaRule.fromYaml(rule(
+                        "                sel:\n" +
+                        "                    FileName: 'report\\*\\?'\n" +
+                        "                condition: sel"), false))
+                .compile();
+
+        Assert.assertEquals(List.of("rule1"), ruleSet.evaluate(Map.of("FileName", "REPORT*?")));
+        Assert.assertEquals(List.of(), ruleSet.evaluate(Map.of("FileName", "report\\*\\?")));
+        Assert.assertEquals(List.of(), ruleSet.evaluate(Map.of("FileName", "report.txt")));
+    }
+
+    public void testContainsLiteralsShareAutomaton() throws SigmaError {
+        RuleSetCompiler compiler = new RuleSetCompiler(Map.of());
+        compiler.addRule("whoami", SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    CommandLine|contains: 'whoami'\n" +
+                "                condition: sel"), false));
+        compiler.addRule("powershell", SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    CommandLine|startswith: 'powershell'\n" +
+                "                    CommandLine|contains|all:\n" +
+                "                        - ' -enc '\n" +
+                "                        - ' -nop'\n" +
+                "                condition: sel"), false));
+        compiler.addRule("cmd", SigmaRule.fromYaml(rule(
+                "                sel:\n" +
+                "                    CommandLine|endswith: '.bat'\n" +
+                "                condition: sel"), false));
+        CompiledRuleSet ruleSet = compiler.compile();
+
+        Assert.assertEquals(List.of("whoami", "powershell"), ruleSet.evaluate(Map.of(
+                "CommandLine", List.of("notepad.exe", "PowerShell -NoP -Enc d2hvYW1p; whoami")
+        )));
+        Assert.assertEquals(List.of("cmd"), ruleSet.evaluate(Map.of(
+                "CommandLine", "C:\\temp\\RUN.BAT"
+        )));
+        Assert.assertEquals(List.of(), ruleSet.evaluate(Map.of(
+                "CommandLine", "cmd /c run.bat -enc -nop"
+        )));
+    }
+
+    public void testEvaluateFromParser() throws IOException, SigmaError {
+        CompiledRuleSet ruleSet = new RuleSetCompiler(Map.of("EventID", "event.uid"))
+                .addRule("rule1", SigmaRule.fromYaml(rule(
+                        "                sel:\n" +
+                        "                    EventID: 4688\n" +
+                        "                    process.args|contains: 'whoami'\n" +
+                        "                condition: sel"), false))
+                .addRule("rule2", SigmaRule.fromYaml(rule(
+                        "                sel:\n" +
+                        "                    User: null\n" +
+                        "                condition: sel"), false))
+                .compile();
+
+        String document = "{\"event\":{\"uid\":4688},\"process\":{\"args\":[\"cmd\",\"/c whoami\"]},\"User\":null}";
+        try (XContentParser xcp = createParser(JsonXContent.jsonXContent, document)) {
+            EvaluationContext context = EvaluationContext.fromParser(xcp, ruleSet.getNodeCount());
+            Assert.assertEquals(List.of("rule1", "rule2"), ruleSet.evaluate(context));
+        }
+    }
+
+    private static String rule(String detection) {
+        return "            title: Test\n" +
+                "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "            status: test\n" +
+                "            level: critical\n" +
+                "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                "            author: Florian Roth\n" +
+                "            date: 2017/05/15\n" +
+                "            logsource:\n" +
+                "                category: test_category\n" +
+                "                product: test_product\n" +
+                "            detection:\n" +
+                detection;
+    }
+}
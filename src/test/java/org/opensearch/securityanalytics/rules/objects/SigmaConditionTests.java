@@ -0,0 +1,69 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.rules.objects;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Assert;
+import org.opensearch.securityanalytics.rules.aggregation.AggregationItem;
+import org.opensearch.securityanalytics.rules.condition.ConditionAND;
+import org.opensearch.securityanalytics.rules.condition.ConditionFieldEqualsValueExpression;
+import org.opensearch.securityanalytics.rules.condition.ConditionItem;
+import org.opensearch.securityanalytics.rules.condition.ConditionNOT;
+import org.opensearch.securityanalytics.rules.condition.ConditionValueExpression;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.rules.utils.AnyOneOf;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class SigmaConditionTests extends OpenSearchTestCase {
+
+    public void testSharedConditionResolvesOwnDetections() throws SigmaError {
+        SigmaCondition first = SigmaRule.fromYaml(rule("fieldA", "sel and not filter"), false).getDetection().getParsedCondition().get(0);
+        SigmaCondition second = SigmaRule.fromYaml(rule("fieldB", "sel and not filter"), false).getDetection().getParsedCondition().get(0);
+
+        Assert.assertEquals("fieldA", selectionField(first.parsed().getLeft()));
+        Assert.assertEquals("fieldB", selectionField(second.parsed().getLeft()));
+    }
+
+    public void testParsedItemsAreBuiltOnce() throws SigmaError {
+        SigmaCondition condition = SigmaRule.fromYaml(rule("fieldA", "sel and not filter | count(*) by fieldC > 1"), true)
+                .getDetection().getParsedCondition().get(0);
+
+        Pair<ConditionItem, AggregationItem> parsedItems = condition.parsed();
+        Assert.assertNotNull(parsedItems.getRight());
+        Assert.assertSame(parsedItems, condition.parsed());
+    }
+
+    private static String selectionField(ConditionItem item) {
+        ConditionAND and = (ConditionAND) item;
+        Assert.assertTrue(and.getArgs().get(1).getLeft().getLeft() instanceof ConditionNOT);
+        return firstField(and.getArgs().get(0).getLeft());
+    }
+
+    private static String firstField(AnyOneOf<ConditionItem, ConditionFieldEqualsValueExpression, ConditionValueExpression> arg) {
+        if (arg.isMiddle()) {
+            return arg.getMiddle().getField();
+        }
+        return firstField(arg.getLeft().getArgs().get(0).getLeft());
+    }
+
+    private static String rule(String field, String condition) {
+        return "title: Test\n" +
+                "id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "status: test\n" +
+                "level: critical\n" +
+                "description: Detects QuarksPwDump clearing access history in hive\n" +
+                "author: Florian Roth\n" +
+                "date: 2017/05/15\n" +
+                "logsource:\n" +
+                "    category: test_category\n" +
+                "    product: test_product\n" +
+                "detection:\n" +
+                "    sel:\n" +
+                "        " + field + ": value\n" +
+                "    filter:\n" +
+                "        fieldD: other\n" +
+                "    condition: " + condition + "\n";
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.securityanalytics.threatIntel;
+
+import org.apache.lucene.search.IndexSearcher;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.common.CheckedBiConsumer;
+import org.opensearch.common.lease.Releasable;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.LogType;
+import org.opensearch.securityanalytics.model.ThreatIntelFeedData;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.tasks.TaskId;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.opensearch.securityanalytics.TestHelpers.randomDetector;
+
+public class DetectorThreatIntelServiceTests extends ThreatIntelTestCase {
+
+    public void testUseFeedDataBuildsQueriesOncePerLogType() {
+        List<ThreatIntelFeedData> feedData = List.of(
+                new ThreatIntelFeedData("ip", "1.2.3.4", "feed", Instant.now()),
+                new ThreatIntelFeedData("ip", "5.6.7.8", "feed", Instant.now())
+        );
+        List<LogType.IocFields> iocFields = List.of(new LogType.IocFields("ip", List.of("src_ip", "dst_ip")));
+        Detector detector = randomDetector(null, "test_windows", null, List.of(), List.of(), null, null, null, null, true);
+        Detector otherDetector = randomDetector(null, "test_windows", null, List.of(), List.of(), null, null, null, null, true);
+
+        List<List<DocLevelQuery>> results = new ArrayList<>();
+        TaskId refreshTaskId = new TaskId("node", 1);
+        try (Releasable ignored = detectorThreatIntelService.useFeedData(refreshTaskId, FeedIocs.of(feedData))) {
+            detectorThreatIntelService.createDocLevelQueryFromThreatIntel(iocFields, detector, refreshTaskId, ActionListener.wrap(results::add, e -> fail()));
+            detectorThreatIntelService.createDocLevelQueryFromThreatIntel(iocFields, otherDetector, refreshTaskId, ActionListener.wrap(results::add, e -> fail()));
+        }
+
+        assertEquals(2, results.size());
+        assertEquals(2, results.get(0).size());
+        assertSame(results.get(0), results.get(1));
+        assertTrue(results.get(0).get(0).getQuery().contains("1.2.3.4"));
+        verifyNoInteractions(threatIntelFeedDataService);
+    }
+
+    public void testQueriesOnlyContainIocsOfTheFieldType() {
+        List<ThreatIntelFeedData> feedData = List.of(
+                new ThreatIntelFeedData("ip", "2001:db8::1", "feed", Instant.now()),
+                new ThreatIntelFeedData("domain", "example.com", "feed", Instant.now())
+        );
+        List<LogType.IocFields> iocFields = List.of(
+                new LogType.IocFields("ip", List.of("src_ip")),
+                new LogType.IocFields("domain", List.of("dns.question.name"))
+        );
+        Detector detector = randomDetector(null, "test_windows", null, List.of(), List.of(), null, null, null, null, true);
+
+        List<DocLevelQuery> queries = detectorThreatIntelService.createDocLevelQueriesFromThreatIntelList(iocFields, FeedIocs.of(feedData), detector);
+
+        assertEquals(2, queries.size());
+        Set<String> queryStrings = queries.stream().map(DocLevelQuery::getQuery).collect(Collectors.toSet());
+        assertEquals(Set.of("src_ip:(2001\\:db8\\:\\:1)", "dns.question.name:(example.com)"), queryStrings);
+    }
+
+    public void testQueriesArePerFeed() {
+        List<ThreatIntelFeedData> feedData = List.of(
+                new ThreatIntelFeedData("ip", "1.2.3.4", "feed2", Instant.now()),
+                new ThreatIntelFeedData("ip", "5.6.7.8", "feed1", Instant.now()),
+                new ThreatIntelFeedData("ip", "9.9.9.9", "feed2", Instant.now())
+        );
+        List<LogType.IocFields> iocFields = List.of(new LogType.IocFields("ip", List.of("src_ip")));
+        Detector detector = randomDetector(null, "test_windows", null, List.of(), List.of(), null, null, null, null, true);
+
+        List<DocLevelQuery> queries = detectorThreatIntelService.createDocLevelQueriesFromThreatIntelList(iocFields, FeedIocs.of(feedData), detector);
+
+        assertEquals(2, queries.size());
+        assertEquals("feed1", queries.get(0).getName());
+        assertEquals("src_ip:(5.6.7.8)", queries.get(0).getQuery());
+        assertTrue(queries.get(0).getTags().contains("feed_name:feed1"));
+        assertEquals("feed2", queries.get(1).getName());
+        assertEquals("src_ip:(1.2.3.4 OR 9.9.9.9)", queries.get(1).getQuery());
+        assertTrue(queries.get(1).getTags().contains("feed_name:feed2"));
+    }
+
+    public void testQueriesAreSplitAtMaxClauseCount() {
+        int maxClauseCount = IndexSearcher.getMaxClauseCount();
+        IndexSearcher.setMaxClauseCount(10);
+        try {
+            List<ThreatIntelFeedData> feedData = new ArrayList<>();
+            for (int i = 0; i < 25; ++i) {
+                feedData.add(new ThreatIntelFeedData("ip", "10.0.0." + i, "feed", Instant.now()));
+            }
+            List<LogType.IocFields> iocFields = List.of(new LogType.IocFields("ip", List.of("src_ip", "dst_ip")));
+            Detector detector = randomDetector(null, "test_windows", null, List.of(), List.of(), null, null, null, null, true);
+
+            List<DocLevelQuery> queries = detectorThreatIntelService.createDocLevelQueriesFromThreatIntelList(iocFields, FeedIocs.of(feedData), detector);
+
+            assertEquals(6, queries.size());
+            int iocs = 0;
+            for (DocLevelQuery query: queries) {
+                int queryIocs = query.getQuery().split(" OR ").length;
+                assertTrue(queryIocs <= 10);
+                iocs += queryIocs;
+            }
+            assertEquals(50, iocs);
+        } finally {
+            IndexSearcher.setMaxClauseCount(maxClauseCount);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testQueriesFromStreamedFeedDataPages() {
+        doAnswer(invocation -> {
+            Object feedIocs = ((Supplier<Object>) invocation.getArgument(0)).get();
+            CheckedBiConsumer<Object, List<ThreatIntelFeedData>, Exception> pageConsumer = invocation.getArgument(1);
+            ActionListener<Object> listener = invocation.getArgument(2);
+            pageConsumer.accept(feedIocs, List.of(new ThreatIntelFeedData("ip", "1.2.3.4", "feed", Instant.now())));
+            pageConsumer.accept(feedIocs, List.of(new ThreatIntelFeedData("ip", "5.6.7.8", "feed", Instant.now())));
+            listener.onResponse(feedIocs);
+            return null;
+        }).when(threatIntelFeedDataService).streamThreatIntelFeedData(any(), any(), any());
+        List<LogType.IocFields> iocFields = List.of(new LogType.IocFields("ip", List.of("src_ip")));
+        Detector detector = randomDetector(null, "test_windows", null, List.of(), List.of(), null, null, null, null, true);
+
+        List<List<DocLevelQuery>> results = new ArrayList<>();
+        // feed data used by a refresh is not seen by the updates of detectors outside of it
+        try (Releasable ignored = detectorThreatIntelService.useFeedData(new TaskId("node", 1),
+                FeedIocs.of(List.of(new ThreatIntelFeedData("ip", "9.9.9.9", "feed", Instant.now()))))) {
+            detectorThreatIntelService.createDocLevelQueryFromThreatIntel(iocFields, detector, TaskId.EMPTY_TASK_ID, ActionListener.wrap(results::add, e -> fail()));
+        }
+
+        assertEquals(1, results.size());
+        assertEquals(1, results.get(0).size());
+        assertEquals("src_ip:(1.2.3.4 OR 5.6.7.8)", results.get(0).get(0).getQuery());
+    }
+
+    public void testFeedsExceedingMaxIocsAreRejected() {
+        clusterSettings.applySettings(Settings.builder().put(SecurityAnalyticsSettings.MAX_DOC_LEVEL_QUERY_IOCS.getKey(), 3).build());
+        List<ThreatIntelFeedData> feedData = new ArrayList<>();
+        // no feed exceeds the limit on its own, the IOCs of all the feeds count
+        for (int i = 0; i < 5; ++i) {
+            feedData.add(new ThreatIntelFeedData("ip", "10.0.0." + i, i % 2 == 0? "feed1": "feed2", Instant.now()));
+        }
+        feedData.add(new ThreatIntelFeedData("domain", "example.com", "feed1", Instant.now()));
+        Detector detector = randomDetector(null, "test_windows", null, List.of(), List.of(), null, null, null, null, true);
+
+        // IOC types the log type doesn't support aren't turned into queries and don't count against the limit
+        List<LogType.IocFields> domainFields = List.of(new LogType.IocFields("domain", List.of("dns_name")));
+        List<DocLevelQuery> queries = detectorThreatIntelService.createDocLevelQueriesFromThreatIntelList(domainFields, FeedIocs.of(feedData), detector);
+        assertEquals(1, queries.size());
+
+        List<LogType.IocFields> ipFields = List.of(new LogType.IocFields("ip", List.of("src_ip")));
+        List<Exception> failures = new ArrayList<>();
+        TaskId refreshTaskId = new TaskId("node", 1);
+        try (Releasable ignored = detectorThreatIntelService.useFeedData(refreshTaskId, FeedIocs.of(feedData))) {
+            detectorThreatIntelService.createDocLevelQueryFromThreatIntel(ipFields, detector, refreshTaskId, ActionListener.wrap(r -> fail(), failures::add));
+        }
+
+        assertEquals(1, failures.size());
+        OpenSearchStatusException e = (OpenSearchStatusException) failures.get(0);
+        assertEquals(RestStatus.BAD_REQUEST, e.status());
+        assertTrue(e.getMessage().contains(SecurityAnalyticsSettings.MAX_DOC_LEVEL_QUERY_IOCS.getKey()));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testConcurrentIocMatcherLoadsShareOneRead() throws Exception {
+        List<Object> builders = new ArrayList<>();
+        List<ActionListener<Object>> streamListeners = new ArrayList<>();
+        doAnswer(invocation -> {
+            Object builder = ((Supplier<Object>) invocation.getArgument(0)).get();
+            CheckedBiConsumer<Object, List<ThreatIntelFeedData>, Exception> pageConsumer = invocation.getArgument(1);
+            pageConsumer.accept(builder, List.of(new ThreatIntelFeedData("ip", "1.2.3.4", "feed", Instant.now())));
+            builders.add(builder);
+            streamListeners.add(invocation.getArgument(2));
+            return null;
+        }).when(threatIntelFeedDataService).streamThreatIntelFeedData(any(), any(), any());
+
+        List<IocMatcher> matchers = new ArrayList<>();
+        detectorThreatIntelService.getIocMatcher(ActionListener.wrap(matchers::add, e -> fail()));
+        detectorThreatIntelService.getIocMatcher(ActionListener.wrap(matchers::add, e -> fail()));
+        assertEquals(1, streamListeners.size());
+        assertTrue(matchers.isEmpty());
+
+        streamListeners.get(0).onResponse(builders.get(0));
+        assertEquals(2, matchers.size());
+        assertSame(matchers.get(0), matchers.get(1));
+        assertTrue(matchers.get(0).matches("ip", "1.2.3.4"));
+
+        // served from the cache
+        detectorThreatIntelService.getIocMatcher(ActionListener.wrap(matchers::add, e -> fail()));
+        assertEquals(1, streamListeners.size());
+        assertSame(matchers.get(0), matchers.get(2));
+    }
+}
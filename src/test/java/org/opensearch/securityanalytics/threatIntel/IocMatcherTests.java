@@ -0,0 +1,80 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.threatIntel;
+
+import org.opensearch.securityanalytics.model.ThreatIntelFeedData;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class IocMatcherTests extends OpenSearchTestCase {
+
+    public void testMatchesIpAddresses() {
+        IocMatcher matcher = IocMatcher.build(List.of(
+                ioc("ip", "1.2.3.4"),
+                ioc("ip", " 5.6.7.8 "),
+                ioc("ip", "1.2.3.4"),
+                ioc("ip", "2001:db8::1")
+        ));
+
+        assertEquals(3, matcher.size());
+        assertTrue(matcher.matches("ip", "1.2.3.4"));
+        assertTrue(matcher.matches("ip", "5.6.7.8"));
+        assertTrue(matcher.matches("ip", "2001:0db8:0:0:0:0:0:1"));
+        assertTrue(matcher.matches("ip", "::ffff:1.2.3.4"));
+        assertFalse(matcher.matches("ip", "1.2.3.5"));
+        assertFalse(matcher.matches("ip", "not an ip"));
+        assertFalse(matcher.matches("ip", null));
+    }
+
+    public void testMatchesCidrBlocks() {
+        IocMatcher matcher = IocMatcher.build(List.of(
+                ioc("ip", "10.0.0.0/8"),
+                ioc("ip", "192.168.1.128/25"),
+                ioc("ip", "2001:db8::/32")
+        ));
+
+        assertTrue(matcher.matches("ip", "10.255.0.1"));
+        assertTrue(matcher.matches("ip", "192.168.1.200"));
+        assertFalse(matcher.matches("ip", "192.168.1.127"));
+        assertFalse(matcher.matches("ip", "11.0.0.1"));
+        assertTrue(matcher.matches("ip", "2001:db8:ffff::1"));
+        assertFalse(matcher.matches("ip", "2001:db9::1"));
+    }
+
+    public void testMatchesOnlyIocsOfTheSameType() {
+        IocMatcher matcher = IocMatcher.build(List.of(
+                ioc("ip", "1.2.3.4"),
+                ioc("domain", "Malicious.example.com"),
+                ioc("hash", "D41D8CD98F00B204E9800998ECF8427E")
+        ));
+
+        assertTrue(matcher.matches("domain", "malicious.example.com"));
+        assertTrue(matcher.matches("hash", "d41d8cd98f00b204e9800998ecf8427e"));
+        assertFalse(matcher.matches("domain", "1.2.3.4"));
+        assertFalse(matcher.matches("ip", "malicious.example.com"));
+        assertFalse(matcher.matches("url", "1.2.3.4"));
+    }
+
+    public void testManyIndicators() {
+        List<ThreatIntelFeedData> feedData = new ArrayList<>();
+        for (int i = 0; i < 100_000; i += 2) {
+            feedData.add(ioc("ip", "10." + (i >> 16) + "." + ((i >> 8) & 0xFF) + "." + (i & 0xFF)));
+        }
+        IocMatcher matcher = IocMatcher.build(feedData);
+
+        assertEquals(50_000, matcher.size());
+        for (int i = 0; i < 100_000; i += 997) {
+            String ip = "10." + (i >> 16) + "." + ((i >> 8) & 0xFF) + "." + (i & 0xFF);
+            assertEquals(ip, i % 2 == 0, matcher.matches("ip", ip));
+        }
+    }
+
+    private static ThreatIntelFeedData ioc(String iocType, String iocValue) {
+        return new ThreatIntelFeedData(iocType, iocValue, "feed", Instant.now());
+    }
+}
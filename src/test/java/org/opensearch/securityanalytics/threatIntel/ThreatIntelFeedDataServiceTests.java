@@ -0,0 +1,288 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.threatIntel;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.OpenSearchException;
+import org.opensearch.Version;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.admin.indices.create.CreateIndexRequest;
+import org.opensearch.action.admin.indices.create.CreateIndexResponse;
+import org.opensearch.action.admin.indices.mapping.put.PutMappingRequest;
+import org.opensearch.action.admin.indices.refresh.RefreshRequest;
+import org.opensearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.action.support.master.AcknowledgedResponse;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.MappingMetadata;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.index.get.GetResult;
+import org.opensearch.index.mapper.MapperService;
+import org.opensearch.jobscheduler.spi.schedule.IntervalSchedule;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.internal.InternalSearchResponse;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.threatIntel.action.ThreatIntelIndicesResponse;
+import org.opensearch.securityanalytics.threatIntel.common.TIFMetadata;
+import org.opensearch.securityanalytics.threatIntel.jobscheduler.TIFJobParameter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ThreatIntelFeedDataServiceTests extends ThreatIntelTestCase {
+
+    private static final String INDEX = ".opensearch-sap-threat-intel-feed";
+
+    private final TIFMetadata tifMetadata = new TIFMetadata("feed", "https://example.com/feed.csv", "name", "organization",
+            "description", "csv", "ip", 0, false);
+
+    public void testSavesFeedInBatches() throws Exception {
+        clusterSettings.applySettings(Settings.builder().put(SecurityAnalyticsSettings.BATCH_SIZE.getKey(), 2).build());
+        List<Integer> bulkSizes = new ArrayList<>();
+        List<String> calls = new ArrayList<>();
+        verifyingClient.setExecuteVerifier((action, request) -> {
+            if (request instanceof BulkRequest) {
+                bulkSizes.add(((BulkRequest) request).numberOfActions());
+                calls.add("bulk");
+                return new BulkResponse(new BulkItemResponse[0], 1);
+            } else if (request instanceof RefreshRequest) {
+                calls.add("refresh");
+                return null;
+            } else if (request instanceof PutMappingRequest) {
+                Map<String, Object> mapping = XContentHelper.convertToMap(JsonXContent.jsonXContent, ((PutMappingRequest) request).source(), false);
+                assertEquals(Map.of("schema_version", 1), mapping.get("_meta"));
+                calls.add("mapping");
+                return new AcknowledgedResponse(true);
+            } else if (request instanceof UpdateSettingsRequest) {
+                assertTrue(((UpdateSettingsRequest) request).settings().keySet().contains(ThreatIntelFeedDataService.SETTING_INDEX_REFRESH_INTERVAL));
+                assertNull(((UpdateSettingsRequest) request).settings().get(ThreatIntelFeedDataService.SETTING_INDEX_REFRESH_INTERVAL));
+                calls.add("settings");
+                return new AcknowledgedResponse(true);
+            }
+            throw new AssertionError("unexpected request " + request);
+        });
+        Runnable renewLock = mock(Runnable.class);
+
+        AtomicReference<ThreatIntelIndicesResponse> response = new AtomicReference<>();
+        try (CSVParser parser = CSVParser.parse("1.2.3.4\n5.6.7.8\nnot-an-ip\n9.9.9.9\n", CSVFormat.RFC4180)) {
+            service().parseAndSaveThreatIntelFeedDataCSV(INDEX, parser.iterator(), renewLock, tifMetadata,
+                    ActionListener.wrap(response::set, e -> fail()));
+        }
+
+        assertEquals(List.of(2, 1), bulkSizes);
+        assertEquals(List.of("bulk", "bulk", "refresh", "mapping", "settings"), calls);
+        verify(renewLock, times(2)).run();
+        assertTrue(response.get().isAcknowledged());
+        assertEquals(List.of(INDEX), response.get().getIndices());
+    }
+
+    public void testBulkFailureFailsSave() throws Exception {
+        verifyingClient.setExecuteVerifier((action, request) -> {
+            if (request instanceof BulkRequest) {
+                return new BulkResponse(new BulkItemResponse[] {
+                        new BulkItemResponse(0, DocWriteRequest.OpType.INDEX,
+                                new BulkItemResponse.Failure(INDEX, "id", new IllegalStateException("failed")))
+                }, 1);
+            }
+            throw new AssertionError("unexpected request " + request);
+        });
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        try (CSVParser parser = CSVParser.parse("1.2.3.4\n", CSVFormat.RFC4180)) {
+            service().parseAndSaveThreatIntelFeedDataCSV(INDEX, parser.iterator(), mock(Runnable.class), tifMetadata,
+                    ActionListener.wrap(r -> fail(), failure::set));
+        }
+
+        assertNotNull(failure.get());
+        assertTrue(failure.get().getMessage().contains("failed"));
+    }
+
+    public void testLockRenewalFailureStopsSave() throws Exception {
+        clusterSettings.applySettings(Settings.builder().put(SecurityAnalyticsSettings.BATCH_SIZE.getKey(), 1).build());
+        List<Integer> bulkSizes = new ArrayList<>();
+        verifyingClient.setExecuteVerifier((action, request) -> {
+            if (request instanceof BulkRequest) {
+                bulkSizes.add(((BulkRequest) request).numberOfActions());
+                return new BulkResponse(new BulkItemResponse[0], 1);
+            }
+            throw new AssertionError("unexpected request " + request);
+        });
+        Runnable renewLock = () -> {
+            throw new OpenSearchException("failed to renew a lock");
+        };
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        try (CSVParser parser = CSVParser.parse("1.2.3.4\n5.6.7.8\n", CSVFormat.RFC4180)) {
+            service().parseAndSaveThreatIntelFeedDataCSV(INDEX, parser.iterator(), renewLock, tifMetadata,
+                    ActionListener.wrap(r -> fail(), failure::set));
+        }
+
+        assertEquals(List.of(1), bulkSizes);
+        assertTrue(failure.get() instanceof OpenSearchException);
+    }
+
+    public void testCreatedIndexIsFlaggedAsLoading() {
+        AtomicReference<CreateIndexRequest> createIndexRequest = new AtomicReference<>();
+        verifyingClient.setExecuteVerifier((action, request) -> {
+            if (request instanceof CreateIndexRequest) {
+                createIndexRequest.set((CreateIndexRequest) request);
+                return new CreateIndexResponse(true, true, INDEX);
+            }
+            throw new AssertionError("unexpected request " + request);
+        });
+
+        AtomicReference<CreateIndexResponse> response = new AtomicReference<>();
+        service().createIndexIfNotExists(INDEX, ActionListener.wrap(response::set, e -> fail()));
+
+        assertTrue(response.get().isAcknowledged());
+        Map<String, Object> mapping = XContentHelper.convertToMap(JsonXContent.jsonXContent, createIndexRequest.get().mappings(), false);
+        assertEquals(Map.of("schema_version", 1, ThreatIntelFeedDataService.LOADING_META_FIELD, true),
+                ((Map<?, ?>) mapping.get(MapperService.SINGLE_MAPPING_NAME)).get("_meta"));
+    }
+
+    public void testStreamReadsLoadedJobIndices() throws Exception {
+        String loadedIndex = INDEX + "-feed1";
+        String loadingIndex = INDEX + "-feed2";
+        mockIndex(loadedIndex, Settings.EMPTY, false);
+        mockIndex(loadingIndex, Settings.builder().put(ThreatIntelFeedDataService.SETTING_INDEX_REFRESH_INTERVAL, -1).build(), true);
+        List<String[]> searchedIndices = new ArrayList<>();
+        verifyingClient.setExecuteVerifier((action, request) -> {
+            if (request instanceof GetRequest) {
+                return jobResponse(List.of(loadedIndex, loadingIndex));
+            } else if (request instanceof SearchRequest) {
+                searchedIndices.add(((SearchRequest) request).indices());
+                return emptySearchResponse();
+            }
+            throw new AssertionError("unexpected request " + request);
+        });
+
+        AtomicReference<FeedIocs> feedIocs = new AtomicReference<>();
+        service().streamThreatIntelFeedData(FeedIocs::new, FeedIocs::add, ActionListener.wrap(feedIocs::set, e -> fail()));
+
+        assertNotNull(feedIocs.get());
+        assertEquals(1, searchedIndices.size());
+        assertArrayEquals(new String[] { loadedIndex }, searchedIndices.get(0));
+    }
+
+    public void testStreamReadsLegacyIndicesWithRefreshDisabled() throws Exception {
+        // feed data indices created before the loading flag kept their refresh disabled once loaded
+        String legacyIndex = INDEX + "-feed1";
+        mockIndex(legacyIndex, Settings.builder().put(ThreatIntelFeedDataService.SETTING_INDEX_REFRESH_INTERVAL, -1).build(), false);
+        List<String[]> searchedIndices = new ArrayList<>();
+        verifyingClient.setExecuteVerifier((action, request) -> {
+            if (request instanceof GetRequest) {
+                return jobResponse(List.of(legacyIndex));
+            } else if (request instanceof SearchRequest) {
+                searchedIndices.add(((SearchRequest) request).indices());
+                return emptySearchResponse();
+            }
+            throw new AssertionError("unexpected request " + request);
+        });
+
+        AtomicReference<FeedIocs> feedIocs = new AtomicReference<>();
+        service().streamThreatIntelFeedData(FeedIocs::new, FeedIocs::add, ActionListener.wrap(feedIocs::set, e -> fail()));
+
+        assertNotNull(feedIocs.get());
+        assertEquals(1, searchedIndices.size());
+        assertArrayEquals(new String[] { legacyIndex }, searchedIndices.get(0));
+    }
+
+    public void testStreamStartsOverWhenIndexIsSwapped() throws Exception {
+        mockIndex(INDEX, Settings.EMPTY, false);
+        AtomicInteger searches = new AtomicInteger();
+        verifyingClient.setExecuteVerifier((action, request) -> {
+            if (request instanceof GetRequest) {
+                return jobResponse(List.of(INDEX));
+            } else if (request instanceof SearchRequest) {
+                if (searches.incrementAndGet() == 1) {
+                    throw new IndexNotFoundException(INDEX);
+                }
+                return emptySearchResponse();
+            }
+            throw new AssertionError("unexpected request " + request);
+        });
+
+        AtomicInteger accumulators = new AtomicInteger();
+        AtomicReference<FeedIocs> feedIocs = new AtomicReference<>();
+        service().streamThreatIntelFeedData(() -> {
+            accumulators.incrementAndGet();
+            return new FeedIocs();
+        }, FeedIocs::add, ActionListener.wrap(feedIocs::set, e -> fail()));
+
+        assertNotNull(feedIocs.get());
+        assertEquals(2, searches.get());
+        assertEquals(2, accumulators.get());
+    }
+
+    private void mockIndex(String index, Settings indexSettings, boolean loading) {
+        Map<String, Object> meta = new HashMap<>();
+        meta.put("schema_version", 1);
+        if (loading) {
+            meta.put(ThreatIntelFeedDataService.LOADING_META_FIELD, true);
+        }
+        IndexMetadata indexMetadata = IndexMetadata.builder(index)
+                .settings(settings(Version.CURRENT).put(indexSettings))
+                .numberOfShards(1)
+                .numberOfReplicas(0)
+                .putMapping(new MappingMetadata(MapperService.SINGLE_MAPPING_NAME, Map.of("_meta", meta)))
+                .build();
+        when(metadata.hasIndex(index)).thenReturn(true);
+        when(metadata.index(index)).thenReturn(indexMetadata);
+    }
+
+    private static GetResponse jobResponse(List<String> indices) {
+        try {
+            TIFJobParameter jobParameter = new TIFJobParameter("feed_updater",
+                    new IntervalSchedule(Instant.now().truncatedTo(ChronoUnit.MILLIS), 1, ChronoUnit.DAYS));
+            jobParameter.setIndices(indices);
+            BytesReference source = BytesReference.bytes(jobParameter.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS));
+            return new GetResponse(new GetResult(SecurityAnalyticsPlugin.JOB_INDEX_NAME, "feed_updater", 0L, 1L, 1L, true, source,
+                    Map.of(), Map.of()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static SearchResponse emptySearchResponse() {
+        InternalSearchResponse internalResponse = new InternalSearchResponse(
+                new SearchHits(new SearchHit[0], new TotalHits(0, TotalHits.Relation.EQUAL_TO), 0.0f), null, null, null, false, null, 1);
+        return new SearchResponse(internalResponse, null, 1, 1, 0, 1L, ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY);
+    }
+
+    private ThreatIntelFeedDataService service() {
+        return new ThreatIntelFeedDataService(clusterService, verifyingClient, xContentRegistry());
+    }
+}
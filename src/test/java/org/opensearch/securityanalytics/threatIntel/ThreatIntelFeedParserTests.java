@@ -0,0 +1,46 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.threatIntel;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.opensearch.securityanalytics.threatIntel.common.TIFMetadata;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class ThreatIntelFeedParserTests extends OpenSearchTestCase {
+
+    private static final String FEED = "# comment\n\n# another comment\nip,port\n1.2.3.4,80\n5.6.7.8,443\n";
+
+    public void testSkipsCommentsAndHeader() throws IOException {
+        assertEquals(List.of("1.2.3.4", "5.6.7.8"), firstValues(FEED, true));
+    }
+
+    public void testFirstLineIsDataWithoutHeader() throws IOException {
+        assertEquals(List.of("ip", "1.2.3.4", "5.6.7.8"), firstValues(FEED, false));
+    }
+
+    public void testEmptyFeed() throws IOException {
+        assertEquals(List.of(), firstValues("# only comments\n", true));
+    }
+
+    private static List<String> firstValues(String feed, boolean hasHeader) throws IOException {
+        TIFMetadata tifMetadata = new TIFMetadata("feed", "https://example.com/feed.csv", "name", "organization", "description",
+                "csv", "ip", 0, hasHeader);
+        List<String> values = new ArrayList<>();
+        try (CSVParser parser = CSVParser.parse(feed, CSVFormat.RFC4180)) {
+            Iterator<CSVRecord> records = ThreatIntelFeedParser.getThreatIntelFeedRecords(parser, tifMetadata);
+            while (records.hasNext()) {
+                values.add(records.next().get(0));
+            }
+        }
+        return values;
+    }
+}
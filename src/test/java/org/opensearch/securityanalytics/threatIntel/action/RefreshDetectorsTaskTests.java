@@ -0,0 +1,35 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.securityanalytics.threatIntel.action;
+
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.tasks.TaskId;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.Map;
+
+public class RefreshDetectorsTaskTests extends OpenSearchTestCase {
+
+    public void testStatus() throws Exception {
+        RefreshDetectorsTask task = (RefreshDetectorsTask) new RefreshDetectorsRequest()
+                .createTask(1L, "transport", RefreshDetectorsAction.NAME, TaskId.EMPTY_TASK_ID, Map.of());
+        task.setTotal(3);
+        task.onDetectorUpdated();
+        task.onDetectorUpdated();
+        task.onDetectorFailed();
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        task.getStatus().writeTo(out);
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        RefreshDetectorsTask.Status status = new RefreshDetectorsTask.Status(sin);
+
+        assertEquals(3, status.getTotal());
+        assertEquals(2, status.getUpdated());
+        assertEquals(1, status.getFailed());
+        assertEquals(RefreshDetectorsTask.Status.NAME, status.getWriteableName());
+    }
+}
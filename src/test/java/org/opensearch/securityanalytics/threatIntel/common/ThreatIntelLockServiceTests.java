@@ -13,6 +13,7 @@ import java.time.Instant;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Before;
+import org.opensearch.OpenSearchException;
 import org.opensearch.action.DocWriteResponse;
 import org.opensearch.action.update.UpdateRequest;
 import org.opensearch.action.update.UpdateResponse;
@@ -113,5 +114,22 @@ public class ThreatIntelLockServiceTests extends ThreatIntelTestCase {
         threatIntelLockService.getRenewLockRunnable(reference).run();
         assertNotEquals(lockModel, reference.get());
     }
-}
 
+    public void testGetRenewLockRunnable_whenRenewFails_thenThrowAndKeepLock() {
+        LockModel lockModel = new LockModel(
+                TestHelpers.randomLowerCaseString(),
+                TestHelpers.randomLowerCaseString(),
+                Instant.now().minusSeconds(RENEW_AFTER_IN_SECONDS),
+                LOCK_DURATION_IN_SECONDS,
+                false
+        );
+
+        verifyingClient.setExecuteVerifier((actionResponse, actionRequest) -> {
+            throw new IllegalStateException("failed");
+        });
+
+        AtomicReference<LockModel> reference = new AtomicReference<>(lockModel);
+        expectThrows(OpenSearchException.class, () -> threatIntelLockService.getRenewLockRunnable(reference).run());
+        assertEquals(lockModel, reference.get());
+    }
+}
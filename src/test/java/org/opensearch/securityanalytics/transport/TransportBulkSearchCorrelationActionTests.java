@@ -0,0 +1,178 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.apache.lucene.search.TotalHits;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionType;
+import org.opensearch.action.search.MultiSearchAction;
+import org.opensearch.action.search.MultiSearchRequest;
+import org.opensearch.action.search.MultiSearchResponse;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.document.DocumentField;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.internal.InternalSearchResponse;
+import org.opensearch.securityanalytics.action.BulkCorrelatedFindingRequest;
+import org.opensearch.securityanalytics.action.BulkCorrelatedFindingResponse;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.test.client.NoOpNodeClient;
+import org.opensearch.transport.TransportService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import static org.mockito.Mockito.mock;
+
+public class TransportBulkSearchCorrelationActionTests extends OpenSearchTestCase {
+
+    private MultiSearchClient client;
+
+    private TransportBulkSearchCorrelationAction action;
+
+    @Before
+    public void setUpAction() {
+        client = new MultiSearchClient(getTestName());
+        action = new TransportBulkSearchCorrelationAction(mock(TransportService.class), client, NamedXContentRegistry.EMPTY,
+                mock(ClusterService.class), Settings.EMPTY, new ActionFilters(Set.of()));
+    }
+
+    @After
+    public void closeClient() {
+        client.close();
+    }
+
+    public void testSearchesAllFindingsInTwoRounds() throws Exception {
+        client.responses.add(request -> {
+            Assert.assertEquals(3, request.requests().size());
+            return new MultiSearchResponse(new MultiSearchResponse.Item[]{
+                    item(hit("found-1", Map.of("timestamp", 1000L)),
+                            hit("no-counter", Map.of("timestamp", 2000L)),
+                            hit("failing", Map.of("timestamp", 3000L))),
+                    item(sourceHit("metadata", Map.of("scoreTimestamp", 500L))),
+                    item(hit("orphan-1", Map.of("finding1", "found-1", "counter", 20L)),
+                            hit("orphan-2", Map.of("finding1", "failing", "counter", 30L)))
+            }, 1L);
+        });
+        client.responses.add(request -> {
+            Assert.assertEquals(2, request.requests().size());
+            return new MultiSearchResponse(new MultiSearchResponse.Item[]{
+                    item(sourceHit("edge", Map.of("finding1", "found-1", "finding2", "correlated-1",
+                            "logType", "windows-network", "corrRules", List.of("rule-1")))),
+                    new MultiSearchResponse.Item(null, new IllegalStateException("knn search failed"))
+            }, 1L);
+        });
+
+        BulkCorrelatedFindingResponse response = execute(List.of("found-1", "no-counter", "missing", "failing"));
+
+        Assert.assertTrue(client.responses.isEmpty());
+        Assert.assertEquals(Set.of("found-1", "no-counter"), response.getFindings().keySet());
+        Assert.assertEquals(1, response.getFindings().get("found-1").size());
+        Assert.assertTrue(response.getFindings().get("no-counter").isEmpty());
+        Assert.assertEquals(Set.of("missing", "failing"), response.getFailures().keySet());
+        Assert.assertEquals("finding missing not found", response.getFailures().get("missing"));
+    }
+
+    public void testSkipsKnnRoundWithoutCounters() throws Exception {
+        client.responses.add(request -> new MultiSearchResponse(new MultiSearchResponse.Item[]{
+                item(hit("no-counter", Map.of("timestamp", 2000L))),
+                item(sourceHit("metadata", Map.of("scoreTimestamp", 500L))),
+                item()
+        }, 1L));
+
+        BulkCorrelatedFindingResponse response = execute(List.of("no-counter", "missing"));
+
+        Assert.assertTrue(client.responses.isEmpty());
+        Assert.assertTrue(response.getFindings().get("no-counter").isEmpty());
+        Assert.assertEquals(Set.of("missing"), response.getFailures().keySet());
+    }
+
+    public void testFailsOnFirstRoundFailure() {
+        client.responses.add(request -> new MultiSearchResponse(new MultiSearchResponse.Item[]{
+                item(hit("found-1", Map.of("timestamp", 1000L))),
+                new MultiSearchResponse.Item(null, new IllegalStateException("metadata search failed")),
+                item()
+        }, 1L));
+
+        expectThrows(ExecutionException.class, () -> execute(List.of("found-1")));
+    }
+
+    private BulkCorrelatedFindingResponse execute(List<String> findingIds) throws ExecutionException, InterruptedException {
+        PlainActionFuture<BulkCorrelatedFindingResponse> future = new PlainActionFuture<>();
+        action.doExecute(null, new BulkCorrelatedFindingRequest(findingIds, "windows", 300000L, 10), future);
+        return future.get();
+    }
+
+    private static MultiSearchResponse.Item item(SearchHit... hits) {
+        InternalSearchResponse internalResponse = new InternalSearchResponse(
+                new SearchHits(hits, new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), 1.0f), null, null, null, false, null, 1);
+        SearchResponse response = new SearchResponse(internalResponse, null, 1, 1, 0, 1L, ShardSearchFailure.EMPTY_ARRAY,
+                SearchResponse.Clusters.EMPTY);
+        return new MultiSearchResponse.Item(response, null);
+    }
+
+    private static SearchHit hit(String id, Map<String, Object> fields) {
+        Map<String, DocumentField> documentFields = new HashMap<>();
+        for (Map.Entry<String, Object> field: fields.entrySet()) {
+            documentFields.put(field.getKey(), new DocumentField(field.getKey(), List.of(field.getValue())));
+        }
+        return new SearchHit(randomInt(1000), id, documentFields, Map.of());
+    }
+
+    private static SearchHit sourceHit(String id, Map<String, Object> source) throws IOException {
+        SearchHit hit = new SearchHit(randomInt(1000), id, Map.of(), Map.of());
+        hit.sourceRef(BytesReference.bytes(XContentFactory.jsonBuilder().map(source)));
+        hit.score(1.0f);
+        return hit;
+    }
+
+    private interface MultiSearchResponder {
+        MultiSearchResponse respond(MultiSearchRequest request) throws IOException;
+    }
+
+    /**
+     * Answers the multi searches of the action in order with the queued responders.
+     */
+    private static class MultiSearchClient extends NoOpNodeClient {
+        private final List<MultiSearchResponder> responses = new ArrayList<>();
+
+        MultiSearchClient(String testName) {
+            super(testName);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <Request extends ActionRequest, Response extends ActionResponse> void doExecute(
+                ActionType<Response> action,
+                Request request,
+                ActionListener<Response> listener
+        ) {
+            Assert.assertEquals(MultiSearchAction.INSTANCE, action);
+            try {
+                listener.onResponse((Response) responses.remove(0).respond((MultiSearchRequest) request));
+            } catch (Exception e) {
+                listener.onFailure(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.apache.lucene.search.TotalHits;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionType;
+import org.opensearch.action.search.SearchAction;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.internal.InternalSearchResponse;
+import org.opensearch.securityanalytics.action.EvaluateRulesRequest;
+import org.opensearch.securityanalytics.action.EvaluateRulesResponse;
+import org.opensearch.securityanalytics.logtype.LogTypeService;
+import org.opensearch.securityanalytics.model.LogType;
+import org.opensearch.securityanalytics.model.ThreatIntelFeedData;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.threatIntel.DetectorThreatIntelService;
+import org.opensearch.securityanalytics.threatIntel.IocMatcher;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.test.client.NoOpNodeClient;
+import org.opensearch.transport.TransportService;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TransportEvaluateRulesActionTests extends OpenSearchTestCase {
+
+    private RulesClient client;
+
+    private ClusterSettings clusterSettings;
+
+    private LogTypeService logTypeService;
+
+    private DetectorThreatIntelService detectorThreatIntelService;
+
+    private TransportEvaluateRulesAction action;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUpAction() {
+        client = new RulesClient(getTestName());
+
+        logTypeService = mock(LogTypeService.class);
+        detectorThreatIntelService = mock(DetectorThreatIntelService.class);
+        doAnswer(invocation -> {
+            ((ActionListener<Map<String, String>>) invocation.getArgument(1)).onResponse(Map.of());
+            return null;
+        }).when(logTypeService).getRuleFieldMappings(anyString(), any(ActionListener.class));
+
+        clusterSettings = new ClusterSettings(Settings.EMPTY, Set.of(SecurityAnalyticsSettings.RULE_SET_CACHE_TTL));
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getClusterSettings()).thenReturn(clusterSettings);
+
+        action = new TransportEvaluateRulesAction(mock(TransportService.class), client, new ActionFilters(Set.of()), NamedXContentRegistry.EMPTY,
+                logTypeService, detectorThreatIntelService, clusterService, Settings.EMPTY);
+    }
+
+    @After
+    public void closeClient() {
+        client.close();
+    }
+
+    public void testRuleSetIsCachedUntilTtlExpires() throws Exception {
+        clusterSettings.applySettings(Settings.builder().put(SecurityAnalyticsSettings.RULE_SET_CACHE_TTL.getKey(), "1s").build());
+        client.answerImmediately = true;
+
+        Assert.assertEquals(List.of(List.of()), execute("windows").get().getMatchedRules());
+        execute("windows").get();
+        Assert.assertEquals(1, client.searches.get());
+
+        // another log type has its own rule set
+        execute("network").get();
+        Assert.assertEquals(2, client.searches.get());
+
+        assertBusy(() -> {
+            execute("windows").get();
+            Assert.assertEquals(3, client.searches.get());
+        });
+    }
+
+    public void testConcurrentRequestsShareOneLoad() throws Exception {
+        PlainActionFuture<EvaluateRulesResponse> first = execute("windows");
+        PlainActionFuture<EvaluateRulesResponse> second = execute("windows");
+        PlainActionFuture<EvaluateRulesResponse> third = execute("WINDOWS");
+
+        Assert.assertEquals(1, client.searches.get());
+        Assert.assertEquals(1, client.pending.size());
+        client.pending.remove(0).onResponse(emptyResponse());
+
+        Assert.assertEquals(List.of(List.of()), first.get().getMatchedRules());
+        Assert.assertEquals(List.of(List.of()), second.get().getMatchedRules());
+        Assert.assertEquals(List.of(List.of()), third.get().getMatchedRules());
+        Assert.assertEquals(1, client.searches.get());
+    }
+
+    public void testLoadFailureReachesEveryWaiter() throws Exception {
+        PlainActionFuture<EvaluateRulesResponse> first = execute("windows");
+        PlainActionFuture<EvaluateRulesResponse> second = execute("windows");
+
+        Assert.assertEquals(1, client.pending.size());
+        client.pending.remove(0).onFailure(new IllegalStateException("rules index unavailable"));
+
+        expectThrows(ExecutionException.class, first::get);
+        expectThrows(ExecutionException.class, second::get);
+
+        // a failed load is not cached, the next request loads again
+        client.answerImmediately = true;
+        execute("windows").get();
+        Assert.assertEquals(2, client.searches.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testThreatIntelMatchesIocFieldsOfTheirType() throws Exception {
+        client.answerImmediately = true;
+        when(logTypeService.getIocFieldsList("network")).thenReturn(List.of(
+                new LogType.IocFields("ip", List.of("src_ip", "dst_ip")),
+                new LogType.IocFields("domain", List.of("dns_name"))
+        ));
+        IocMatcher iocMatcher = IocMatcher.build(List.of(
+                new ThreatIntelFeedData("ip", "10.0.0.0/8", "feed", Instant.now()),
+                new ThreatIntelFeedData("domain", "example.com", "feed", Instant.now())
+        ));
+        doAnswer(invocation -> {
+            ((ActionListener<IocMatcher>) invocation.getArgument(0)).onResponse(iocMatcher);
+            return null;
+        }).when(detectorThreatIntelService).getIocMatcher(any(ActionListener.class));
+
+        PlainActionFuture<EvaluateRulesResponse> future = new PlainActionFuture<>();
+        action.doExecute(null, new EvaluateRulesRequest("network", List.of(
+                new BytesArray("{\"src_ip\": \"10.1.2.3\", \"dst_ip\": \"192.168.0.1\", \"dns_name\": \"10.1.2.3\"}"),
+                new BytesArray("{\"dns_name\": \"example.com\"}")
+        ), true), future);
+
+        EvaluateRulesResponse response = future.get();
+        Assert.assertEquals(List.of(List.of("src_ip"), List.of("dns_name")), response.getMatchedIocFields());
+
+        // without threat intel no IOC fields are returned and the feed data isn't read
+        Assert.assertNull(execute("network").get().getMatchedIocFields());
+        verify(detectorThreatIntelService, times(1)).getIocMatcher(any(ActionListener.class));
+    }
+
+    private PlainActionFuture<EvaluateRulesResponse> execute(String logType) {
+        PlainActionFuture<EvaluateRulesResponse> future = new PlainActionFuture<>();
+        action.doExecute(null, new EvaluateRulesRequest(logType, List.of(new BytesArray("{\"EventID\": 4688}"))), future);
+        return future;
+    }
+
+    private static SearchResponse emptyResponse() {
+        InternalSearchResponse internalResponse = new InternalSearchResponse(
+                new SearchHits(new SearchHit[0], new TotalHits(0, TotalHits.Relation.EQUAL_TO), 1.0f), null, null, null, false, null, 1);
+        return new SearchResponse(internalResponse, null, 1, 1, 0, 1L, ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY);
+    }
+
+    /**
+     * Answers rule searches with no rules, either right away or once the test completes the held listener.
+     */
+    private static class RulesClient extends NoOpNodeClient {
+        private final AtomicInteger searches = new AtomicInteger();
+        private final List<ActionListener<SearchResponse>> pending = new CopyOnWriteArrayList<>();
+        private volatile boolean answerImmediately = false;
+
+        RulesClient(String testName) {
+            super(testName);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <Request extends ActionRequest, Response extends ActionResponse> void doExecute(
+                ActionType<Response> action,
+                Request request,
+                ActionListener<Response> listener
+        ) {
+            Assert.assertEquals(SearchAction.INSTANCE, action);
+            searches.incrementAndGet();
+            if (answerImmediately) {
+                listener.onResponse((Response) emptyResponse());
+            } else {
+                pending.add((ActionListener<SearchResponse>) listener);
+            }
+        }
+    }
+}
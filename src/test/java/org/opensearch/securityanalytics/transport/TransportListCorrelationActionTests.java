@@ -0,0 +1,209 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.apache.lucene.search.TotalHits;
+import org.junit.After;
+import org.junit.Assert;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionType;
+import org.opensearch.action.search.SearchAction;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.document.DocumentField;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.search.DocValueFormat;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.internal.InternalSearchResponse;
+import org.opensearch.securityanalytics.action.ListCorrelationsRequest;
+import org.opensearch.securityanalytics.action.ListCorrelationsResponse;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.test.client.NoOpNodeClient;
+import org.opensearch.transport.TransportService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TransportListCorrelationActionTests extends OpenSearchTestCase {
+
+    private SearchClient client;
+
+    @After
+    public void closeClient() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    public void testPagesThroughEdges() throws Exception {
+        int pageSize = TransportListCorrelationAction.EDGES_PAGE_SIZE;
+        SearchHit[] firstPage = new SearchHit[pageSize];
+        for (int i = 0; i < pageSize; ++i) {
+            firstPage[i] = edge(i, "a-" + i, "b-" + i, "windows", "network", null, List.of("rule"));
+        }
+
+        client = new SearchClient(getTestName());
+        client.responses.add(request -> {
+            Assert.assertNull(request.source().searchAfter());
+            Assert.assertArrayEquals(new String[]{"corrRules"}, request.source().fetchSource().includes());
+            return response(firstPage);
+        });
+        client.responses.add(request -> {
+            Assert.assertArrayEquals(firstPage[pageSize - 1].getSortValues(), request.source().searchAfter());
+            return response(edge(pageSize, "a-last", "b-last", "windows", "network", null, List.of("rule")));
+        });
+
+        List<Map<String, Object>> findings = execute(Settings.EMPTY);
+
+        Assert.assertTrue(client.responses.isEmpty());
+        Assert.assertEquals(pageSize + 1, findings.size());
+    }
+
+    public void testLegacyEdgesSplitLogType() throws Exception {
+        client = new SearchClient(getTestName());
+        client.responses.add(request -> response(
+                edge(1, "finding-1", "finding-2", null, null, "windows-network", List.of("rule")),
+                edge(2, "finding-3", "finding-4", "s3", "cloudtrail", "s3-cloudtrail", List.of("rule"))
+        ));
+
+        Map<String, Map<String, Object>> findings = byEdge(execute(Settings.EMPTY));
+
+        Assert.assertEquals("windows", findings.get("finding-1:finding-2").get("logType1"));
+        Assert.assertEquals("network", findings.get("finding-1:finding-2").get("logType2"));
+        Assert.assertEquals("s3", findings.get("finding-3:finding-4").get("logType1"));
+        Assert.assertEquals("cloudtrail", findings.get("finding-3:finding-4").get("logType2"));
+    }
+
+    public void testLatestHistoryDocumentOfEdgeWins() throws Exception {
+        client = new SearchClient(getTestName());
+        client.responses.add(request -> response(
+                edge(1, "finding-1", "finding-2", "windows", "network", null, List.of("rule-1")),
+                edge(2, "finding-1", "finding-3", "windows", "network", null, List.of("rule-1")),
+                edge(3, "finding-1", "finding-2", "windows", "network", null, List.of("rule-3", "rule-2", "rule-2"))
+        ));
+
+        Map<String, Map<String, Object>> findings = byEdge(execute(Settings.EMPTY));
+
+        Assert.assertEquals(Set.of("finding-1:finding-2", "finding-1:finding-3"), findings.keySet());
+        // the rules are read from the source as written, not from the deduplicated and sorted keyword doc values
+        Assert.assertEquals(List.of("rule-3", "rule-2", "rule-2"), findings.get("finding-1:finding-2").get("rules"));
+    }
+
+    public void testRejectsMoreEdgesThanTheLimit() {
+        client = new SearchClient(getTestName());
+        client.responses.add(request -> response(
+                edge(1, "finding-1", "finding-2", "windows", "network", null, List.of("rule")),
+                edge(2, "finding-1", "finding-2", "windows", "network", null, List.of("rule")),
+                edge(3, "finding-1", "finding-3", "windows", "network", null, List.of("rule")),
+                edge(4, "finding-1", "finding-4", "windows", "network", null, List.of("rule"))
+        ));
+
+        ExecutionException e = expectThrows(ExecutionException.class, () -> execute(Settings.builder()
+                .put(SecurityAnalyticsSettings.LIST_CORRELATIONS_MAX_EDGES.getKey(), 2)
+                .build()));
+        Assert.assertTrue(e.getCause() instanceof OpenSearchStatusException);
+        Assert.assertEquals(RestStatus.BAD_REQUEST, ((OpenSearchStatusException) e.getCause()).status());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> execute(Settings settings) throws ExecutionException, InterruptedException, IOException {
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(settings, Set.of(SecurityAnalyticsSettings.LIST_CORRELATIONS_MAX_EDGES)));
+        TransportListCorrelationAction action = new TransportListCorrelationAction(mock(TransportService.class), client,
+                NamedXContentRegistry.EMPTY, clusterService, settings, new ActionFilters(Set.of()));
+
+        PlainActionFuture<ListCorrelationsResponse> future = new PlainActionFuture<>();
+        action.doExecute(null, new ListCorrelationsRequest(0L, 10000L), future);
+        ListCorrelationsResponse response = future.get();
+
+        BytesReference bytes = BytesReference.bytes(response.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS));
+        return (List<Map<String, Object>>) XContentHelper.convertToMap(bytes, false, XContentType.JSON).v2().get("findings");
+    }
+
+    private static Map<String, Map<String, Object>> byEdge(List<Map<String, Object>> findings) {
+        Map<String, Map<String, Object>> byEdge = new HashMap<>();
+        for (Map<String, Object> finding: findings) {
+            byEdge.put(finding.get("finding1") + ":" + finding.get("finding2"), finding);
+        }
+        return byEdge;
+    }
+
+    private static SearchHit edge(long timestamp, String finding1, String finding2, String logType1, String logType2,
+                                  String logType, List<String> corrRules) {
+        Map<String, DocumentField> fields = new HashMap<>();
+        fields.put("finding1", new DocumentField("finding1", List.of(finding1)));
+        fields.put("finding2", new DocumentField("finding2", List.of(finding2)));
+        if (logType1 != null) {
+            fields.put("logType1", new DocumentField("logType1", List.of(logType1)));
+            fields.put("logType2", new DocumentField("logType2", List.of(logType2)));
+        }
+        fields.put("logType", new DocumentField("logType", List.of(logType != null ? logType : logType1 + "-" + logType2)));
+
+        SearchHit hit = new SearchHit(randomInt(1000), randomAlphaOfLength(10), fields, Map.of());
+        try {
+            hit.sourceRef(BytesReference.bytes(XContentFactory.jsonBuilder().map(Map.of("corrRules", corrRules))));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        hit.sortValues(new Object[]{timestamp, finding1, finding2},
+                new DocValueFormat[]{DocValueFormat.RAW, DocValueFormat.RAW, DocValueFormat.RAW});
+        return hit;
+    }
+
+    private static SearchResponse response(SearchHit... hits) {
+        InternalSearchResponse internalResponse = new InternalSearchResponse(
+                new SearchHits(hits, new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), 1.0f), null, null, null, false, null, 1);
+        return new SearchResponse(internalResponse, null, 1, 1, 0, 1L, ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY);
+    }
+
+    /**
+     * Answers the searches of the action in order with the queued responders.
+     */
+    private static class SearchClient extends NoOpNodeClient {
+        private final List<Function<SearchRequest, SearchResponse>> responses = new ArrayList<>();
+
+        SearchClient(String testName) {
+            super(testName);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <Request extends ActionRequest, Response extends ActionResponse> void doExecute(
+                ActionType<Response> action,
+                Request request,
+                ActionListener<Response> listener
+        ) {
+            Assert.assertEquals(SearchAction.INSTANCE, action);
+            listener.onResponse((Response) responses.remove(0).apply((SearchRequest) request));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.junit.Assert;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class AutoCorrelationsRepoTests extends OpenSearchTestCase {
+
+    public void testAutoCorrelationsAreLoadedOnce() throws IOException {
+        Assert.assertSame(AutoCorrelationsRepo.intrusionSetIndex(), AutoCorrelationsRepo.intrusionSetIndex());
+        Assert.assertSame(AutoCorrelationsRepo.autoCorrelationsAsMap(), AutoCorrelationsRepo.autoCorrelationsAsMap());
+        Assert.assertFalse(AutoCorrelationsRepo.autoCorrelationsAsMap().isEmpty());
+    }
+
+    public void testInvertedIndexMatchesIntrusionSetScan() throws IOException {
+        Map<String, Set<String>> autoCorrelations = AutoCorrelationsRepo.autoCorrelationsAsMap();
+        AutoCorrelationsRepo.IntrusionSetIndex index = AutoCorrelationsRepo.intrusionSetIndex();
+
+        List<String> allTags = new ArrayList<>();
+        autoCorrelations.values().forEach(allTags::addAll);
+
+        for (int i = 0; i < 100; ++i) {
+            Set<String> tags = new HashSet<>(randomSubsetOf(randomIntBetween(0, 5), allTags));
+            if (randomBoolean()) {
+                tags.add("attack.t" + randomAlphaOfLength(6));
+            }
+
+            Assert.assertEquals(AutoCorrelationsRepo.validIntrusionSets(autoCorrelations, tags), index.validIntrusionSets(tags));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.opensearch.commons.alerting.model.IntervalSchedule;
+import org.opensearch.commons.authuser.User;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.DetectorInput;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.model.Value;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.opensearch.securityanalytics.TestHelpers.randomDetector;
+import static org.opensearch.securityanalytics.TestHelpers.randomUser;
+
+public class DetectorUpdatePlanTests extends OpenSearchTestCase {
+
+    private final User user = randomUser();
+
+    private final IntervalSchedule schedule = new IntervalSchedule(5, ChronoUnit.MINUTES, null);
+
+    public void testUnchangedRulesRetainMonitors() {
+        List<Pair<String, Rule>> rules = List.of(rule("doc-1", 1L, false), rule("agg-1", 2L, true));
+        Detector currentDetector = currentDetector("detector", rules, Map.of("agg-1", "monitor-agg-1", Detector.DOC_LEVEL_MONITOR, "monitor-doc"));
+
+        DetectorUpdatePlan plan = DetectorUpdatePlan.plan(currentDetector, detector("detector", false), rules);
+
+        assertFalse(plan.isDocLevelMonitorRewritten());
+        assertTrue(plan.getBucketLevelRulesToAdd().isEmpty());
+        assertTrue(plan.getBucketLevelRulesToUpdate().isEmpty());
+        assertTrue(plan.getMonitorIdsToDelete().isEmpty());
+        assertEquals(Map.of("agg-1", "monitor-agg-1", Detector.DOC_LEVEL_MONITOR, "monitor-doc"), plan.getRetainedMonitors());
+    }
+
+    public void testChangedAggregationRuleOnlyRewritesItsMonitor() {
+        List<Pair<String, Rule>> rules = List.of(rule("doc-1", 1L, false), rule("agg-1", 1L, true), rule("agg-2", 1L, true));
+        Detector currentDetector = currentDetector("detector", rules,
+                Map.of("agg-1", "monitor-agg-1", "agg-2", "monitor-agg-2", Detector.DOC_LEVEL_MONITOR, "monitor-doc"));
+
+        List<Pair<String, Rule>> updatedRules = List.of(rule("doc-1", 1L, false), rule("agg-1", 1L, true), rule("agg-2", 2L, true),
+                rule("agg-3", 1L, true));
+        DetectorUpdatePlan plan = DetectorUpdatePlan.plan(currentDetector, detector("detector", false), updatedRules);
+
+        assertFalse(plan.isDocLevelMonitorRewritten());
+        assertEquals(List.of("agg-3"), plan.getBucketLevelRulesToAdd().stream().map(Pair::getLeft).collect(Collectors.toList()));
+        assertEquals(Map.of("monitor-agg-2", updatedRules.get(2)), plan.getBucketLevelRulesToUpdate());
+        assertEquals(Map.of("agg-1", "monitor-agg-1", Detector.DOC_LEVEL_MONITOR, "monitor-doc"), plan.getRetainedMonitors());
+        assertTrue(plan.getMonitorIdsToDelete().isEmpty());
+        assertEquals(Long.valueOf(2L), plan.getRuleVersions().get("agg-2"));
+    }
+
+    public void testRemovedRules() {
+        List<Pair<String, Rule>> rules = List.of(rule("doc-1", 1L, false), rule("doc-2", 1L, false), rule("agg-1", 1L, true));
+        Detector currentDetector = currentDetector("detector", rules, Map.of("agg-1", "monitor-agg-1", Detector.DOC_LEVEL_MONITOR, "monitor-doc"));
+
+        DetectorUpdatePlan plan = DetectorUpdatePlan.plan(currentDetector, detector("detector", false), List.of(rule("doc-1", 1L, false)));
+
+        assertTrue(plan.isDocLevelMonitorRewritten());
+        assertEquals(1, plan.getDocLevelRules().size());
+        assertEquals(List.of("monitor-agg-1"), plan.getMonitorIdsToDelete());
+        assertTrue(plan.getRetainedMonitors().isEmpty());
+
+        plan = DetectorUpdatePlan.plan(currentDetector, detector("detector", false), List.of(rule("agg-1", 1L, true)));
+
+        assertFalse(plan.isDocLevelMonitorRewritten());
+        assertEquals(List.of("monitor-doc"), plan.getMonitorIdsToDelete());
+        assertEquals(Map.of("agg-1", "monitor-agg-1"), plan.getRetainedMonitors());
+    }
+
+    public void testChangedSettingsOrThreatIntelRewriteMonitors() {
+        List<Pair<String, Rule>> rules = List.of(rule("doc-1", 1L, false), rule("agg-1", 1L, true));
+        Detector currentDetector = currentDetector("detector", rules, Map.of("agg-1", "monitor-agg-1", Detector.DOC_LEVEL_MONITOR, "monitor-doc"));
+
+        DetectorUpdatePlan plan = DetectorUpdatePlan.plan(currentDetector, detector("renamed", false), rules);
+        assertTrue(plan.isDocLevelMonitorRewritten());
+        assertEquals(Map.of("monitor-agg-1", rules.get(1)), plan.getBucketLevelRulesToUpdate());
+        assertTrue(plan.getRetainedMonitors().isEmpty());
+        assertTrue(plan.getMonitorIdsToDelete().isEmpty());
+
+        plan = DetectorUpdatePlan.plan(currentDetector, detector("detector", true), rules);
+        assertTrue(plan.isDocLevelMonitorRewritten());
+        assertEquals(Map.of("agg-1", "monitor-agg-1"), plan.getRetainedMonitors());
+    }
+
+    public void testDetectorWithoutRuleVersionsRewritesMonitors() {
+        List<Pair<String, Rule>> rules = List.of(rule("doc-1", 1L, false), rule("agg-1", 1L, true));
+        Detector currentDetector = currentDetector("detector", rules, Map.of("agg-1", "monitor-agg-1", Detector.DOC_LEVEL_MONITOR, "monitor-doc"));
+        currentDetector.setRuleVersions(Collections.emptyMap());
+
+        DetectorUpdatePlan plan = DetectorUpdatePlan.plan(currentDetector, detector("detector", false), rules);
+
+        assertTrue(plan.isDocLevelMonitorRewritten());
+        assertEquals(Map.of("monitor-agg-1", rules.get(1)), plan.getBucketLevelRulesToUpdate());
+        assertTrue(plan.getRetainedMonitors().isEmpty());
+        assertEquals(Map.of("doc-1", 1L, "agg-1", 1L), plan.getRuleVersions());
+    }
+
+    private Detector currentDetector(String name, List<Pair<String, Rule>> rules, Map<String, String> ruleIdMonitorIdMap) {
+        Detector detector = detector(name, false);
+        detector.setRuleIdMonitorIdMap(new HashMap<>(ruleIdMonitorIdMap));
+        detector.setRuleVersions(DetectorUpdatePlan.ruleVersions(rules));
+        return detector;
+    }
+
+    private Detector detector(String name, boolean threatIntel) {
+        DetectorInput input = new DetectorInput("windows detector for security analytics", List.of("windows"), Collections.emptyList(), Collections.emptyList());
+        return randomDetector(name, "test_windows", user, List.of(input), List.of(), schedule, true, Instant.EPOCH, Instant.EPOCH, threatIntel);
+    }
+
+    private static Pair<String, Rule> rule(String id, Long version, boolean aggregation) {
+        Rule rule = new Rule(id, version, "title", "test_windows", "windows", "description", List.of(), List.of(), "high", List.of(),
+                "author", "test", Instant.EPOCH, List.of(new Value("query")), List.of(), "rule",
+                aggregation? List.of(new Value("aggregation")): null);
+        return Pair.of(id, rule);
+    }
+}
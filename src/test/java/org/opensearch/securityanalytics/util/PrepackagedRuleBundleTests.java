@@ -0,0 +1,69 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.junit.Assert;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+public class PrepackagedRuleBundleTests extends OpenSearchTestCase {
+
+    @SuppressWarnings("unchecked")
+    public void testWriteBundle() throws IOException, SigmaError {
+        String ruleStr = "title: Test\n" +
+                "id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "status: test\n" +
+                "level: critical\n" +
+                "description: Detects QuarksPwDump clearing access history in hive\n" +
+                "author: Florian Roth\n" +
+                "date: 2017/05/15\n" +
+                "logsource:\n" +
+                "    category: test_category\n" +
+                "    product: test_product\n" +
+                "detection:\n" +
+                "    sel:\n" +
+                "        EventID: 4688\n" +
+                "    condition: sel\n";
+
+        Path rulesPath = createTempDir();
+        Files.createDirectories(rulesPath.resolve("windows"));
+        Files.writeString(rulesPath.resolve("windows").resolve("test_rule.yml"), ruleStr, StandardCharsets.UTF_8);
+        Map<String, String> fieldMappings = Map.of("EventID", "event_uid");
+
+        Path bundlePath = createTempDir().resolve("bundle").resolve(PrepackagedRuleBundle.RESOURCE);
+        PrepackagedRuleBundle.write(rulesPath, Map.of("windows", fieldMappings), bundlePath);
+
+        List<String> lines = Files.readAllLines(bundlePath, StandardCharsets.UTF_8);
+        Assert.assertEquals(1, lines.size());
+
+        Map<String, Object> entry = XContentHelper.convertToMap(JsonXContent.jsonXContent, lines.get(0), false);
+        Assert.assertEquals("39f919f3-980b-4e6f-a975-8af7e507ef2b", entry.get(PrepackagedRuleBundle.ID_FIELD));
+        Assert.assertEquals("windows", entry.get(PrepackagedRuleBundle.CATEGORY_FIELD));
+
+        String contentHash = (String) entry.get(PrepackagedRuleBundle.CONTENT_HASH_FIELD);
+        Assert.assertNotNull(contentHash);
+
+        Map<String, Object> rule = (Map<String, Object>) ((Map<String, Object>) entry.get(PrepackagedRuleBundle.SOURCE_FIELD)).get("rule");
+        Assert.assertEquals("windows", rule.get("category"));
+        Assert.assertEquals(contentHash, rule.get("content_hash"));
+        Assert.assertEquals(ruleStr, rule.get("rule"));
+        Assert.assertEquals("event_uid: 4688", ((List<Map<String, Object>>) rule.get("queries")).get(0).get("value"));
+
+        // the same rule file converted with other field mappings is another document
+        PrepackagedRuleBundle.write(rulesPath, Map.of("windows", Map.of("EventID", "event.code")), bundlePath);
+        Map<String, Object> otherEntry = XContentHelper.convertToMap(JsonXContent.jsonXContent,
+                Files.readAllLines(bundlePath, StandardCharsets.UTF_8).get(0), false);
+        Assert.assertNotEquals(contentHash, otherEntry.get(PrepackagedRuleBundle.CONTENT_HASH_FIELD));
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.apache.lucene.search.TotalHits;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionType;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.bulk.BulkAction;
+import org.opensearch.action.bulk.BulkItemResponse;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.bulk.BulkResponse;
+import org.opensearch.action.delete.DeleteResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.SearchAction;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.search.DocValueFormat;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.internal.InternalSearchResponse;
+import org.opensearch.securityanalytics.logtype.LogTypeService;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.test.client.NoOpNodeClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RuleIndicesTests extends OpenSearchTestCase {
+
+    private RulesIndexClient client;
+
+    private RuleIndices ruleIndices;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUpRuleIndices() {
+        client = new RulesIndexClient(getTestName());
+
+        LogTypeService logTypeService = mock(LogTypeService.class);
+        doAnswer(invocation -> {
+            ((ActionListener<Void>) invocation.getArgument(0)).onResponse(null);
+            return null;
+        }).when(logTypeService).ensureConfigIndexIsInitialized(any(ActionListener.class));
+
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getSettings()).thenReturn(Settings.EMPTY);
+
+        ruleIndices = new RuleIndices(logTypeService, client, clusterService, client.threadPool());
+    }
+
+    @After
+    public void closeClient() {
+        client.close();
+    }
+
+    public void testContentHash() {
+        Map<String, String> fieldMappings = new HashMap<>();
+        fieldMappings.put("EventID", "event_uid");
+        fieldMappings.put("Image", "process.exe");
+        String hash = RuleIndices.contentHash("windows", "title: Test", fieldMappings, 2, "2.0.0:1");
+
+        // independent of the order of the field mappings
+        Assert.assertEquals(hash, RuleIndices.contentHash("windows", "title: Test", Map.of("Image", "process.exe", "EventID", "event_uid"), 2, "2.0.0:1"));
+
+        Assert.assertNotEquals(hash, RuleIndices.contentHash("linux", "title: Test", fieldMappings, 2, "2.0.0:1"));
+        Assert.assertNotEquals(hash, RuleIndices.contentHash("windows", "title: Other", fieldMappings, 2, "2.0.0:1"));
+        Assert.assertNotEquals(hash, RuleIndices.contentHash("windows", "title: Test", Map.of("EventID", "event_uid"), 2, "2.0.0:1"));
+        Assert.assertNotEquals(hash, RuleIndices.contentHash("windows", "title: Test", fieldMappings, 3, "2.0.0:1"));
+        // rules are converted again by a new converter
+        Assert.assertNotEquals(hash, RuleIndices.contentHash("windows", "title: Test", fieldMappings, 2, "2.0.0:2"));
+    }
+
+    public void testImportsChangedRulesAndDeletesRemovedOnes() throws Exception {
+        client.logTypes.addAll(Set.of("windows", "linux"));
+        client.indexedHashes.put("unchanged", "hash-1");
+        client.indexedHashes.put("changed", "old-hash");
+        client.indexedHashes.put("without-hash", "");
+        client.indexedHashes.put("removed", "hash-4");
+
+        BulkResponse response = importBundle(
+                entry("unchanged", "windows", "hash-1"),
+                entry("changed", "windows", "hash-2"),
+                entry("without-hash", "linux", "hash-3"),
+                entry("new", "linux", "hash-5"),
+                entry("unknown-log-type", "not_a_log_type", "hash-6")
+        );
+
+        Assert.assertEquals(1, client.bulks.size());
+        Assert.assertEquals(WriteRequest.RefreshPolicy.IMMEDIATE, client.bulks.get(0).getRefreshPolicy());
+        Assert.assertEquals(Set.of("changed", "without-hash", "new"), ids(DocWriteRequest.OpType.INDEX));
+        Assert.assertEquals(Set.of("removed"), ids(DocWriteRequest.OpType.DELETE));
+        Assert.assertEquals(4, response.getItems().length);
+        Assert.assertFalse(response.hasFailures());
+    }
+
+    public void testRulesAreBulkedInChunks() throws Exception {
+        client.logTypes.addAll(Set.of("windows", "linux"));
+        int rules = 2 * RuleIndices.RULES_BULK_CHUNK_SIZE + 200;
+        String[] entries = new String[rules];
+        for (int i = 0; i < rules; ++i) {
+            entries[i] = entry("rule-" + i, i % 2 == 0? "windows": "linux", "hash-" + i);
+        }
+
+        BulkResponse response = importBundle(entries);
+
+        Assert.assertEquals(3, client.bulks.size());
+        Assert.assertEquals(RuleIndices.RULES_BULK_CHUNK_SIZE, client.bulks.get(0).numberOfActions());
+        Assert.assertEquals(RuleIndices.RULES_BULK_CHUNK_SIZE, client.bulks.get(1).numberOfActions());
+        Assert.assertEquals(200, client.bulks.get(2).numberOfActions());
+        // only the last bulk refreshes
+        Assert.assertEquals(WriteRequest.RefreshPolicy.NONE, client.bulks.get(0).getRefreshPolicy());
+        Assert.assertEquals(WriteRequest.RefreshPolicy.NONE, client.bulks.get(1).getRefreshPolicy());
+        Assert.assertEquals(WriteRequest.RefreshPolicy.IMMEDIATE, client.bulks.get(2).getRefreshPolicy());
+        Assert.assertEquals(rules, response.getItems().length);
+        Assert.assertEquals(rules, ids(DocWriteRequest.OpType.INDEX).size());
+    }
+
+    public void testEveryCategoryIsImported() throws Exception {
+        List<String> entries = new ArrayList<>();
+        Set<String> expectedIds = new HashSet<>();
+        for (int category = 0; category < 12; ++category) {
+            client.logTypes.add("category_" + category);
+            for (int i = 0; i < 5; ++i) {
+                String id = String.format(Locale.ROOT, "rule-%d-%d", category, i);
+                entries.add(entry(id, "category_" + category, "hash"));
+                expectedIds.add(id);
+            }
+        }
+        // rules shared with others_cloud are indexed with the category of the other log type
+        client.logTypes.add("others_cloud");
+        entries.add(entry("rule-3-0", "others_cloud", "hash"));
+        entries.add(entry("cloud-only", "others_cloud", "hash"));
+        expectedIds.add("cloud-only");
+
+        importBundle(entries.toArray(new String[0]));
+
+        Assert.assertEquals(expectedIds, ids(DocWriteRequest.OpType.INDEX));
+        Assert.assertEquals("category_3", category("rule-3-0"));
+        Assert.assertEquals("others_cloud", category("cloud-only"));
+    }
+
+    public void testContentHashesArePaged() throws Exception {
+        client.logTypes.add("windows");
+        int rules = RuleIndices.CONTENT_HASHES_PAGE_SIZE + 1;
+        String[] entries = new String[rules];
+        for (int i = 0; i < rules; ++i) {
+            String id = String.format(Locale.ROOT, "rule-%05d", i);
+            client.indexedHashes.put(id, "hash");
+            entries[i] = entry(id, "windows", "hash");
+        }
+        client.indexedHashes.put("zz-removed", "hash");
+
+        BulkResponse response = importBundle(entries);
+
+        Assert.assertEquals(2, client.ruleSearches.size());
+        Assert.assertNull(client.ruleSearches.get(0).source().searchAfter());
+        Assert.assertArrayEquals(new Object[]{String.format(Locale.ROOT, "rule-%05d", RuleIndices.CONTENT_HASHES_PAGE_SIZE - 1)},
+                client.ruleSearches.get(1).source().searchAfter());
+        // only the rule found on the second page is deleted, nothing is re-indexed
+        Assert.assertEquals(Set.of(), ids(DocWriteRequest.OpType.INDEX));
+        Assert.assertEquals(Set.of("zz-removed"), ids(DocWriteRequest.OpType.DELETE));
+        Assert.assertEquals(1, response.getItems().length);
+    }
+
+    private BulkResponse importBundle(String... entries) throws Exception {
+        PlainActionFuture<BulkResponse> future = new PlainActionFuture<>();
+        ruleIndices.loadBundle(new ByteArrayInputStream(String.join("\n", entries).getBytes(StandardCharsets.UTF_8)),
+                WriteRequest.RefreshPolicy.IMMEDIATE, TimeValue.timeValueSeconds(60), future);
+        return future.get();
+    }
+
+    private Set<String> ids(DocWriteRequest.OpType opType) {
+        Set<String> ids = new HashSet<>();
+        for (BulkRequest bulk: client.bulks) {
+            for (DocWriteRequest<?> request: bulk.requests()) {
+                if (request.opType() == opType) {
+                    ids.add(request.id());
+                }
+            }
+        }
+        return ids;
+    }
+
+    @SuppressWarnings("unchecked")
+    private String category(String id) {
+        for (BulkRequest bulk: client.bulks) {
+            for (DocWriteRequest<?> request: bulk.requests()) {
+                if (request instanceof IndexRequest && request.id().equals(id)) {
+                    Map<String, Object> source = XContentHelper.convertToMap(((IndexRequest) request).source(), false,
+                            ((IndexRequest) request).getContentType()).v2();
+                    return ((Map<String, Object>) source.get(Rule.RULE)).get("category").toString();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String entry(String id, String category, String contentHash) {
+        try {
+            return BytesReference.bytes(XContentFactory.jsonBuilder().map(Map.of(
+                    "id", id,
+                    "category", category,
+                    "content_hash", contentHash,
+                    "source", Map.of(Rule.RULE, Map.of("category", category, Rule.CONTENT_HASH, contentHash))
+            ))).utf8ToString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static SearchResponse searchResponse(List<SearchHit> hits) {
+        InternalSearchResponse internalResponse = new InternalSearchResponse(new SearchHits(hits.toArray(new SearchHit[0]),
+                new TotalHits(hits.size(), TotalHits.Relation.EQUAL_TO), 1.0f), null, null, null, false, null, 1);
+        return new SearchResponse(internalResponse, null, 1, 1, 0, 1L, ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY);
+    }
+
+    private static SearchHit sourceHit(String id, Map<String, Object> source) {
+        SearchHit hit = new SearchHit(randomInt(1000), id, Map.of(), Map.of());
+        try {
+            hit.sourceRef(BytesReference.bytes(XContentFactory.jsonBuilder().map(source)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return hit;
+    }
+
+    /**
+     * Serves the log type config index and the content hashes of the pre-packaged rules index, and acknowledges bulks.
+     */
+    private static class RulesIndexClient extends NoOpNodeClient {
+        private final Set<String> logTypes = new HashSet<>();
+        private final TreeMap<String, String> indexedHashes = new TreeMap<>();
+        private final List<SearchRequest> ruleSearches = new CopyOnWriteArrayList<>();
+        private final List<BulkRequest> bulks = new CopyOnWriteArrayList<>();
+
+        RulesIndexClient(String testName) {
+            super(testName);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <Request extends ActionRequest, Response extends ActionResponse> void doExecute(
+                ActionType<Response> action,
+                Request request,
+                ActionListener<Response> listener
+        ) {
+            if (action == SearchAction.INSTANCE) {
+                SearchRequest searchRequest = (SearchRequest) request;
+                if (searchRequest.indices()[0].equals(LogTypeService.LOG_TYPE_INDEX)) {
+                    List<SearchHit> hits = new ArrayList<>();
+                    for (String logType: logTypes) {
+                        hits.add(sourceHit(logType, Map.of("name", logType, "source", "Sigma")));
+                    }
+                    listener.onResponse((Response) searchResponse(hits));
+                    return;
+                }
+
+                Assert.assertEquals(Rule.PRE_PACKAGED_RULES_INDEX, searchRequest.indices()[0]);
+                ruleSearches.add(searchRequest);
+                Object[] searchAfter = searchRequest.source().searchAfter();
+                Map<String, String> page = searchAfter == null? indexedHashes: indexedHashes.tailMap(searchAfter[0].toString(), false);
+                List<SearchHit> hits = new ArrayList<>();
+                for (Map.Entry<String, String> hash: page.entrySet()) {
+                    if (hits.size() == searchRequest.source().size()) {
+                        break;
+                    }
+                    SearchHit hit = sourceHit(hash.getKey(), Map.of(Rule.RULE, Map.of(Rule.CONTENT_HASH, hash.getValue())));
+                    hit.sortValues(new Object[]{hash.getKey()}, new DocValueFormat[]{DocValueFormat.RAW});
+                    hits.add(hit);
+                }
+                listener.onResponse((Response) searchResponse(hits));
+            } else if (action == BulkAction.INSTANCE) {
+                BulkRequest bulkRequest = (BulkRequest) request;
+                bulks.add(bulkRequest);
+                ShardId shardId = new ShardId(Rule.PRE_PACKAGED_RULES_INDEX, "_na_", 0);
+                BulkItemResponse[] items = new BulkItemResponse[bulkRequest.numberOfActions()];
+                for (int i = 0; i < items.length; ++i) {
+                    DocWriteRequest<?> docWriteRequest = bulkRequest.requests().get(i);
+                    items[i] = docWriteRequest.opType() == DocWriteRequest.OpType.DELETE
+                            ? new BulkItemResponse(i, DocWriteRequest.OpType.DELETE, new DeleteResponse(shardId, docWriteRequest.id(), 1L, 1L, 1L, true))
+                            : new BulkItemResponse(i, DocWriteRequest.OpType.INDEX, new IndexResponse(shardId, docWriteRequest.id(), 1L, 1L, 1L, true));
+                }
+                listener.onResponse((Response) new BulkResponse(items, 1L));
+            } else {
+                fail("unexpected action " + action.name());
+            }
+        }
+    }
+}